@@ -77,6 +77,11 @@ public interface ShopkeepersPlugin extends Plugin {
 	 */
 	public static final String LIST_ADMIN_PERMISSION = "shopkeeper.list.admin";
 
+	/**
+	 * The <code>shopkeeper.search</code> permission.
+	 */
+	public static final String SEARCH_PERMISSION = "shopkeeper.search";
+
 	/**
 	 * The <code>shopkeeper.remove.own</code> permission.
 	 */
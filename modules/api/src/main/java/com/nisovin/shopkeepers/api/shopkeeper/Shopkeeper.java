@@ -382,7 +382,7 @@ public interface Shopkeeper {
 	/**
 	 * Gets all currently active {@link UISession UI sessions} involving this shopkeeper.
 	 * 
-	 * @return an unmodifiable view on the current UI sessions
+	 * @return an unmodifiable copy of the current UI sessions
 	 * @see UIRegistry#getUISessions(Shopkeeper)
 	 */
 	public Collection<? extends @NonNull UISession> getUISessions();
@@ -393,7 +393,7 @@ public interface Shopkeeper {
 	 * 
 	 * @param uiType
 	 *            the UI type
-	 * @return an unmodifiable view on the current UI sessions
+	 * @return an unmodifiable copy of the current UI sessions
 	 * @see UIRegistry#getUISessions(Shopkeeper, UIType)
 	 */
 	public Collection<? extends @NonNull UISession> getUISessions(UIType uiType);
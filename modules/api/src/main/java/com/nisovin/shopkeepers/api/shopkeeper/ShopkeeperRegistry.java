@@ -1,17 +1,21 @@
 package com.nisovin.shopkeepers.api.shopkeeper;
 
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.stream.Stream;
 
 import org.bukkit.Location;
+import org.bukkit.Material;
 import org.bukkit.block.Block;
 import org.bukkit.entity.Entity;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 import com.nisovin.shopkeepers.api.shopkeeper.player.PlayerShopkeeper;
+import com.nisovin.shopkeepers.api.shopkeeper.player.sell.SellingPlayerShopkeeper;
+import com.nisovin.shopkeepers.api.shopkeeper.player.sell.SellingShopOffer;
 import com.nisovin.shopkeepers.api.shopobjects.ShopObject;
 import com.nisovin.shopkeepers.api.util.ChunkCoords;
 
@@ -90,6 +94,35 @@ public interface ShopkeeperRegistry {
 			UUID ownerUUID
 	);
 
+	/**
+	 * Gets the offers of all {@link SellingPlayerShopkeeper selling player shopkeepers} that sell
+	 * items of the specified type.
+	 * <p>
+	 * The offers are sorted by their {@link SellingShopOffer#getUnitPrice() unit price}, cheapest
+	 * first. This does not check whether the shopkeepers have the offered items in stock.
+	 * <p>
+	 * The offers are looked up in an index that is updated whenever the offers of a shopkeeper
+	 * change. The cost of this query is therefore proportional to the number of matching offers,
+	 * and not to the number of shopkeepers.
+	 * 
+	 * @param itemType
+	 *            the item type, not <code>null</code>
+	 * @return an unmodifiable snapshot of the matching offers, may be empty
+	 */
+	public List<? extends @NonNull SellingShopOffer> getSellingOffers(Material itemType);
+
+	/**
+	 * Gets the latest published {@link ShopkeeperSummaries summaries} of all loaded shopkeepers.
+	 * <p>
+	 * Unlike the other methods of this registry, this method can be called from any thread. The
+	 * returned snapshot is immutable and can be queried without any synchronization. It is
+	 * updated on the server's main thread with a short delay after shopkeepers were added,
+	 * removed or changed.
+	 * 
+	 * @return the latest shopkeeper summaries, not <code>null</code>
+	 */
+	public ShopkeeperSummaries getSummaries();
+
 	// BY NAME
 
 	/**
@@ -246,6 +279,66 @@ public interface ShopkeeperRegistry {
 	// a single shopkeeper at the same location.
 	public Collection<? extends @NonNull Shopkeeper> getShopkeepersAtLocation(Location location);
 
+	/**
+	 * Searches for shopkeepers inside the specified box of blocks.
+	 * <p>
+	 * The box is specified by block coordinates and includes both its minimum and its maximum
+	 * blocks. The shopkeepers are matched based on their {@link Shopkeeper#getX() block
+	 * coordinates}.
+	 * <p>
+	 * This only searches the chunks that overlap the box, regardless of whether these chunks are
+	 * currently loaded. The returned {@link Stream} lazily searches for only as many matching
+	 * shopkeepers as required. The shopkeeper registry must not be modified while the stream is
+	 * consumed.
+	 * 
+	 * @param worldName
+	 *            the world name
+	 * @param minX
+	 *            the minimum block x coordinate
+	 * @param minY
+	 *            the minimum block y coordinate
+	 * @param minZ
+	 *            the minimum block z coordinate
+	 * @param maxX
+	 *            the maximum block x coordinate
+	 * @param maxY
+	 *            the maximum block y coordinate
+	 * @param maxZ
+	 *            the maximum block z coordinate
+	 * @return a stream over the matching shopkeepers
+	 */
+	public Stream<? extends @NonNull Shopkeeper> getShopkeepersInBox(
+			String worldName,
+			int minX,
+			int minY,
+			int minZ,
+			int maxX,
+			int maxY,
+			int maxZ
+	);
+
+	/**
+	 * Searches for shopkeepers within the specified distance of the given location.
+	 * <p>
+	 * The distance is measured to the {@link Shopkeeper#getLocation() location} of the shopkeeper,
+	 * i.e. the corner of the block the shopkeeper is located at.
+	 * <p>
+	 * This only searches the chunks that overlap the radius, regardless of whether these chunks
+	 * are currently loaded. The returned {@link Stream} lazily searches for only as many matching
+	 * shopkeepers as required. The shopkeeper registry must not be modified while the stream is
+	 * consumed.
+	 * 
+	 * @param center
+	 *            the center location, not <code>null</code> and with a loaded world
+	 * @param radius
+	 *            the radius, not negative
+	 * @return a stream over the matching shopkeepers
+	 */
+	public Stream<? extends @NonNull Shopkeeper> getShopkeepersInRadius(
+			Location center,
+			double radius
+	);
+
 	// BY SHOP OBJECT
 
 	/**
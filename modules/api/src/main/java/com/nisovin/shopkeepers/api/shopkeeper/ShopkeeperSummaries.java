@@ -0,0 +1,54 @@
+package com.nisovin.shopkeepers.api.shopkeeper;
+
+import java.util.Collection;
+import java.util.UUID;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * An immutable snapshot of the {@link ShopkeeperSummary summaries} of all loaded shopkeepers.
+ * <p>
+ * The snapshot can be queried from any thread, without any synchronization. Changes to the
+ * shopkeepers are published with a short delay as a new snapshot with a higher
+ * {@link #getVersion() version}. Retrieve the latest snapshot via
+ * {@link ShopkeeperRegistry#getSummaries()}.
+ */
+public interface ShopkeeperSummaries {
+
+	/**
+	 * Gets the version of this snapshot.
+	 * <p>
+	 * The version is increased with every published snapshot. Versions are not persisted and
+	 * restart from the beginning when the plugin is reloaded.
+	 * 
+	 * @return the version
+	 */
+	public long getVersion();
+
+	/**
+	 * Gets the summaries of all shopkeepers.
+	 * 
+	 * @return an unmodifiable collection of the summaries
+	 */
+	public Collection<? extends @NonNull ShopkeeperSummary> getAll();
+
+	/**
+	 * Gets the summary of the shopkeeper with the specified {@link Shopkeeper#getId() session id}.
+	 * 
+	 * @param shopkeeperId
+	 *            the shopkeeper's session id
+	 * @return the summary, or <code>null</code> if there is no such shopkeeper in this snapshot
+	 */
+	public @Nullable ShopkeeperSummary getById(int shopkeeperId);
+
+	/**
+	 * Gets the summary of the shopkeeper with the specified {@link Shopkeeper#getUniqueId() unique
+	 * id}.
+	 * 
+	 * @param shopkeeperUniqueId
+	 *            the shopkeeper's unique id
+	 * @return the summary, or <code>null</code> if there is no such shopkeeper in this snapshot
+	 */
+	public @Nullable ShopkeeperSummary getByUniqueId(UUID shopkeeperUniqueId);
+}
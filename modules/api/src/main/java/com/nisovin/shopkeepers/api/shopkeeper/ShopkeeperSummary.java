@@ -0,0 +1,107 @@
+package com.nisovin.shopkeepers.api.shopkeeper;
+
+import java.util.UUID;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import com.nisovin.shopkeepers.api.shopkeeper.player.PlayerShopkeeper;
+
+/**
+ * An immutable summary of the state of a {@link Shopkeeper}, as provided by
+ * {@link ShopkeeperSummaries}.
+ * <p>
+ * Unlike shopkeepers, summaries can be accessed from any thread. They are not updated if the
+ * shopkeeper changes: Instead, a new summary is published with the next version of the
+ * {@link ShopkeeperRegistry#getSummaries() shopkeeper summaries}.
+ */
+public interface ShopkeeperSummary {
+
+	/**
+	 * Gets the {@link Shopkeeper#getId() session id} of the shopkeeper.
+	 * 
+	 * @return the shopkeeper's session id
+	 */
+	public int getId();
+
+	/**
+	 * Gets the {@link Shopkeeper#getUniqueId() unique id} of the shopkeeper.
+	 * 
+	 * @return the shopkeeper's unique id, not <code>null</code>
+	 */
+	public UUID getUniqueId();
+
+	/**
+	 * Gets the {@link ShopType#getIdentifier() identifier} of the shopkeeper's shop type.
+	 * 
+	 * @return the shop type identifier, not <code>null</code> or empty
+	 */
+	public String getShopTypeId();
+
+	/**
+	 * Gets the {@link Shopkeeper#getName() name} of the shopkeeper.
+	 * 
+	 * @return the shopkeeper's name, not <code>null</code>, can be empty
+	 */
+	public String getName();
+
+	/**
+	 * Gets the {@link PlayerShopkeeper#getOwnerUUID() owner uuid} of the shopkeeper.
+	 * 
+	 * @return the owner uuid, or <code>null</code> if the shopkeeper is not a player shopkeeper
+	 */
+	public @Nullable UUID getOwnerUUID();
+
+	/**
+	 * Gets the {@link PlayerShopkeeper#getOwnerName() owner name} of the shopkeeper.
+	 * 
+	 * @return the owner name, or <code>null</code> if the shopkeeper is not a player shopkeeper
+	 */
+	public @Nullable String getOwnerName();
+
+	/**
+	 * Gets the {@link Shopkeeper#getWorldName() world name} of the shopkeeper.
+	 * 
+	 * @return the world name, or <code>null</code> if the shopkeeper is
+	 *         {@link Shopkeeper#isVirtual() virtual}
+	 */
+	public @Nullable String getWorldName();
+
+	/**
+	 * Gets the shopkeeper's x coordinate.
+	 * 
+	 * @return the x coordinate, or <code>0</code> if the shopkeeper is virtual
+	 */
+	public int getX();
+
+	/**
+	 * Gets the shopkeeper's y coordinate.
+	 * 
+	 * @return the y coordinate, or <code>0</code> if the shopkeeper is virtual
+	 */
+	public int getY();
+
+	/**
+	 * Gets the shopkeeper's z coordinate.
+	 * 
+	 * @return the z coordinate, or <code>0</code> if the shopkeeper is virtual
+	 */
+	public int getZ();
+
+	/**
+	 * Gets the number of offers of the shopkeeper.
+	 * 
+	 * @return the number of offers, <code>0</code> if the shop type does not use offers
+	 */
+	public int getOffersCount();
+
+	/**
+	 * Gets a digest of the shopkeeper's offers.
+	 * <p>
+	 * Different offers usually result in different digests, but this is not guaranteed. This can
+	 * for example be used to detect whether the offers of a shopkeeper might have changed since a
+	 * previous version of the summaries.
+	 * 
+	 * @return the offers digest
+	 */
+	public int getOffersDigest();
+}
@@ -0,0 +1,39 @@
+package com.nisovin.shopkeepers.api.shopkeeper.player.sell;
+
+import org.bukkit.Material;
+
+import com.nisovin.shopkeepers.api.shopkeeper.ShopkeeperRegistry;
+import com.nisovin.shopkeepers.api.shopkeeper.offers.PriceOffer;
+
+/**
+ * An offer of a {@link SellingPlayerShopkeeper}, as found by
+ * {@link ShopkeeperRegistry#getSellingOffers(Material)}.
+ * <p>
+ * Instances of this are immutable. They are not updated if the offers of the shopkeeper change.
+ */
+public interface SellingShopOffer {
+
+	/**
+	 * Gets the shopkeeper that sells the item.
+	 * <p>
+	 * The owner of the shop can be retrieved via the shopkeeper.
+	 * 
+	 * @return the shopkeeper, not <code>null</code>
+	 */
+	public SellingPlayerShopkeeper getShopkeeper();
+
+	/**
+	 * Gets the offer.
+	 * 
+	 * @return the offer, not <code>null</code>
+	 */
+	public PriceOffer getOffer();
+
+	/**
+	 * Gets the price per single item, i.e. the {@link PriceOffer#getPrice() price} of the offer
+	 * divided by the amount of the offered item.
+	 * 
+	 * @return the unit price
+	 */
+	public double getUnitPrice();
+}
@@ -26,22 +26,28 @@ public interface UIRegistry<T extends @NonNull UIType> extends TypeRegistry<T> {
 
 	/**
 	 * Gets all currently active {@link UISession}s that involve the specified {@link Shopkeeper}.
+	 * <p>
+	 * The returned collection is a copy that is not updated when UI sessions are started or ended
+	 * afterwards. It is therefore safe to abort the UI sessions while iterating it.
 	 * 
 	 * @param shopkeeper
 	 *            the shopkeeper, not <code>null</code>
-	 * @return an unmodifiable view on the current {@link UISession}s
+	 * @return an unmodifiable copy of the current {@link UISession}s
 	 */
 	public Collection<? extends @NonNull UISession> getUISessions(Shopkeeper shopkeeper);
 
 	/**
 	 * Gets all currently active {@link UISession}s of the specified {@link UIType} that involve the
 	 * specified {@link Shopkeeper}.
+	 * <p>
+	 * The returned collection is a copy that is not updated when UI sessions are started or ended
+	 * afterwards. It is therefore safe to abort the UI sessions while iterating it.
 	 * 
 	 * @param shopkeeper
 	 *            the shopkeeper, not <code>null</code>
 	 * @param uiType
 	 *            the UI type, not <code>null</code>
-	 * @return an unmodifiable view on the current {@link UISession}s
+	 * @return an unmodifiable copy of the current {@link UISession}s
 	 */
 	public Collection<? extends @NonNull UISession> getUISessions(
 			Shopkeeper shopkeeper,
@@ -50,10 +56,13 @@ public interface UIRegistry<T extends @NonNull UIType> extends TypeRegistry<T> {
 
 	/**
 	 * Gets all currently active {@link UISession}s of the specified {@link UIType}.
+	 * <p>
+	 * The returned collection is a copy that is not updated when UI sessions are started or ended
+	 * afterwards. It is therefore safe to abort the UI sessions while iterating it.
 	 * 
 	 * @param uiType
 	 *            the UI type, not <code>null</code>
-	 * @return an unmodifiable view on the current {@link UISession}s
+	 * @return an unmodifiable copy of the current {@link UISession}s
 	 */
 	public Collection<? extends @NonNull UISession> getUISessions(UIType uiType);
 
@@ -0,0 +1,14 @@
+package com.nisovin.shopkeepers.jmh;
+
+/**
+ * Base class of benchmark states that depend on the Bukkit server and Shopkeepers plugin mocks of
+ * the tests.
+ * <p>
+ * The mocks are set up once, when the first benchmark state is created.
+ */
+public abstract class AbstractBukkitBenchmark {
+
+	static {
+		BukkitBootstrap.setup();
+	}
+}
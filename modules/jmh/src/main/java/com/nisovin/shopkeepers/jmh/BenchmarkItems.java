@@ -0,0 +1,43 @@
+package com.nisovin.shopkeepers.jmh;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.bukkit.ChatColor;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import com.nisovin.shopkeepers.api.internal.util.Unsafe;
+import com.nisovin.shopkeepers.util.TestItemStacks;
+
+/**
+ * Creates the items that are used by the benchmarks.
+ */
+final class BenchmarkItems {
+
+	/**
+	 * Creates an item with all kinds of item data, and with the specified number of additional lore
+	 * lines.
+	 * 
+	 * @param loreLines
+	 *            the number of additional lore lines
+	 * @return the item
+	 */
+	static ItemStack createItem(int loreLines) {
+		ItemStack itemStack = TestItemStacks.createItemStackComplete();
+		if (loreLines <= 0) return itemStack;
+
+		ItemMeta itemMeta = Unsafe.assertNonNull(itemStack.getItemMeta());
+		List<@NonNull String> lore = new ArrayList<>(Unsafe.assertNonNull(itemMeta.getLore()));
+		for (int i = 1; i <= loreLines; i++) {
+			lore.add(ChatColor.GRAY + "Additional lore line " + i);
+		}
+		itemMeta.setLore(lore);
+		itemStack.setItemMeta(itemMeta);
+		return itemStack;
+	}
+
+	private BenchmarkItems() {
+	}
+}
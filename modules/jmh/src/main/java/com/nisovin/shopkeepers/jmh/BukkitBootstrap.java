@@ -0,0 +1,23 @@
+package com.nisovin.shopkeepers.jmh;
+
+import com.nisovin.shopkeepers.testutil.ServerMock;
+import com.nisovin.shopkeepers.testutil.ShopkeepersPluginMock;
+
+/**
+ * Sets up the Bukkit server and Shopkeepers plugin mocks of the main module's tests, which the
+ * benchmarks and the {@link SaveFileGenerator} depend on.
+ */
+public final class BukkitBootstrap {
+
+	/**
+	 * Sets up the server and plugin mocks, if they have not been set up yet.
+	 */
+	public static void setup() {
+		// The mocks set themselves up only once, when their classes are initialized:
+		ServerMock.setup();
+		ShopkeepersPluginMock.setup();
+	}
+
+	private BukkitBootstrap() {
+	}
+}
@@ -0,0 +1,80 @@
+package com.nisovin.shopkeepers.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import org.bukkit.inventory.ItemStack;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.nisovin.shopkeepers.api.internal.util.Unsafe;
+import com.nisovin.shopkeepers.currency.Currencies;
+import com.nisovin.shopkeepers.currency.Currency;
+
+/**
+ * Benchmarks the matching of items against the configured currencies, as done when the currency
+ * items in the chest of a player shop are counted.
+ * <p>
+ * The contents alternate between base currency items, high currency items, and other items.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CurrencyBenchmark extends AbstractBukkitBenchmark {
+
+	@Param({ "9", "27", "54" })
+	public int slots;
+
+	private @Nullable ItemStack[] contents = Unsafe.uncheckedNull();
+	private ItemStack otherItem = Unsafe.uncheckedNull();
+
+	@Setup
+	public void setup() {
+		ItemStack baseCurrencyItem = Currencies.getBase().getItemData().createItemStack(32);
+		ItemStack highCurrencyItem = Currencies.getHigh().getItemData().createItemStack(2);
+		otherItem = BenchmarkItems.createItem(0);
+		contents = new @Nullable ItemStack[slots];
+		for (int slot = 0; slot < slots; slot++) {
+			switch (slot % 3) {
+			case 0:
+				contents[slot] = baseCurrencyItem.clone();
+				break;
+			case 1:
+				contents[slot] = highCurrencyItem.clone();
+				break;
+			default:
+				contents[slot] = otherItem.clone();
+				break;
+			}
+		}
+	}
+
+	@Benchmark
+	public @Nullable Currency matchOther() {
+		return Currencies.match(otherItem);
+	}
+
+	@Benchmark
+	public int countCurrencyValue() {
+		int value = 0;
+		for (ItemStack itemStack : contents) {
+			if (itemStack == null) continue;
+			Currency currency = Currencies.match(itemStack);
+			if (currency == null) continue;
+			value += currency.getValue() * itemStack.getAmount();
+		}
+		return value;
+	}
+}
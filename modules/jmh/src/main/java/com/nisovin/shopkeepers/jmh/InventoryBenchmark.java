@@ -0,0 +1,79 @@
+package com.nisovin.shopkeepers.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.nisovin.shopkeepers.api.internal.util.Unsafe;
+import com.nisovin.shopkeepers.util.inventory.InventoryUtils;
+import com.nisovin.shopkeepers.util.inventory.ItemData;
+
+/**
+ * Benchmarks the searching and removal of items in inventory contents, as done when trades are
+ * applied to the chest of player shops.
+ * <p>
+ * Half of the slots contain items that do not match the searched item. The matching items are
+ * located in the last slots, so that all slots need to be checked.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InventoryBenchmark extends AbstractBukkitBenchmark {
+
+	private static final int MATCHING_SLOTS = 2;
+
+	@Param({ "9", "27", "54" })
+	public int slots;
+
+	private @Nullable ItemStack[] contents = Unsafe.uncheckedNull();
+	private ItemData itemData = Unsafe.uncheckedNull();
+	private int amount;
+
+	@Setup
+	public void setup() {
+		ItemStack item = BenchmarkItems.createItem(0);
+		ItemStack otherItem = BenchmarkItems.createItem(2);
+		contents = new @Nullable ItemStack[slots];
+		for (int slot = 0; slot < slots; slot++) {
+			if (slot >= slots - MATCHING_SLOTS) {
+				contents[slot] = item.clone();
+			} else if (slot % 2 == 0) {
+				contents[slot] = otherItem.clone();
+			} else {
+				contents[slot] = new ItemStack(Material.STONE, 64);
+			}
+		}
+		itemData = new ItemData(item);
+		// Requires the items of all matching slots:
+		amount = MATCHING_SLOTS * item.getAmount();
+	}
+
+	@Benchmark
+	public boolean containsAtLeast() {
+		return InventoryUtils.containsAtLeast(contents, itemData, amount);
+	}
+
+	@Benchmark
+	public int removeItems() {
+		// Removing the items replaces the array elements, but does not modify the item stacks
+		// themselves. A shallow copy of the contents is therefore sufficient:
+		@Nullable ItemStack[] contentsCopy = contents.clone();
+		return InventoryUtils.removeItems(contentsCopy, itemData, amount);
+	}
+}
@@ -0,0 +1,74 @@
+package com.nisovin.shopkeepers.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import org.bukkit.ChatColor;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.nisovin.shopkeepers.api.internal.util.Unsafe;
+import com.nisovin.shopkeepers.util.inventory.ItemData;
+import com.nisovin.shopkeepers.util.inventory.ItemUtils;
+
+/**
+ * Benchmarks the matching of items against the item data of trade offers and currencies.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ItemMatchingBenchmark extends AbstractBukkitBenchmark {
+
+	@Param({ "0", "8", "64" })
+	public int loreLines;
+
+	private ItemStack item = Unsafe.uncheckedNull();
+	private ItemStack itemCopy = Unsafe.uncheckedNull();
+	// Differs from the item only in its display name:
+	private ItemStack differentItem = Unsafe.uncheckedNull();
+	private ItemData itemData = Unsafe.uncheckedNull();
+
+	@Setup
+	public void setup() {
+		item = BenchmarkItems.createItem(loreLines);
+		itemCopy = item.clone();
+		differentItem = item.clone();
+		ItemMeta itemMeta = Unsafe.assertNonNull(differentItem.getItemMeta());
+		itemMeta.setDisplayName(ChatColor.RED + "Other Name");
+		differentItem.setItemMeta(itemMeta);
+		itemData = new ItemData(item);
+	}
+
+	@Benchmark
+	public boolean itemUtilsMatchesData() {
+		return ItemUtils.matchesData(itemCopy, item);
+	}
+
+	@Benchmark
+	public boolean itemUtilsMatchesDataMismatch() {
+		return ItemUtils.matchesData(differentItem, item);
+	}
+
+	@Benchmark
+	public boolean itemDataMatches() {
+		return itemData.matches(itemCopy);
+	}
+
+	@Benchmark
+	public boolean itemDataMatchesMismatch() {
+		return itemData.matches(differentItem);
+	}
+}
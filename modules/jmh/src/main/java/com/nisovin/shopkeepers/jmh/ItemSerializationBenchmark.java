@@ -0,0 +1,75 @@
+package com.nisovin.shopkeepers.jmh;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.bukkit.inventory.ItemStack;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.nisovin.shopkeepers.api.internal.util.Unsafe;
+import com.nisovin.shopkeepers.util.json.JsonUtils;
+import com.nisovin.shopkeepers.util.yaml.YamlUtils;
+
+/**
+ * Benchmarks the serialization and deserialization of lists of items to and from compact YAML and
+ * JSON, as used for example by the CSV trade log.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ItemSerializationBenchmark extends AbstractBukkitBenchmark {
+
+	@Param({ "1", "16", "128" })
+	public int items;
+
+	private List<@NonNull ItemStack> itemList = Unsafe.uncheckedNull();
+	private String yaml = "";
+	private String json = "";
+
+	@Setup
+	public void setup() {
+		itemList = new ArrayList<>(items);
+		for (int i = 0; i < items; i++) {
+			// Vary the item data:
+			itemList.add(BenchmarkItems.createItem(i % 4));
+		}
+		yaml = YamlUtils.toCompactYaml(itemList);
+		json = JsonUtils.toJson(itemList);
+	}
+
+	@Benchmark
+	public String toYaml() {
+		return YamlUtils.toCompactYaml(itemList);
+	}
+
+	@Benchmark
+	public @Nullable Object fromYaml() {
+		return YamlUtils.fromYaml(yaml);
+	}
+
+	@Benchmark
+	public String toJson() {
+		return JsonUtils.toJson(itemList);
+	}
+
+	@Benchmark
+	public @Nullable Object fromJson() {
+		return JsonUtils.fromJson(json);
+	}
+}
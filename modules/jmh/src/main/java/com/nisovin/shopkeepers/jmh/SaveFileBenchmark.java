@@ -0,0 +1,195 @@
+package com.nisovin.shopkeepers.jmh;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.nisovin.shopkeepers.api.internal.util.Unsafe;
+import com.nisovin.shopkeepers.shopkeeper.AbstractShopkeeper;
+import com.nisovin.shopkeepers.shopkeeper.ShopkeeperData;
+import com.nisovin.shopkeepers.shopkeeper.admin.regular.SKRegularAdminShopkeeper;
+import com.nisovin.shopkeepers.shopkeeper.player.AbstractPlayerShopkeeper;
+import com.nisovin.shopkeepers.shopkeeper.player.buy.SKBuyingPlayerShopkeeper;
+import com.nisovin.shopkeepers.shopkeeper.player.sell.SKSellingPlayerShopkeeper;
+import com.nisovin.shopkeepers.shopkeeper.player.trade.SKTradingPlayerShopkeeper;
+import com.nisovin.shopkeepers.storage.SKShopkeeperStorage;
+import com.nisovin.shopkeepers.util.data.container.DataContainer;
+import com.nisovin.shopkeepers.util.data.persistence.InvalidDataFormatException;
+import com.nisovin.shopkeepers.util.data.persistence.bukkit.BukkitConfigDataStore;
+import com.nisovin.shopkeepers.util.data.serialization.InvalidDataException;
+import com.nisovin.shopkeepers.util.java.FileUtils;
+
+/**
+ * Benchmarks the reading, parsing, serialization, and writing of large save files that are
+ * generated by the {@link SaveFileGenerator}.
+ * <p>
+ * This is not a benchmark of the {@link SKShopkeeperStorage}: The storage can only load and save
+ * shopkeepers while the plugin is enabled. Instead, this benchmark measures the handling of the
+ * save data by the YAML data store and the shopkeeper data properties:
+ * <ul>
+ * <li>{@link #reload(Blackhole)}: Reads and parses the save file, copies the data of each
+ * shopkeeper, and loads its common properties and offers. This does not include the migration of
+ * the shopkeeper data, or the creation and spawning of the shopkeepers.
+ * <li>{@link #fullSave()}: Sets the data of all shopkeepers in the save data, and then serializes
+ * and writes the save file.
+ * <li>{@link #incrementalSave()}: Sets the data of one percent of the shopkeepers in the save data,
+ * and then serializes and writes the save file.
+ * </ul>
+ * The data of the saved shopkeepers is generated once during the setup, so the save benchmarks do
+ * not include the generation of the data and its offer items. The heap memory that is used by the
+ * loaded save data is printed once during the setup as well.
+ * <p>
+ * The save files are written into the working directory. Large shopkeeper counts might require a
+ * larger heap, e.g. via {@code -PjmhArgs="SaveFile -jvmArgsAppend -Xmx4g"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class SaveFileBenchmark extends AbstractBukkitBenchmark {
+
+	private static final long SEED = 0L;
+	private static final int INCREMENTAL_SAVE_PERCENTAGE = 1;
+
+	@Param({ "10000", "50000", "200000" })
+	public int shopkeepers;
+
+	private Path saveFile = Unsafe.uncheckedNull();
+	private BukkitConfigDataStore saveData = Unsafe.uncheckedNull();
+	// The generated data of the shopkeepers, by shopkeeper id - 1:
+	private List<? extends @NonNull DataContainer> shopkeeperData = Unsafe.uncheckedNull();
+	private int nextIncrementalSaveId = 1;
+
+	@Setup(Level.Trial)
+	public void setup() throws IOException, InvalidDataFormatException {
+		SaveFileGenerator generator = new SaveFileGenerator(SEED);
+		saveFile = Paths.get("save-file-benchmark", shopkeepers + "-save.yml");
+		SaveFileGenerator.writeSaveFile(generator.generate(shopkeepers), saveFile);
+
+		long usedHeapBefore = getUsedHeap();
+		saveData = this.loadSaveData();
+		long usedHeapAfter = getUsedHeap();
+		System.out.println();
+		System.out.println("Save file size: " + Files.size(saveFile) / 1024L + " KiB");
+		System.out.println("Heap usage of the loaded save data: "
+				+ (usedHeapAfter - usedHeapBefore) / 1024L + " KiB");
+
+		List<@NonNull DataContainer> shopkeeperData = new ArrayList<>(shopkeepers);
+		for (int id = 1; id <= shopkeepers; id++) {
+			shopkeeperData.add(generator.createShopkeeperData(id));
+		}
+		this.shopkeeperData = shopkeeperData;
+	}
+
+	private static long getUsedHeap() {
+		Runtime runtime = Runtime.getRuntime();
+		for (int i = 0; i < 3; i++) {
+			System.gc();
+		}
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws IOException {
+		FileUtils.deleteIfExists(saveFile);
+	}
+
+	private BukkitConfigDataStore loadSaveData() throws IOException, InvalidDataFormatException {
+		BukkitConfigDataStore saveData = BukkitConfigDataStore.ofNewYamlConfig();
+		try (Reader reader = Files.newBufferedReader(saveFile, StandardCharsets.UTF_8)) {
+			saveData.load(reader);
+		}
+		return saveData;
+	}
+
+	@Benchmark
+	public void reload(Blackhole blackhole) throws Exception {
+		BukkitConfigDataStore saveData = this.loadSaveData();
+		for (String key : saveData.getKeys()) {
+			DataContainer dataContainer = saveData.getContainer(key);
+			if (dataContainer == null) continue; // The data version entry
+
+			// Similar to the storage, we load a shallow copy of the shopkeeper data:
+			ShopkeeperData shopkeeperData = ShopkeeperData.ofNonNull(DataContainer.ofNonNull(
+					dataContainer.getValuesCopy()
+			));
+			this.loadShopkeeperData(shopkeeperData, blackhole);
+		}
+	}
+
+	private void loadShopkeeperData(
+			ShopkeeperData shopkeeperData,
+			Blackhole blackhole
+	) throws InvalidDataException {
+		String shopType = shopkeeperData.get(AbstractShopkeeper.SHOP_TYPE_ID);
+		blackhole.consume(shopkeeperData.get(AbstractShopkeeper.UNIQUE_ID));
+		blackhole.consume(shopkeeperData.get(AbstractShopkeeper.LOCATION));
+		blackhole.consume(shopkeeperData.get(AbstractShopkeeper.NAME));
+		blackhole.consume(shopkeeperData.get(AbstractShopkeeper.SHOP_OBJECT_DATA));
+		blackhole.consume(shopkeeperData.get(AbstractShopkeeper.SNAPSHOTS));
+		switch (shopType) {
+		case "sell":
+			blackhole.consume(shopkeeperData.get(SKSellingPlayerShopkeeper.OFFERS));
+			break;
+		case "buy":
+			blackhole.consume(shopkeeperData.get(SKBuyingPlayerShopkeeper.OFFERS));
+			break;
+		case "trade":
+			blackhole.consume(shopkeeperData.get(SKTradingPlayerShopkeeper.OFFERS));
+			break;
+		default:
+			blackhole.consume(shopkeeperData.get(SKRegularAdminShopkeeper.OFFERS));
+			break;
+		}
+		if (!shopType.equals("admin")) {
+			blackhole.consume(shopkeeperData.get(AbstractPlayerShopkeeper.OWNER));
+			blackhole.consume(shopkeeperData.get(AbstractPlayerShopkeeper.CONTAINER));
+		}
+	}
+
+	@Benchmark
+	public void fullSave() throws IOException {
+		for (int id = 1; id <= shopkeepers; id++) {
+			this.setShopkeeperData(id);
+		}
+		SaveFileGenerator.writeSaveFile(saveData, saveFile);
+	}
+
+	@Benchmark
+	public void incrementalSave() throws IOException {
+		int dirtyShopkeepers = Math.max(1, shopkeepers * INCREMENTAL_SAVE_PERCENTAGE / 100);
+		for (int i = 0; i < dirtyShopkeepers; i++) {
+			this.setShopkeeperData(nextIncrementalSaveId);
+			nextIncrementalSaveId = (nextIncrementalSaveId % shopkeepers) + 1;
+		}
+		SaveFileGenerator.writeSaveFile(saveData, saveFile);
+	}
+
+	private void setShopkeeperData(int id) {
+		SaveFileGenerator.setShopkeeperData(saveData, id, shopkeeperData.get(id - 1));
+	}
+}
@@ -0,0 +1,297 @@
+package com.nisovin.shopkeepers.jmh;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import org.bukkit.ChatColor;
+import org.bukkit.Material;
+import org.bukkit.enchantments.Enchantment;
+import org.bukkit.inventory.ItemStack;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import com.nisovin.shopkeepers.api.internal.util.Unsafe;
+import com.nisovin.shopkeepers.api.shopkeeper.offers.PriceOffer;
+import com.nisovin.shopkeepers.api.shopkeeper.offers.TradeOffer;
+import com.nisovin.shopkeepers.shopkeeper.AbstractShopkeeper;
+import com.nisovin.shopkeepers.shopkeeper.SKShopkeeperSnapshot;
+import com.nisovin.shopkeepers.shopkeeper.ShopkeeperData;
+import com.nisovin.shopkeepers.shopkeeper.admin.regular.SKRegularAdminShopkeeper;
+import com.nisovin.shopkeepers.shopkeeper.offers.SKPriceOffer;
+import com.nisovin.shopkeepers.shopkeeper.offers.SKTradeOffer;
+import com.nisovin.shopkeepers.shopkeeper.player.AbstractPlayerShopkeeper;
+import com.nisovin.shopkeepers.shopkeeper.player.buy.SKBuyingPlayerShopkeeper;
+import com.nisovin.shopkeepers.shopkeeper.player.sell.SKSellingPlayerShopkeeper;
+import com.nisovin.shopkeepers.shopkeeper.player.trade.SKTradingPlayerShopkeeper;
+import com.nisovin.shopkeepers.shopobjects.ShopObjectData;
+import com.nisovin.shopkeepers.storage.DataVersion;
+import com.nisovin.shopkeepers.util.data.container.DataContainer;
+import com.nisovin.shopkeepers.util.data.persistence.bukkit.BukkitConfigDataStore;
+import com.nisovin.shopkeepers.util.java.ConversionUtils;
+import com.nisovin.shopkeepers.util.java.FileUtils;
+import com.nisovin.shopkeepers.util.java.Validate;
+import com.nisovin.shopkeepers.util.logging.Log;
+
+/**
+ * Generates synthetic shopkeeper save data in the format of the shopkeeper storage's save file.
+ * <p>
+ * The generated shopkeepers are a mix of admin shops and selling, buying, and trading player shops
+ * in several worlds, with villager and sign shop objects. Their offers use plain, enchanted, and
+ * items with custom item meta. Some of the shopkeepers also have snapshots.
+ * <p>
+ * The data of each shopkeeper only depends on its id and the seed, so the data of individual
+ * shopkeepers can be generated again to simulate incremental saves.
+ * <p>
+ * Usage: {@code SaveFileGenerator <save file> <shopkeepers> [seed]}. This can be run via
+ * {@code ./gradlew -Pjmh :shopkeepers-jmh:generateSaveFile} with the properties
+ * {@code -PsaveFile=<path> -Pshopkeepers=<count>}.
+ */
+public final class SaveFileGenerator {
+
+	private static final String DATA_VERSION_KEY = "data-version";
+	private static final String HEADER = "Synthetic shopkeeper data, generated by "
+			+ SaveFileGenerator.class.getSimpleName() + ".";
+
+	private static final String[] WORLD_NAMES = {
+			"world", "world_nether", "world_the_end", "resources"
+	};
+	private static final String[] SHOP_OBJECT_TYPES = { "villager", "villager", "sign" };
+	// Admin shops, and selling, buying, and trading player shops:
+	private static final String[] SHOP_TYPES = { "admin", "sell", "sell", "buy", "trade" };
+	private static final Material[] PLAIN_ITEMS = {
+			Material.STONE, Material.OAK_LOG, Material.IRON_INGOT, Material.BREAD, Material.ARROW
+	};
+	private static final int MAX_OFFERS = 27;
+	private static final int PLAYERS = 2000;
+	// Spread the shopkeepers over a square area of this size (in blocks) per world:
+	private static final int AREA_SIZE = 10000;
+	// Percentage of shopkeepers that have snapshots:
+	private static final int SNAPSHOTS_CHANCE = 10;
+
+	public static void main(String[] args) throws IOException {
+		if (args.length < 2 || args.length > 3) {
+			System.err.println("Usage: " + SaveFileGenerator.class.getSimpleName()
+					+ " <save file> <shopkeepers> [seed]");
+			System.exit(1);
+			return;
+		}
+
+		Path saveFile = Paths.get(args[0]);
+		Integer shopkeepers = ConversionUtils.parseInt(args[1]);
+		Long seed = (args.length == 3) ? ConversionUtils.parseLong(args[2]) : Long.valueOf(0L);
+		if (shopkeepers == null || shopkeepers < 0 || seed == null) {
+			System.err.println("Invalid shopkeeper count or seed!");
+			System.exit(1);
+			return;
+		}
+
+		long startNanos = System.nanoTime();
+		BukkitConfigDataStore saveData = new SaveFileGenerator(seed).generate(shopkeepers);
+		writeSaveFile(saveData, saveFile);
+		long durationMillis = (System.nanoTime() - startNanos) / 1_000_000L;
+		System.out.println("Generated " + shopkeepers + " shopkeepers in '" + saveFile + "' ("
+				+ Files.size(saveFile) / 1024L + " KiB, " + durationMillis + " ms).");
+	}
+
+	/**
+	 * Writes the given save data to the specified file, similar to how the shopkeeper storage
+	 * writes its save file: The data is first written to a temporary file, which is then synced to
+	 * disk and moved to the target location.
+	 * 
+	 * @param saveData
+	 *            the save data
+	 * @param saveFile
+	 *            the save file
+	 * @throws IOException
+	 *             if the file cannot be written
+	 */
+	public static void writeSaveFile(BukkitConfigDataStore saveData, Path saveFile)
+			throws IOException {
+		Validate.notNull(saveData, "saveData is null");
+		Validate.notNull(saveFile, "saveFile is null");
+		String data = saveData.saveToString();
+		Path tempSaveFile = saveFile.resolveSibling(saveFile.getFileName() + ".tmp");
+		FileUtils.createParentDirectories(tempSaveFile);
+		try (Writer writer = Files.newBufferedWriter(tempSaveFile, StandardCharsets.UTF_8)) {
+			writer.write(data);
+		}
+		FileUtils.fsync(tempSaveFile);
+		FileUtils.moveFile(tempSaveFile, saveFile, Log.getLogger());
+	}
+
+	private final long seed;
+
+	/**
+	 * Creates a new {@link SaveFileGenerator}.
+	 * 
+	 * @param seed
+	 *            the seed of the generated data
+	 */
+	public SaveFileGenerator(long seed) {
+		BukkitBootstrap.setup();
+		DataVersion.init();
+		this.seed = seed;
+	}
+
+	/**
+	 * Generates the save data of the specified number of shopkeepers, with the ids {@code 1} to
+	 * {@code shopkeepers}.
+	 * 
+	 * @param shopkeepers
+	 *            the number of shopkeepers
+	 * @return the save data
+	 */
+	public BukkitConfigDataStore generate(int shopkeepers) {
+		Validate.isTrue(shopkeepers >= 0, "shopkeepers cannot be negative");
+		BukkitConfigDataStore saveData = BukkitConfigDataStore.ofNewYamlConfig();
+		saveData.getConfig().options().header(HEADER);
+		saveData.set(DATA_VERSION_KEY, DataVersion.current().toString());
+		for (int id = 1; id <= shopkeepers; id++) {
+			setShopkeeperData(saveData, id, this.createShopkeeperData(id));
+		}
+		return saveData;
+	}
+
+	/**
+	 * Sets the data of the specified shopkeeper in the given save data, replacing any previous data
+	 * of the shopkeeper, similar to how the shopkeeper storage transfers the data of dirty
+	 * shopkeepers into its save data.
+	 * 
+	 * @param saveData
+	 *            the save data
+	 * @param id
+	 *            the shopkeeper id
+	 * @param shopkeeperData
+	 *            the shopkeeper data, e.g. created via {@link #createShopkeeperData(int)}, not
+	 *            modified
+	 */
+	public static void setShopkeeperData(
+			BukkitConfigDataStore saveData,
+			int id,
+			DataContainer shopkeeperData
+	) {
+		Validate.notNull(saveData, "saveData is null");
+		Validate.isTrue(id > 0, "id has to be positive");
+		Validate.notNull(shopkeeperData, "shopkeeperData is null");
+		saveData.createContainer(String.valueOf(id)).setAll(shopkeeperData.getValues());
+	}
+
+	/**
+	 * Generates the data of the specified shopkeeper.
+	 * 
+	 * @param id
+	 *            the shopkeeper id
+	 * @return the shopkeeper data
+	 */
+	public ShopkeeperData createShopkeeperData(int id) {
+		Validate.isTrue(id > 0, "id has to be positive");
+		Random random = new Random(seed * 31L + id);
+		ShopkeeperData shopkeeperData = ShopkeeperData.ofNonNull(DataContainer.create());
+
+		String shopType = SHOP_TYPES[random.nextInt(SHOP_TYPES.length)];
+		shopkeeperData.set(AbstractShopkeeper.UNIQUE_ID, new UUID(seed, id));
+		shopkeeperData.set(AbstractShopkeeper.SHOP_TYPE_ID, shopType);
+		String worldName = WORLD_NAMES[random.nextInt(WORLD_NAMES.length)];
+		shopkeeperData.set(AbstractShopkeeper.WORLD_NAME, worldName);
+		int x = random.nextInt(AREA_SIZE) - AREA_SIZE / 2;
+		int y = 40 + random.nextInt(80);
+		int z = random.nextInt(AREA_SIZE) - AREA_SIZE / 2;
+		shopkeeperData.set(AbstractShopkeeper.LOCATION_X, x);
+		shopkeeperData.set(AbstractShopkeeper.LOCATION_Y, y);
+		shopkeeperData.set(AbstractShopkeeper.LOCATION_Z, z);
+		shopkeeperData.set(AbstractShopkeeper.YAW, (float) random.nextInt(360));
+		shopkeeperData.set(AbstractShopkeeper.NAME, ChatColor.GREEN + "Shop " + id);
+
+		ShopObjectData shopObjectData = ShopObjectData.ofNonNull(DataContainer.create());
+		shopObjectData.set("type", SHOP_OBJECT_TYPES[random.nextInt(SHOP_OBJECT_TYPES.length)]);
+		shopkeeperData.set(AbstractShopkeeper.SHOP_OBJECT_DATA, shopObjectData);
+
+		if (!shopType.equals("admin")) {
+			int player = random.nextInt(PLAYERS);
+			shopkeeperData.set(AbstractPlayerShopkeeper.OWNER_UNIQUE_ID, new UUID(1L, player));
+			shopkeeperData.set(AbstractPlayerShopkeeper.OWNER_NAME, "Player" + player);
+			shopkeeperData.set(AbstractPlayerShopkeeper.CONTAINER_X, x);
+			shopkeeperData.set(AbstractPlayerShopkeeper.CONTAINER_Y, y - 1);
+			shopkeeperData.set(AbstractPlayerShopkeeper.CONTAINER_Z, z);
+		}
+
+		this.saveOffers(shopkeeperData, shopType, random);
+
+		if (random.nextInt(100) < SNAPSHOTS_CHANCE) {
+			List<@NonNull SKShopkeeperSnapshot> snapshots = new ArrayList<>();
+			int snapshotCount = 1 + random.nextInt(2);
+			for (int i = 1; i <= snapshotCount; i++) {
+				ShopkeeperData snapshotData = ShopkeeperData.ofNonNull(DataContainer.create());
+				snapshotData.set(AbstractShopkeeper.NAME, ChatColor.GREEN + "Shop " + id);
+				this.saveOffers(snapshotData, shopType, random);
+				Instant timestamp = Instant.ofEpochSecond(
+						1_600_000_000L + random.nextInt(10_000_000)
+				);
+				snapshots.add(new SKShopkeeperSnapshot("snapshot-" + i, timestamp, snapshotData));
+			}
+			shopkeeperData.set(AbstractShopkeeper.SNAPSHOTS, snapshots);
+		}
+		return shopkeeperData;
+	}
+
+	private void saveOffers(ShopkeeperData shopkeeperData, String shopType, Random random) {
+		int offerCount = 1 + random.nextInt(MAX_OFFERS);
+		switch (shopType) {
+		case "sell":
+		case "buy":
+			List<@NonNull PriceOffer> priceOffers = new ArrayList<>(offerCount);
+			for (int i = 0; i < offerCount; i++) {
+				priceOffers.add(new SKPriceOffer(this.createItem(random), 1 + random.nextInt(64)));
+			}
+			if (shopType.equals("sell")) {
+				shopkeeperData.set(SKSellingPlayerShopkeeper.OFFERS, priceOffers);
+			} else {
+				shopkeeperData.set(SKBuyingPlayerShopkeeper.OFFERS, priceOffers);
+			}
+			break;
+		default:
+			List<@NonNull TradeOffer> tradeOffers = new ArrayList<>(offerCount);
+			for (int i = 0; i < offerCount; i++) {
+				ItemStack item1 = new ItemStack(Material.EMERALD, 1 + random.nextInt(64));
+				@Nullable ItemStack item2 = random.nextBoolean() ? null : this.createItem(random);
+				tradeOffers.add(new SKTradeOffer(this.createItem(random), item1, item2));
+			}
+			if (shopType.equals("admin")) {
+				shopkeeperData.set(SKRegularAdminShopkeeper.OFFERS, tradeOffers);
+			} else {
+				shopkeeperData.set(SKTradingPlayerShopkeeper.OFFERS, tradeOffers);
+			}
+			break;
+		}
+	}
+
+	// Plain, enchanted, and items with custom item meta:
+	private ItemStack createItem(Random random) {
+		switch (random.nextInt(3)) {
+		case 0:
+			Material type = PLAIN_ITEMS[random.nextInt(PLAIN_ITEMS.length)];
+			return new ItemStack(type, 1 + random.nextInt(64));
+		case 1:
+			ItemStack itemStack = new ItemStack(Material.DIAMOND_SWORD);
+			itemStack.addUnsafeEnchantment(
+					Unsafe.assertNonNull(Enchantment.DAMAGE_ALL),
+					1 + random.nextInt(5)
+			);
+			if (random.nextBoolean()) {
+				itemStack.addUnsafeEnchantment(Unsafe.assertNonNull(Enchantment.DURABILITY), 3);
+			}
+			return itemStack;
+		default:
+			return BenchmarkItems.createItem(random.nextInt(4));
+		}
+	}
+}
@@ -0,0 +1,118 @@
+package com.nisovin.shopkeepers.jmh;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.bukkit.ChatColor;
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.nisovin.shopkeepers.api.internal.util.Unsafe;
+import com.nisovin.shopkeepers.api.shopkeeper.offers.TradeOffer;
+import com.nisovin.shopkeepers.shopkeeper.AbstractShopkeeper;
+import com.nisovin.shopkeepers.shopkeeper.ShopkeeperData;
+import com.nisovin.shopkeepers.shopkeeper.admin.regular.SKRegularAdminShopkeeper;
+import com.nisovin.shopkeepers.shopkeeper.offers.SKTradeOffer;
+import com.nisovin.shopkeepers.util.data.persistence.bukkit.BukkitConfigDataStore;
+import com.nisovin.shopkeepers.util.data.serialization.InvalidDataException;
+
+/**
+ * Benchmarks the saving and loading of shopkeeper data via the data properties of the shopkeepers,
+ * and the serialization and deserialization of the resulting save data.
+ * <p>
+ * This only covers the data properties: Creating and loading actual shopkeepers requires the
+ * plugin's shop type and shop object type registries, which are not available without an enabled
+ * plugin.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ShopkeeperDataPropertiesBenchmark extends AbstractBukkitBenchmark {
+
+	private static final String SHOP_TYPE_ID = "admin";
+	private static final String WORLD_NAME = "world";
+
+	@Param({ "100", "1000" })
+	public int shopkeepers;
+
+	@Param({ "1", "9", "27" })
+	public int offers;
+
+	private List<? extends @NonNull TradeOffer> offerList = Unsafe.uncheckedNull();
+	private String serializedData = "";
+
+	@Setup
+	public void setup() {
+		List<@NonNull TradeOffer> offerList = new ArrayList<>(offers);
+		for (int i = 0; i < offers; i++) {
+			ItemStack resultItem = BenchmarkItems.createItem(i % 4);
+			ItemStack item1 = new ItemStack(Material.EMERALD, 1 + i % 64);
+			ItemStack item2 = (i % 2 == 0) ? null : new ItemStack(Material.EMERALD_BLOCK, 1);
+			offerList.add(new SKTradeOffer(resultItem, item1, item2));
+		}
+		this.offerList = offerList;
+		serializedData = this.saveShopkeepers().saveToString();
+	}
+
+	private BukkitConfigDataStore saveShopkeepers() {
+		BukkitConfigDataStore saveData = BukkitConfigDataStore.ofNewYamlConfig();
+		for (int id = 1; id <= shopkeepers; id++) {
+			ShopkeeperData shopkeeperData = ShopkeeperData.ofNonNull(
+					saveData.createContainer(String.valueOf(id))
+			);
+			shopkeeperData.set(AbstractShopkeeper.UNIQUE_ID, new UUID(0L, id));
+			shopkeeperData.set(AbstractShopkeeper.SHOP_TYPE_ID, SHOP_TYPE_ID);
+			shopkeeperData.set(AbstractShopkeeper.WORLD_NAME, WORLD_NAME);
+			shopkeeperData.set(AbstractShopkeeper.LOCATION_X, id);
+			shopkeeperData.set(AbstractShopkeeper.LOCATION_Y, 64);
+			shopkeeperData.set(AbstractShopkeeper.LOCATION_Z, -id);
+			shopkeeperData.set(AbstractShopkeeper.NAME, ChatColor.GREEN + "Shop " + id);
+			shopkeeperData.set(SKRegularAdminShopkeeper.OFFERS, offerList);
+		}
+		return saveData;
+	}
+
+	@Benchmark
+	public BukkitConfigDataStore save() {
+		return this.saveShopkeepers();
+	}
+
+	@Benchmark
+	public String saveAndSerialize() {
+		return this.saveShopkeepers().saveToString();
+	}
+
+	@Benchmark
+	public void deserializeAndLoad(Blackhole blackhole) throws Exception {
+		BukkitConfigDataStore saveData = BukkitConfigDataStore.ofNewYamlConfig();
+		saveData.loadFromString(serializedData);
+		for (String key : saveData.getKeys()) {
+			ShopkeeperData shopkeeperData = ShopkeeperData.of(saveData.getContainer(key));
+			if (shopkeeperData == null) {
+				throw new InvalidDataException("Missing shopkeeper data: " + key);
+			}
+			blackhole.consume(shopkeeperData.get(AbstractShopkeeper.UNIQUE_ID));
+			blackhole.consume(shopkeeperData.get(AbstractShopkeeper.LOCATION));
+			blackhole.consume(shopkeeperData.get(AbstractShopkeeper.NAME));
+			blackhole.consume(shopkeeperData.get(SKRegularAdminShopkeeper.OFFERS));
+		}
+	}
+}
@@ -0,0 +1,58 @@
+package com.nisovin.shopkeepers.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import org.bukkit.ChatColor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.nisovin.shopkeepers.api.internal.util.Unsafe;
+import com.nisovin.shopkeepers.util.bukkit.TextUtils;
+import com.nisovin.shopkeepers.util.java.StringUtils;
+
+/**
+ * Benchmarks the normalization of colored shopkeeper names, which the shopkeeper registry applies
+ * to the name of every shopkeeper when it looks up shopkeepers by name.
+ * <p>
+ * This does not benchmark the name and owner queries of the shopkeeper registry itself: The
+ * registry cannot be created with the server and plugin mocks of the tests.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ShopkeeperNameBenchmark extends AbstractBukkitBenchmark {
+
+	@Param({ "1000", "10000" })
+	public int names;
+
+	private String[] nameArray = Unsafe.uncheckedNull();
+
+	@Setup
+	public void setup() {
+		nameArray = new String[names];
+		for (int i = 0; i < names; i++) {
+			nameArray[i] = ChatColor.GREEN + "Shop " + ChatColor.BOLD + i;
+		}
+	}
+
+	// See SKShopkeeperRegistry#getShopkeepersByName
+	@Benchmark
+	public void normalize(Blackhole blackhole) {
+		for (String name : nameArray) {
+			blackhole.consume(StringUtils.normalize(TextUtils.stripColor(name)));
+		}
+	}
+}
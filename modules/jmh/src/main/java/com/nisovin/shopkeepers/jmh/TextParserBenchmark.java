@@ -0,0 +1,70 @@
+package com.nisovin.shopkeepers.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import org.bukkit.ChatColor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.nisovin.shopkeepers.api.internal.util.Unsafe;
+import com.nisovin.shopkeepers.text.Text;
+
+/**
+ * Benchmarks the parsing of message texts with color codes and placeholders, and the subsequent
+ * insertion of the placeholder arguments.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TextParserBenchmark extends AbstractBukkitBenchmark {
+
+	// Similar to the trade notification message:
+	private static final String SEGMENT = ChatColor.GRAY + "Trade: " + ChatColor.YELLOW + "{player}"
+			+ ChatColor.GRAY + " [" + ChatColor.GOLD + "{amount}x " + ChatColor.GREEN + "{item}"
+			+ ChatColor.GRAY + "] {shop} ";
+
+	// The number of message segments:
+	@Param({ "1", "8", "32" })
+	public int segments;
+
+	private String message = "";
+	private Text text = Unsafe.uncheckedNull();
+
+	@Setup
+	public void setup() {
+		StringBuilder builder = new StringBuilder();
+		for (int i = 0; i < segments; i++) {
+			builder.append(SEGMENT);
+		}
+		message = builder.toString();
+		text = Text.parse(message);
+	}
+
+	@Benchmark
+	public Text parse() {
+		return Text.parse(message);
+	}
+
+	@Benchmark
+	public String format() {
+		text.setPlaceholderArguments(
+				"player", "SomePlayer",
+				"amount", 16,
+				"item", "Diamond Sword",
+				"shop", "Weapons"
+		);
+		return text.toPlainText();
+	}
+}
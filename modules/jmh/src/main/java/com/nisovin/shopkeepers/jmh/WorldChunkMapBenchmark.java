@@ -0,0 +1,77 @@
+package com.nisovin.shopkeepers.jmh;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.nisovin.shopkeepers.api.internal.util.Unsafe;
+import com.nisovin.shopkeepers.util.bukkit.ChunkKeys;
+import com.nisovin.shopkeepers.util.bukkit.WorldChunkMap;
+
+/**
+ * Benchmarks the chunk lookups of a {@link WorldChunkMap} that is populated similar to how the
+ * shopkeepers are distributed across the chunks of a world.
+ * <p>
+ * This does not benchmark the chunk queries of the shopkeeper registry itself: The registry cannot
+ * be created with the server and plugin mocks of the tests.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WorldChunkMapBenchmark extends AbstractBukkitBenchmark {
+
+	private static final String WORLD_NAME = "world";
+	private static final int ENTRIES_PER_CHUNK = 4;
+
+	@Param({ "1000", "10000", "100000" })
+	public int entries;
+
+	private WorldChunkMap<@NonNull List<@NonNull Integer>> entriesByChunk = Unsafe.uncheckedNull();
+	private int chunksPerRow;
+	private int nextChunk = 0;
+
+	@Setup
+	public void setup() {
+		entriesByChunk = new WorldChunkMap<>();
+		int chunks = (entries + ENTRIES_PER_CHUNK - 1) / ENTRIES_PER_CHUNK;
+		chunksPerRow = Math.max(1, (int) Math.sqrt(chunks));
+		for (int id = 0; id < entries; id++) {
+			int chunk = id / ENTRIES_PER_CHUNK;
+			long chunkKey = ChunkKeys.of(chunk % chunksPerRow, chunk / chunksPerRow);
+			List<@NonNull Integer> chunkEntries = entriesByChunk.get(WORLD_NAME, chunkKey);
+			if (chunkEntries == null) {
+				chunkEntries = new ArrayList<>(ENTRIES_PER_CHUNK);
+				entriesByChunk.put(WORLD_NAME, chunkKey, chunkEntries);
+			}
+			chunkEntries.add(id);
+		}
+	}
+
+	@Benchmark
+	public int get() {
+		// Cycles through the chunks of a square area that is slightly larger than the area with
+		// entries, so that some lookups miss:
+		int chunk = nextChunk;
+		nextChunk = (chunk + 1) % ((chunksPerRow + 1) * (chunksPerRow + 1));
+		int chunkX = chunk % (chunksPerRow + 1);
+		int chunkZ = chunk / (chunksPerRow + 1);
+		List<@NonNull Integer> chunkEntries = entriesByChunk.get(WORLD_NAME, chunkX, chunkZ);
+		return (chunkEntries != null) ? chunkEntries.size() : 0;
+	}
+}
@@ -0,0 +1,2 @@
+@com.nisovin.shopkeepers.api.internal.util.annotations.NonNullByDefault
+package com.nisovin.shopkeepers.jmh;
@@ -30,10 +30,12 @@ import com.nisovin.shopkeepers.compat.NMSManager;
 import com.nisovin.shopkeepers.compat.ServerAssumptionsTest;
 import com.nisovin.shopkeepers.config.Settings;
 import com.nisovin.shopkeepers.config.lib.ConfigLoadException;
+import com.nisovin.shopkeepers.container.ShopContainerChangeListener;
 import com.nisovin.shopkeepers.container.protection.ProtectedContainers;
 import com.nisovin.shopkeepers.container.protection.RemoveShopOnContainerBreak;
 import com.nisovin.shopkeepers.debug.Debug;
 import com.nisovin.shopkeepers.debug.events.EventDebugger;
+import com.nisovin.shopkeepers.debug.jfr.JfrEvents;
 import com.nisovin.shopkeepers.debug.trades.TradingCountListener;
 import com.nisovin.shopkeepers.dependencies.worldguard.WorldGuardDependency;
 import com.nisovin.shopkeepers.input.chat.ChatInput;
@@ -42,6 +44,7 @@ import com.nisovin.shopkeepers.internals.SKApiInternals;
 import com.nisovin.shopkeepers.itemconversion.ItemConversions;
 import com.nisovin.shopkeepers.lang.Messages;
 import com.nisovin.shopkeepers.metrics.PluginMetrics;
+import com.nisovin.shopkeepers.metrics.openmetrics.OpenMetricsExporter;
 import com.nisovin.shopkeepers.moving.ShopkeeperMoving;
 import com.nisovin.shopkeepers.naming.ShopkeeperNaming;
 import com.nisovin.shopkeepers.playershops.PlayerShops;
@@ -50,12 +53,14 @@ import com.nisovin.shopkeepers.shopkeeper.AbstractShopType;
 import com.nisovin.shopkeepers.shopkeeper.AbstractShopkeeper;
 import com.nisovin.shopkeepers.shopkeeper.SKDefaultShopTypes;
 import com.nisovin.shopkeepers.shopkeeper.SKShopTypesRegistry;
+import com.nisovin.shopkeepers.shopkeeper.activation.ShopkeeperChunkActivator;
 import com.nisovin.shopkeepers.shopkeeper.migration.ShopkeeperDataMigrator;
 import com.nisovin.shopkeepers.shopkeeper.registry.SKShopkeeperRegistry;
 import com.nisovin.shopkeepers.shopobjects.SKDefaultShopObjectTypes;
 import com.nisovin.shopkeepers.shopobjects.SKShopObjectTypesRegistry;
 import com.nisovin.shopkeepers.shopobjects.block.base.BaseBlockShops;
 import com.nisovin.shopkeepers.shopobjects.citizens.CitizensShops;
+import com.nisovin.shopkeepers.shopobjects.living.LivingEntityAI;
 import com.nisovin.shopkeepers.shopobjects.living.LivingShops;
 import com.nisovin.shopkeepers.spigot.SpigotFeatures;
 import com.nisovin.shopkeepers.storage.SKShopkeeperStorage;
@@ -64,10 +69,12 @@ import com.nisovin.shopkeepers.tradenotifications.TradeNotifications;
 import com.nisovin.shopkeepers.trading.commandtrading.CommandTrading;
 import com.nisovin.shopkeepers.ui.SKDefaultUITypes;
 import com.nisovin.shopkeepers.ui.SKUIRegistry;
+import com.nisovin.shopkeepers.ui.trading.TradingHandler;
 import com.nisovin.shopkeepers.util.bukkit.SchedulerUtils;
 import com.nisovin.shopkeepers.util.java.ClassUtils;
 import com.nisovin.shopkeepers.util.java.Validate;
 import com.nisovin.shopkeepers.util.logging.Log;
+import com.nisovin.shopkeepers.util.timer.TimingsRegistry;
 import com.nisovin.shopkeepers.villagers.RegularVillagers;
 import com.nisovin.shopkeepers.world.ForcingCreatureSpawner;
 import com.nisovin.shopkeepers.world.ForcingEntityTeleporter;
@@ -151,6 +158,10 @@ public class SKShopkeepersPlugin extends JavaPlugin implements InternalShopkeepe
 			Unsafe.initialized(this),
 			protectedContainers
 	);
+	private final ShopContainerChangeListener shopContainerChangeListener = new ShopContainerChangeListener(
+			Unsafe.initialized(this),
+			protectedContainers
+	);
 
 	private final LivingShops livingShops = new LivingShops(Unsafe.initialized(this));
 	private final BaseBlockShops blockShops = new BaseBlockShops(Unsafe.initialized(this));
@@ -168,6 +179,10 @@ public class SKShopkeepersPlugin extends JavaPlugin implements InternalShopkeepe
 	);
 
 	private final PluginMetrics pluginMetrics = new PluginMetrics(Unsafe.initialized(this));
+	private final TimingsRegistry timingsRegistry = new TimingsRegistry();
+	private final OpenMetricsExporter openMetricsExporter = new OpenMetricsExporter(
+			Unsafe.initialized(this)
+	);
 
 	private boolean outdatedServer = false;
 	private boolean incompatibleServer = false;
@@ -338,6 +353,9 @@ public class SKShopkeepersPlugin extends JavaPlugin implements InternalShopkeepe
 			}
 		}
 
+		// JFR events:
+		JfrEvents.onEnable();
+
 		// Register defaults (if not already set up during onLoad):
 		if (!alreadySetUp) {
 			this.registerDefaults();
@@ -365,6 +383,7 @@ public class SKShopkeepersPlugin extends JavaPlugin implements InternalShopkeepe
 		// Enable container protection:
 		protectedContainers.enable();
 		removeShopOnContainerBreak.onEnable();
+		shopContainerChangeListener.onEnable();
 
 		// Register events:
 		PluginManager pm = Bukkit.getPluginManager();
@@ -449,6 +468,12 @@ public class SKShopkeepersPlugin extends JavaPlugin implements InternalShopkeepe
 		// Plugin metrics:
 		pluginMetrics.onEnable();
 
+		// Timings:
+		this.registerTimings();
+
+		// OpenMetrics export:
+		openMetricsExporter.onEnable();
+
 		// Event debugger:
 		eventDebugger.onEnable();
 	}
@@ -481,6 +506,7 @@ public class SKShopkeepersPlugin extends JavaPlugin implements InternalShopkeepe
 		// Disable protected containers:
 		protectedContainers.disable();
 		removeShopOnContainerBreak.onDisable();
+		shopContainerChangeListener.onDisable();
 
 		// Disable shopkeeper registry: Unloads all shopkeepers.
 		shopkeeperRegistry.onDisable();
@@ -532,9 +558,18 @@ public class SKShopkeepersPlugin extends JavaPlugin implements InternalShopkeepe
 		// Plugin metrics:
 		pluginMetrics.onDisable();
 
+		// OpenMetrics export:
+		openMetricsExporter.onDisable();
+
+		// Timings:
+		timingsRegistry.clear();
+
 		// Event debugger:
 		eventDebugger.onDisable();
 
+		// JFR events:
+		JfrEvents.onDisable();
+
 		HandlerList.unregisterAll(this);
 		Bukkit.getScheduler().cancelTasks(this);
 
@@ -542,6 +577,30 @@ public class SKShopkeepersPlugin extends JavaPlugin implements InternalShopkeepe
 		plugin = null;
 	}
 
+	private void registerTimings() {
+		TimingsRegistry timings = timingsRegistry;
+		ShopkeeperChunkActivator chunkActivator = shopkeeperRegistry.getChunkActivator();
+		timings.register("chunk-activation", chunkActivator.getChunkActivationTimings());
+		timings.register("chunk-activation-batch", chunkActivator.getChunkActivationBatchTimings());
+
+		LivingEntityAI livingEntityAI = livingShops.getLivingEntityAI();
+		timings.register("ai-total", livingEntityAI.getTotalTimings());
+		timings.register("ai-activation", livingEntityAI.getActivationTimings());
+		timings.register("ai-gravity", livingEntityAI.getGravityTimings());
+		timings.register("ai", livingEntityAI.getAITimings());
+
+		timings.register("spawning", shopkeeperRegistry.getShopkeeperSpawner().getSpawnTimings());
+		timings.register("ticking", shopkeeperRegistry.getShopkeeperTicker().getTickingTimings());
+
+		timings.register("storage-save-prepare", shopkeeperStorage.getSavePrepareTimings());
+		timings.register("storage-save-serialize", shopkeeperStorage.getSaveSerializeTimings());
+		timings.register("storage-save-write", shopkeeperStorage.getSaveWriteTimings());
+
+		timings.register("trading", TradingHandler.getTradeHandlingTimings());
+		timings.register("trade-logging", tradeLoggers.getProcessingTimings());
+		timings.register("trade-log-csv-write", tradeLoggers.getCsvWriteTimings());
+	}
+
 	/**
 	 * Reloads the plugin.
 	 */
@@ -732,9 +791,21 @@ public class SKShopkeepersPlugin extends JavaPlugin implements InternalShopkeepe
 		return playerShops;
 	}
 
+	// TRADE LOGGERS
+
+	public TradeLoggers getTradeLoggers() {
+		return tradeLoggers;
+	}
+
 	// TRADE NOTIFICATIONS
 
 	public TradeNotifications getTradeNotifications() {
 		return tradeNotifications;
 	}
+
+	// TIMINGS
+
+	public TimingsRegistry getTimingsRegistry() {
+		return timingsRegistry;
+	}
 }
@@ -37,11 +37,13 @@ import com.nisovin.shopkeepers.text.Text;
 import com.nisovin.shopkeepers.util.bukkit.TextUtils;
 import com.nisovin.shopkeepers.util.taskqueue.TaskQueueStatistics;
 import com.nisovin.shopkeepers.util.timer.Timings;
+import com.nisovin.shopkeepers.villagers.BlockVillagerSpawnListener;
 
 class CommandCheck extends Command {
 
 	private static final String ARGUMENT_CHUNKS = "chunks";
 	private static final String ARGUMENT_ACTIVE = "active";
+	private static final String ARGUMENT_TIMINGS = "timings";
 
 	private final SKShopkeepersPlugin plugin;
 	private final SKShopkeeperRegistry shopkeeperRegistry;
@@ -67,7 +69,8 @@ class CommandCheck extends Command {
 		// Arguments:
 		this.addArgument(new FirstOfArgument("context", Arrays.asList(
 				new LiteralArgument(ARGUMENT_CHUNKS),
-				new LiteralArgument(ARGUMENT_ACTIVE)
+				new LiteralArgument(ARGUMENT_ACTIVE),
+				new LiteralArgument(ARGUMENT_TIMINGS)
 		), true).optional()); // Join formats
 	}
 
@@ -79,6 +82,11 @@ class CommandCheck extends Command {
 		boolean listChunks = context.has(ARGUMENT_CHUNKS);
 		boolean listActive = context.has(ARGUMENT_ACTIVE);
 
+		if (context.has(ARGUMENT_TIMINGS)) {
+			this.sendTimings(sender);
+			return;
+		}
+
 		LivingEntityAI livingEntityAI = plugin.getLivingShops().getLivingEntityAI();
 
 		int totalChunksWithShopkeepers = shopkeeperRegistry.getWorldsWithShopkeepers().stream()
@@ -114,6 +122,16 @@ class CommandCheck extends Command {
 				+ " | " + TextUtils.format(maxChunkActivationTimings) + " ms"
 				+ " | " + chunkActivationTimings.getCounter());
 
+		Timings chunkActivationBatchTimings = chunkActivator.getChunkActivationBatchTimings();
+		double avgChunkActivationBatchTimings = chunkActivationBatchTimings.getAverageTimeMillis();
+		double maxChunkActivationBatchTimings = chunkActivationBatchTimings.getMaxTimeMillis();
+		sender.sendMessage("    Batch timings (avg | max | cnt): "
+				+ TextUtils.format(avgChunkActivationBatchTimings) + " ms"
+				+ " | " + TextUtils.format(maxChunkActivationBatchTimings) + " ms"
+				+ " | " + chunkActivationBatchTimings.getCounter());
+		sender.sendMessage("    Pending deferred activations: "
+				+ chunkActivator.getDeferredChunkActivationsCount());
+
 		double avgTotalAITimings = livingEntityAI.getTotalTimings().getAverageTimeMillis();
 		double maxTotalAITiming = livingEntityAI.getTotalTimings().getMaxTimeMillis();
 		sender.sendMessage("  Total AI timings (per " + Settings.mobBehaviorTickPeriod
@@ -143,6 +161,13 @@ class CommandCheck extends Command {
 				+ TextUtils.format(avgAITimings) + " ms"
 				+ " | " + TextUtils.format(maxAITiming) + " ms");
 
+		if (Settings.blockVillagerSpawns || Settings.blockWanderingTraderSpawns) {
+			BlockVillagerSpawnListener blockVillagerSpawnListener = plugin.getRegularVillagers()
+					.getBlockVillagerSpawnListener();
+			sender.sendMessage("  Removed chunk generation villagers: "
+					+ blockVillagerSpawnListener.getRemovedEntitiesCount());
+		}
+
 		for (World world : Bukkit.getWorlds()) {
 			String worldName = world.getName();
 			Chunk[] worldLoadedChunks = world.getLoadedChunks();
@@ -237,4 +262,20 @@ class CommandCheck extends Command {
 			sender.sendMessage("More information is printed when the command is run from console.");
 		}
 	}
+
+	private void sendTimings(CommandSender sender) {
+		sender.sendMessage(ChatColor.YELLOW + "Timings (cnt | recent cnt | avg | p50 | p95 | p99"
+				+ " | p99.9 | max):");
+		plugin.getTimingsRegistry().getAll().forEach((name, timings) -> {
+			sender.sendMessage("  " + name + ": " + timings.getCounter()
+					+ " | " + timings.getRecentCounter()
+					+ " | " + TextUtils.format(timings.getAverageTimeMillis()) + " ms"
+					+ " | " + TextUtils.format(timings.getPercentileTimeMillis(50.0D)) + " ms"
+					+ " | " + TextUtils.format(timings.getPercentileTimeMillis(95.0D)) + " ms"
+					+ " | " + TextUtils.format(timings.getPercentileTimeMillis(99.0D)) + " ms"
+					+ " | " + TextUtils.format(timings.getPercentileTimeMillis(99.9D)) + " ms"
+					+ " | " + TextUtils.format(timings.getMaxTimeMillis()) + " ms");
+		});
+		sender.sendMessage("  (Percentiles and recent counts cover the last minute.)");
+	}
 }
@@ -0,0 +1,96 @@
+package com.nisovin.shopkeepers.commands.shopkeepers;
+
+import java.util.List;
+
+import org.bukkit.Material;
+import org.bukkit.command.CommandSender;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import com.nisovin.shopkeepers.api.ShopkeepersPlugin;
+import com.nisovin.shopkeepers.api.shopkeeper.ShopkeeperRegistry;
+import com.nisovin.shopkeepers.api.shopkeeper.offers.PriceOffer;
+import com.nisovin.shopkeepers.api.shopkeeper.player.sell.SellingPlayerShopkeeper;
+import com.nisovin.shopkeepers.api.shopkeeper.player.sell.SellingShopOffer;
+import com.nisovin.shopkeepers.commands.lib.Command;
+import com.nisovin.shopkeepers.commands.lib.CommandException;
+import com.nisovin.shopkeepers.commands.lib.CommandInput;
+import com.nisovin.shopkeepers.commands.lib.arguments.EnumArgument;
+import com.nisovin.shopkeepers.commands.lib.arguments.PositiveIntegerArgument;
+import com.nisovin.shopkeepers.commands.lib.context.CommandContextView;
+import com.nisovin.shopkeepers.lang.Messages;
+import com.nisovin.shopkeepers.util.bukkit.TextUtils;
+
+class CommandSearch extends Command {
+
+	private static final String ARGUMENT_ITEM_TYPE = "item";
+	private static final String ARGUMENT_PAGE = "page";
+
+	private static final int ENTRIES_PER_PAGE = 8;
+
+	private final ShopkeeperRegistry shopkeeperRegistry;
+
+	CommandSearch(ShopkeeperRegistry shopkeeperRegistry) {
+		super("search");
+		this.shopkeeperRegistry = shopkeeperRegistry;
+
+		// Set permission:
+		this.setPermission(ShopkeepersPlugin.SEARCH_PERMISSION);
+
+		// Set description:
+		this.setDescription(Messages.commandDescriptionSearch);
+
+		// Arguments:
+		this.addArgument(new EnumArgument<>(ARGUMENT_ITEM_TYPE, Material.class));
+		this.addArgument(new PositiveIntegerArgument(ARGUMENT_PAGE).orDefaultValue(1));
+	}
+
+	@Override
+	protected void execute(CommandInput input, CommandContextView context) throws CommandException {
+		CommandSender sender = input.getSender();
+		Material itemType = context.get(ARGUMENT_ITEM_TYPE);
+		int page = context.get(ARGUMENT_PAGE);
+
+		// Already sorted by unit price:
+		List<? extends @NonNull SellingShopOffer> offers = shopkeeperRegistry.getSellingOffers(
+				itemType
+		);
+		if (offers.isEmpty()) {
+			TextUtils.sendMessage(sender, Messages.searchNoOffersFound,
+					"itemType", itemType.name()
+			);
+			return;
+		}
+
+		int offersCount = offers.size();
+		int maxPage = Math.max(1, (int) Math.ceil((double) offersCount / ENTRIES_PER_PAGE));
+		page = Math.max(1, Math.min(page, maxPage));
+
+		TextUtils.sendMessage(sender, Messages.searchOffersHeader,
+				"itemType", itemType.name(),
+				"offersCount", offersCount,
+				"page", page,
+				"maxPage", maxPage
+		);
+
+		int startIndex = (page - 1) * ENTRIES_PER_PAGE;
+		int endIndex = Math.min(startIndex + ENTRIES_PER_PAGE, offersCount);
+		for (int index = startIndex; index < endIndex; index++) {
+			SellingShopOffer offer = offers.get(index);
+			PriceOffer priceOffer = offer.getOffer();
+			SellingPlayerShopkeeper shopkeeper = offer.getShopkeeper();
+			TextUtils.sendMessage(sender, Messages.searchOffersEntry,
+					"offerIndex", (index + 1),
+					"item", TextUtils.getItemText(priceOffer.getItem()),
+					"amount", priceOffer.getItem().getAmount(),
+					"price", priceOffer.getPrice(),
+					"unitPrice", TextUtils.format(offer.getUnitPrice()),
+					"owner", TextUtils.getPlayerText(
+							shopkeeper.getOwnerName(),
+							shopkeeper.getOwnerUUID()
+					),
+					"shopId", shopkeeper.getId(),
+					"location", shopkeeper.getPositionString()
+			);
+		}
+	}
+}
@@ -2,8 +2,12 @@ package com.nisovin.shopkeepers.compat;
 
 import org.bukkit.Material;
 import org.bukkit.entity.EntityType;
+import org.bukkit.event.Event;
+import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
+import com.nisovin.shopkeepers.util.java.ClassUtils;
+
 final class CompatUtils {
 
 	public static @Nullable EntityType getEntityType(String name) {
@@ -22,6 +26,12 @@ final class CompatUtils {
 		}
 	}
 
+	public static @Nullable Class<? extends @NonNull Event> getEventClass(String className) {
+		Class<?> clazz = ClassUtils.getClassOrNull(className);
+		if (clazz == null || !Event.class.isAssignableFrom(clazz)) return null;
+		return clazz.asSubclass(Event.class);
+	}
+
 	private CompatUtils() {
 	}
 }
@@ -86,6 +86,11 @@ public final class FailedHandler implements NMSCallProvider {
 		// Not supported.
 	}
 
+	@Override
+	public @Nullable Object getAIHandle(LivingEntity entity) {
+		return null; // Not supported.
+	}
+
 	@Override
 	public void setOnGround(Entity entity, boolean onGround) {
 		try {
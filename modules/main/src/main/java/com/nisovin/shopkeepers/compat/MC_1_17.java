@@ -3,6 +3,7 @@ package com.nisovin.shopkeepers.compat;
 import java.util.Optional;
 
 import org.bukkit.Material;
+import org.bukkit.event.Event;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
 import com.nisovin.shopkeepers.util.logging.Log;
@@ -14,6 +15,11 @@ public final class MC_1_17 {
 			CompatUtils.getMaterial("GLOW_INK_SAC")
 	);
 
+	// Extends ChunkEvent.
+	public static final Optional<@NonNull Class<? extends @NonNull Event>> ENTITIES_LOAD_EVENT = Optional.ofNullable(
+			CompatUtils.getEventClass("org.bukkit.event.world.EntitiesLoadEvent")
+	);
+
 	public static void init() {
 		if (isAvailable()) {
 			Log.debug("MC 1.17 exclusive features are enabled.");
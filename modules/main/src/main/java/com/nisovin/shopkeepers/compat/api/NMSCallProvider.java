@@ -1,5 +1,7 @@
 package com.nisovin.shopkeepers.compat.api;
 
+import java.util.List;
+
 import org.bukkit.Material;
 import org.bukkit.block.Sign;
 import org.bukkit.entity.Entity;
@@ -38,6 +40,24 @@ public interface NMSCallProvider {
 
 	public void tickAI(LivingEntity entity, int ticks);
 
+	// Returns an opaque handle that can be passed to tickAI(List, int) in order to tick the AI of
+	// the given entity as part of a batch. Returns null if the AI of the entity cannot be ticked
+	// (e.g. if the entity is no mob). The handle is only valid while the entity is valid and can be
+	// cached by the caller for that duration.
+	public default @Nullable Object getAIHandle(LivingEntity entity) {
+		return entity;
+	}
+
+	// Ticks the AI of all the entities that are represented by the given AI handles (see
+	// getAIHandle). This is equivalent to invoking tickAI(LivingEntity, int) for each of these
+	// entities, but avoids having to resolve and check the underlying Minecraft entities again for
+	// every entity and behavior update.
+	public default void tickAI(List<? extends @NonNull Object> aiHandles, int ticks) {
+		for (int i = 0, size = aiHandles.size(); i < size; ++i) {
+			this.tickAI((LivingEntity) aiHandles.get(i), ticks);
+		}
+	}
+
 	public void setOnGround(Entity entity, boolean onGround);
 
 	// On some MC versions (e.g. MC 1.9, 1.10) NoAI only disables AI.
@@ -55,6 +55,10 @@ public class Settings extends Config {
 	// See DebugOptions for all available options.
 	public static List<@NonNull String> debugOptions = new ArrayList<>(0);
 	public static boolean enableMetrics = true;
+	public static int metricsExportHttpPort = 0;
+	public static boolean metricsExportToFile = false;
+	public static int metricsExportPeriodSeconds = 15;
+	public static boolean enableJfrEvents = false;
 
 	/*
 	 * Messages
@@ -199,6 +203,7 @@ public class Settings extends Config {
 
 	public static boolean disableGravity = false;
 	public static int gravityChunkRange = 4;
+	public static boolean eventDrivenGravity = false;
 
 	// A tick period of 4 and higher is clearly noticeable, especially when entities are affected by
 	// gravity.
@@ -797,6 +802,15 @@ public class Settings extends Config {
 
 	@Override
 	protected void validateSettings() {
+		if (metricsExportHttpPort < 0 || metricsExportHttpPort > 65535) {
+			Log.warning(this.getLogPrefix()
+					+ "'metrics-export-http-port' has to be between 0 and 65535.");
+			metricsExportHttpPort = 0;
+		}
+		if (metricsExportPeriodSeconds <= 0) {
+			Log.warning(this.getLogPrefix() + "'metrics-export-period-seconds' has to be positive.");
+			metricsExportPeriodSeconds = 15;
+		}
 		if (maxContainerDistance > 50) {
 			Log.warning(this.getLogPrefix() + "'max-container-distance' can be at most 50.");
 			maxContainerDistance = 50;
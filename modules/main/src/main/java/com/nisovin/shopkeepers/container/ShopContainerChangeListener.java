@@ -0,0 +1,93 @@
+package com.nisovin.shopkeepers.container;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.block.Block;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.event.inventory.InventoryDragEvent;
+import org.bukkit.event.inventory.InventoryMoveItemEvent;
+import org.bukkit.inventory.Inventory;
+
+import com.nisovin.shopkeepers.SKShopkeepersPlugin;
+import com.nisovin.shopkeepers.api.shopkeeper.player.PlayerShopkeeper;
+import com.nisovin.shopkeepers.container.protection.ProtectedContainers;
+import com.nisovin.shopkeepers.shopkeeper.AbstractShopkeeper;
+import com.nisovin.shopkeepers.ui.SKDefaultUITypes;
+import com.nisovin.shopkeepers.ui.UIHandler;
+import com.nisovin.shopkeepers.ui.trading.TradingHandler;
+import com.nisovin.shopkeepers.util.java.Validate;
+
+/**
+ * Requests an {@link TradingHandler#requestTradesUpdate() update of the trades} of the players
+ * that are trading with a player shop when the contents of the shop's container might have
+ * changed, so that the trades of these players reflect the current stock of the shop.
+ * <p>
+ * Changes of the container contents by the trades of the shop itself are handled by the trading
+ * handler.
+ */
+public class ShopContainerChangeListener implements Listener {
+
+	private final SKShopkeepersPlugin plugin;
+	private final ProtectedContainers protectedContainers;
+
+	public ShopContainerChangeListener(
+			SKShopkeepersPlugin plugin,
+			ProtectedContainers protectedContainers
+	) {
+		Validate.notNull(plugin, "plugin is null");
+		Validate.notNull(protectedContainers, "protectedContainers is null");
+		this.plugin = plugin;
+		this.protectedContainers = protectedContainers;
+	}
+
+	public void onEnable() {
+		Bukkit.getPluginManager().registerEvents(this, plugin);
+	}
+
+	public void onDisable() {
+		HandlerList.unregisterAll(this);
+	}
+
+	@EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+	void onInventoryClick(InventoryClickEvent event) {
+		this.onInventoryChanged(event.getView().getTopInventory());
+	}
+
+	@EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+	void onInventoryDrag(InventoryDragEvent event) {
+		this.onInventoryChanged(event.getView().getTopInventory());
+	}
+
+	// Only called if item movement is not prevented for shop containers.
+	@EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+	void onInventoryMoveItem(InventoryMoveItemEvent event) {
+		this.onInventoryChanged(event.getSource());
+		this.onInventoryChanged(event.getDestination());
+	}
+
+	private void onInventoryChanged(Inventory inventory) {
+		// Skip the container lookup if no player is trading currently:
+		if (plugin.getUIRegistry().getUISessions(SKDefaultUITypes.TRADING()).isEmpty()) return;
+
+		// Note: We avoid calling Inventory#getHolder here for performance reasons. For block
+		// inventories this creates a snapshot of the block's BlockState.
+		Location inventoryLocation = inventory.getLocation(); // Can be null
+		if (inventoryLocation == null) return;
+		Block block = inventoryLocation.getBlock();
+		if (!ShopContainers.isSupportedContainer(block.getType())) return;
+
+		// Also checks for connected chests (double chests):
+		for (PlayerShopkeeper shopkeeper : protectedContainers.getShopkeepersUsingContainer(block)) {
+			UIHandler uiHandler = ((AbstractShopkeeper) shopkeeper).getUIHandler(
+					SKDefaultUITypes.TRADING()
+			);
+			if (uiHandler instanceof TradingHandler) {
+				((TradingHandler) uiHandler).requestTradesUpdate();
+			}
+		}
+	}
+}
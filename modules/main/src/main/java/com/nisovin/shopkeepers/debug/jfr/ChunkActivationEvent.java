@@ -0,0 +1,33 @@
+package com.nisovin.shopkeepers.debug.jfr;
+
+import com.nisovin.shopkeepers.api.util.ChunkCoords;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("shopkeepers.ChunkActivation")
+@Label("Chunk Activation")
+@Description("The activation or deactivation of the shopkeepers in a chunk.")
+public final class ChunkActivationEvent extends ShopkeepersEvent {
+
+	@Label("World")
+	private String world;
+	@Label("Chunk X")
+	private int chunkX;
+	@Label("Chunk Z")
+	private int chunkZ;
+	@Label("Activation")
+	@Description("Whether the chunk is activated (true) or deactivated (false).")
+	private boolean activation;
+	@Label("Shopkeepers")
+	private int shopkeeperCount;
+
+	public ChunkActivationEvent(ChunkCoords chunkCoords, boolean activation, int shopkeeperCount) {
+		this.world = chunkCoords.getWorldName();
+		this.chunkX = chunkCoords.getChunkX();
+		this.chunkZ = chunkCoords.getChunkZ();
+		this.activation = activation;
+		this.shopkeeperCount = shopkeeperCount;
+	}
+}
@@ -0,0 +1,57 @@
+package com.nisovin.shopkeepers.debug.jfr;
+
+import com.nisovin.shopkeepers.config.Settings;
+import com.nisovin.shopkeepers.util.logging.Log;
+
+/**
+ * Controls whether the plugin emits its custom Java Flight Recorder events.
+ * <p>
+ * The event classes extend {@code jdk.jfr.Event}, which is not available on all supported Java
+ * runtimes. Callers therefore have to check {@link #isEnabled()} before they create any of these
+ * events, so that the event classes are never loaded if JFR events are disabled. If enabled, the
+ * events are only recorded while a flight recording is running.
+ */
+public final class JfrEvents {
+
+	private static final String JFR_EVENT_CLASS = "jdk.jfr.Event";
+
+	// Read by the async save tasks:
+	private static volatile boolean enabled = false;
+
+	/**
+	 * Checks if JFR events are enabled.
+	 * <p>
+	 * This can be invoked from any thread.
+	 * 
+	 * @return <code>true</code> if JFR events are enabled
+	 */
+	public static boolean isEnabled() {
+		return enabled;
+	}
+
+	public static void onEnable() {
+		if (!Settings.enableJfrEvents) return;
+		if (!isJfrAvailable()) {
+			Log.warning("Setting 'enable-jfr-events' is enabled, but Java Flight Recorder is not "
+					+ "available in this Java runtime.");
+			return;
+		}
+		enabled = true;
+	}
+
+	public static void onDisable() {
+		enabled = false;
+	}
+
+	private static boolean isJfrAvailable() {
+		try {
+			Class.forName(JFR_EVENT_CLASS);
+			return true;
+		} catch (ClassNotFoundException e) {
+			return false;
+		}
+	}
+
+	private JfrEvents() {
+	}
+}
@@ -0,0 +1,27 @@
+package com.nisovin.shopkeepers.debug.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("shopkeepers.ShopkeeperSpawn")
+@Label("Shopkeeper Spawn")
+@Description("The spawning of a shopkeeper's shop object.")
+public final class ShopkeeperSpawnEvent extends ShopkeepersEvent {
+
+	@Label("Shopkeeper Id")
+	private int shopkeeperId;
+	@Label("Object Type")
+	private String objectType;
+	@Label("Spawned")
+	private boolean spawned;
+
+	public ShopkeeperSpawnEvent(int shopkeeperId, String objectType) {
+		this.shopkeeperId = shopkeeperId;
+		this.objectType = objectType;
+	}
+
+	public void setSpawned(boolean spawned) {
+		this.spawned = spawned;
+	}
+}
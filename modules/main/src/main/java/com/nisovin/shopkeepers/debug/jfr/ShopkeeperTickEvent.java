@@ -0,0 +1,20 @@
+package com.nisovin.shopkeepers.debug.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+@Name("shopkeepers.ShopkeeperTick")
+@Label("Shopkeeper Tick")
+@Description("The ticking of a single shopkeeper and its shop object.")
+@Threshold("1 ms")
+public final class ShopkeeperTickEvent extends ShopkeepersEvent {
+
+	@Label("Shopkeeper Id")
+	private int shopkeeperId;
+
+	public ShopkeeperTickEvent(int shopkeeperId) {
+		this.shopkeeperId = shopkeeperId;
+	}
+}
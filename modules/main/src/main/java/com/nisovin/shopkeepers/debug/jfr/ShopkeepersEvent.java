@@ -0,0 +1,15 @@
+package com.nisovin.shopkeepers.debug.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.StackTrace;
+
+/**
+ * Base class of the plugin's Java Flight Recorder events.
+ * <p>
+ * Only create instances of these events if {@link JfrEvents#isEnabled()}.
+ */
+@Category("Shopkeepers")
+@StackTrace(false)
+abstract class ShopkeepersEvent extends Event {
+}
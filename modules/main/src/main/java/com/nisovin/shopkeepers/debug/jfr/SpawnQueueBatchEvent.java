@@ -0,0 +1,24 @@
+package com.nisovin.shopkeepers.debug.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("shopkeepers.SpawnQueueBatch")
+@Label("Spawn Queue Batch")
+@Description("The spawning of a batch of queued shopkeepers.")
+public final class SpawnQueueBatchEvent extends ShopkeepersEvent {
+
+	@Label("Spawned Shopkeepers")
+	private int spawnedCount;
+	@Label("Pending Shopkeepers")
+	private int pendingCount;
+
+	public SpawnQueueBatchEvent() {
+	}
+
+	public void setCounts(int spawnedCount, int pendingCount) {
+		this.spawnedCount = spawnedCount;
+		this.pendingCount = pendingCount;
+	}
+}
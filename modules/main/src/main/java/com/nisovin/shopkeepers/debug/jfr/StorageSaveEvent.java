@@ -0,0 +1,35 @@
+package com.nisovin.shopkeepers.debug.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("shopkeepers.StorageSave")
+@Label("Storage Save Phase")
+@Description("A phase of saving the shopkeepers: prepare (main thread), serialize, or write.")
+public final class StorageSaveEvent extends ShopkeepersEvent {
+
+	public static final String PHASE_PREPARE = "prepare";
+	public static final String PHASE_SERIALIZE = "serialize";
+	public static final String PHASE_WRITE = "write";
+
+	@Label("Phase")
+	private String phase;
+	@Label("Saved Shopkeepers")
+	@Description("The number of dirty shopkeepers whose data is saved.")
+	private int shopkeeperCount;
+	@Label("Failed Shopkeepers")
+	private int failedCount;
+	@Label("Success")
+	private boolean success;
+
+	public StorageSaveEvent(String phase) {
+		this.phase = phase;
+	}
+
+	public void setResult(int shopkeeperCount, int failedCount, boolean success) {
+		this.shopkeeperCount = shopkeeperCount;
+		this.failedCount = failedCount;
+		this.success = success;
+	}
+}
@@ -0,0 +1,21 @@
+package com.nisovin.shopkeepers.debug.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("shopkeepers.TickingGroup")
+@Label("Ticking Group")
+@Description("The ticking of one group of active shopkeepers.")
+public final class TickingGroupEvent extends ShopkeepersEvent {
+
+	@Label("Ticking Group")
+	private int tickingGroup;
+	@Label("Shopkeepers")
+	private int shopkeeperCount;
+
+	public TickingGroupEvent(int tickingGroup, int shopkeeperCount) {
+		this.tickingGroup = tickingGroup;
+		this.shopkeeperCount = shopkeeperCount;
+	}
+}
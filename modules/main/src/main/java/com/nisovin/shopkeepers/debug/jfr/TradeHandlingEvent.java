@@ -0,0 +1,31 @@
+package com.nisovin.shopkeepers.debug.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("shopkeepers.TradeHandling")
+@Label("Trade Handling")
+@Description("The handling of a trading UI click, including all trades triggered by it.")
+public final class TradeHandlingEvent extends ShopkeepersEvent {
+
+	@Label("Shopkeeper Id")
+	private int shopkeeperId;
+	@Label("Shopkeeper Unique Id")
+	private String shopkeeperUniqueId;
+	@Label("Player")
+	private String player;
+	@Label("Trades")
+	@Description("The number of trades that were completed.")
+	private int tradeCount;
+
+	public TradeHandlingEvent(int shopkeeperId, String shopkeeperUniqueId, String player) {
+		this.shopkeeperId = shopkeeperId;
+		this.shopkeeperUniqueId = shopkeeperUniqueId;
+		this.player = player;
+	}
+
+	public void setTradeCount(int tradeCount) {
+		this.tradeCount = tradeCount;
+	}
+}
@@ -0,0 +1,30 @@
+package com.nisovin.shopkeepers.debug.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("shopkeepers.TradeLogWrite")
+@Label("Trade Log Write")
+@Description("The writing of a batch of trades to the trade log.")
+public final class TradeLogWriteEvent extends ShopkeepersEvent {
+
+	@Label("Logger")
+	private String logger;
+	@Label("Trades")
+	private int tradeCount;
+	@Label("Failed Trades")
+	private int failedCount;
+	@Label("Success")
+	private boolean success;
+
+	public TradeLogWriteEvent(String logger, int tradeCount) {
+		this.logger = logger;
+		this.tradeCount = tradeCount;
+	}
+
+	public void setResult(int failedCount, boolean success) {
+		this.failedCount = failedCount;
+		this.success = success;
+	}
+}
@@ -3,7 +3,9 @@ package com.nisovin.shopkeepers.lang;
 import java.io.File;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.bukkit.configuration.file.YamlConfiguration;
 import org.checkerframework.checker.nullness.qual.NonNull;
@@ -13,11 +15,13 @@ import com.nisovin.shopkeepers.config.Settings;
 import com.nisovin.shopkeepers.config.lib.Config;
 import com.nisovin.shopkeepers.config.lib.ConfigData;
 import com.nisovin.shopkeepers.config.lib.ConfigLoadException;
+import com.nisovin.shopkeepers.config.lib.setting.Setting;
 import com.nisovin.shopkeepers.config.lib.annotation.WithDefaultValueType;
 import com.nisovin.shopkeepers.config.lib.annotation.WithValueTypeProvider;
 import com.nisovin.shopkeepers.config.lib.value.ValueLoadException;
 import com.nisovin.shopkeepers.config.lib.value.types.ColoredStringListValue;
 import com.nisovin.shopkeepers.config.lib.value.types.ColoredStringValue;
+import com.nisovin.shopkeepers.text.MessageTemplate;
 import com.nisovin.shopkeepers.text.Text;
 import com.nisovin.shopkeepers.util.data.persistence.DataStore;
 import com.nisovin.shopkeepers.util.data.persistence.bukkit.BukkitConfigDataStore;
@@ -667,6 +671,10 @@ public class Messages extends Config {
 	public static Text listPlayerShopsHeader = Text.parse("&9Player '&e{player}&9' has &e{shopsCount} &9shops: &e(Page {page} of {maxPage})");
 	public static Text listShopsEntry = Text.parse("  &e{shopId}) &7{shopName}&r&8at &7({location})&8, type: &7{shopType}&8, object: &7{objectType}");
 
+	public static Text searchNoOffersFound = Text.parse("&7No shops were found that sell &e{itemType}&7.");
+	public static Text searchOffersHeader = Text.parse("&9There are &e{offersCount} &9offers for &e{itemType}&9, cheapest first: &e(Page {page} of {maxPage})");
+	public static Text searchOffersEntry = Text.parse("  &e{offerIndex}) &e{amount}x &7{item}&r &8for &e{price} &8(&e{unitPrice} &8each) by &7{owner} &8at &7({location})");
+
 	public static Text shopRemoved = Text.parse("&aThe shopkeeper has been removed.");
 	public static Text shopAlreadyRemoved = Text.parse("&7The shopkeeper has already been removed.");
 	public static Text shopNoLongerExists = Text.parse("&7The shopkeeper no longer exists.");
@@ -761,6 +769,7 @@ public class Messages extends Config {
 	public static Text commandDescriptionDebug = Text.parse("Toggles debug mode on and off.");
 	public static Text commandDescriptionNotify = Text.parse("Turns trade notifications for you on or off.");
 	public static Text commandDescriptionList = Text.parse("Lists all shops of a specific player, or all admin shops.");
+	public static Text commandDescriptionSearch = Text.parse("Lists the player shops that sell a specific type of item, cheapest first.");
 	public static Text commandDescriptionRemove = Text.parse("Removes a specific shop.");
 	public static Text commandDescriptionRemoveAll = Text.parse("Removes all shops of a specific player, all players, or all admin shops.");
 	public static Text commandDescriptionGive = Text.parse("Gives shop creation item(s) to the specified player.");
@@ -861,6 +870,38 @@ public class Messages extends Config {
 
 	/////
 
+	// Text instances are identified by object identity. Thread-safe.
+	private static final Map<@NonNull Text, @NonNull MessageTemplate> TEMPLATES
+			= new ConcurrentHashMap<>();
+
+	/**
+	 * Gets the {@link MessageTemplate} for the given message.
+	 * <p>
+	 * The templates of the loaded messages are compiled when the messages are loaded. This can be
+	 * invoked from any thread.
+	 * 
+	 * @param message
+	 *            the message, not <code>null</code>, expected to be one of the {@link Text}
+	 *            messages of this class
+	 * @return the message template, not <code>null</code>
+	 */
+	public static MessageTemplate getTemplate(Text message) {
+		Validate.notNull(message, "message is null");
+		return TEMPLATES.computeIfAbsent(message, MessageTemplate::compile);
+	}
+
+	private static void compileTemplates() {
+		TEMPLATES.clear();
+		for (Setting<?> setting : INSTANCE.getSettings()) {
+			Object value = setting.getValue();
+			if (value instanceof Text) {
+				getTemplate((Text) value);
+			}
+		}
+	}
+
+	/////
+
 	private static final Messages INSTANCE = new Messages();
 
 	public static Messages getInstance() {
@@ -920,5 +961,8 @@ public class Messages extends Config {
 
 		// Load the config:
 		super.load(configData);
+
+		// Compile the message templates of the loaded messages:
+		compileTemplates();
 	}
 }
@@ -0,0 +1,239 @@
+package com.nisovin.shopkeepers.metrics.openmetrics;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.bukkit.Bukkit;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import com.nisovin.shopkeepers.SKShopkeepersPlugin;
+import com.nisovin.shopkeepers.config.Settings;
+import com.nisovin.shopkeepers.util.bukkit.SingletonTask;
+import com.nisovin.shopkeepers.util.bukkit.Ticks;
+import com.nisovin.shopkeepers.util.java.FileUtils;
+import com.nisovin.shopkeepers.util.java.Validate;
+import com.nisovin.shopkeepers.util.logging.Log;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Exports the runtime metrics of the plugin in the OpenMetrics text format, either via an HTTP
+ * endpoint that is bound to the loopback address, or by periodically writing them to a file, or
+ * both.
+ * <p>
+ * The metrics are collected periodically on the server's main thread. Requests to the HTTP endpoint
+ * are served from the most recently collected metrics, and therefore neither access the plugin's
+ * state nor block the main thread.
+ */
+public class OpenMetricsExporter {
+
+	private static final String HTTP_PATH = "/metrics";
+	private static final String METRICS_FOLDER = "metrics";
+	private static final String FILE_NAME = "shopkeepers.prom";
+	private static final String TEMP_FILE_NAME = FILE_NAME + ".tmp";
+
+	private final SKShopkeepersPlugin plugin;
+	private final ShopkeepersMetricsCollector collector;
+	private final Path file;
+	private final Path tempFile;
+	private final FileExportTask fileExportTask;
+
+	private boolean enabled = false;
+	private @Nullable BukkitTask collectTask = null;
+	private @Nullable HttpServer httpServer = null;
+	private @Nullable ExecutorService httpExecutor = null;
+	// Written on the main thread, read by the HTTP server thread and the file export task:
+	private volatile String metrics = "";
+
+	public OpenMetricsExporter(SKShopkeepersPlugin plugin) {
+		Validate.notNull(plugin, "plugin is null");
+		this.plugin = plugin;
+		this.collector = new ShopkeepersMetricsCollector(plugin);
+		Path metricsFolder = plugin.getDataFolder().toPath().resolve(METRICS_FOLDER);
+		this.file = metricsFolder.resolve(FILE_NAME);
+		this.tempFile = metricsFolder.resolve(TEMP_FILE_NAME);
+		this.fileExportTask = new FileExportTask(plugin);
+	}
+
+	public void onEnable() {
+		if (Settings.metricsExportHttpPort == 0 && !Settings.metricsExportToFile) {
+			return; // Disabled
+		}
+		enabled = true;
+
+		// Collect the initial metrics, so that the HTTP endpoint can serve them right away:
+		this.updateMetrics();
+
+		if (Settings.metricsExportHttpPort != 0) {
+			this.startHttpServer(Settings.metricsExportHttpPort);
+		}
+
+		long periodTicks = Ticks.fromSeconds(Settings.metricsExportPeriodSeconds);
+		collectTask = Bukkit.getScheduler().runTaskTimer(
+				plugin,
+				this::updateMetrics,
+				periodTicks,
+				periodTicks
+		);
+	}
+
+	public void onDisable() {
+		if (!enabled) return;
+		enabled = false;
+
+		if (collectTask != null) {
+			collectTask.cancel();
+			collectTask = null;
+		}
+		this.stopHttpServer();
+
+		// Wait for any ongoing file export to complete:
+		fileExportTask.shutdown();
+		metrics = "";
+	}
+
+	private void collectMetrics() {
+		try {
+			metrics = collector.collect();
+		} catch (Exception e) {
+			Log.severe("Failed to collect the metrics for the OpenMetrics export!", e);
+		}
+	}
+
+	private void updateMetrics() {
+		this.collectMetrics();
+		if (Settings.metricsExportToFile) {
+			fileExportTask.run();
+		}
+	}
+
+	// HTTP
+
+	private void startHttpServer(int port) {
+		assert httpServer == null;
+		InetSocketAddress address = new InetSocketAddress(InetAddress.getLoopbackAddress(), port);
+		HttpServer httpServer;
+		try {
+			httpServer = HttpServer.create(address, 0);
+		} catch (IOException e) {
+			Log.severe("Failed to start the metrics HTTP server on " + address + "!", e);
+			return;
+		}
+
+		ExecutorService httpExecutor = Executors.newSingleThreadExecutor(runnable -> {
+			Thread thread = new Thread(runnable, plugin.getName() + "-Metrics-HTTP");
+			thread.setDaemon(true);
+			return thread;
+		});
+		httpServer.setExecutor(httpExecutor);
+		httpServer.createContext(HTTP_PATH, this::handleHttpRequest);
+		httpServer.start();
+		this.httpServer = httpServer;
+		this.httpExecutor = httpExecutor;
+		Log.info("Serving metrics at http://" + address.getHostString() + ":" + port + HTTP_PATH);
+	}
+
+	private void stopHttpServer() {
+		HttpServer httpServer = this.httpServer;
+		if (httpServer != null) {
+			httpServer.stop(0);
+			this.httpServer = null;
+		}
+		ExecutorService httpExecutor = this.httpExecutor;
+		if (httpExecutor != null) {
+			httpExecutor.shutdownNow();
+			this.httpExecutor = null;
+		}
+	}
+
+	// Invoked on the HTTP server thread.
+	private void handleHttpRequest(HttpExchange exchange) throws IOException {
+		try {
+			String method = exchange.getRequestMethod();
+			boolean isHead = "HEAD".equals(method);
+			if (!isHead && !"GET".equals(method)) {
+				exchange.getResponseHeaders().set("Allow", "GET, HEAD");
+				exchange.sendResponseHeaders(405, -1L);
+				return;
+			}
+
+			byte[] body = metrics.getBytes(StandardCharsets.UTF_8);
+			exchange.getResponseHeaders().set("Content-Type", OpenMetricsWriter.CONTENT_TYPE);
+			if (isHead) {
+				exchange.sendResponseHeaders(200, -1L);
+				return;
+			}
+			exchange.sendResponseHeaders(200, body.length);
+			try (OutputStream out = exchange.getResponseBody()) {
+				out.write(body);
+			}
+		} finally {
+			exchange.close();
+		}
+	}
+
+	// FILE
+
+	private class FileExportTask extends SingletonTask {
+
+		// Only accessed during executions:
+		private String exportedMetrics = "";
+
+		FileExportTask(Plugin plugin) {
+			super(plugin);
+		}
+
+		private class InternalAsyncTask extends SingletonTask.InternalAsyncTask {
+		}
+
+		private class InternalSyncCallbackTask extends SingletonTask.InternalSyncCallbackTask {
+		}
+
+		@Override
+		protected InternalAsyncTask createInternalAsyncTask() {
+			return new InternalAsyncTask();
+		}
+
+		@Override
+		protected InternalSyncCallbackTask createInternalSyncCallbackTask() {
+			return new InternalSyncCallbackTask();
+		}
+
+		@Override
+		protected void prepare() {
+			exportedMetrics = metrics;
+		}
+
+		// Can be run async or sync.
+		@Override
+		protected void execute() {
+			try {
+				// Replace the file atomically, so that readers never observe a partially written
+				// file:
+				FileUtils.createParentDirectories(tempFile);
+				try (Writer writer = Files.newBufferedWriter(tempFile, StandardCharsets.UTF_8)) {
+					writer.write(exportedMetrics);
+				}
+				FileUtils.moveFile(tempFile, file, Log.getLogger());
+			} catch (IOException e) {
+				Log.warning("Failed to write the metrics to '" + file + "'!", e);
+			} finally {
+				exportedMetrics = "";
+			}
+		}
+
+		@Override
+		protected void syncCallback() {
+		}
+	}
+}
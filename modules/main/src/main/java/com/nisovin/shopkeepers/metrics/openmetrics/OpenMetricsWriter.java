@@ -0,0 +1,145 @@
+package com.nisovin.shopkeepers.metrics.openmetrics;
+
+import com.nisovin.shopkeepers.util.java.Validate;
+
+/**
+ * Builds text in the OpenMetrics text exposition format.
+ * <p>
+ * The metric families are expected to be written one after the other: First the metadata of a
+ * metric family via {@link #metadata(String, String, String)}, and then its samples. The text is
+ * completed via {@link #finish()}.
+ */
+public final class OpenMetricsWriter {
+
+	/**
+	 * The content type of the OpenMetrics text format.
+	 */
+	public static final String CONTENT_TYPE = "application/openmetrics-text; version=1.0.0;"
+			+ " charset=utf-8";
+
+	public static final String TYPE_GAUGE = "gauge";
+	public static final String TYPE_COUNTER = "counter";
+	public static final String TYPE_SUMMARY = "summary";
+
+	private final StringBuilder builder = new StringBuilder();
+
+	public OpenMetricsWriter() {
+	}
+
+	/**
+	 * Writes the metadata of a metric family.
+	 * 
+	 * @param name
+	 *            the metric family name
+	 * @param type
+	 *            the metric type, e.g. {@link #TYPE_GAUGE}
+	 * @param help
+	 *            the help text
+	 * @return this writer
+	 */
+	public OpenMetricsWriter metadata(String name, String type, String help) {
+		Validate.notEmpty(name, "name is null or empty");
+		Validate.notEmpty(type, "type is null or empty");
+		Validate.notNull(help, "help is null");
+		builder.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+		builder.append("# HELP ").append(name).append(' ');
+		appendEscaped(builder, help);
+		builder.append('\n');
+		return this;
+	}
+
+	/**
+	 * Writes the metadata of a gauge metric family, followed by a single sample without labels.
+	 * 
+	 * @param name
+	 *            the metric name
+	 * @param help
+	 *            the help text
+	 * @param value
+	 *            the value
+	 * @return this writer
+	 */
+	public OpenMetricsWriter gauge(String name, String help, double value) {
+		return this.metadata(name, TYPE_GAUGE, help).sample(name, value);
+	}
+
+	/**
+	 * Writes a sample.
+	 * 
+	 * @param name
+	 *            the sample name, including any suffix such as {@code _total}
+	 * @param value
+	 *            the value
+	 * @param labels
+	 *            the labels, as alternating label names and label values
+	 * @return this writer
+	 */
+	public OpenMetricsWriter sample(String name, double value, String... labels) {
+		Validate.notEmpty(name, "name is null or empty");
+		Validate.notNull(labels, "labels is null");
+		Validate.isTrue(labels.length % 2 == 0, "labels has to contain name-value pairs");
+		builder.append(name);
+		if (labels.length > 0) {
+			builder.append('{');
+			for (int i = 0; i < labels.length; i += 2) {
+				if (i > 0) {
+					builder.append(',');
+				}
+				builder.append(labels[i]).append("=\"");
+				appendEscaped(builder, labels[i + 1]);
+				builder.append('"');
+			}
+			builder.append('}');
+		}
+		builder.append(' ');
+		appendValue(builder, value);
+		builder.append('\n');
+		return this;
+	}
+
+	/**
+	 * Completes the text and returns it.
+	 * <p>
+	 * This writer is not supposed to be used anymore afterwards.
+	 * 
+	 * @return the text
+	 */
+	public String finish() {
+		builder.append("# EOF\n");
+		return builder.toString();
+	}
+
+	private static void appendValue(StringBuilder builder, double value) {
+		if (Double.isNaN(value)) {
+			builder.append("NaN");
+		} else if (Double.isInfinite(value)) {
+			builder.append(value > 0 ? "+Inf" : "-Inf");
+		} else if (value == Math.rint(value) && Math.abs(value) < 1.0E15D) {
+			// Omit the fractional part of integral values:
+			builder.append((long) value);
+		} else {
+			builder.append(value);
+		}
+	}
+
+	// Label values and the text of HELP and UNIT metadata use the same escaping:
+	private static void appendEscaped(StringBuilder builder, String text) {
+		for (int i = 0; i < text.length(); i++) {
+			char c = text.charAt(i);
+			switch (c) {
+			case '\\':
+				builder.append("\\\\");
+				break;
+			case '\n':
+				builder.append("\\n");
+				break;
+			case '"':
+				builder.append("\\\"");
+				break;
+			default:
+				builder.append(c);
+				break;
+			}
+		}
+	}
+}
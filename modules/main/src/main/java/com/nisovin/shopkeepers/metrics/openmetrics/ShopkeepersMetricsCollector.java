@@ -0,0 +1,126 @@
+package com.nisovin.shopkeepers.metrics.openmetrics;
+
+import java.util.concurrent.TimeUnit;
+
+import com.nisovin.shopkeepers.SKShopkeepersPlugin;
+import com.nisovin.shopkeepers.shopkeeper.registry.SKShopkeeperRegistry;
+import com.nisovin.shopkeepers.storage.SKShopkeeperStorage;
+import com.nisovin.shopkeepers.util.java.TimeUtils;
+import com.nisovin.shopkeepers.util.java.Validate;
+import com.nisovin.shopkeepers.util.taskqueue.TaskQueueStatistics;
+import com.nisovin.shopkeepers.util.timer.Timings;
+
+/**
+ * Writes the runtime metrics of the plugin in the OpenMetrics text format.
+ * <p>
+ * All exported values are read from counters that are already kept up-to-date by the respective
+ * components. The collection therefore does not iterate over the shopkeepers.
+ * <p>
+ * Has to be invoked on the server's main thread.
+ */
+class ShopkeepersMetricsCollector {
+
+	private static final String PREFIX = "shopkeepers_";
+	private static final double[] QUANTILES = { 0.5D, 0.95D, 0.99D, 0.999D };
+
+	private final SKShopkeepersPlugin plugin;
+
+	ShopkeepersMetricsCollector(SKShopkeepersPlugin plugin) {
+		Validate.notNull(plugin, "plugin is null");
+		this.plugin = plugin;
+	}
+
+	String collect() {
+		OpenMetricsWriter writer = new OpenMetricsWriter();
+		this.writeShopkeeperMetrics(writer);
+		this.writeStorageMetrics(writer);
+		this.writeTradeLogMetrics(writer);
+		this.writeTimings(writer);
+		return writer.finish();
+	}
+
+	private void writeShopkeeperMetrics(OpenMetricsWriter writer) {
+		SKShopkeeperRegistry shopkeeperRegistry = plugin.getShopkeeperRegistry();
+
+		writer.gauge(PREFIX + "shopkeepers", "The number of loaded shopkeepers.",
+				shopkeeperRegistry.getAllShopkeepers().size());
+		writer.gauge(PREFIX + "virtual_shopkeepers", "The number of loaded virtual shopkeepers.",
+				shopkeeperRegistry.getVirtualShopkeepers().size());
+		writer.gauge(PREFIX + "player_shopkeepers", "The number of loaded player shopkeepers.",
+				shopkeeperRegistry.getAllPlayerShopkeepers().size());
+
+		String worldShopkeepers = PREFIX + "world_shopkeepers";
+		writer.metadata(worldShopkeepers, OpenMetricsWriter.TYPE_GAUGE,
+				"The number of loaded shopkeepers per world.");
+		shopkeeperRegistry.getWorldsWithShopkeepers().forEach(worldName -> {
+			int count = shopkeeperRegistry.getShopkeepersInWorld(worldName).size();
+			writer.sample(worldShopkeepers, count, "world", worldName);
+		});
+
+		String typeShopkeepers = PREFIX + "type_shopkeepers";
+		writer.metadata(typeShopkeepers, OpenMetricsWriter.TYPE_GAUGE,
+				"The number of loaded shopkeepers per shop type.");
+		shopkeeperRegistry.getShopkeeperCountsByType().forEach((shopTypeId, count) -> {
+			writer.sample(typeShopkeepers, count, "type", shopTypeId);
+		});
+
+		writer.gauge(PREFIX + "active_shopkeepers", "The number of active shopkeepers.",
+				shopkeeperRegistry.getChunkActivator().getActiveShopkeepersCount());
+		writer.gauge(PREFIX + "ticking_shopkeepers", "The number of ticking shopkeepers.",
+				shopkeeperRegistry.getShopkeeperTicker().getTickingShopkeepersCount());
+		writer.gauge(PREFIX + "deferred_chunk_activations",
+				"The number of chunks that are pending a deferred activation.",
+				shopkeeperRegistry.getChunkActivator().getDeferredChunkActivationsCount());
+
+		TaskQueueStatistics spawnQueue = shopkeeperRegistry.getShopkeeperSpawner()
+				.getSpawnQueueStatistics();
+		writer.gauge(PREFIX + "spawn_queue_pending", "The number of queued shopkeeper spawns.",
+				spawnQueue.getPendingCount());
+		writer.gauge(PREFIX + "spawn_queue_max_pending",
+				"The maximum number of shopkeeper spawns that were queued at the same time.",
+				spawnQueue.getMaxPendingCount());
+	}
+
+	private void writeStorageMetrics(OpenMetricsWriter writer) {
+		SKShopkeeperStorage storage = plugin.getShopkeeperStorage();
+		writer.gauge(PREFIX + "storage_unsaved_dirty_shopkeepers",
+				"The number of shopkeepers with changes that have not yet been saved.",
+				storage.getUnsavedDirtyShopkeepersCount());
+		writer.gauge(PREFIX + "storage_unsaved_deleted_shopkeepers",
+				"The number of deleted shopkeepers whose deletion has not yet been saved.",
+				storage.getUnsavedDeletedShopkeepersCount());
+		writer.gauge(PREFIX + "storage_dirty",
+				"Whether the storage has changes that have not yet been saved (1) or not (0).",
+				storage.isDirty() ? 1 : 0);
+	}
+
+	private void writeTradeLogMetrics(OpenMetricsWriter writer) {
+		writer.gauge(PREFIX + "trade_log_pending_trades",
+				"The number of logged trades that have not yet been written to storage.",
+				plugin.getTradeLoggers().getPendingTradesCount());
+	}
+
+	private void writeTimings(OpenMetricsWriter writer) {
+		String timingSeconds = PREFIX + "timing_seconds";
+		writer.metadata(timingSeconds, OpenMetricsWriter.TYPE_SUMMARY,
+				"The durations of monitored tasks. The quantiles cover the last minute.");
+		plugin.getTimingsRegistry().getAll().forEach((name, timings) -> {
+			for (double quantile : QUANTILES) {
+				double percentileMillis = timings.getPercentileTimeMillis(quantile * 100.0D);
+				writer.sample(timingSeconds, toSeconds(percentileMillis),
+						"timing", name, "quantile", String.valueOf(quantile));
+			}
+			writer.sample(timingSeconds + "_sum", toSeconds(getTotalTimeMillis(timings)),
+					"timing", name);
+			writer.sample(timingSeconds + "_count", timings.getCounter(), "timing", name);
+		});
+	}
+
+	private static double getTotalTimeMillis(Timings timings) {
+		return timings.getAverageTimeMillis() * timings.getCounter();
+	}
+
+	private static double toSeconds(double millis) {
+		return TimeUtils.convert(millis, TimeUnit.MILLISECONDS, TimeUnit.SECONDS);
+	}
+}
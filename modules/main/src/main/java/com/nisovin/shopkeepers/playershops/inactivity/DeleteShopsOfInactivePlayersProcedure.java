@@ -2,28 +2,24 @@ package com.nisovin.shopkeepers.playershops.inactivity;
 
 import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
+import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 
 import org.bukkit.Bukkit;
 import org.bukkit.OfflinePlayer;
 import org.bukkit.scheduler.BukkitRunnable;
 import org.checkerframework.checker.nullness.qual.NonNull;
-import org.checkerframework.checker.nullness.qual.Nullable;
 
 import com.nisovin.shopkeepers.SKShopkeepersPlugin;
 import com.nisovin.shopkeepers.api.events.PlayerInactiveEvent;
-import com.nisovin.shopkeepers.api.internal.util.Unsafe;
 import com.nisovin.shopkeepers.api.shopkeeper.player.PlayerShopkeeper;
 import com.nisovin.shopkeepers.api.user.User;
 import com.nisovin.shopkeepers.config.Settings;
 import com.nisovin.shopkeepers.shopkeeper.registry.SKShopkeeperRegistry;
 import com.nisovin.shopkeepers.util.bukkit.SchedulerUtils;
 import com.nisovin.shopkeepers.util.bukkit.TextUtils;
-import com.nisovin.shopkeepers.util.java.CollectionUtils;
 import com.nisovin.shopkeepers.util.java.Validate;
 import com.nisovin.shopkeepers.util.logging.Log;
 
@@ -52,19 +48,25 @@ class DeleteShopsOfInactivePlayersProcedure {
 
 	private final SKShopkeepersPlugin plugin;
 	private final SKShopkeeperRegistry shopkeeperRegistry;
+	private final ShopOwnerLastSeenIndex lastSeenIndex;
 	private final int playerInactivityDays;
 
 	private boolean started = false;
 	// Retrieved once and then reused for all inactivity checks of this procedure:
 	private final long currentTimeMillis = System.currentTimeMillis();
-	private final Map<@NonNull User, @Nullable InactivePlayerData> inactivePlayers = new HashMap<>();
+	private final Map<@NonNull UUID, @NonNull User> shopOwners = new HashMap<>();
+	private final Map<@NonNull User, @NonNull InactivePlayerData> inactivePlayers = new HashMap<>();
 
-	public DeleteShopsOfInactivePlayersProcedure(SKShopkeepersPlugin plugin) {
+	public DeleteShopsOfInactivePlayersProcedure(
+			SKShopkeepersPlugin plugin,
+			ShopOwnerLastSeenIndex lastSeenIndex
+	) {
 		Validate.notNull(plugin, "plugin is null");
+		Validate.notNull(lastSeenIndex, "lastSeenIndex is null");
 		this.plugin = plugin;
 		this.shopkeeperRegistry = plugin.getShopkeeperRegistry();
-		// Local copy, because this setting might change while we use it, and we might access it
-		// asynchronously:
+		this.lastSeenIndex = lastSeenIndex;
+		// Local copy, because this setting might change while we use it:
 		this.playerInactivityDays = Settings.playerShopkeeperInactiveDays;
 	}
 
@@ -82,88 +84,182 @@ class DeleteShopsOfInactivePlayersProcedure {
 		Log.info("Checking for shopkeepers of inactive players.");
 
 		this.collectShopOwners();
-		if (inactivePlayers.isEmpty()) {
+		if (shopOwners.isEmpty()) {
 			return; // There are no player shops
 		}
 
-		this.asyncCheckInactivityOfAllShopOwnersAndContinue();
+		// Limit the last seen index to the current shop owners:
+		lastSeenIndex.retainAll(shopOwners.keySet());
+
+		// Shop owners that are not yet contained in the last seen index, e.g. when the index is
+		// used for the first time, or if a shop owner has not joined or left the server since then:
+		List<@NonNull User> unindexedShopOwners = new ArrayList<>();
+		shopOwners.forEach((playerId, user) -> {
+			if (!lastSeenIndex.contains(playerId)) {
+				unindexedShopOwners.add(user);
+			}
+		});
+
+		if (unindexedShopOwners.isEmpty()) {
+			this.continueWithIndexedShopOwners();
+		} else {
+			this.asyncIndexShopOwnersAndContinue(unindexedShopOwners);
+		}
 	}
 
-	// This initially collects all shop owners into the inactivePlayers Map, which is subsequently
-	// pruned from shop owners that are not actually inactive.
 	private void collectShopOwners() {
 		shopkeeperRegistry.getAllPlayerShopkeepers().forEach(playerShop -> {
 			// In this first step, we only collect the existing shop owners, and don't store their
 			// shopkeepers yet. Later, we collect the shopkeepers of only the inactive shop owners.
-			inactivePlayers.put(playerShop.getOwnerUser(), null);
+			User shopOwner = playerShop.getOwnerUser();
+			shopOwners.put(shopOwner.getUniqueId(), shopOwner);
 		});
 	}
 
-	private void asyncCheckInactivityOfAllShopOwnersAndContinue() {
+	private void asyncIndexShopOwnersAndContinue(
+			List<? extends @NonNull User> unindexedShopOwners
+	) {
+		Log.debug(() -> "Retrieving the last played times of " + unindexedShopOwners.size()
+				+ " shop owners that are not yet indexed.");
+		long[] lastPlayedMillis = new long[unindexedShopOwners.size()];
 		// We retrieve the OfflinePlayers and their 'last played' times asynchronously:
 		new BukkitRunnable() {
 			@Override
 			public void run() {
-				// Set up the data for all inactive shop owners, and remove all shop owners that are
-				// not inactive:
-				setUpInactiveShopOwners();
-
-				// Abort if no inactive players were found:
-				if (inactivePlayers.isEmpty()) return;
+				for (int i = 0; i < lastPlayedMillis.length; i++) {
+					lastPlayedMillis[i] = getLastPlayedMillis(unindexedShopOwners.get(i));
+				}
 
 				// Abort if the task has been cancelled in the meantime (e.g. if the plugin has been
 				// disabled or reloaded):
 				if (this.isCancelled()) return;
 
-				SchedulerUtils.runTaskOrOmit(plugin, () -> continueWithInactiveShopOwners());
+				SchedulerUtils.runTaskOrOmit(plugin, () -> {
+					// Add the shop owners to the index:
+					for (int i = 0; i < lastPlayedMillis.length; i++) {
+						if (lastPlayedMillis[i] == 0) continue; // Unknown
+						UUID playerId = unindexedShopOwners.get(i).getUniqueId();
+						lastSeenIndex.setLastSeen(playerId, lastPlayedMillis[i]);
+					}
+					continueWithIndexedShopOwners();
+				});
 			}
 		}.runTaskAsynchronously(plugin);
 	}
 
 	// This may be called asynchronously.
-	// Sets up the data for all inactive shop owners, and removes all shop owners that are not
-	// inactive.
-	private void setUpInactiveShopOwners() {
-		Iterator<@NonNull Entry<@NonNull User, @Nullable InactivePlayerData>> iterator = inactivePlayers.entrySet().iterator();
-		while (iterator.hasNext()) {
-			Entry<@NonNull User, @Nullable InactivePlayerData> entry = iterator.next();
-			User user = entry.getKey();
-			InactivePlayerData data = this.setUpIfInactive(user);
-			if (data == null) {
-				// The user is not inactive:
-				iterator.remove();
-			} else {
-				entry.setValue(data);
-			}
-		}
-		assert !CollectionUtils.containsNull(inactivePlayers.values());
-	}
-
-	// This may be called asynchronously.
-	// Returns null if the given user is not inactive.
-	private @Nullable InactivePlayerData setUpIfInactive(User user) {
+	// Returns 0 if the last played time of the given user is unknown.
+	private static long getLastPlayedMillis(User user) {
 		assert user != null;
 		OfflinePlayer offlinePlayer = user.getOfflinePlayer();
 		// Some servers may delete player data files, either regularly for all players (which breaks
 		// this feature), or for particular players (for example to reset or fix some issue with
 		// their data). If this is the case, we cannot reliably determine when the player was last
 		// seen on the server, and therefore do not delete their shopkeepers.
-		if (!offlinePlayer.hasPlayedBefore()) return null;
+		if (!offlinePlayer.hasPlayedBefore()) return 0L;
+
+		return offlinePlayer.getLastPlayed(); // 0 if unknown (see reasoning above)
+	}
+
+	private void continueWithIndexedShopOwners() {
+		assert Bukkit.isPrimaryThread();
+		List<@NonNull User> inactiveShopOwnerCandidates = this.findInactiveShopOwnerCandidates();
+		if (inactiveShopOwnerCandidates.isEmpty()) return; // No inactive players found
+
+		this.asyncRecheckCandidatesAndContinue(inactiveShopOwnerCandidates);
+	}
+
+	// Shop owners that were last seen at or before this time are inactive.
+	private long getInactiveSinceMillis() {
+		return currentTimeMillis - TimeUnit.DAYS.toMillis(playerInactivityDays);
+	}
 
-		long lastPlayedMillis = offlinePlayer.getLastPlayed();
-		if (lastPlayedMillis == 0) return null; // 0 if unknown (see reasoning above)
+	// Queries the last seen index for the shop owners that have been inactive for at least the
+	// configured number of days.
+	private List<@NonNull User> findInactiveShopOwnerCandidates() {
+		List<@NonNull User> candidates = new ArrayList<>();
+		lastSeenIndex.getLastSeenBefore(this.getInactiveSinceMillis() + 1).forEach(lastSeen -> {
+			UUID playerId = lastSeen.getPlayerId();
+			User user = shopOwners.get(playerId);
+			// Skip if the player is not a shop owner (the index may have been updated in the
+			// meantime), or if the player is currently online:
+			if (user == null || Bukkit.getPlayer(playerId) != null) return;
+
+			candidates.add(user);
+		});
+		return candidates;
+	}
 
-		long millisSinceLastPlayed = currentTimeMillis - lastPlayedMillis;
-		int daysSinceLastPlayed = (int) TimeUnit.MILLISECONDS.toDays(millisSinceLastPlayed);
-		if (daysSinceLastPlayed < playerInactivityDays) return null;
+	// The index is not updated while the inactivity feature is disabled, or while the plugin is
+	// not running. The indexed last seen times of players that joined the server during such a
+	// period are outdated. Before we delete any shops, we therefore also check the last played
+	// times of the inactive shop owner candidates.
+	private void asyncRecheckCandidatesAndContinue(List<? extends @NonNull User> candidates) {
+		Log.debug(() -> "Checking the last played times of " + candidates.size()
+				+ " potentially inactive shop owners.");
+		long[] lastPlayedMillis = new long[candidates.size()];
+		// We retrieve the OfflinePlayers and their 'last played' times asynchronously:
+		new BukkitRunnable() {
+			@Override
+			public void run() {
+				for (int i = 0; i < lastPlayedMillis.length; i++) {
+					lastPlayedMillis[i] = getLastPlayedMillis(candidates.get(i));
+				}
+
+				// Abort if the task has been cancelled in the meantime (e.g. if the plugin has been
+				// disabled or reloaded):
+				if (this.isCancelled()) return;
 
-		return new InactivePlayerData(daysSinceLastPlayed);
+				SchedulerUtils.runTaskOrOmit(plugin, () -> {
+					for (int i = 0; i < lastPlayedMillis.length; i++) {
+						onCandidateRechecked(candidates.get(i), lastPlayedMillis[i]);
+					}
+					continueWithInactiveShopOwners();
+				});
+			}
+		}.runTaskAsynchronously(plugin);
+	}
+
+	private void onCandidateRechecked(User user, long lastPlayedMillis) {
+		UUID playerId = user.getUniqueId();
+		long lastSeenMillis = updateLastSeen(lastSeenIndex, playerId, lastPlayedMillis);
+		// Skip if the player turned out to be active, or if the player is currently online:
+		if (lastSeenMillis > this.getInactiveSinceMillis()) return;
+		if (Bukkit.getPlayer(playerId) != null) return;
+
+		long millisSinceLastSeen = currentTimeMillis - lastSeenMillis;
+		int daysSinceLastSeen = (int) TimeUnit.MILLISECONDS.toDays(millisSinceLastSeen);
+		inactivePlayers.put(user, new InactivePlayerData(daysSinceLastSeen));
+	}
+
+	/**
+	 * Updates the last seen time of the specified player in the given index if the given last
+	 * played time is more recent.
+	 * 
+	 * @param lastSeenIndex
+	 *            the last seen index, not <code>null</code>
+	 * @param playerId
+	 *            the player's unique id, not <code>null</code>
+	 * @param lastPlayedMillis
+	 *            the player's last played time, or <code>0</code> if unknown
+	 * @return the more recent of the indexed last seen time and the given last played time
+	 */
+	static long updateLastSeen(
+			ShopOwnerLastSeenIndex lastSeenIndex,
+			UUID playerId,
+			long lastPlayedMillis
+	) {
+		long indexedLastSeenMillis = lastSeenIndex.getLastSeenMillis(playerId);
+		if (lastPlayedMillis <= indexedLastSeenMillis) return indexedLastSeenMillis;
+
+		lastSeenIndex.setLastSeen(playerId, lastPlayedMillis);
+		return lastPlayedMillis;
 	}
 
 	private void continueWithInactiveShopOwners() {
 		assert Bukkit.isPrimaryThread();
-		assert !inactivePlayers.isEmpty();
-		assert !CollectionUtils.containsNull(inactivePlayers.values());
+		if (inactivePlayers.isEmpty()) return; // No inactive players found
+
 		this.collectShopsOfInactivePlayers();
 		this.deleteShopsOfInactivePlayers();
 	}
@@ -182,8 +278,7 @@ class DeleteShopsOfInactivePlayersProcedure {
 	}
 
 	private void deleteShopsOfInactivePlayers() {
-		inactivePlayers.forEach((user, nullableInactivePlayerData) -> {
-			InactivePlayerData inactivePlayerData = Unsafe.assertNonNull(nullableInactivePlayerData);
+		inactivePlayers.forEach((user, inactivePlayerData) -> {
 			List<? extends @NonNull PlayerShopkeeper> shopkeepers = inactivePlayerData.getShopkeepers();
 			if (shopkeepers.isEmpty()) {
 				// We initially found this shop owner and identified them as inactive, but were then
@@ -16,16 +16,26 @@ import com.nisovin.shopkeepers.util.java.Validate;
 public class PlayerInactivity {
 
 	private final SKShopkeepersPlugin plugin;
+	private final ShopOwnerLastSeenIndex lastSeenIndex;
+	private final ShopOwnerLastSeenListener lastSeenListener;
 	private final DeleteInactivePlayerShopsTask task;
+	private boolean enabled = false;
 
 	public PlayerInactivity(SKShopkeepersPlugin plugin) {
 		Validate.notNull(plugin, "plugin is null");
 		this.plugin = plugin;
+		this.lastSeenIndex = new ShopOwnerLastSeenIndex(plugin);
+		this.lastSeenListener = new ShopOwnerLastSeenListener(plugin, lastSeenIndex);
 		this.task = new DeleteInactivePlayerShopsTask(plugin);
 	}
 
 	public void onEnable() {
 		if (Settings.playerShopkeeperInactiveDays <= 0) return; // Feature is disabled
+		enabled = true;
+
+		// Keep track of when the shop owners were last seen:
+		lastSeenIndex.onEnable();
+		lastSeenListener.onEnable();
 
 		// Delete inactive player shops, once shortly after plugin startup, and then periodically:
 		task.start();
@@ -33,6 +43,11 @@ public class PlayerInactivity {
 
 	public void onDisable() {
 		task.stop();
+		if (enabled) {
+			lastSeenListener.onDisable();
+			lastSeenIndex.onDisable();
+			enabled = false;
+		}
 	}
 
 	/**
@@ -84,6 +99,7 @@ public class PlayerInactivity {
 	// TODO Also add a command to manually detect and then optionally delete inactive player shops?
 	public void deleteShopsOfInactivePlayers() {
 		if (Settings.playerShopkeeperInactiveDays <= 0) return; // Feature is disabled
-		new DeleteShopsOfInactivePlayersProcedure(plugin).start();
+		if (!enabled) return; // Not yet enabled, or already disabled
+		new DeleteShopsOfInactivePlayersProcedure(plugin, lastSeenIndex).start();
 	}
 }
@@ -0,0 +1,302 @@
+package com.nisovin.shopkeepers.playershops.inactivity;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+
+import org.bukkit.Bukkit;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import com.nisovin.shopkeepers.config.DerivedSettings;
+import com.nisovin.shopkeepers.util.bukkit.SingletonTask;
+import com.nisovin.shopkeepers.util.data.persistence.DataStore;
+import com.nisovin.shopkeepers.util.data.persistence.bukkit.BukkitConfigDataStore;
+import com.nisovin.shopkeepers.util.java.ConversionUtils;
+import com.nisovin.shopkeepers.util.java.FileUtils;
+import com.nisovin.shopkeepers.util.java.Validate;
+import com.nisovin.shopkeepers.util.logging.Log;
+
+/**
+ * Keeps track of when the shop owners were last seen on the server.
+ * <p>
+ * In contrast to {@link OfflinePlayer#getLastPlayed()}, which may require to load the player data
+ * of the server from disk, this index is kept in memory and sorted by the last seen times, so that
+ * the shop owners that have been inactive for longer than a certain duration can be retrieved with
+ * a range query.
+ * <p>
+ * The last seen times are updated when players join or leave the server, and persisted inside the
+ * plugin's data folder. Shop owners that are not yet contained in the index (e.g. when the index is
+ * used for the first time) can be added based on their {@link OfflinePlayer#getLastPlayed()} time.
+ */
+final class ShopOwnerLastSeenIndex {
+
+	private static final String DATA_FOLDER = "data";
+	private static final String SAVE_FILE_NAME = "shop-owners-last-seen.yml";
+	private static final String TEMP_SAVE_FILE_NAME = SAVE_FILE_NAME + ".tmp";
+
+	private static final long SAVE_PERIOD_TICKS = 6000L; // 5 minutes
+
+	private static final Comparator<@NonNull LastSeen> LAST_SEEN_COMPARATOR = Comparator
+			.comparingLong(LastSeen::getLastSeenMillis)
+			.thenComparing(LastSeen::getPlayerId);
+	// Sorts before all other UUIDs:
+	private static final UUID MIN_UUID = new UUID(Long.MIN_VALUE, Long.MIN_VALUE);
+
+	static final class LastSeen {
+
+		private final UUID playerId;
+		private final long lastSeenMillis;
+
+		LastSeen(UUID playerId, long lastSeenMillis) {
+			this.playerId = playerId;
+			this.lastSeenMillis = lastSeenMillis;
+		}
+
+		UUID getPlayerId() {
+			return playerId;
+		}
+
+		long getLastSeenMillis() {
+			return lastSeenMillis;
+		}
+	}
+
+	private final Plugin plugin;
+	private final Path saveFile;
+	private final Path tempSaveFile;
+
+	private final Map<@NonNull UUID, @NonNull LastSeen> byPlayer = new HashMap<>();
+	private final NavigableSet<@NonNull LastSeen> sorted = new TreeSet<>(LAST_SEEN_COMPARATOR);
+	private boolean dirty = false;
+
+	private final SaveTask saveTask;
+	private @Nullable BukkitTask periodicSaveTask = null;
+
+	ShopOwnerLastSeenIndex(Plugin plugin) {
+		Validate.notNull(plugin, "plugin is null");
+		this.plugin = plugin;
+		Path dataFolder = plugin.getDataFolder().toPath().resolve(DATA_FOLDER);
+		this.saveFile = dataFolder.resolve(SAVE_FILE_NAME);
+		this.tempSaveFile = saveFile.resolveSibling(TEMP_SAVE_FILE_NAME);
+		this.saveTask = new SaveTask(plugin);
+	}
+
+	void onEnable() {
+		this.load();
+
+		// Periodically save the index if it has changed:
+		periodicSaveTask = Bukkit.getScheduler().runTaskTimer(
+				plugin,
+				this::saveIfDirty,
+				SAVE_PERIOD_TICKS,
+				SAVE_PERIOD_TICKS
+		);
+	}
+
+	void onDisable() {
+		if (periodicSaveTask != null) {
+			periodicSaveTask.cancel();
+			periodicSaveTask = null;
+		}
+
+		// Wait for any ongoing save and then save any remaining changes:
+		saveTask.shutdown();
+		if (dirty) {
+			saveTask.runImmediately();
+		}
+
+		byPlayer.clear();
+		sorted.clear();
+		dirty = false;
+	}
+
+	// DATA
+
+	int size() {
+		return byPlayer.size();
+	}
+
+	boolean contains(UUID playerId) {
+		return byPlayer.containsKey(playerId);
+	}
+
+	/**
+	 * Gets the time at which the specified player was last seen.
+	 *
+	 * @param playerId
+	 *            the player's unique id
+	 * @return the last seen time in milliseconds since the epoch, or <code>0</code> if unknown
+	 */
+	long getLastSeenMillis(UUID playerId) {
+		LastSeen lastSeen = byPlayer.get(playerId);
+		return (lastSeen != null) ? lastSeen.getLastSeenMillis() : 0L;
+	}
+
+	void setLastSeen(UUID playerId, long lastSeenMillis) {
+		Validate.notNull(playerId, "playerId is null");
+		Validate.isTrue(lastSeenMillis > 0, "lastSeenMillis has to be positive");
+		LastSeen newLastSeen = new LastSeen(playerId, lastSeenMillis);
+		LastSeen oldLastSeen = byPlayer.put(playerId, newLastSeen);
+		if (oldLastSeen != null) {
+			if (oldLastSeen.getLastSeenMillis() == lastSeenMillis) return; // Unchanged
+			sorted.remove(oldLastSeen);
+		}
+		sorted.add(newLastSeen);
+		dirty = true;
+	}
+
+	/**
+	 * Removes the entries of all players that are not contained in the given set of players.
+	 * <p>
+	 * This is used to limit the index to the current shop owners.
+	 *
+	 * @param playerIds
+	 *            the players to retain
+	 */
+	void retainAll(Set<? extends @NonNull UUID> playerIds) {
+		Validate.notNull(playerIds, "playerIds is null");
+		if (byPlayer.keySet().retainAll(playerIds)) {
+			sorted.removeIf(lastSeen -> !playerIds.contains(lastSeen.getPlayerId()));
+			assert sorted.size() == byPlayer.size();
+			dirty = true;
+		}
+	}
+
+	/**
+	 * Gets the players that were last seen before the specified time.
+	 *
+	 * @param timeMillis
+	 *            the time in milliseconds since the epoch
+	 * @return the players that were last seen before the specified time, sorted from the least
+	 *         recently seen to the most recently seen player
+	 */
+	List<? extends @NonNull LastSeen> getLastSeenBefore(long timeMillis) {
+		return new ArrayList<>(sorted.headSet(new LastSeen(MIN_UUID, timeMillis), false));
+	}
+
+	// PERSISTENCE
+
+	private void load() {
+		byPlayer.clear();
+		sorted.clear();
+		dirty = false;
+		if (!Files.exists(saveFile)) return; // Nothing to load
+
+		DataStore data = BukkitConfigDataStore.ofNewYamlConfig();
+		try (Reader reader = Files.newBufferedReader(saveFile, DerivedSettings.fileCharset)) {
+			data.load(reader);
+		} catch (Exception e) {
+			// The index can be rebuilt from the players' last played times:
+			Log.warning("Failed to load the last seen times of shop owners!", e);
+			return;
+		}
+
+		boolean foundInvalidEntries = false;
+		for (String key : data.getKeys()) {
+			UUID playerId = ConversionUtils.parseUUID(key);
+			long lastSeenMillis = data.getLongOrDefault(key, 0L);
+			if (playerId == null || lastSeenMillis <= 0) {
+				Log.debug(() -> "Ignoring invalid shop owner last seen entry: " + key);
+				foundInvalidEntries = true;
+				continue;
+			}
+			this.setLastSeen(playerId, lastSeenMillis);
+		}
+		// Remove any invalid entries with the next save:
+		dirty = foundInvalidEntries;
+	}
+
+	void saveIfDirty() {
+		if (!dirty) return;
+		saveTask.run();
+	}
+
+	private class SaveTask extends SingletonTask {
+
+		// Only accessed during executions:
+		private final Map<@NonNull String, @NonNull Object> saveData = new LinkedHashMap<>();
+		private boolean savingSucceeded = false;
+
+		SaveTask(Plugin plugin) {
+			super(plugin);
+		}
+
+		private class InternalAsyncTask extends SingletonTask.InternalAsyncTask {
+		}
+
+		private class InternalSyncCallbackTask extends SingletonTask.InternalSyncCallbackTask {
+		}
+
+		@Override
+		protected InternalAsyncTask createInternalAsyncTask() {
+			return new InternalAsyncTask();
+		}
+
+		@Override
+		protected InternalSyncCallbackTask createInternalSyncCallbackTask() {
+			return new InternalSyncCallbackTask();
+		}
+
+		@Override
+		protected void prepare() {
+			// Reset the dirty flag here, so that we can track any changes that occur in the
+			// meantime:
+			dirty = false;
+
+			// Snapshot of the current entries, ordered by their last seen times:
+			assert saveData.isEmpty();
+			sorted.forEach(lastSeen -> {
+				saveData.put(lastSeen.getPlayerId().toString(), lastSeen.getLastSeenMillis());
+			});
+		}
+
+		// Can be run async or sync.
+		@Override
+		protected void execute() {
+			try {
+				DataStore data = BukkitConfigDataStore.ofNewYamlConfig();
+				data.setAll(saveData);
+				String serialized = data.saveToString();
+
+				FileUtils.createParentDirectories(tempSaveFile);
+				try (Writer writer = Files.newBufferedWriter(
+						tempSaveFile,
+						DerivedSettings.fileCharset
+				)) {
+					writer.write(serialized);
+				}
+				FileUtils.moveFile(tempSaveFile, saveFile, Log.getLogger());
+				savingSucceeded = true;
+			} catch (IOException e) {
+				Log.warning("Failed to save the last seen times of shop owners!", e);
+				savingSucceeded = false;
+			} finally {
+				saveData.clear();
+			}
+		}
+
+		@Override
+		protected void syncCallback() {
+			if (!savingSucceeded) {
+				// Try again with the next periodic save:
+				dirty = true;
+			}
+		}
+	}
+}
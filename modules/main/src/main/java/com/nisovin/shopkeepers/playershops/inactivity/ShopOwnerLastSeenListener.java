@@ -0,0 +1,71 @@
+package com.nisovin.shopkeepers.playershops.inactivity;
+
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.plugin.Plugin;
+
+import com.nisovin.shopkeepers.dependencies.citizens.CitizensUtils;
+import com.nisovin.shopkeepers.util.java.Validate;
+
+/**
+ * Updates the {@link ShopOwnerLastSeenIndex} when players join or leave the server.
+ * <p>
+ * This tracks all players, and not only the current shop owners, because checking whether a player
+ * owns any shops is more costly than updating the index. The index is limited to the current shop
+ * owners during the periodic inactivity checks.
+ */
+class ShopOwnerLastSeenListener implements Listener {
+
+	private final Plugin plugin;
+	private final ShopOwnerLastSeenIndex lastSeenIndex;
+
+	ShopOwnerLastSeenListener(Plugin plugin, ShopOwnerLastSeenIndex lastSeenIndex) {
+		Validate.notNull(plugin, "plugin is null");
+		Validate.notNull(lastSeenIndex, "lastSeenIndex is null");
+		this.plugin = plugin;
+		this.lastSeenIndex = lastSeenIndex;
+	}
+
+	void onEnable() {
+		Bukkit.getPluginManager().registerEvents(this, plugin);
+
+		// Players that are already online (e.g. after plugin reloads):
+		long nowMillis = System.currentTimeMillis();
+		for (Player player : Bukkit.getOnlinePlayers()) {
+			assert player != null;
+			this.updateLastSeen(player, nowMillis);
+		}
+	}
+
+	void onDisable() {
+		HandlerList.unregisterAll(this);
+
+		// Players that are still online (e.g. during server shutdown):
+		long nowMillis = System.currentTimeMillis();
+		for (Player player : Bukkit.getOnlinePlayers()) {
+			assert player != null;
+			this.updateLastSeen(player, nowMillis);
+		}
+	}
+
+	@EventHandler(priority = EventPriority.MONITOR)
+	void onPlayerJoin(PlayerJoinEvent event) {
+		this.updateLastSeen(event.getPlayer(), System.currentTimeMillis());
+	}
+
+	@EventHandler(priority = EventPriority.MONITOR)
+	void onPlayerQuit(PlayerQuitEvent event) {
+		this.updateLastSeen(event.getPlayer(), System.currentTimeMillis());
+	}
+
+	private void updateLastSeen(Player player, long nowMillis) {
+		if (CitizensUtils.isNPC(player)) return;
+		lastSeenIndex.setLastSeen(player.getUniqueId(), nowMillis);
+	}
+}
@@ -65,6 +65,7 @@ class CreateListener implements Listener {
 	private final SKShopkeepersPlugin plugin;
 	private final ContainerSelection containerSelection;
 	private final ShopkeeperPlacement shopkeeperPlacement;
+	private final ShopCreationItemSelection shopCreationItemSelection;
 
 	// By player UUID:
 	private final Map<@NonNull UUID, @NonNull MutableLong> lastHandledPlayerInteractionsMillis = new HashMap<>();
@@ -80,6 +81,7 @@ class CreateListener implements Listener {
 		this.plugin = plugin;
 		this.containerSelection = containerSelection;
 		this.shopkeeperPlacement = shopkeeperPlacement;
+		this.shopCreationItemSelection = new ShopCreationItemSelection(plugin);
 	}
 
 	void onEnable() {
@@ -95,7 +97,7 @@ class CreateListener implements Listener {
 	void onDisable() {
 		HandlerList.unregisterAll(this);
 		lastHandledPlayerInteractionsMillis.clear();
-		ShopCreationItemSelectionTask.onDisable();
+		shopCreationItemSelection.onDisable();
 	}
 
 	@EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
@@ -105,7 +107,7 @@ class CreateListener implements Listener {
 
 		// Cleanup:
 		lastHandledPlayerInteractionsMillis.remove(uniqueId);
-		ShopCreationItemSelectionTask.cleanupAndCancel(player);
+		shopCreationItemSelection.onPlayerQuit(player);
 	}
 
 	@EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
@@ -125,8 +127,9 @@ class CreateListener implements Listener {
 		}
 
 		// To avoid message spam, we only print the shop creation item selection message if the
-		// player is still holding the item after a short delay. Any already active task is aborted.
-		ShopCreationItemSelectionTask.start(plugin, player);
+		// player is still holding the item after a short delay. Any already pending selection is
+		// replaced.
+		shopCreationItemSelection.onItemSelected(player);
 	}
 
 	// See LivingEntityShopListener for a reasoning on why we handle this the event the way we do:
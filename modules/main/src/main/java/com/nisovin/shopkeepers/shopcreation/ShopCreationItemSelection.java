@@ -0,0 +1,142 @@
+package com.nisovin.shopkeepers.shopcreation;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import com.nisovin.shopkeepers.config.Settings;
+import com.nisovin.shopkeepers.lang.Messages;
+import com.nisovin.shopkeepers.util.bukkit.TextUtils;
+
+/**
+ * Informs players about the usage of the shop creation item when they select it in their hotbar.
+ * <p>
+ * The selections of all players are processed by a single shared task that only runs while there
+ * are pending selections.
+ */
+class ShopCreationItemSelection {
+
+	/**
+	 * The time in ticks before we send the shop creation item selection message.
+	 * <p>
+	 * We only send the message if the player is still holding the item after this delay. This
+	 * avoids message spam when the player quickly scrolls through the items on the hotbar via the
+	 * mouse wheel.
+	 */
+	private static final long DELAY_TICKS = 5L; // 0.25 seconds
+
+	private static final class PendingSelection {
+
+		private final Player player;
+		private final long dueTick;
+
+		PendingSelection(Player player, long dueTick) {
+			assert player != null;
+			this.player = player;
+			this.dueTick = dueTick;
+		}
+	}
+
+	private final Plugin plugin;
+	// By player UUID. Ordered by the tick at which the selections are due, since they are all
+	// delayed by the same amount of ticks and re-inserted when a player selects the item again.
+	private final Map<@NonNull UUID, @NonNull PendingSelection> pendingSelections = new LinkedHashMap<>();
+	private final SelectionTask selectionTask = new SelectionTask();
+	// Only advances while the selection task is running:
+	private long currentTick = 0L;
+
+	ShopCreationItemSelection(Plugin plugin) {
+		assert plugin != null;
+		this.plugin = plugin;
+	}
+
+	void onDisable() {
+		selectionTask.stop();
+		pendingSelections.clear();
+	}
+
+	void onPlayerQuit(Player player) {
+		assert player != null;
+		pendingSelections.remove(player.getUniqueId());
+	}
+
+	/**
+	 * Sends the shop creation item selection message to the given player if the player is still
+	 * holding the shop creation item after a short delay.
+	 * <p>
+	 * Any already pending selection of the player is replaced.
+	 * 
+	 * @param player
+	 *            the player, not <code>null</code>
+	 */
+	void onItemSelected(Player player) {
+		assert player != null;
+		UUID playerId = player.getUniqueId();
+		// Remove any previous selection first, so that the new selection is inserted at the end:
+		pendingSelections.remove(playerId);
+		pendingSelections.put(playerId, new PendingSelection(player, currentTick + DELAY_TICKS));
+		selectionTask.start();
+	}
+
+	private void processPendingSelections() {
+		Iterator<@NonNull PendingSelection> iterator = pendingSelections.values().iterator();
+		while (iterator.hasNext()) {
+			PendingSelection selection = iterator.next();
+			// All subsequent selections are due later:
+			if (selection.dueTick > currentTick) break;
+
+			iterator.remove();
+			this.processSelection(selection.player);
+		}
+	}
+
+	private void processSelection(Player player) {
+		if (!player.isOnline()) return; // No longer online
+		if (!Settings.shopCreationItem.matches(player.getInventory().getItemInMainHand())) {
+			// No longer holding the shop creation item in hand:
+			return;
+		}
+
+		// Note: We do not check if the player has the permission to create shops here again. We
+		// checked that earlier already, before the selection was added. Even if there has been a
+		// change to that in the meantime, there is no major harm caused by sending the selection
+		// message anyways. The delay is short enough that this does not matter.
+
+		// Inform the player about the shop creation item's usage:
+		TextUtils.sendMessage(player, Messages.creationItemSelected);
+	}
+
+	private class SelectionTask implements Runnable {
+
+		private @Nullable BukkitTask task = null;
+
+		void start() {
+			if (task != null) return; // Already running
+			task = Bukkit.getScheduler().runTaskTimer(plugin, this, 1L, 1L);
+		}
+
+		void stop() {
+			if (task != null) {
+				task.cancel();
+				task = null;
+			}
+		}
+
+		@Override
+		public void run() {
+			currentTick++;
+			processPendingSelections();
+			if (pendingSelections.isEmpty()) {
+				this.stop();
+			}
+		}
+	}
+}
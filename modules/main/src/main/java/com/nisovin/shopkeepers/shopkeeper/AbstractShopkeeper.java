@@ -4,6 +4,7 @@ import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -44,9 +45,6 @@ import com.nisovin.shopkeepers.api.util.ChunkCoords;
 import com.nisovin.shopkeepers.config.Settings;
 import com.nisovin.shopkeepers.debug.Debug;
 import com.nisovin.shopkeepers.debug.DebugOptions;
-import com.nisovin.shopkeepers.shopkeeper.migration.Migration;
-import com.nisovin.shopkeepers.shopkeeper.migration.MigrationPhase;
-import com.nisovin.shopkeepers.shopkeeper.migration.ShopkeeperDataMigrator;
 import com.nisovin.shopkeepers.shopkeeper.ticking.ShopkeeperTicker;
 import com.nisovin.shopkeepers.shopobjects.AbstractShopObject;
 import com.nisovin.shopkeepers.shopobjects.AbstractShopObjectType;
@@ -161,6 +159,10 @@ public abstract class AbstractShopkeeper implements Shopkeeper {
 	// of. A value of 'false' only indicates that the storage is aware of the latest data of the
 	// shopkeeper, not that it has actually persisted the data to disk yet.
 	private boolean dirty = false;
+	// Section -> serialized data that has not changed since the last save:
+	private final Map<@NonNull ShopkeeperDataSection, @NonNull Object> sectionCache = new EnumMap<>(
+			ShopkeeperDataSection.class
+	);
 	// Is currently registered:
 	private boolean valid = false;
 	private boolean active = false;
@@ -543,9 +545,68 @@ public abstract class AbstractShopkeeper implements Shopkeeper {
 		shopkeeperData.set(NAME, name);
 
 		// Shop object:
-		ShopObjectData shopObjectData = ShopObjectData.ofNonNull(DataContainer.create());
-		shopObject.save(shopObjectData, saveAll);
-		shopkeeperData.set(SHOP_OBJECT_DATA, shopObjectData);
+		this.saveDataSection(
+				shopkeeperData,
+				ShopkeeperDataSection.SHOP_OBJECT,
+				SHOP_OBJECT_DATA,
+				() -> {
+					ShopObjectData shopObjectData = ShopObjectData.ofNonNull(DataContainer.create());
+					shopObject.save(shopObjectData, saveAll);
+					return shopObjectData;
+				},
+				saveAll
+		);
+	}
+
+	/**
+	 * Saves the given section of the shopkeeper's data to the given {@link ShopkeeperData}.
+	 * <p>
+	 * If {@code saveAll} is <code>false</code>, the serialized data of the section is cached and
+	 * reused by subsequent saves until the section is {@link #markDirty(ShopkeeperDataSection)
+	 * marked as dirty}. The cached data is inserted into the {@link ShopkeeperData} by reference.
+	 * It is therefore assumed that the saved data is never modified.
+	 * 
+	 * @param <T>
+	 *            the type of the saved value
+	 * @param shopkeeperData
+	 *            the shopkeeper data, not <code>null</code>
+	 * @param section
+	 *            the data section, not <code>null</code>
+	 * @param property
+	 *            the property that stores the section's data, not <code>null</code>
+	 * @param value
+	 *            provides the value to save if the section needs to be serialized again, not
+	 *            <code>null</code>
+	 * @param saveAll
+	 *            <code>true</code> to also save any data that would usually be stored externally
+	 */
+	protected final <T> void saveDataSection(
+			ShopkeeperData shopkeeperData,
+			ShopkeeperDataSection section,
+			Property<T> property,
+			Supplier<? extends T> value,
+			boolean saveAll
+	) {
+		assert shopkeeperData != null && section != null && property != null && value != null;
+		if (saveAll) {
+			// The saved data might differ from the data that is usually saved, so we neither use
+			// nor update the cache:
+			shopkeeperData.set(property, value.get());
+			return;
+		}
+
+		String dataKey = property.getName();
+		Object cachedData = sectionCache.get(section);
+		if (cachedData != null) {
+			shopkeeperData.set(dataKey, cachedData);
+			return;
+		}
+
+		shopkeeperData.set(property, value.get());
+		Object serializedData = shopkeeperData.get(dataKey);
+		if (serializedData != null) {
+			sectionCache.put(section, serializedData);
+		}
 	}
 
 	@Override
@@ -571,14 +632,43 @@ public abstract class AbstractShopkeeper implements Shopkeeper {
 	 * saved with the next successful save of the {@link ShopkeeperStorage}. If the shopkeeper has
 	 * already been deleted or unloaded, invoking this method will have no effect on the data that
 	 * is stored by the storage.
+	 * <p>
+	 * This marks all {@link ShopkeeperDataSection sections} of the shopkeeper's data as dirty. If
+	 * the change is known to only affect a specific section,
+	 * {@link #markDirty(ShopkeeperDataSection)} can be used instead, so that the cached serialized
+	 * data of the other sections can be reused by the next save.
 	 */
 	public final void markDirty() {
+		sectionCache.clear();
+		this.setDirty();
+	}
+
+	/**
+	 * Marks the given section of this shopkeeper's data as dirty.
+	 * <p>
+	 * This is a more specific variant of {@link #markDirty()}: The shopkeeper is marked as dirty,
+	 * but only the given section of its data is serialized again during the next save. The caller
+	 * has to ensure that the change does not affect any other section.
+	 * 
+	 * @param section
+	 *            the changed data section, not <code>null</code>
+	 */
+	public final void markDirty(ShopkeeperDataSection section) {
+		Validate.notNull(section, "section is null");
+		sectionCache.remove(section);
+		this.setDirty();
+	}
+
+	private void setDirty() {
 		dirty = true;
 		// Inform the storage that the shopkeeper is dirty:
 		if (this.isValid()) {
 			// If the shopkeeper is marked as dirty during creation or loading (while it is not yet
 			// valid), the storage is informed once the shopkeeper becomes valid.
-			SKShopkeepersPlugin.getInstance().getShopkeeperStorage().markDirty(this);
+			SKShopkeepersPlugin plugin = SKShopkeepersPlugin.getInstance();
+			plugin.getShopkeeperStorage().markDirty(this);
+			// Also update the shopkeeper's published summary:
+			plugin.getShopkeeperRegistry().getSummaryPublisher().onShopkeeperChanged(this);
 		}
 	}
 
@@ -1146,7 +1236,7 @@ public abstract class AbstractShopkeeper implements Shopkeeper {
 	@Override
 	public final void setName(@Nullable String newName) {
 		this._setName(newName);
-		this.markDirty();
+		this.markDirty(ShopkeeperDataSection.PROPERTIES);
 	}
 
 	private void _setName(@Nullable String newName) {
@@ -1215,33 +1305,31 @@ public abstract class AbstractShopkeeper implements Shopkeeper {
 			.defaultValue(Collections.emptyList())
 			.build();
 
-	static {
-		ShopkeeperDataMigrator.registerMigration(new Migration(
-				"snapshots",
-				MigrationPhase.DEFAULT
-		) {
-			@Override
-			public boolean migrate(
-					ShopkeeperData shopkeeperData,
-					String logPrefix
-			) throws InvalidDataException {
-				List<? extends @NonNull SKShopkeeperSnapshot> snapshots = shopkeeperData.get(SNAPSHOTS);
-				if (snapshots.isEmpty()) return false;
-
-				int shopkeeperId = shopkeeperData.get(ID);
-				String shopkeeperPrefix = getLogPrefix(shopkeeperId);
-
-				boolean migrated = false;
-				int snapshotId = 1;
-				for (SKShopkeeperSnapshot snapshot : snapshots) {
-					String snapshotLogPrefix = shopkeeperPrefix + "Snapshot " + snapshotId
-							+ " ('" + snapshot.getName() + "'): ";
-					migrated |= snapshot.getShopkeeperData().migrate(snapshotLogPrefix);
-					snapshotId++;
-				}
-				return migrated;
-			}
-		});
+	// Note: The data of snapshots is usually not migrated when the shopkeeper is loaded, but only
+	// once the snapshot is applied (see SKShopkeeperSnapshot#migrateShopkeeperData). Until then, the
+	// snapshot data is saved in its unmigrated form. However, when the data version changes, the
+	// storage migrates the snapshots right away (see #migrateSnapshots).
+
+	private String getSnapshotLogPrefix(ShopkeeperSnapshot snapshot) {
+		return this.getLogPrefix() + "Snapshot '" + snapshot.getName() + "': ";
+	}
+
+	/**
+	 * Applies any pending {@link ShopkeeperData#migrate(String) data migrations} to the data of all
+	 * snapshots of this shopkeeper.
+	 * <p>
+	 * This does not mark the shopkeeper as dirty.
+	 * 
+	 * @return <code>true</code> if the data of any snapshot was migrated
+	 * @throws InvalidDataException
+	 *             if the data migration of a snapshot fails
+	 */
+	public final boolean migrateSnapshots() throws InvalidDataException {
+		boolean migrated = false;
+		for (SKShopkeeperSnapshot snapshot : snapshots) {
+			migrated |= snapshot.migrateShopkeeperData(this.getSnapshotLogPrefix(snapshot));
+		}
+		return migrated;
 	}
 
 	private void loadSnapshots(ShopkeeperData shopkeeperData) throws InvalidDataException {
@@ -1271,7 +1359,13 @@ public abstract class AbstractShopkeeper implements Shopkeeper {
 
 	private void saveSnapshots(ShopkeeperData shopkeeperData) {
 		assert shopkeeperData != null;
-		shopkeeperData.set(SNAPSHOTS, snapshotsView);
+		this.saveDataSection(
+				shopkeeperData,
+				ShopkeeperDataSection.SNAPSHOTS,
+				SNAPSHOTS,
+				() -> snapshotsView,
+				false
+		);
 	}
 
 	@Override
@@ -1317,7 +1411,7 @@ public abstract class AbstractShopkeeper implements Shopkeeper {
 	public final void addSnapshot(ShopkeeperSnapshot snapshot) {
 		this._addSnapshot(snapshot);
 		this.checkSnapshotsCountLimit();
-		this.markDirty();
+		this.markDirty(ShopkeeperDataSection.SNAPSHOTS);
 	}
 
 	private void _addSnapshot(ShopkeeperSnapshot snapshot) {
@@ -1326,7 +1420,15 @@ public abstract class AbstractShopkeeper implements Shopkeeper {
 				+ SKShopkeeperSnapshot.class.getName() + ", but " + snapshot.getClass().getName());
 		SKShopkeeperSnapshot skSnapshot = (SKShopkeeperSnapshot) snapshot;
 		try {
-			this.getAndValidateShopType(skSnapshot.getShopkeeperData());
+			try {
+				this.getAndValidateShopType(skSnapshot.getShopkeeperData());
+			} catch (InvalidDataException e) {
+				// The shop type might have changed in a data migration that has not yet been
+				// applied to the snapshot data:
+				String snapshotLogPrefix = this.getSnapshotLogPrefix(skSnapshot);
+				if (!skSnapshot.migrateShopkeeperData(snapshotLogPrefix)) throw e;
+				this.getAndValidateShopType(skSnapshot.getShopkeeperData());
+			}
 		} catch (InvalidDataException e) {
 			Validate.error("Invalid snapshot shop type: " + e.getMessage());
 		}
@@ -1343,14 +1445,14 @@ public abstract class AbstractShopkeeper implements Shopkeeper {
 	@Override
 	public final ShopkeeperSnapshot removeSnapshot(int index) {
 		ShopkeeperSnapshot snapshot = snapshots.remove(index);
-		this.markDirty();
+		this.markDirty(ShopkeeperDataSection.SNAPSHOTS);
 		return snapshot;
 	}
 
 	@Override
 	public final void removeAllSnapshots() {
 		snapshots.clear();
-		this.markDirty();
+		this.markDirty(ShopkeeperDataSection.SNAPSHOTS);
 	}
 
 	@Override
@@ -1360,8 +1462,11 @@ public abstract class AbstractShopkeeper implements Shopkeeper {
 		// application may fail if it is not compatible with this shopkeeper.
 		// TODO Inform players.
 		SKShopkeepersPlugin.getInstance().getUIRegistry().abortUISessions(this);
+		SKShopkeeperSnapshot skSnapshot = (SKShopkeeperSnapshot) snapshot;
 		try {
-			this.loadDynamicState(((SKShopkeeperSnapshot) snapshot).getShopkeeperData());
+			String snapshotLogPrefix = this.getSnapshotLogPrefix(skSnapshot);
+			skSnapshot.migrateShopkeeperData(snapshotLogPrefix);
+			this.loadDynamicState(skSnapshot.getShopkeeperData());
 		} catch (InvalidDataException e) {
 			throw new ShopkeeperLoadException(e.getMessage(), e);
 		}
@@ -1382,6 +1487,18 @@ public abstract class AbstractShopkeeper implements Shopkeeper {
 			@Nullable Player player
 	);
 
+	/**
+	 * Gets the offers of this shopkeeper.
+	 * <p>
+	 * This provides access to the offers of shopkeepers regardless of their shop type. Shop types
+	 * that use offers override this method with a more specific return type.
+	 * 
+	 * @return an unmodifiable view on the offers, empty if the shop type does not use offers
+	 */
+	public List<? extends @NonNull Object> getOffers() {
+		return Collections.emptyList();
+	}
+
 	// USER INTERFACES
 
 	@Override
@@ -168,6 +168,9 @@ public final class SKShopkeeperSnapshot implements ShopkeeperSnapshot {
 	private final String name;
 	private final Instant timestamp;
 	private final ShopkeeperData shopkeeperData;
+	// The shopkeeper data is only migrated once it is actually used. Snapshots are rarely applied,
+	// so this avoids migrating the data of all snapshots when the shopkeepers are loaded.
+	private boolean dataMigrated = false;
 
 	/**
 	 * Creates a new {@link SKShopkeeperSnapshot}.
@@ -207,6 +210,26 @@ public final class SKShopkeeperSnapshot implements ShopkeeperSnapshot {
 		return shopkeeperData;
 	}
 
+	/**
+	 * Applies any pending {@link ShopkeeperData#migrate(String) data migrations} to the
+	 * {@link #getShopkeeperData() shopkeeper data} of this snapshot.
+	 * <p>
+	 * The data is only migrated once: Subsequent invocations of this method have no effect.
+	 * 
+	 * @param logPrefix
+	 *            a prefix for log messages, not <code>null</code>
+	 * @return <code>true</code> if the data was migrated
+	 * @throws InvalidDataException
+	 *             if the data migration fails
+	 */
+	public boolean migrateShopkeeperData(String logPrefix) throws InvalidDataException {
+		if (dataMigrated) return false;
+		boolean migrated = shopkeeperData.migrate(logPrefix);
+		// Only set if the migration succeeded:
+		dataMigrated = true;
+		return migrated;
+	}
+
 	@Override
 	public String toString() {
 		StringBuilder builder = new StringBuilder();
@@ -8,6 +8,7 @@ import com.nisovin.shopkeepers.api.internal.util.Unsafe;
 import com.nisovin.shopkeepers.api.shopkeeper.TradingRecipe;
 import com.nisovin.shopkeepers.api.util.UnmodifiableItemStack;
 import com.nisovin.shopkeepers.util.annotations.ReadOnly;
+import com.nisovin.shopkeepers.util.inventory.ItemInterner;
 import com.nisovin.shopkeepers.util.inventory.ItemUtils;
 import com.nisovin.shopkeepers.util.java.Validate;
 
@@ -97,7 +98,8 @@ public class SKTradingRecipe extends TradingRecipeDraft implements TradingRecipe
 	 * Creates a {@link SKTradingRecipe}.
 	 * <p>
 	 * The given item stacks are assumed to be immutable and therefore not copied before they are
-	 * stored by the trading recipe.
+	 * stored by the trading recipe. The trading recipe may store shared {@link ItemInterner
+	 * interned} instances of the items instead.
 	 * 
 	 * @param resultItem
 	 *            the result item, not empty
@@ -114,7 +116,11 @@ public class SKTradingRecipe extends TradingRecipeDraft implements TradingRecipe
 			@Nullable UnmodifiableItemStack item2,
 			boolean outOfStock
 	) {
-		super(resultItem, item1, item2);
+		super(
+				ItemInterner.intern(resultItem),
+				ItemInterner.intern(item1),
+				ItemInterner.intern(item2)
+		);
 		Validate.isTrue(!ItemUtils.isEmpty(resultItem), "resultItem is empty");
 		Validate.isTrue(!ItemUtils.isEmpty(item1), "item1 is empty");
 		this.outOfStock = outOfStock;
@@ -0,0 +1,30 @@
+package com.nisovin.shopkeepers.shopkeeper;
+
+/**
+ * The sections of the data of a shopkeeper that are tracked separately when the shopkeeper is
+ * {@link AbstractShopkeeper#markDirty(ShopkeeperDataSection) marked as dirty}.
+ * <p>
+ * The shopkeeper caches the serialized data of some of these sections during saves, and only
+ * serializes them again once they have been marked as dirty.
+ */
+public enum ShopkeeperDataSection {
+
+	/**
+	 * The individual top-level properties of the shopkeeper, such as its name or owner.
+	 * <p>
+	 * These properties are cheap to save and are therefore not cached, but always saved again.
+	 */
+	PROPERTIES,
+	/**
+	 * The data of the shop object.
+	 */
+	SHOP_OBJECT,
+	/**
+	 * The offers of the shopkeeper.
+	 */
+	OFFERS,
+	/**
+	 * The snapshots of the shopkeeper.
+	 */
+	SNAPSHOTS;
+}
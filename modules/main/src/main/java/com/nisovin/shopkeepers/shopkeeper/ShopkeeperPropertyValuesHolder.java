@@ -1,5 +1,7 @@
 package com.nisovin.shopkeepers.shopkeeper;
 
+import org.checkerframework.checker.nullness.qual.Nullable;
+
 import com.nisovin.shopkeepers.api.shopkeeper.Shopkeeper;
 import com.nisovin.shopkeepers.util.data.property.value.AbstractPropertyValuesHolder;
 import com.nisovin.shopkeepers.util.data.property.value.PropertyValuesHolder;
@@ -11,9 +13,13 @@ import com.nisovin.shopkeepers.util.java.Validate;
 public class ShopkeeperPropertyValuesHolder extends AbstractPropertyValuesHolder {
 
 	private final AbstractShopkeeper shopkeeper;
+	private final @Nullable ShopkeeperDataSection section;
 
 	/**
 	 * Creates a new {@link ShopkeeperPropertyValuesHolder}.
+	 * <p>
+	 * Changes to the property values mark the whole shopkeeper as
+	 * {@link AbstractShopkeeper#markDirty() dirty}.
 	 * 
 	 * @param shopkeeper
 	 *            the shopkeeper, not <code>null</code>
@@ -21,6 +27,28 @@ public class ShopkeeperPropertyValuesHolder extends AbstractPropertyValuesHolder
 	public ShopkeeperPropertyValuesHolder(AbstractShopkeeper shopkeeper) {
 		Validate.notNull(shopkeeper, "shopkeeper is null");
 		this.shopkeeper = shopkeeper;
+		this.section = null;
+	}
+
+	/**
+	 * Creates a new {@link ShopkeeperPropertyValuesHolder}.
+	 * <p>
+	 * Changes to the property values only mark the given section of the shopkeeper's data as
+	 * {@link AbstractShopkeeper#markDirty(ShopkeeperDataSection) dirty}.
+	 * 
+	 * @param shopkeeper
+	 *            the shopkeeper, not <code>null</code>
+	 * @param section
+	 *            the data section that stores the property values, not <code>null</code>
+	 */
+	public ShopkeeperPropertyValuesHolder(
+			AbstractShopkeeper shopkeeper,
+			ShopkeeperDataSection section
+	) {
+		Validate.notNull(shopkeeper, "shopkeeper is null");
+		Validate.notNull(section, "section is null");
+		this.shopkeeper = shopkeeper;
+		this.section = section;
 	}
 
 	/**
@@ -39,6 +67,11 @@ public class ShopkeeperPropertyValuesHolder extends AbstractPropertyValuesHolder
 
 	@Override
 	public void markDirty() {
-		shopkeeper.markDirty();
+		ShopkeeperDataSection section = this.section;
+		if (section != null) {
+			shopkeeper.markDirty(section);
+		} else {
+			shopkeeper.markDirty();
+		}
 	}
 }
@@ -14,15 +14,18 @@ final class ChunkData {
 	// delayed activation.
 	private boolean shouldBeActive;
 	private boolean active;
+	// Whether the chunk is pending a deferred activation inside the chunk activator's queue:
+	private boolean activationDeferred;
 	// TODO Use one task (or a small number of tasks) for all pending delayed chunk activations,
 	// instead of one task per chunk?
 	private @Nullable BukkitTask delayedActivationTask = null;
 
-	ChunkData(ChunkCoords chunkCoords) {
+	ChunkData(ChunkCoords chunkCoords, boolean activateIfLoaded) {
 		Validate.notNull(chunkCoords, "chunkCoords is null");
 		this.chunkCoords = chunkCoords;
-		// The chunk entry is initialized as active if the chunk is currently loaded:
-		this.setActive(chunkCoords.isChunkLoaded());
+		// Unless the activation of loaded chunks is deferred, the chunk entry is initialized as
+		// active if the chunk is currently loaded:
+		this.setActive(activateIfLoaded && chunkCoords.isChunkLoaded());
 	}
 
 	public ChunkCoords getChunkCoords() {
@@ -46,6 +49,14 @@ final class ChunkData {
 		this.setShouldBeActive(active);
 	}
 
+	boolean isActivationDeferred() {
+		return activationDeferred;
+	}
+
+	void setActivationDeferred(boolean activationDeferred) {
+		this.activationDeferred = activationDeferred;
+	}
+
 	public boolean isActivationDelayed() {
 		return (delayedActivationTask != null);
 	}
@@ -65,7 +76,8 @@ final class ChunkData {
 	boolean needsActivation() {
 		// Check if the chunk is already active or pending activation (avoids unnecessary
 		// isChunkLoaded calls):
-		if (this.isActive() || this.isShouldBeActive() || this.isActivationDelayed()) {
+		if (this.isActive() || this.isShouldBeActive() || this.isActivationDelayed()
+				|| this.isActivationDeferred()) {
 			return false;
 		}
 
@@ -3,10 +3,10 @@ package com.nisovin.shopkeepers.shopkeeper.activation;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashMap;
+import java.util.Deque;
 import java.util.List;
-import java.util.Map;
-import java.util.Queue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 import java.util.function.Predicate;
 
 import org.bukkit.Bukkit;
@@ -24,12 +24,16 @@ import com.nisovin.shopkeepers.SKShopkeepersPlugin;
 import com.nisovin.shopkeepers.api.internal.util.Unsafe;
 import com.nisovin.shopkeepers.api.util.ChunkCoords;
 import com.nisovin.shopkeepers.debug.DebugOptions;
+import com.nisovin.shopkeepers.debug.jfr.ChunkActivationEvent;
+import com.nisovin.shopkeepers.debug.jfr.JfrEvents;
 import com.nisovin.shopkeepers.shopkeeper.AbstractShopkeeper;
 import com.nisovin.shopkeepers.shopkeeper.registry.SKShopkeeperRegistry;
 import com.nisovin.shopkeepers.shopkeeper.spawning.ShopkeeperSpawner;
 import com.nisovin.shopkeepers.shopkeeper.ticking.ShopkeeperTicker;
-import com.nisovin.shopkeepers.util.bukkit.MutableChunkCoords;
+import com.nisovin.shopkeepers.util.bukkit.ChunkKeys;
 import com.nisovin.shopkeepers.util.bukkit.TextUtils;
+import com.nisovin.shopkeepers.util.bukkit.WorldChunkMap;
+import com.nisovin.shopkeepers.util.java.LongObjectHashMap;
 import com.nisovin.shopkeepers.util.java.Validate;
 import com.nisovin.shopkeepers.util.logging.Log;
 import com.nisovin.shopkeepers.util.timer.Timer;
@@ -56,12 +60,19 @@ public class ShopkeeperChunkActivator {
 	 * {@link Server#getViewDistance() view distance}.
 	 */
 	private static final int IMMEDIATE_CHUNK_ACTIVATION_RADIUS = 2;
+	/**
+	 * The maximum duration per tick that we spend on processing deferred chunk activations.
+	 * <p>
+	 * When lots of chunks are activated at once, such as when the plugin is enabled or reloaded,
+	 * or when a world is loaded, the chunk activations are deferred and then spread across several
+	 * ticks in order to not freeze the server's main thread.
+	 */
+	private static final long DEFERRED_CHUNK_ACTIVATIONS_TIME_BUDGET_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
 
 	private static final Predicate<@NonNull AbstractShopkeeper> SHOPKEEPER_IS_ACTIVE = AbstractShopkeeper::isActive;
 	private static final Predicate<@NonNull AbstractShopkeeper> SHOPKEEPER_IS_INACTIVE = Unsafe.assertNonNull(SHOPKEEPER_IS_ACTIVE.negate());
 
 	private static final Location sharedLocation = new Location(null, 0, 0, 0);
-	private static final MutableChunkCoords sharedChunkCoords = new MutableChunkCoords();
 
 	private final SKShopkeepersPlugin plugin;
 	private final SKShopkeeperRegistry shopkeeperRegistry;
@@ -69,16 +80,28 @@ public class ShopkeeperChunkActivator {
 	private final ShopkeeperSpawner shopkeeperSpawner;
 	private final ChunkActivationListener listener = new ChunkActivationListener(Unsafe.initialized(this));
 
-	private final Map<@NonNull ChunkCoords, @NonNull ChunkData> chunks = new HashMap<>();
+	private final WorldChunkMap<@NonNull ChunkData> chunks = new WorldChunkMap<>();
 
+	// Chunks are created inactive until the initial activation of all loaded chunks has been
+	// triggered. This allows us to activate the shopkeepers that are loaded during plugin enable in
+	// batches, instead of activating them one by one while they are loaded.
+	private boolean initialActivationPending = false;
 	private boolean chunkActivationInProgress = false;
-	// This does not consider pending delayed chunk activation tasks, but only tracks actual
-	// activation requests while another chunk activation is in progress. The queue is expected to
-	// usually not contain many elements, so removing elements from the middle of the ArrayDeque
-	// should be sufficiently fast.
-	private final Queue<@NonNull ChunkData> deferredChunkActivations = new ArrayDeque<>();
+	// This does not consider pending delayed chunk activation tasks, but only tracks activation
+	// requests while another chunk activation is in progress, as well as the staged activations of
+	// chunks when all loaded chunks of a world are activated at once. Since this queue can contain
+	// lots of elements, cancelled deferred activations are not removed from the queue, but only
+	// marked as no longer deferred and then skipped once they are polled. A chunk can therefore be
+	// contained in the queue multiple times.
+	private final Deque<@NonNull ChunkData> deferredChunkActivations = new ArrayDeque<>();
+	private int deferredChunkActivationsCount = 0;
+	private boolean processingDeferredChunkActivations = false;
+	private final DeferredChunkActivationsTask deferredChunkActivationsTask = new DeferredChunkActivationsTask();
+	// The number of shopkeepers that are currently marked as active:
+	private int activeShopkeepersCount = 0;
 
 	private final Timer chunkActivationTimings = new Timer();
+	private final Timer chunkActivationBatchTimings = new Timer();
 	private int immediateChunkActivationRadius;
 
 	public ShopkeeperChunkActivator(
@@ -104,12 +127,18 @@ public class ShopkeeperChunkActivator {
 				Bukkit.getViewDistance()
 		);
 
+		// Defer the activation of chunks until all shopkeepers have been loaded:
+		initialActivationPending = true;
+
 		Bukkit.getPluginManager().registerEvents(listener, plugin);
 	}
 
 	public void onDisable() {
 		HandlerList.unregisterAll(listener);
+		deferredChunkActivationsTask.stop();
+		initialActivationPending = false;
 		chunkActivationTimings.reset();
+		chunkActivationBatchTimings.reset();
 		this.ensureEmpty();
 	}
 
@@ -118,23 +147,24 @@ public class ShopkeeperChunkActivator {
 			Log.warning("Some chunk entries were not properly removed from the chunk activator!");
 			chunks.clear();
 		}
+		// Remove any cancelled deferred chunk activations:
+		deferredChunkActivations.removeIf(chunkData -> !chunkData.isActivationDeferred());
 		if (!deferredChunkActivations.isEmpty()) {
 			Log.warning("Some deferred chunk activations were not properly removed from the chunk activator!");
 			deferredChunkActivations.clear();
 		}
+		deferredChunkActivationsCount = 0;
+		if (activeShopkeepersCount != 0) {
+			Log.warning("Some shopkeepers were not properly deactivated!");
+			activeShopkeepersCount = 0;
+		}
 	}
 
 	// DATA
 
 	private @Nullable ChunkData getChunkData(Chunk chunk) {
 		assert chunk != null;
-		sharedChunkCoords.set(chunk);
-		return this.getChunkData(sharedChunkCoords);
-	}
-
-	private @Nullable ChunkData getChunkData(String worldName, int chunkX, int chunkZ) {
-		sharedChunkCoords.set(worldName, chunkX, chunkZ);
-		return this.getChunkData(sharedChunkCoords);
+		return chunks.get(chunk);
 	}
 
 	// Returns null if there is no data for the specified chunk, i.e. if there are no shopkeepers in
@@ -146,8 +176,11 @@ public class ShopkeeperChunkActivator {
 
 	private ChunkData getOrCreateChunkData(ChunkCoords chunkCoords) {
 		assert chunkCoords != null;
-		ChunkData chunkData = chunks.computeIfAbsent(chunkCoords, ChunkData::new);
-		assert chunkData != null;
+		ChunkData chunkData = chunks.get(chunkCoords);
+		if (chunkData == null) {
+			chunkData = new ChunkData(chunkCoords, !initialActivationPending);
+			chunks.put(chunkCoords, chunkData);
+		}
 		return chunkData;
 	}
 
@@ -196,6 +229,25 @@ public class ShopkeeperChunkActivator {
 		}
 	}
 
+	// Updates the shopkeeper's activation state and the count of active shopkeepers.
+	private void setShopkeeperActive(AbstractShopkeeper shopkeeper, boolean active) {
+		assert shopkeeper != null;
+		if (shopkeeper.isActive() == active) return; // Unchanged
+		shopkeeper.setActive(active);
+		activeShopkeepersCount += (active ? 1 : -1);
+	}
+
+	/**
+	 * Gets the number of shopkeepers that are currently active.
+	 * <p>
+	 * This count is kept up-to-date whenever the activation state of a shopkeeper changes.
+	 * 
+	 * @return the number of active shopkeepers
+	 */
+	public int getActiveShopkeepersCount() {
+		return activeShopkeepersCount;
+	}
+
 	private void activateShopkeeper(AbstractShopkeeper shopkeeper) {
 		assert shopkeeper != null;
 		assert !shopkeeper.isVirtual();
@@ -206,7 +258,7 @@ public class ShopkeeperChunkActivator {
 		if (shopkeeper.isActive()) return; // Already active
 
 		// Mark the shopkeeper as active:
-		shopkeeper.setActive(true);
+		this.setShopkeeperActive(shopkeeper, true);
 
 		// Start ticking:
 		shopkeeperTicker.startTicking(shopkeeper);
@@ -229,7 +281,7 @@ public class ShopkeeperChunkActivator {
 		if (!shopkeeper.isActive()) return; // Already inactive
 
 		// Mark the shopkeeper as inactive:
-		shopkeeper.setActive(false);
+		this.setShopkeeperActive(shopkeeper, false);
 
 		// Stop ticking:
 		shopkeeperTicker.stopTicking(shopkeeper);
@@ -261,6 +313,26 @@ public class ShopkeeperChunkActivator {
 		return chunkActivationTimings;
 	}
 
+	/**
+	 * Gets the timings of the batches of deferred chunk activations that are processed at once,
+	 * such as the chunk activations that are processed per tick when a large number of chunks is
+	 * activated at the same time.
+	 * 
+	 * @return the chunk activation batch timings
+	 */
+	public Timings getChunkActivationBatchTimings() {
+		return chunkActivationBatchTimings;
+	}
+
+	/**
+	 * Gets the number of chunks that are currently pending a deferred activation.
+	 * 
+	 * @return the number of pending deferred chunk activations
+	 */
+	public int getDeferredChunkActivationsCount() {
+		return deferredChunkActivationsCount;
+	}
+
 	public boolean isChunkActive(ChunkCoords chunkCoords) {
 		ChunkData chunkData = this.getChunkData(chunkCoords);
 		if (chunkData == null) return false;
@@ -341,55 +413,86 @@ public class ShopkeeperChunkActivator {
 		}
 	}
 
-	// Activates nearby chunks if they are currently pending a delayed activation:
+	// Activates nearby chunks if they are currently pending a delayed or deferred activation:
 	private void activatePendingNearbyChunks(Player player) {
+		this.forEachNearbyChunk(player, chunkData -> {
+			if (chunkData.isActivationDelayed() || chunkData.isActivationDeferred()) {
+				this.activateChunk(chunkData);
+			}
+		});
+	}
+
+	// Moves the deferred activations of nearby chunks to the front of the queue:
+	private void prioritizeNearbyChunks(Player player) {
+		this.forEachNearbyChunk(player, chunkData -> {
+			if (chunkData.isActivationDeferred()) {
+				// The chunk's previous queue entry is skipped once the chunk has been activated:
+				deferredChunkActivations.addFirst(chunkData);
+			}
+		});
+	}
+
+	private void forEachNearbyChunk(Player player, Consumer<? super @NonNull ChunkData> action) {
 		World world = player.getWorld();
 		Location location = Unsafe.assertNonNull(player.getLocation(sharedLocation));
 		int chunkX = ChunkCoords.fromBlock(location.getBlockX());
 		int chunkZ = ChunkCoords.fromBlock(location.getBlockZ());
 		sharedLocation.setWorld(null); // Reset
-		this.activatePendingNearbyChunks(world, chunkX, chunkZ, immediateChunkActivationRadius);
+		this.forEachNearbyChunk(world, chunkX, chunkZ, immediateChunkActivationRadius, action);
 	}
 
-	// Activates nearby chunks if they are currently pending a delayed activation:
-	private void activatePendingNearbyChunks(
+	// Only considers chunks that contain shopkeepers.
+	private void forEachNearbyChunk(
 			World world,
 			int centerChunkX,
 			int centerChunkZ,
-			int chunkRadius
+			int chunkRadius,
+			Consumer<? super @NonNull ChunkData> action
 	) {
-		assert world != null && chunkRadius >= 0;
-		String worldName = world.getName();
+		assert world != null && chunkRadius >= 0 && action != null;
+		LongObjectHashMap<@NonNull ChunkData> worldChunks = chunks.getWorldChunks(world.getName());
+		if (worldChunks == null) return; // There are no shopkeepers in this world
+
 		int minChunkX = centerChunkX - chunkRadius;
 		int maxChunkX = centerChunkX + chunkRadius;
 		int minChunkZ = centerChunkZ - chunkRadius;
 		int maxChunkZ = centerChunkZ + chunkRadius;
 		for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
 			for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; chunkZ++) {
-				ChunkData chunkData = this.getChunkData(worldName, chunkX, chunkZ);
+				ChunkData chunkData = worldChunks.get(ChunkKeys.of(chunkX, chunkZ));
 				if (chunkData == null) continue;
 
-				// Activate the chunk if it is currently pending a delayed activation:
-				if (chunkData.isActivationDelayed()) {
-					this.activateChunk(chunkData);
-				}
+				action.accept(chunkData);
 			}
 		}
 	}
 
 	private boolean isActivationDeferred(ChunkData chunkData) {
-		return deferredChunkActivations.contains(chunkData);
+		return chunkData.isActivationDeferred();
+	}
+
+	// Expects that the chunk is marked as 'should-be-active'.
+	private void deferActivation(ChunkData chunkData) {
+		assert chunkData != null && chunkData.isShouldBeActive();
+		assert !chunkData.isActivationDeferred();
+		chunkData.setActivationDeferred(true);
+		deferredChunkActivations.add(chunkData);
+		deferredChunkActivationsCount++;
+	}
+
+	// Does not remove the chunk from the queue: The chunk is skipped once it is polled.
+	private void clearDeferredActivation(ChunkData chunkData) {
+		if (chunkData.isActivationDeferred()) {
+			chunkData.setActivationDeferred(false);
+			deferredChunkActivationsCount--;
+		}
 	}
 
 	// This also reset's the chunk's 'should-be-active' state.
 	private void cancelDeferredActivation(ChunkData chunkData) {
 		assert chunkData != null;
-		// Minor optimization: If the chunk is not marked as 'should-be-active', we can assume that
-		// it is not pending a deferred activation.
-		if (chunkData.isShouldBeActive()) {
-			chunkData.setShouldBeActive(false);
-			deferredChunkActivations.remove(chunkData);
-		}
+		chunkData.setShouldBeActive(false);
+		this.clearDeferredActivation(chunkData);
 	}
 
 	private void activateChunk(ChunkData chunkData) {
@@ -417,9 +520,8 @@ public class ShopkeeperChunkActivator {
 			if (oldShouldBeActive) {
 				// The chunk is already about to be activated.
 				// Note: This does not necessarily indicate that the chunk is inside the
-				// deferredChunkActivations queue (e.g. when multiple chunks are activated in a
-				// single batch, they are all marked as 'should-be-active', but not added to the
-				// deferred chunk activations queue).
+				// deferredChunkActivations queue (e.g. the chunk might be the chunk that is
+				// currently being activated).
 				Log.debug(DebugOptions.shopkeeperActivation,
 						() -> "Ignoring activation request of chunk " + chunkCoords
 								+ ": The chunk is already pending activation.");
@@ -430,12 +532,13 @@ public class ShopkeeperChunkActivator {
 			Log.debug(DebugOptions.shopkeeperActivation,
 					() -> "Another chunk activation is already in progress. "
 							+ "Deferring activation of chunk " + chunkCoords);
-			deferredChunkActivations.add(chunkData);
+			this.deferActivation(chunkData);
 			return;
 		}
-		// Deferred chunk activations can only be observed while another chunk activation is already
-		// in progress.
-		assert !this.isActivationDeferred(chunkData);
+
+		// If the chunk is pending a deferred activation, we activate it right away. Its queue entry
+		// is skipped once it is polled.
+		this.clearDeferredActivation(chunkData);
 
 		chunkActivationInProgress = true;
 		chunkActivationTimings.start();
@@ -448,11 +551,17 @@ public class ShopkeeperChunkActivator {
 						+ TextUtils.getChunkString(chunkCoords)
 		);
 
+		ChunkActivationEvent jfrEvent = null;
+		if (JfrEvents.isEnabled()) {
+			jfrEvent = new ChunkActivationEvent(chunkCoords, true, shopkeepers.size());
+			jfrEvent.begin();
+		}
+
 		// Mark the chunk as active:
 		chunkData.setActive(true);
 
 		// Mark the shopkeepers as active:
-		shopkeepers.forEach(shopkeeper -> shopkeeper.setActive(true));
+		shopkeepers.forEach(shopkeeper -> this.setShopkeeperActive(shopkeeper, true));
 
 		try {
 			for (AbstractShopkeeper shopkeeper : shopkeepers) {
@@ -491,6 +600,9 @@ public class ShopkeeperChunkActivator {
 			);
 		} finally {
 			chunkActivationTimings.stop();
+			if (jfrEvent != null) {
+				jfrEvent.commit();
+			}
 			chunkActivationInProgress = false;
 
 			// Process the deferred chunk activations:
@@ -498,12 +610,65 @@ public class ShopkeeperChunkActivator {
 		}
 	}
 
+	// Processes the deferred chunk activations until either the queue is empty or the time budget
+	// for the current batch is used up. Any remaining chunk activations are processed in batches
+	// during the subsequent ticks.
 	private void processDeferredChunkActivations() {
-		ChunkData chunkData;
-		while ((chunkData = deferredChunkActivations.poll()) != null) {
-			// The chunk is removed from the queue when it is deactivated:
-			assert chunkData.isShouldBeActive();
-			this.activateChunk(chunkData);
+		// Avoid recursive processing: The activated chunks trigger this again once their activation
+		// completes.
+		if (processingDeferredChunkActivations) return;
+		if (deferredChunkActivations.isEmpty()) return;
+
+		processingDeferredChunkActivations = true;
+		chunkActivationBatchTimings.start();
+		long deadlineNanos = System.nanoTime() + DEFERRED_CHUNK_ACTIVATIONS_TIME_BUDGET_NANOS;
+		try {
+			ChunkData chunkData;
+			while ((chunkData = deferredChunkActivations.poll()) != null) {
+				// Skip the chunk if its deferred activation has been cancelled, or if it has
+				// already been activated in the meantime:
+				if (!chunkData.isActivationDeferred()) continue;
+
+				assert chunkData.isShouldBeActive();
+				this.activateChunk(chunkData);
+
+				if (System.nanoTime() - deadlineNanos >= 0) {
+					// Continue during the next tick:
+					break;
+				}
+			}
+		} finally {
+			chunkActivationBatchTimings.stop();
+			processingDeferredChunkActivations = false;
+		}
+
+		if (!deferredChunkActivations.isEmpty()) {
+			deferredChunkActivationsTask.start();
+		}
+	}
+
+	private class DeferredChunkActivationsTask implements Runnable {
+
+		private @Nullable BukkitTask task = null;
+
+		void start() {
+			if (task != null) return; // Already running
+			task = Bukkit.getScheduler().runTaskTimer(plugin, this, 1L, 1L);
+		}
+
+		void stop() {
+			if (task != null) {
+				task.cancel();
+				task = null;
+			}
+		}
+
+		@Override
+		public void run() {
+			processDeferredChunkActivations();
+			if (deferredChunkActivations.isEmpty()) {
+				this.stop();
+			}
 		}
 	}
 
@@ -545,8 +710,31 @@ public class ShopkeeperChunkActivator {
 						+ TextUtils.getChunkString(chunkCoords)
 		);
 
+		if (!JfrEvents.isEnabled()) {
+			this.deactivateShopkeepers(chunkData, shopkeepers);
+			return;
+		}
+
+		ChunkActivationEvent jfrEvent = new ChunkActivationEvent(
+				chunkCoords,
+				false,
+				shopkeepers.size()
+		);
+		jfrEvent.begin();
+		try {
+			this.deactivateShopkeepers(chunkData, shopkeepers);
+		} finally {
+			jfrEvent.commit();
+		}
+	}
+
+	private void deactivateShopkeepers(
+			ChunkData chunkData,
+			Collection<? extends @NonNull AbstractShopkeeper> shopkeepers
+	) {
+		assert chunkData != null && shopkeepers != null;
 		// Mark the shopkeepers as inactive:
-		shopkeepers.forEach(shopkeeper -> shopkeeper.setActive(false));
+		shopkeepers.forEach(shopkeeper -> this.setShopkeeperActive(shopkeeper, false));
 
 		for (AbstractShopkeeper shopkeeper : shopkeepers) {
 			// Abort the chunk deactivation if it has been activated again in the meantime:
@@ -574,7 +762,7 @@ public class ShopkeeperChunkActivator {
 
 		// Despawn the shopkeepers:
 		shopkeeperSpawner.despawnChunkShopkeepers(
-				chunkCoords,
+				chunkData.getChunkCoords(),
 				"deactivation",
 				shopkeepers,
 				SHOPKEEPER_IS_INACTIVE,
@@ -584,60 +772,55 @@ public class ShopkeeperChunkActivator {
 
 	// WORLD LOAD
 
-	// Called by SKShopkeepersPlugin during enable.
-	// TODO This might not be needed, because chunk entries for loaded chunks are automatically
-	// marked as active when the first shopkeeper is added, and any shopkeepers added to an already
-	// active chunk are immediately activated.
-	// But this also logs summary debug messages about the activated shopkeepers. Maybe disable
-	// automatic activation when loading shopkeepers and then activate them all in bulk via this
-	// method?
+	// Called by SKShopkeepersPlugin during enable, after the shopkeepers have been loaded.
+	// The chunk entries that are created while the shopkeepers are loaded are initially inactive.
+	// This activates them in batches that are spread across several ticks.
 	public void activateShopkeepersInAllWorlds() {
+		initialActivationPending = false;
+
 		// Activate (spawn) shopkeepers in loaded chunks of all loaded worlds:
 		List<? extends @NonNull World> worlds = Unsafe.castNonNull(Bukkit.getWorlds());
-		worlds.forEach(this::activateChunks);
+		worlds.forEach(this::deferChunkActivations);
+
+		// Activate the chunks near online players first (e.g. after plugin reloads):
+		Bukkit.getOnlinePlayers().forEach(this::prioritizeNearbyChunks);
+
+		this.processDeferredChunkActivations();
 	}
 
 	void onWorldLoad(World world) {
 		assert world != null;
-		this.activateChunks(world);
+		this.deferChunkActivations(world);
+		this.processDeferredChunkActivations();
 	}
 
-	// Activates all loaded chunks of the given world.
-	private void activateChunks(World world) {
+	// Marks all loaded chunks of the given world as 'should-be-active' and adds them to the
+	// deferred chunk activations queue.
+	private void deferChunkActivations(World world) {
 		assert world != null;
 		String worldName = world.getName();
 		int shopkeeperCount = shopkeeperRegistry.getShopkeepersInWorld(worldName).size();
 		if (shopkeeperCount == 0) return; // There are no shopkeepers in this world
 
-		Log.debug(DebugOptions.shopkeeperActivation,
-				() -> "Activating " + shopkeeperCount + " shopkeepers in world '" + worldName + "'"
-		);
+		LongObjectHashMap<@NonNull ChunkData> worldChunks = chunks.getWorldChunks(worldName);
+		if (worldChunks == null) return;
 
-		// We need to iterate over a snapshot of these chunks, because the chunk map can change
-		// during iteration.
-		List<? extends @NonNull ChunkCoords> chunks = new ArrayList<>(
-				shopkeeperRegistry.getShopkeepersByChunks(worldName).keySet()
-		);
-
-		// First, mark the chunks as 'should-be-active':
-		chunks.forEach(chunkCoords -> {
-			ChunkData chunkData = Unsafe.assertNonNull(this.getChunkData(chunkCoords));
+		// Determine the chunks that need to be activated in a single pass:
+		// Since this does not activate any chunks yet, the chunk map is not modified during the
+		// iteration.
+		int deferredCountBefore = deferredChunkActivationsCount;
+		worldChunks.forEachValue(chunkData -> {
 			if (chunkData.needsActivation()) {
 				chunkData.setShouldBeActive(true);
+				this.deferActivation(chunkData);
 			}
 		});
+		int deferredCount = deferredChunkActivationsCount - deferredCountBefore;
 
-		// Activate the chunks, unless their target activation state has changed in the meantime:
-		chunks.forEach(this::activateChunkIfShouldBeActive);
-	}
-
-	private void activateChunkIfShouldBeActive(ChunkCoords chunkCoords) {
-		assert chunkCoords != null;
-		ChunkData chunkData = this.getChunkData(chunkCoords);
-		if (chunkData == null) return; // There are no shopkeepers in this chunk
-		if (!chunkData.isShouldBeActive()) return;
-
-		this.activateChunk(chunkData);
+		Log.debug(DebugOptions.shopkeeperActivation,
+				() -> "Activating " + deferredCount + " chunks with " + shopkeeperCount
+						+ " shopkeepers in world '" + worldName + "'"
+		);
 	}
 
 	// WORLD UNLOAD
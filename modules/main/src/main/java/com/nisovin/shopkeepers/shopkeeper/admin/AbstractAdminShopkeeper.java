@@ -11,6 +11,7 @@ import com.nisovin.shopkeepers.api.ui.DefaultUITypes;
 import com.nisovin.shopkeepers.lang.Messages;
 import com.nisovin.shopkeepers.shopkeeper.AbstractShopkeeper;
 import com.nisovin.shopkeepers.shopkeeper.ShopkeeperData;
+import com.nisovin.shopkeepers.shopkeeper.ShopkeeperDataSection;
 import com.nisovin.shopkeepers.ui.SKDefaultUITypes;
 import com.nisovin.shopkeepers.ui.trading.TradingHandler;
 import com.nisovin.shopkeepers.util.bukkit.PermissionUtils;
@@ -123,7 +124,7 @@ public abstract class AbstractAdminShopkeeper
 	@Override
 	public void setTradePermission(@Nullable String tradePermission) {
 		this._setTradePermission(tradePermission);
-		this.markDirty();
+		this.markDirty(ShopkeeperDataSection.PROPERTIES);
 	}
 
 	private void _setTradePermission(@Nullable String tradePermission) {
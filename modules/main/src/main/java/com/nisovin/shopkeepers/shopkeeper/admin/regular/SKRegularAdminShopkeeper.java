@@ -15,6 +15,7 @@ import com.nisovin.shopkeepers.api.ui.DefaultUITypes;
 import com.nisovin.shopkeepers.shopkeeper.AbstractShopkeeper;
 import com.nisovin.shopkeepers.shopkeeper.SKDefaultShopTypes;
 import com.nisovin.shopkeepers.shopkeeper.ShopkeeperData;
+import com.nisovin.shopkeepers.shopkeeper.ShopkeeperDataSection;
 import com.nisovin.shopkeepers.shopkeeper.admin.AbstractAdminShopkeeper;
 import com.nisovin.shopkeepers.shopkeeper.migration.Migration;
 import com.nisovin.shopkeepers.shopkeeper.migration.MigrationPhase;
@@ -58,7 +59,7 @@ public class SKRegularAdminShopkeeper
 	@Override
 	public void saveDynamicState(ShopkeeperData shopkeeperData, boolean saveAll) {
 		super.saveDynamicState(shopkeeperData, saveAll);
-		this.saveOffers(shopkeeperData);
+		this.saveOffers(shopkeeperData, saveAll);
 	}
 
 	@Override
@@ -112,9 +113,15 @@ public class SKRegularAdminShopkeeper
 		this._setOffers(shopkeeperData.get(OFFERS));
 	}
 
-	private void saveOffers(ShopkeeperData shopkeeperData) {
+	private void saveOffers(ShopkeeperData shopkeeperData, boolean saveAll) {
 		assert shopkeeperData != null;
-		shopkeeperData.set(OFFERS, this.getOffers());
+		this.saveDataSection(
+				shopkeeperData,
+				ShopkeeperDataSection.OFFERS,
+				OFFERS,
+				this::getOffers,
+				saveAll
+		);
 	}
 
 	@Override
@@ -125,7 +132,7 @@ public class SKRegularAdminShopkeeper
 	@Override
 	public void clearOffers() {
 		this._clearOffers();
-		this.markDirty();
+		this.markDirty(ShopkeeperDataSection.OFFERS);
 	}
 
 	private void _clearOffers() {
@@ -137,7 +144,7 @@ public class SKRegularAdminShopkeeper
 		Validate.notNull(offers, "offers is null");
 		Validate.noNullElements(offers, "offers contains null");
 		this._setOffers(offers);
-		this.markDirty();
+		this.markDirty(ShopkeeperDataSection.OFFERS);
 	}
 
 	private void _setOffers(List<? extends @NonNull TradeOffer> offers) {
@@ -150,7 +157,7 @@ public class SKRegularAdminShopkeeper
 	public void addOffer(TradeOffer offer) {
 		Validate.notNull(offer, "offer is null");
 		this._addOffer(offer);
-		this.markDirty();
+		this.markDirty(ShopkeeperDataSection.OFFERS);
 	}
 
 	private void _addOffer(TradeOffer offer) {
@@ -167,7 +174,7 @@ public class SKRegularAdminShopkeeper
 		Validate.notNull(offers, "offers is null");
 		Validate.noNullElements(offers, "offers contains null");
 		this._addOffers(offers);
-		this.markDirty();
+		this.markDirty(ShopkeeperDataSection.OFFERS);
 	}
 
 	private void _addOffers(List<? extends @NonNull TradeOffer> offers) {
@@ -41,6 +41,7 @@ import com.nisovin.shopkeepers.naming.ShopkeeperNaming;
 import com.nisovin.shopkeepers.shopkeeper.AbstractShopkeeper;
 import com.nisovin.shopkeepers.shopkeeper.SKTradingRecipe;
 import com.nisovin.shopkeepers.shopkeeper.ShopkeeperData;
+import com.nisovin.shopkeepers.shopkeeper.ShopkeeperDataSection;
 import com.nisovin.shopkeepers.shopkeeper.migration.Migration;
 import com.nisovin.shopkeepers.shopkeeper.migration.MigrationPhase;
 import com.nisovin.shopkeepers.shopkeeper.migration.ShopkeeperDataMigrator;
@@ -297,13 +298,13 @@ public abstract class AbstractPlayerShopkeeper
 	// TODO Add to API
 	public void setOwner(User owner) {
 		this._setOwner(owner);
-		this.markDirty();
+		this.markDirty(ShopkeeperDataSection.PROPERTIES);
 	}
 
 	@Override
 	public void setOwner(UUID ownerUUID, String ownerName) {
 		this._setOwner(ownerUUID, ownerName);
-		this.markDirty();
+		this.markDirty(ShopkeeperDataSection.PROPERTIES);
 	}
 
 	private void _setOwner(UUID ownerUUID, String ownerName) {
@@ -374,7 +375,7 @@ public abstract class AbstractPlayerShopkeeper
 	public void setNotifyOnTrades(boolean notifyOnTrades) {
 		if (this.notifyOnTrades == notifyOnTrades) return;
 		this._setNotifyOnTrades(notifyOnTrades);
-		this.markDirty();
+		this.markDirty(ShopkeeperDataSection.PROPERTIES);
 	}
 
 	private void _setNotifyOnTrades(boolean notifyOnTrades) {
@@ -441,7 +442,7 @@ public abstract class AbstractPlayerShopkeeper
 	@Override
 	public void setForHire(@Nullable ItemStack hireCost) {
 		this._setForHire(hireCost);
-		this.markDirty();
+		this.markDirty(ShopkeeperDataSection.PROPERTIES);
 	}
 
 	private void _setForHire(@Nullable ItemStack hireCost) {
@@ -579,7 +580,7 @@ public abstract class AbstractPlayerShopkeeper
 	@Override
 	public void setContainer(int containerX, int containerY, int containerZ) {
 		this._setContainer(containerX, containerY, containerZ);
-		this.markDirty();
+		this.markDirty(ShopkeeperDataSection.PROPERTIES);
 	}
 
 	@Override
@@ -32,6 +32,12 @@ public abstract class PlayerShopTradingHandler extends TradingHandler {
 		return (AbstractPlayerShopkeeper) super.getShopkeeper();
 	}
 
+	@Override
+	protected boolean hasPlayerSpecificTradingRecipes() {
+		// The trading recipes only depend on the offers and the container contents:
+		return false;
+	}
+
 	@Override
 	public boolean canOpen(Player player, boolean silent) {
 		if (!super.canOpen(player, silent)) return false;
@@ -118,6 +124,15 @@ public abstract class PlayerShopTradingHandler extends TradingHandler {
 		}
 	}
 
+	@Override
+	protected void onTradeCompleted(Trade trade) {
+		super.onTradeCompleted(trade);
+
+		// The trade changed the stock of the shop: Also update the trades of any other players
+		// that are currently trading with this shop.
+		this.requestTradesUpdate();
+	}
+
 	@Override
 	protected void onTradeOver(TradingContext tradingContext) {
 		super.onTradeOver(tradingContext);
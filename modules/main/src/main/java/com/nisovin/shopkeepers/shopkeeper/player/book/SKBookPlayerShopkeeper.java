@@ -27,6 +27,7 @@ import com.nisovin.shopkeepers.lang.Messages;
 import com.nisovin.shopkeepers.shopkeeper.AbstractShopkeeper;
 import com.nisovin.shopkeepers.shopkeeper.SKDefaultShopTypes;
 import com.nisovin.shopkeepers.shopkeeper.ShopkeeperData;
+import com.nisovin.shopkeepers.shopkeeper.ShopkeeperDataSection;
 import com.nisovin.shopkeepers.shopkeeper.migration.Migration;
 import com.nisovin.shopkeepers.shopkeeper.migration.MigrationPhase;
 import com.nisovin.shopkeepers.shopkeeper.migration.ShopkeeperDataMigrator;
@@ -75,7 +76,7 @@ public class SKBookPlayerShopkeeper
 	@Override
 	public void saveDynamicState(ShopkeeperData shopkeeperData, boolean saveAll) {
 		super.saveDynamicState(shopkeeperData, saveAll);
-		this.saveOffers(shopkeeperData);
+		this.saveOffers(shopkeeperData, saveAll);
 	}
 
 	@Override
@@ -232,9 +233,15 @@ public class SKBookPlayerShopkeeper
 		this._setOffers(shopkeeperData.get(OFFERS));
 	}
 
-	private void saveOffers(ShopkeeperData shopkeeperData) {
+	private void saveOffers(ShopkeeperData shopkeeperData, boolean saveAll) {
 		assert shopkeeperData != null;
-		shopkeeperData.set(OFFERS, this.getOffers());
+		this.saveDataSection(
+				shopkeeperData,
+				ShopkeeperDataSection.OFFERS,
+				OFFERS,
+				this::getOffers,
+				saveAll
+		);
 	}
 
 	@Override
@@ -274,7 +281,7 @@ public class SKBookPlayerShopkeeper
 		while (iterator.hasNext()) {
 			if (iterator.next().getBookTitle().equals(bookTitle)) {
 				iterator.remove();
-				this.markDirty();
+				this.markDirty(ShopkeeperDataSection.OFFERS);
 				break;
 			}
 		}
@@ -283,7 +290,7 @@ public class SKBookPlayerShopkeeper
 	@Override
 	public void clearOffers() {
 		this._clearOffers();
-		this.markDirty();
+		this.markDirty(ShopkeeperDataSection.OFFERS);
 	}
 
 	private void _clearOffers() {
@@ -295,7 +302,7 @@ public class SKBookPlayerShopkeeper
 		Validate.notNull(offers, "offers is null");
 		Validate.noNullElements(offers, "offers contains null");
 		this._setOffers(offers);
-		this.markDirty();
+		this.markDirty(ShopkeeperDataSection.OFFERS);
 	}
 
 	private void _setOffers(@ReadOnly List<? extends @NonNull BookOffer> offers) {
@@ -308,7 +315,7 @@ public class SKBookPlayerShopkeeper
 	public void addOffer(BookOffer offer) {
 		Validate.notNull(offer, "offer is null");
 		this._addOffer(offer);
-		this.markDirty();
+		this.markDirty(ShopkeeperDataSection.OFFERS);
 	}
 
 	private void _addOffer(BookOffer offer) {
@@ -329,7 +336,7 @@ public class SKBookPlayerShopkeeper
 		Validate.notNull(offers, "offers is null");
 		Validate.noNullElements(offers, "offers contains null");
 		this._addOffers(offers);
-		this.markDirty();
+		this.markDirty(ShopkeeperDataSection.OFFERS);
 	}
 
 	private void _addOffers(@ReadOnly List<? extends @NonNull BookOffer> offers) {
@@ -18,6 +18,7 @@ import com.nisovin.shopkeepers.api.util.UnmodifiableItemStack;
 import com.nisovin.shopkeepers.shopkeeper.AbstractShopkeeper;
 import com.nisovin.shopkeepers.shopkeeper.SKDefaultShopTypes;
 import com.nisovin.shopkeepers.shopkeeper.ShopkeeperData;
+import com.nisovin.shopkeepers.shopkeeper.ShopkeeperDataSection;
 import com.nisovin.shopkeepers.shopkeeper.migration.Migration;
 import com.nisovin.shopkeepers.shopkeeper.migration.MigrationPhase;
 import com.nisovin.shopkeepers.shopkeeper.migration.ShopkeeperDataMigrator;
@@ -65,7 +66,7 @@ public class SKBuyingPlayerShopkeeper
 	@Override
 	public void saveDynamicState(ShopkeeperData shopkeeperData, boolean saveAll) {
 		super.saveDynamicState(shopkeeperData, saveAll);
-		this.saveOffers(shopkeeperData);
+		this.saveOffers(shopkeeperData, saveAll);
 	}
 
 	@Override
@@ -133,9 +134,15 @@ public class SKBuyingPlayerShopkeeper
 		this._setOffers(shopkeeperData.get(OFFERS));
 	}
 
-	private void saveOffers(ShopkeeperData shopkeeperData) {
+	private void saveOffers(ShopkeeperData shopkeeperData, boolean saveAll) {
 		assert shopkeeperData != null;
-		shopkeeperData.set(OFFERS, this.getOffers());
+		this.saveDataSection(
+				shopkeeperData,
+				ShopkeeperDataSection.OFFERS,
+				OFFERS,
+				this::getOffers,
+				saveAll
+		);
 	}
 
 	@Override
@@ -168,7 +175,7 @@ public class SKBuyingPlayerShopkeeper
 			PriceOffer offer = iterator.next();
 			if (offer.getItem().isSimilar(tradedItem)) {
 				iterator.remove();
-				this.markDirty();
+				this.markDirty(ShopkeeperDataSection.OFFERS);
 				break;
 			}
 		}
@@ -183,7 +190,7 @@ public class SKBuyingPlayerShopkeeper
 	@Override
 	public void clearOffers() {
 		this._clearOffers();
-		this.markDirty();
+		this.markDirty(ShopkeeperDataSection.OFFERS);
 	}
 
 	private void _clearOffers() {
@@ -195,7 +202,7 @@ public class SKBuyingPlayerShopkeeper
 		Validate.notNull(offers, "offers is null");
 		Validate.noNullElements(offers, "offers contains null");
 		this._setOffers(offers);
-		this.markDirty();
+		this.markDirty(ShopkeeperDataSection.OFFERS);
 	}
 
 	private void _setOffers(@ReadOnly List<? extends @NonNull PriceOffer> offers) {
@@ -208,7 +215,7 @@ public class SKBuyingPlayerShopkeeper
 	public void addOffer(PriceOffer offer) {
 		Validate.notNull(offer, "offer is null");
 		this._addOffer(offer);
-		this.markDirty();
+		this.markDirty(ShopkeeperDataSection.OFFERS);
 	}
 
 	private void _addOffer(PriceOffer offer) {
@@ -228,7 +235,7 @@ public class SKBuyingPlayerShopkeeper
 		Validate.notNull(offers, "offers is null");
 		Validate.noNullElements(offers, "offers contains null");
 		this._addOffers(offers);
-		this.markDirty();
+		this.markDirty(ShopkeeperDataSection.OFFERS);
 	}
 
 	private void _addOffers(@ReadOnly List<? extends @NonNull PriceOffer> offers) {
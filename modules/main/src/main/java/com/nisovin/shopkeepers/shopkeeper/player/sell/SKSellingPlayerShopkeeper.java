@@ -10,6 +10,8 @@ import org.bukkit.inventory.ItemStack;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
+import com.nisovin.shopkeepers.api.events.ShopkeeperAddedEvent;
+import com.nisovin.shopkeepers.api.events.ShopkeeperRemoveEvent;
 import com.nisovin.shopkeepers.api.shopkeeper.TradingRecipe;
 import com.nisovin.shopkeepers.api.shopkeeper.offers.PriceOffer;
 import com.nisovin.shopkeepers.api.shopkeeper.player.sell.SellingPlayerShopkeeper;
@@ -18,6 +20,7 @@ import com.nisovin.shopkeepers.api.util.UnmodifiableItemStack;
 import com.nisovin.shopkeepers.shopkeeper.AbstractShopkeeper;
 import com.nisovin.shopkeepers.shopkeeper.SKDefaultShopTypes;
 import com.nisovin.shopkeepers.shopkeeper.ShopkeeperData;
+import com.nisovin.shopkeepers.shopkeeper.ShopkeeperDataSection;
 import com.nisovin.shopkeepers.shopkeeper.migration.Migration;
 import com.nisovin.shopkeepers.shopkeeper.migration.MigrationPhase;
 import com.nisovin.shopkeepers.shopkeeper.migration.ShopkeeperDataMigrator;
@@ -66,7 +69,7 @@ public class SKSellingPlayerShopkeeper
 	@Override
 	public void saveDynamicState(ShopkeeperData shopkeeperData, boolean saveAll) {
 		super.saveDynamicState(shopkeeperData, saveAll);
-		this.saveOffers(shopkeeperData);
+		this.saveOffers(shopkeeperData, saveAll);
 	}
 
 	@Override
@@ -74,6 +77,22 @@ public class SKSellingPlayerShopkeeper
 		return SKDefaultShopTypes.PLAYER_SELLING();
 	}
 
+	@Override
+	protected void onAdded(ShopkeeperAddedEvent.Cause cause) {
+		super.onAdded(cause);
+
+		// Index the offers:
+		this.getType().getOfferIndex().updateShopkeeper(this);
+	}
+
+	@Override
+	protected void onRemoval(ShopkeeperRemoveEvent.Cause cause) {
+		super.onRemoval(cause);
+
+		// Remove the offers from the index:
+		this.getType().getOfferIndex().removeShopkeeper(this);
+	}
+
 	@Override
 	public boolean hasTradingRecipes(@Nullable Player player) {
 		return !this.getOffers().isEmpty();
@@ -137,11 +156,31 @@ public class SKSellingPlayerShopkeeper
 	private void loadOffers(ShopkeeperData shopkeeperData) throws InvalidDataException {
 		assert shopkeeperData != null;
 		this._setOffers(shopkeeperData.get(OFFERS));
+		// The offers are also loaded when a snapshot is applied to an already added shopkeeper:
+		this.updateOfferIndex();
 	}
 
-	private void saveOffers(ShopkeeperData shopkeeperData) {
+	private void saveOffers(ShopkeeperData shopkeeperData, boolean saveAll) {
 		assert shopkeeperData != null;
-		shopkeeperData.set(OFFERS, this.getOffers());
+		this.saveDataSection(
+				shopkeeperData,
+				ShopkeeperDataSection.OFFERS,
+				OFFERS,
+				this::getOffers,
+				saveAll
+		);
+	}
+
+	private void onOffersChanged() {
+		this.markDirty(ShopkeeperDataSection.OFFERS);
+		this.updateOfferIndex();
+	}
+
+	private void updateOfferIndex() {
+		// Only shopkeepers that have been added to the registry are indexed:
+		if (this.isValid()) {
+			this.getType().getOfferIndex().updateShopkeeper(this);
+		}
 	}
 
 	@Override
@@ -174,7 +213,7 @@ public class SKSellingPlayerShopkeeper
 			PriceOffer offer = iterator.next();
 			if (offer.getItem().isSimilar(tradedItem)) {
 				iterator.remove();
-				this.markDirty();
+				this.onOffersChanged();
 				break;
 			}
 		}
@@ -189,7 +228,7 @@ public class SKSellingPlayerShopkeeper
 	@Override
 	public void clearOffers() {
 		this._clearOffers();
-		this.markDirty();
+		this.onOffersChanged();
 	}
 
 	private void _clearOffers() {
@@ -201,7 +240,7 @@ public class SKSellingPlayerShopkeeper
 		Validate.notNull(offers, "offers is null");
 		Validate.noNullElements(offers, "offers contains null");
 		this._setOffers(offers);
-		this.markDirty();
+		this.onOffersChanged();
 	}
 
 	private void _setOffers(@ReadOnly List<? extends @NonNull PriceOffer> offers) {
@@ -214,7 +253,7 @@ public class SKSellingPlayerShopkeeper
 	public void addOffer(PriceOffer offer) {
 		Validate.notNull(offer, "offer is null");
 		this._addOffer(offer);
-		this.markDirty();
+		this.onOffersChanged();
 	}
 
 	private void _addOffer(PriceOffer offer) {
@@ -234,7 +273,7 @@ public class SKSellingPlayerShopkeeper
 		Validate.notNull(offers, "offers is null");
 		Validate.noNullElements(offers, "offers contains null");
 		this._addOffers(offers);
-		this.markDirty();
+		this.onOffersChanged();
 	}
 
 	private void _addOffers(@ReadOnly List<? extends @NonNull PriceOffer> offers) {
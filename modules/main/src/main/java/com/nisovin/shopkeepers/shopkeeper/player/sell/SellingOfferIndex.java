@@ -0,0 +1,146 @@
+package com.nisovin.shopkeepers.shopkeeper.player.sell;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+
+import org.bukkit.Material;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import com.nisovin.shopkeepers.api.shopkeeper.offers.PriceOffer;
+import com.nisovin.shopkeepers.api.shopkeeper.player.sell.SellingShopOffer;
+import com.nisovin.shopkeepers.api.util.UnmodifiableItemStack;
+import com.nisovin.shopkeepers.util.java.Validate;
+
+/**
+ * Indexes the offers of all loaded {@link SKSellingPlayerShopkeeper selling player shopkeepers} by
+ * the type of the sold item, sorted by their unit price.
+ * <p>
+ * The index is updated by the shopkeepers themselves when they are added to or removed from the
+ * shopkeeper registry, and whenever their offers change. Updating the index for a shopkeeper only
+ * involves the offers of that shopkeeper.
+ */
+public final class SellingOfferIndex {
+
+	private static final Comparator<@NonNull IndexedOffer> OFFER_ORDER = Comparator
+			.comparingDouble(IndexedOffer::getUnitPrice)
+			.thenComparingInt(offer -> offer.getShopkeeper().getId())
+			.thenComparingInt(offer -> offer.offerIndex);
+
+	private static final class IndexedOffer implements SellingShopOffer {
+
+		private final SKSellingPlayerShopkeeper shopkeeper;
+		private final PriceOffer offer;
+		// The position of the offer inside the shopkeeper's offers, to order offers of the same
+		// shopkeeper with equal unit prices:
+		private final int offerIndex;
+		private final double unitPrice;
+
+		IndexedOffer(SKSellingPlayerShopkeeper shopkeeper, PriceOffer offer, int offerIndex) {
+			assert shopkeeper != null && offer != null;
+			this.shopkeeper = shopkeeper;
+			this.offer = offer;
+			this.offerIndex = offerIndex;
+			UnmodifiableItemStack item = offer.getItem();
+			this.unitPrice = (double) offer.getPrice() / item.getAmount();
+		}
+
+		@Override
+		public SKSellingPlayerShopkeeper getShopkeeper() {
+			return shopkeeper;
+		}
+
+		@Override
+		public PriceOffer getOffer() {
+			return offer;
+		}
+
+		@Override
+		public double getUnitPrice() {
+			return unitPrice;
+		}
+
+		Material getItemType() {
+			return offer.getItem().getType();
+		}
+	}
+
+	private final Map<@NonNull Material, @NonNull NavigableSet<@NonNull IndexedOffer>> offersByItemType = new EnumMap<>(Material.class);
+	private final Map<@NonNull SKSellingPlayerShopkeeper, @NonNull List<@NonNull IndexedOffer>> offersByShopkeeper = new HashMap<>();
+
+	SellingOfferIndex() {
+	}
+
+	/**
+	 * Adds the current offers of the given shopkeeper to the index, replacing any previously
+	 * indexed offers of the shopkeeper.
+	 * 
+	 * @param shopkeeper
+	 *            the shopkeeper, not <code>null</code>
+	 */
+	void updateShopkeeper(SKSellingPlayerShopkeeper shopkeeper) {
+		assert shopkeeper != null;
+		this.removeShopkeeper(shopkeeper);
+
+		List<? extends @NonNull PriceOffer> offers = shopkeeper.getOffers();
+		if (offers.isEmpty()) return;
+
+		List<@NonNull IndexedOffer> indexedOffers = new ArrayList<>(offers.size());
+		for (int offerIndex = 0; offerIndex < offers.size(); offerIndex++) {
+			IndexedOffer indexedOffer = new IndexedOffer(
+					shopkeeper,
+					offers.get(offerIndex),
+					offerIndex
+			);
+			indexedOffers.add(indexedOffer);
+			offersByItemType.computeIfAbsent(
+					indexedOffer.getItemType(),
+					itemType -> new TreeSet<>(OFFER_ORDER)
+			).add(indexedOffer);
+		}
+		offersByShopkeeper.put(shopkeeper, indexedOffers);
+	}
+
+	/**
+	 * Removes all offers of the given shopkeeper from the index.
+	 * 
+	 * @param shopkeeper
+	 *            the shopkeeper, not <code>null</code>
+	 */
+	void removeShopkeeper(SKSellingPlayerShopkeeper shopkeeper) {
+		assert shopkeeper != null;
+		List<@NonNull IndexedOffer> indexedOffers = offersByShopkeeper.remove(shopkeeper);
+		if (indexedOffers == null) return;
+
+		indexedOffers.forEach(indexedOffer -> {
+			Material itemType = indexedOffer.getItemType();
+			NavigableSet<@NonNull IndexedOffer> itemTypeOffers = offersByItemType.get(itemType);
+			assert itemTypeOffers != null;
+			itemTypeOffers.remove(indexedOffer);
+			if (itemTypeOffers.isEmpty()) {
+				offersByItemType.remove(itemType);
+			}
+		});
+	}
+
+	/**
+	 * Gets the indexed offers for the specified item type, sorted by their unit price, cheapest
+	 * first.
+	 * 
+	 * @param itemType
+	 *            the item type, not <code>null</code>
+	 * @return an unmodifiable snapshot of the offers, may be empty
+	 */
+	public List<? extends @NonNull SellingShopOffer> getOffers(Material itemType) {
+		Validate.notNull(itemType, "itemType is null");
+		NavigableSet<@NonNull IndexedOffer> itemTypeOffers = offersByItemType.get(itemType);
+		if (itemTypeOffers == null) return Collections.emptyList();
+		return Collections.unmodifiableList(new ArrayList<>(itemTypeOffers));
+	}
+}
@@ -49,6 +49,8 @@ public final class SellingPlayerShopType
 
 	}
 
+	private final SellingOfferIndex offerIndex = new SellingOfferIndex();
+
 	public SellingPlayerShopType() {
 		super(
 				"sell",
@@ -58,6 +60,15 @@ public final class SellingPlayerShopType
 		);
 	}
 
+	/**
+	 * Gets the index of the offers of all loaded shopkeepers of this type.
+	 * 
+	 * @return the offer index, not <code>null</code>
+	 */
+	public SellingOfferIndex getOfferIndex() {
+		return offerIndex;
+	}
+
 	@Override
 	public String getDisplayName() {
 		return Messages.shopTypeSelling;
@@ -17,6 +17,7 @@ import com.nisovin.shopkeepers.api.util.UnmodifiableItemStack;
 import com.nisovin.shopkeepers.shopkeeper.AbstractShopkeeper;
 import com.nisovin.shopkeepers.shopkeeper.SKDefaultShopTypes;
 import com.nisovin.shopkeepers.shopkeeper.ShopkeeperData;
+import com.nisovin.shopkeepers.shopkeeper.ShopkeeperDataSection;
 import com.nisovin.shopkeepers.shopkeeper.migration.Migration;
 import com.nisovin.shopkeepers.shopkeeper.migration.MigrationPhase;
 import com.nisovin.shopkeepers.shopkeeper.migration.ShopkeeperDataMigrator;
@@ -64,7 +65,7 @@ public class SKTradingPlayerShopkeeper
 	@Override
 	public void saveDynamicState(ShopkeeperData shopkeeperData, boolean saveAll) {
 		super.saveDynamicState(shopkeeperData, saveAll);
-		this.saveOffers(shopkeeperData);
+		this.saveOffers(shopkeeperData, saveAll);
 	}
 
 	@Override
@@ -129,9 +130,15 @@ public class SKTradingPlayerShopkeeper
 		this._setOffers(shopkeeperData.get(OFFERS));
 	}
 
-	private void saveOffers(ShopkeeperData shopkeeperData) {
+	private void saveOffers(ShopkeeperData shopkeeperData, boolean saveAll) {
 		assert shopkeeperData != null;
-		shopkeeperData.set(OFFERS, this.getOffers());
+		this.saveDataSection(
+				shopkeeperData,
+				ShopkeeperDataSection.OFFERS,
+				OFFERS,
+				this::getOffers,
+				saveAll
+		);
 	}
 
 	@Override
@@ -161,7 +168,7 @@ public class SKTradingPlayerShopkeeper
 	@Override
 	public void clearOffers() {
 		this._clearOffers();
-		this.markDirty();
+		this.markDirty(ShopkeeperDataSection.OFFERS);
 	}
 
 	private void _clearOffers() {
@@ -173,7 +180,7 @@ public class SKTradingPlayerShopkeeper
 		Validate.notNull(offers, "offers is null");
 		Validate.noNullElements(offers, "offers contains null");
 		this._setOffers(offers);
-		this.markDirty();
+		this.markDirty(ShopkeeperDataSection.OFFERS);
 	}
 
 	private void _setOffers(List<? extends @NonNull TradeOffer> offers) {
@@ -186,7 +193,7 @@ public class SKTradingPlayerShopkeeper
 	public void addOffer(TradeOffer offer) {
 		Validate.notNull(offer, "offer is null");
 		this._addOffer(offer);
-		this.markDirty();
+		this.markDirty(ShopkeeperDataSection.OFFERS);
 	}
 
 	private void _addOffer(TradeOffer offer) {
@@ -203,7 +210,7 @@ public class SKTradingPlayerShopkeeper
 		Validate.notNull(offers, "offers is null");
 		Validate.noNullElements(offers, "offers contains null");
 		this._addOffers(offers);
-		this.markDirty();
+		this.markDirty(ShopkeeperDataSection.OFFERS);
 	}
 
 	private void _addOffers(List<? extends @NonNull TradeOffer> offers) {
@@ -16,6 +16,7 @@ import java.util.stream.Stream;
 
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
+import org.bukkit.Material;
 import org.bukkit.World;
 import org.bukkit.block.Block;
 import org.bukkit.entity.Entity;
@@ -32,9 +33,11 @@ import com.nisovin.shopkeepers.api.shopkeeper.Shopkeeper;
 import com.nisovin.shopkeepers.api.shopkeeper.ShopkeeperCreateException;
 import com.nisovin.shopkeepers.api.shopkeeper.ShopkeeperRegistry;
 import com.nisovin.shopkeepers.api.shopkeeper.player.PlayerShopkeeper;
+import com.nisovin.shopkeepers.api.shopkeeper.player.sell.SellingShopOffer;
 import com.nisovin.shopkeepers.api.util.ChunkCoords;
 import com.nisovin.shopkeepers.shopkeeper.AbstractShopType;
 import com.nisovin.shopkeepers.shopkeeper.AbstractShopkeeper;
+import com.nisovin.shopkeepers.shopkeeper.SKDefaultShopTypes;
 import com.nisovin.shopkeepers.shopkeeper.ShopkeeperData;
 import com.nisovin.shopkeepers.shopkeeper.activation.ShopkeeperChunkActivator;
 import com.nisovin.shopkeepers.shopkeeper.player.AbstractPlayerShopkeeper;
@@ -132,11 +135,16 @@ public class SKShopkeeperRegistry implements ShopkeeperRegistry {
 		}
 	};
 
+	// Shopkeeper counts by shop type id:
+	private final Map<@NonNull String, @NonNull Integer> shopkeeperCountsByType = new LinkedHashMap<>();
+	private final Map<? extends @NonNull String, ? extends @NonNull Integer> shopkeeperCountsByTypeView = Collections.unmodifiableMap(shopkeeperCountsByType);
+
 	private final ShopObjectRegistry shopObjectRegistry = new ShopObjectRegistry();
 	private final ShopkeeperTicker shopkeeperTicker;
 	private final ShopkeeperSpawner shopkeeperSpawner;
 	private final ShopkeeperChunkActivator chunkActivator;
 	private final ActiveChunkQueries activeChunkQueries;
+	private final ShopkeeperSummaryPublisher summaryPublisher;
 
 	public SKShopkeeperRegistry(SKShopkeepersPlugin plugin) {
 		this.plugin = plugin;
@@ -150,6 +158,7 @@ public class SKShopkeeperRegistry implements ShopkeeperRegistry {
 				shopkeeperSpawner
 		);
 		this.activeChunkQueries = new ActiveChunkQueries(chunkMap, chunkActivator);
+		this.summaryPublisher = new ShopkeeperSummaryPublisher(plugin);
 	}
 
 	public void onEnable() {
@@ -167,6 +176,7 @@ public class SKShopkeeperRegistry implements ShopkeeperRegistry {
 		// Reset all (just in case):
 		this.ensureEmpty();
 
+		summaryPublisher.onDisable();
 		shopkeeperTicker.onDisable();
 		shopkeeperSpawner.onDisable();
 		chunkActivator.onDisable();
@@ -175,12 +185,14 @@ public class SKShopkeeperRegistry implements ShopkeeperRegistry {
 
 	private void ensureEmpty() {
 		if (!shopkeepersByUUID.isEmpty() || !shopkeepersById.isEmpty()
-				|| !virtualShopkeepers.isEmpty() || playerShopCount != 0) {
+				|| !virtualShopkeepers.isEmpty() || playerShopCount != 0
+				|| !shopkeeperCountsByType.isEmpty()) {
 			Log.warning("Some shopkeepers were not properly unregistered!");
 			shopkeepersByUUID.clear();
 			shopkeepersById.clear();
 			virtualShopkeepers.clear();
 			playerShopCount = 0;
+			shopkeeperCountsByType.clear();
 		}
 		chunkMap.ensureEmpty();
 	}
@@ -193,6 +205,14 @@ public class SKShopkeeperRegistry implements ShopkeeperRegistry {
 		return chunkActivator;
 	}
 
+	public ShopkeeperSummaryPublisher getSummaryPublisher() {
+		return summaryPublisher;
+	}
+
+	public ShopkeeperTicker getShopkeeperTicker() {
+		return shopkeeperTicker;
+	}
+
 	// SHOPKEEPER CREATION
 
 	private SKShopkeeperStorage getShopkeeperStorage() {
@@ -306,6 +326,13 @@ public class SKShopkeeperRegistry implements ShopkeeperRegistry {
 			playerShopCount++;
 		}
 
+		// Update the shop type count:
+		// The shop type of a shopkeeper cannot change.
+		shopkeeperCountsByType.merge(shopkeeper.getType().getIdentifier(), 1, Integer::sum);
+
+		// Publish the shopkeeper's summary:
+		summaryPublisher.onShopkeeperAdded(shopkeeper);
+
 		// Log a warning if either the shop type or the shop object type is disabled. The shopkeeper
 		// is still added (so containers are still protected), but it might not get spawned, and
 		// there is no guarantee that the shop still works as expected. Admins are advised to either
@@ -389,6 +416,19 @@ public class SKShopkeeperRegistry implements ShopkeeperRegistry {
 			playerShopCount--;
 		}
 
+		// Update the shop type count:
+		String shopTypeId = shopkeeper.getType().getIdentifier();
+		Integer shopTypeCount = shopkeeperCountsByType.get(shopTypeId);
+		assert shopTypeCount != null;
+		if (shopTypeCount != null && shopTypeCount > 1) {
+			shopkeeperCountsByType.put(shopTypeId, shopTypeCount - 1);
+		} else {
+			shopkeeperCountsByType.remove(shopTypeId);
+		}
+
+		// Remove the shopkeeper's summary:
+		summaryPublisher.onShopkeeperRemoved(shopkeeper);
+
 		if (cause == ShopkeeperRemoveEvent.Cause.DELETE) {
 			// Remove shopkeeper from storage:
 			this.getShopkeeperStorage().deleteShopkeeper(shopkeeper);
@@ -451,6 +491,18 @@ public class SKShopkeeperRegistry implements ShopkeeperRegistry {
 		return virtualShopkeepersView;
 	}
 
+	/**
+	 * Gets the number of shopkeepers per shop type.
+	 * <p>
+	 * These counts are kept up-to-date when shopkeepers are added or removed, so that they can be
+	 * queried without having to iterate all shopkeepers.
+	 * 
+	 * @return an unmodifiable view on the shopkeeper counts by shop type identifier
+	 */
+	public Map<? extends @NonNull String, ? extends @NonNull Integer> getShopkeeperCountsByType() {
+		return shopkeeperCountsByTypeView;
+	}
+
 	@Override
 	public @Nullable AbstractShopkeeper getShopkeeperByUniqueId(UUID shopkeeperUniqueId) {
 		return shopkeepersByUUID.get(shopkeeperUniqueId);
@@ -501,6 +553,17 @@ public class SKShopkeeperRegistry implements ShopkeeperRegistry {
 		};
 	}
 
+	@Override
+	public List<? extends @NonNull SellingShopOffer> getSellingOffers(Material itemType) {
+		Validate.notNull(itemType, "itemType is null");
+		return SKDefaultShopTypes.PLAYER_SELLING().getOfferIndex().getOffers(itemType);
+	}
+
+	@Override
+	public SKShopkeeperSummaries getSummaries() {
+		return summaryPublisher.getPublishedSummaries();
+	}
+
 	// BY NAME
 
 	@Override
@@ -622,8 +685,14 @@ public class SKShopkeeperRegistry implements ShopkeeperRegistry {
 		int z = location.getBlockZ();
 
 		List<@NonNull AbstractShopkeeper> shopkeepers = new ArrayList<>();
-		ChunkCoords chunkCoords = ChunkCoords.fromBlock(worldName, x, z);
-		this.getShopkeepersInChunk(chunkCoords).forEach(shopkeeper -> {
+		ChunkShopkeepers chunkShopkeepers = chunkMap.getChunkShopkeepers(
+				worldName,
+				ChunkCoords.fromBlock(x),
+				ChunkCoords.fromBlock(z)
+		);
+		if (chunkShopkeepers == null) return shopkeepers;
+
+		chunkShopkeepers.getShopkeepers().forEach(shopkeeper -> {
 			assert worldName.equals(shopkeeper.getWorldName());
 			if (shopkeeper.getX() == x && shopkeeper.getY() == y && shopkeeper.getZ() == z) {
 				shopkeepers.add(shopkeeper);
@@ -632,6 +701,67 @@ public class SKShopkeeperRegistry implements ShopkeeperRegistry {
 		return shopkeepers;
 	}
 
+	@Override
+	public Stream<? extends @NonNull AbstractShopkeeper> getShopkeepersInBox(
+			String worldName,
+			int minX,
+			int minY,
+			int minZ,
+			int maxX,
+			int maxY,
+			int maxZ
+	) {
+		Validate.notEmpty(worldName, "worldName is null or empty");
+		WorldShopkeepers worldShopkeepers = chunkMap.getWorldShopkeepers(worldName);
+		if (worldShopkeepers == null) return Stream.empty(); // There are no shopkeepers in this world
+		if (minY > maxY) return Stream.empty();
+
+		return worldShopkeepers.getShopkeepersInChunkRange(
+				ChunkCoords.fromBlock(minX),
+				ChunkCoords.fromBlock(minZ),
+				ChunkCoords.fromBlock(maxX),
+				ChunkCoords.fromBlock(maxZ)
+		).filter(shopkeeper -> {
+			int x = shopkeeper.getX();
+			int y = shopkeeper.getY();
+			int z = shopkeeper.getZ();
+			return x >= minX && x <= maxX
+					&& y >= minY && y <= maxY
+					&& z >= minZ && z <= maxZ;
+		});
+	}
+
+	@Override
+	public Stream<? extends @NonNull AbstractShopkeeper> getShopkeepersInRadius(
+			Location center,
+			double radius
+	) {
+		World world = LocationUtils.getWorld(center);
+		Validate.isTrue(radius >= 0.0D && Double.isFinite(radius),
+				() -> "radius is negative or not finite: " + radius);
+		double centerX = center.getX();
+		double centerY = center.getY();
+		double centerZ = center.getZ();
+		double radiusSquared = radius * radius;
+
+		// The shopkeepers are located at integer block coordinates, so we can narrow the box that
+		// encloses the radius to the blocks whose corners are inside of it:
+		return this.getShopkeepersInBox(
+				world.getName(),
+				(int) Math.ceil(centerX - radius),
+				(int) Math.ceil(centerY - radius),
+				(int) Math.ceil(centerZ - radius),
+				(int) Math.floor(centerX + radius),
+				(int) Math.floor(centerY + radius),
+				(int) Math.floor(centerZ + radius)
+		).filter(shopkeeper -> {
+			double dx = shopkeeper.getX() - centerX;
+			double dy = shopkeeper.getY() - centerY;
+			double dz = shopkeeper.getZ() - centerZ;
+			return (dx * dx + dy * dy + dz * dz) <= radiusSquared;
+		});
+	}
+
 	// BY SHOP OBJECT
 
 	public ShopObjectRegistry getShopObjectRegistry() {
@@ -0,0 +1,246 @@
+package com.nisovin.shopkeepers.shopkeeper.registry;
+
+import java.util.AbstractCollection;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import com.nisovin.shopkeepers.api.internal.util.Unsafe;
+import com.nisovin.shopkeepers.api.shopkeeper.ShopkeeperSummaries;
+import com.nisovin.shopkeepers.util.java.Validate;
+
+/**
+ * Implementation of {@link ShopkeeperSummaries}.
+ * <p>
+ * Instances are immutable and therefore safe to share between threads.
+ * <p>
+ * The summaries are distributed across a fixed number of buckets, both by shopkeeper id and by
+ * unique id. The next version of the summaries is created via
+ * {@link #withChanges(long, Collection, Collection)}: It only copies the buckets that are affected
+ * by the changes, and shares all other buckets with the previous version. The buckets are never
+ * modified once they have been published.
+ */
+public final class SKShopkeeperSummaries implements ShopkeeperSummaries {
+
+	// Has to be a power of two:
+	private static final int BUCKET_COUNT = 1024;
+	private static final int BUCKET_MASK = BUCKET_COUNT - 1;
+
+	static final SKShopkeeperSummaries EMPTY = new SKShopkeeperSummaries(
+			0L,
+			0,
+			newBuckets(),
+			newBuckets()
+	);
+
+	private static <K> @Nullable Map<K, @NonNull SKShopkeeperSummary>[] newBuckets() {
+		return Unsafe.cast(new Map<?, ?>[BUCKET_COUNT]);
+	}
+
+	private static int getBucketIndex(int shopkeeperId) {
+		// Shopkeeper ids are assigned sequentially, so the lower bits are evenly distributed:
+		return shopkeeperId & BUCKET_MASK;
+	}
+
+	private static int getBucketIndex(UUID shopkeeperUniqueId) {
+		return shopkeeperUniqueId.hashCode() & BUCKET_MASK;
+	}
+
+	private final long version;
+	private final int size;
+	// Null if the bucket is empty:
+	private final @Nullable Map<@NonNull Integer, @NonNull SKShopkeeperSummary>[] bucketsById;
+	private final @Nullable Map<@NonNull UUID, @NonNull SKShopkeeperSummary>[] bucketsByUUID;
+	private final Collection<? extends @NonNull SKShopkeeperSummary> summariesView = new SummariesView();
+
+	private SKShopkeeperSummaries(
+			long version,
+			int size,
+			@Nullable Map<@NonNull Integer, @NonNull SKShopkeeperSummary>[] bucketsById,
+			@Nullable Map<@NonNull UUID, @NonNull SKShopkeeperSummary>[] bucketsByUUID
+	) {
+		assert size >= 0 && bucketsById.length == BUCKET_COUNT;
+		assert bucketsByUUID.length == BUCKET_COUNT;
+		this.version = version;
+		this.size = size;
+		this.bucketsById = bucketsById;
+		this.bucketsByUUID = bucketsByUUID;
+	}
+
+	/**
+	 * Creates the next version of these summaries.
+	 * <p>
+	 * The summaries of removed shopkeepers are removed first, and the new or changed summaries are
+	 * added afterwards. This instance is not modified.
+	 * 
+	 * @param version
+	 *            the version of the new summaries
+	 * @param removedShopkeeperIds
+	 *            the session ids of the removed shopkeepers, not <code>null</code>
+	 * @param changedSummaries
+	 *            the summaries of the new and changed shopkeepers, not <code>null</code>
+	 * @return the new summaries, not <code>null</code>
+	 */
+	SKShopkeeperSummaries withChanges(
+			long version,
+			Collection<? extends @NonNull Integer> removedShopkeeperIds,
+			Collection<? extends @NonNull SKShopkeeperSummary> changedSummaries
+	) {
+		assert removedShopkeeperIds != null && changedSummaries != null;
+		// Only the references to the buckets are copied:
+		@Nullable Map<@NonNull Integer, @NonNull SKShopkeeperSummary>[] newBucketsById;
+		@Nullable Map<@NonNull UUID, @NonNull SKShopkeeperSummary>[] newBucketsByUUID;
+		newBucketsById = bucketsById.clone();
+		newBucketsByUUID = bucketsByUUID.clone();
+		// The buckets that have already been copied, and can therefore be modified:
+		boolean[] copiedById = new boolean[BUCKET_COUNT];
+		boolean[] copiedByUUID = new boolean[BUCKET_COUNT];
+		int newSize = size;
+
+		for (int shopkeeperId : removedShopkeeperIds) {
+			SKShopkeeperSummary summary = this.getById(shopkeeperId);
+			if (summary == null) continue; // Not yet published
+
+			int idBucketIndex = getBucketIndex(shopkeeperId);
+			getMutableBucket(newBucketsById, copiedById, idBucketIndex).remove(shopkeeperId);
+			UUID uniqueId = summary.getUniqueId();
+			int uuidBucketIndex = getBucketIndex(uniqueId);
+			getMutableBucket(newBucketsByUUID, copiedByUUID, uuidBucketIndex).remove(uniqueId);
+			newSize--;
+		}
+
+		for (SKShopkeeperSummary summary : changedSummaries) {
+			int idBucketIndex = getBucketIndex(summary.getId());
+			SKShopkeeperSummary previous = getMutableBucket(
+					newBucketsById,
+					copiedById,
+					idBucketIndex
+			).put(summary.getId(), summary);
+			if (previous == null) {
+				newSize++;
+			} else {
+				// The unique id of a shopkeeper does not change:
+				assert previous.getUniqueId().equals(summary.getUniqueId());
+			}
+			UUID uniqueId = summary.getUniqueId();
+			int uuidBucketIndex = getBucketIndex(uniqueId);
+			getMutableBucket(newBucketsByUUID, copiedByUUID, uuidBucketIndex)
+					.put(uniqueId, summary);
+		}
+
+		removeEmptyBuckets(newBucketsById, copiedById);
+		removeEmptyBuckets(newBucketsByUUID, copiedByUUID);
+		return new SKShopkeeperSummaries(version, newSize, newBucketsById, newBucketsByUUID);
+	}
+
+	private static <K> Map<K, @NonNull SKShopkeeperSummary> getMutableBucket(
+			@Nullable Map<K, @NonNull SKShopkeeperSummary>[] buckets,
+			boolean[] copied,
+			int bucketIndex
+	) {
+		@Nullable Map<K, @NonNull SKShopkeeperSummary> bucket = buckets[bucketIndex];
+		if (!copied[bucketIndex]) {
+			bucket = (bucket == null) ? new HashMap<>() : new HashMap<>(bucket);
+			buckets[bucketIndex] = bucket;
+			copied[bucketIndex] = true;
+		}
+		assert bucket != null;
+		return bucket;
+	}
+
+	private static <K> void removeEmptyBuckets(
+			@Nullable Map<K, @NonNull SKShopkeeperSummary>[] buckets,
+			boolean[] copied
+	) {
+		for (int bucketIndex = 0; bucketIndex < BUCKET_COUNT; bucketIndex++) {
+			if (!copied[bucketIndex]) continue;
+			@Nullable Map<K, @NonNull SKShopkeeperSummary> bucket = buckets[bucketIndex];
+			if (bucket != null && bucket.isEmpty()) {
+				buckets[bucketIndex] = null;
+			}
+		}
+	}
+
+	@Override
+	public long getVersion() {
+		return version;
+	}
+
+	@Override
+	public Collection<? extends @NonNull SKShopkeeperSummary> getAll() {
+		return summariesView;
+	}
+
+	@Override
+	public @Nullable SKShopkeeperSummary getById(int shopkeeperId) {
+		return getFromBucket(bucketsById, getBucketIndex(shopkeeperId), shopkeeperId);
+	}
+
+	@Override
+	public @Nullable SKShopkeeperSummary getByUniqueId(UUID shopkeeperUniqueId) {
+		Validate.notNull(shopkeeperUniqueId, "shopkeeperUniqueId is null");
+		return getFromBucket(
+				bucketsByUUID,
+				getBucketIndex(shopkeeperUniqueId),
+				shopkeeperUniqueId
+		);
+	}
+
+	private static <K> @Nullable SKShopkeeperSummary getFromBucket(
+			@Nullable Map<K, @NonNull SKShopkeeperSummary>[] buckets,
+			int bucketIndex,
+			K key
+	) {
+		@Nullable Map<K, @NonNull SKShopkeeperSummary> bucket = buckets[bucketIndex];
+		if (bucket == null) return null;
+		return bucket.get(key);
+	}
+
+	// Unmodifiable view of the summaries of all buckets.
+	private final class SummariesView extends AbstractCollection<@NonNull SKShopkeeperSummary> {
+
+		@Override
+		public Iterator<@NonNull SKShopkeeperSummary> iterator() {
+			return new SummariesIterator();
+		}
+
+		@Override
+		public int size() {
+			return size;
+		}
+	}
+
+	// Iterates the summaries of all buckets. Does not support the removal of elements.
+	private final class SummariesIterator implements Iterator<@NonNull SKShopkeeperSummary> {
+
+		private int nextBucketIndex = 0;
+		private Iterator<? extends @NonNull SKShopkeeperSummary> bucketIterator = Collections.emptyIterator();
+
+		@Override
+		public boolean hasNext() {
+			while (!bucketIterator.hasNext()) {
+				if (nextBucketIndex >= BUCKET_COUNT) return false;
+				Map<?, @NonNull SKShopkeeperSummary> bucket = bucketsById[nextBucketIndex++];
+				if (bucket != null) {
+					bucketIterator = bucket.values().iterator();
+				}
+			}
+			return true;
+		}
+
+		@Override
+		public SKShopkeeperSummary next() {
+			if (!this.hasNext()) {
+				throw new NoSuchElementException();
+			}
+			return bucketIterator.next();
+		}
+	}
+}
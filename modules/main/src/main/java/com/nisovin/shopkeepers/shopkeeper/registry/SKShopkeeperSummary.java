@@ -0,0 +1,177 @@
+package com.nisovin.shopkeepers.shopkeeper.registry;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import com.nisovin.shopkeepers.api.shopkeeper.ShopkeeperSummary;
+import com.nisovin.shopkeepers.api.shopkeeper.player.PlayerShopkeeper;
+import com.nisovin.shopkeepers.shopkeeper.AbstractShopkeeper;
+
+/**
+ * Implementation of {@link ShopkeeperSummary}.
+ */
+public final class SKShopkeeperSummary implements ShopkeeperSummary {
+
+	private final int id;
+	private final UUID uniqueId;
+	private final String shopTypeId;
+	private final String name;
+	private final @Nullable UUID ownerUUID;
+	private final @Nullable String ownerName;
+	private final @Nullable String worldName;
+	private final int x;
+	private final int y;
+	private final int z;
+	private final int offersCount;
+	private final int offersDigest;
+
+	/**
+	 * Creates a summary of the current state of the given shopkeeper.
+	 * <p>
+	 * This has to be called on the server's main thread.
+	 * 
+	 * @param shopkeeper
+	 *            the shopkeeper, not <code>null</code>
+	 * @return the summary, not <code>null</code>
+	 */
+	static SKShopkeeperSummary of(AbstractShopkeeper shopkeeper) {
+		assert shopkeeper != null;
+		UUID ownerUUID = null;
+		String ownerName = null;
+		if (shopkeeper instanceof PlayerShopkeeper) {
+			PlayerShopkeeper playerShopkeeper = (PlayerShopkeeper) shopkeeper;
+			ownerUUID = playerShopkeeper.getOwnerUUID();
+			ownerName = playerShopkeeper.getOwnerName();
+		}
+		List<? extends @NonNull Object> offers = shopkeeper.getOffers();
+		return new SKShopkeeperSummary(
+				shopkeeper.getId(),
+				shopkeeper.getUniqueId(),
+				shopkeeper.getType().getIdentifier(),
+				shopkeeper.getName(),
+				ownerUUID,
+				ownerName,
+				shopkeeper.getWorldName(),
+				shopkeeper.getX(),
+				shopkeeper.getY(),
+				shopkeeper.getZ(),
+				offers.size(),
+				offers.hashCode()
+		);
+	}
+
+	SKShopkeeperSummary(
+			int id,
+			UUID uniqueId,
+			String shopTypeId,
+			String name,
+			@Nullable UUID ownerUUID,
+			@Nullable String ownerName,
+			@Nullable String worldName,
+			int x,
+			int y,
+			int z,
+			int offersCount,
+			int offersDigest
+	) {
+		assert uniqueId != null && shopTypeId != null && name != null;
+		this.id = id;
+		this.uniqueId = uniqueId;
+		this.shopTypeId = shopTypeId;
+		this.name = name;
+		this.ownerUUID = ownerUUID;
+		this.ownerName = ownerName;
+		this.worldName = worldName;
+		this.x = x;
+		this.y = y;
+		this.z = z;
+		this.offersCount = offersCount;
+		this.offersDigest = offersDigest;
+	}
+
+	@Override
+	public int getId() {
+		return id;
+	}
+
+	@Override
+	public UUID getUniqueId() {
+		return uniqueId;
+	}
+
+	@Override
+	public String getShopTypeId() {
+		return shopTypeId;
+	}
+
+	@Override
+	public String getName() {
+		return name;
+	}
+
+	@Override
+	public @Nullable UUID getOwnerUUID() {
+		return ownerUUID;
+	}
+
+	@Override
+	public @Nullable String getOwnerName() {
+		return ownerName;
+	}
+
+	@Override
+	public @Nullable String getWorldName() {
+		return worldName;
+	}
+
+	@Override
+	public int getX() {
+		return x;
+	}
+
+	@Override
+	public int getY() {
+		return y;
+	}
+
+	@Override
+	public int getZ() {
+		return z;
+	}
+
+	@Override
+	public int getOffersCount() {
+		return offersCount;
+	}
+
+	@Override
+	public int getOffersDigest() {
+		return offersDigest;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder();
+		builder.append("SKShopkeeperSummary [id=");
+		builder.append(id);
+		builder.append(", uniqueId=");
+		builder.append(uniqueId);
+		builder.append(", shopTypeId=");
+		builder.append(shopTypeId);
+		builder.append(", worldName=");
+		builder.append(worldName);
+		builder.append(", x=");
+		builder.append(x);
+		builder.append(", y=");
+		builder.append(y);
+		builder.append(", z=");
+		builder.append(z);
+		builder.append(", offersCount=");
+		builder.append(offersCount);
+		builder.append("]");
+		return builder.toString();
+	}
+}
@@ -83,6 +83,14 @@ class ShopkeeperChunkMap {
 		return worldShopkeepers.getChunkShopkeepers(chunkCoords);
 	}
 
+	// Returns null if there are no shopkeepers in the specified chunk:
+	@Nullable
+	ChunkShopkeepers getChunkShopkeepers(String worldName, int chunkX, int chunkZ) {
+		WorldShopkeepers worldShopkeepers = this.getWorldShopkeepers(worldName);
+		if (worldShopkeepers == null) return null; // There are no shopkeepers in this world
+		return worldShopkeepers.getChunkShopkeepers(chunkX, chunkZ);
+	}
+
 	// Only called for non-virtual shopkeepers.
 	ChunkShopkeepers addShopkeeper(AbstractShopkeeper shopkeeper) {
 		assert shopkeeper != null && !shopkeeper.isVirtual();
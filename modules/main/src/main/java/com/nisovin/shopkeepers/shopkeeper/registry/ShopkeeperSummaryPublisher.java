@@ -0,0 +1,137 @@
+package com.nisovin.shopkeepers.shopkeeper.registry;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.bukkit.Bukkit;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import com.nisovin.shopkeepers.shopkeeper.AbstractShopkeeper;
+import com.nisovin.shopkeepers.util.java.Validate;
+
+/**
+ * Maintains the {@link SKShopkeeperSummaries} of the loaded shopkeepers and publishes them for
+ * access from other threads.
+ * <p>
+ * The summaries are maintained on the server's main thread: When shopkeepers are added, removed or
+ * changed, they are remembered and their summaries are updated with the next publication. Only the
+ * summaries of the changed shopkeepers are recreated, and the new version of the
+ * {@link SKShopkeeperSummaries} shares all data that is not affected by the changes with the
+ * previous version. Publications are delayed by {@link #PUBLISH_DELAY_TICKS}, so that the changes
+ * of several ticks are published together.
+ * <p>
+ * The latest published summaries are stored in a volatile field and can be retrieved from any
+ * thread.
+ */
+public class ShopkeeperSummaryPublisher {
+
+	private static final long PUBLISH_DELAY_TICKS = 20L; // 1 second
+
+	private final Plugin plugin;
+	// Only accessed on the main thread:
+	// The shopkeepers whose summaries need to be recreated:
+	private final Set<@NonNull AbstractShopkeeper> changedShopkeepers = new LinkedHashSet<>();
+	// The session ids of the shopkeepers whose summaries need to be removed:
+	private final Set<@NonNull Integer> removedShopkeeperIds = new HashSet<>();
+	private boolean pendingChanges = false;
+	private @Nullable BukkitTask publishTask = null;
+	private long nextVersion = 1L;
+
+	private volatile SKShopkeeperSummaries publishedSummaries = SKShopkeeperSummaries.EMPTY;
+
+	ShopkeeperSummaryPublisher(Plugin plugin) {
+		Validate.notNull(plugin, "plugin is null");
+		this.plugin = plugin;
+	}
+
+	void onDisable() {
+		if (publishTask != null) {
+			publishTask.cancel();
+			publishTask = null;
+		}
+		changedShopkeepers.clear();
+		removedShopkeeperIds.clear();
+		pendingChanges = false;
+		nextVersion = 1L;
+		publishedSummaries = SKShopkeeperSummaries.EMPTY;
+	}
+
+	/**
+	 * Gets the latest published summaries.
+	 * <p>
+	 * This can be called from any thread.
+	 * 
+	 * @return the latest published summaries, not <code>null</code>
+	 */
+	public SKShopkeeperSummaries getPublishedSummaries() {
+		return publishedSummaries;
+	}
+
+	void onShopkeeperAdded(AbstractShopkeeper shopkeeper) {
+		assert shopkeeper != null;
+		changedShopkeepers.add(shopkeeper);
+		// In case the session id is reused:
+		removedShopkeeperIds.remove(shopkeeper.getId());
+		this.onChange();
+	}
+
+	void onShopkeeperRemoved(AbstractShopkeeper shopkeeper) {
+		assert shopkeeper != null;
+		changedShopkeepers.remove(shopkeeper);
+		removedShopkeeperIds.add(shopkeeper.getId());
+		this.onChange();
+	}
+
+	/**
+	 * This is called by shopkeepers whenever their data changed.
+	 * 
+	 * @param shopkeeper
+	 *            the shopkeeper, not <code>null</code>
+	 */
+	public void onShopkeeperChanged(AbstractShopkeeper shopkeeper) {
+		Validate.notNull(shopkeeper, "shopkeeper is null");
+		if (!shopkeeper.isValid()) return;
+		if (!changedShopkeepers.add(shopkeeper)) return; // Already pending
+		this.onChange();
+	}
+
+	private void onChange() {
+		pendingChanges = true;
+		if (publishTask != null) return; // Already scheduled
+		publishTask = Bukkit.getScheduler().runTaskLater(
+				plugin,
+				this::publish,
+				PUBLISH_DELAY_TICKS
+		);
+	}
+
+	private void publish() {
+		publishTask = null;
+		if (!pendingChanges) return;
+		pendingChanges = false;
+
+		List<@NonNull SKShopkeeperSummary> changedSummaries = new ArrayList<>(
+				changedShopkeepers.size()
+		);
+		changedShopkeepers.forEach(shopkeeper -> {
+			// Removed shopkeepers are expected to have already been removed from the changed
+			// shopkeepers:
+			assert shopkeeper.isValid();
+			changedSummaries.add(SKShopkeeperSummary.of(shopkeeper));
+		});
+		changedShopkeepers.clear();
+
+		publishedSummaries = publishedSummaries.withChanges(
+				nextVersion++,
+				removedShopkeeperIds,
+				changedSummaries
+		);
+		removedShopkeeperIds.clear();
+	}
+}
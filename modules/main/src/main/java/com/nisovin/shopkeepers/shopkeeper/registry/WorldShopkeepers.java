@@ -3,12 +3,14 @@ package com.nisovin.shopkeepers.shopkeeper.registry;
 import java.util.AbstractSet;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
@@ -16,12 +18,15 @@ import org.checkerframework.checker.nullness.qual.Nullable;
 import com.nisovin.shopkeepers.api.internal.util.Unsafe;
 import com.nisovin.shopkeepers.api.util.ChunkCoords;
 import com.nisovin.shopkeepers.shopkeeper.AbstractShopkeeper;
+import com.nisovin.shopkeepers.util.bukkit.ChunkKeys;
+import com.nisovin.shopkeepers.util.java.LongObjectHashMap;
 import com.nisovin.shopkeepers.util.java.Validate;
 
 final class WorldShopkeepers {
 
 	private final String worldName;
-	private final Map<@NonNull ChunkCoords, @NonNull ChunkShopkeepers> shopkeepersByChunk = new HashMap<>();
+	// By packed chunk coordinates (see ChunkKeys):
+	private final LongObjectHashMap<@NonNull ChunkShopkeepers> shopkeepersByChunk = new LongObjectHashMap<>();
 	// Unmodifiable entries:
 	private final Map<@NonNull ChunkCoords, @NonNull List<? extends @NonNull AbstractShopkeeper>> shopkeeperViewsByChunk = new LinkedHashMap<>();
 	// Unmodifiable map with unmodifiable entries:
@@ -60,7 +65,45 @@ final class WorldShopkeepers {
 	ChunkShopkeepers getChunkShopkeepers(ChunkCoords chunkCoords) {
 		assert chunkCoords != null;
 		assert chunkCoords.getWorldName().equals(this.getWorldName());
-		return shopkeepersByChunk.get(chunkCoords);
+		return shopkeepersByChunk.get(ChunkKeys.of(chunkCoords));
+	}
+
+	// Returns null if there are no shopkeepers in the specified chunk:
+	@Nullable
+	ChunkShopkeepers getChunkShopkeepers(int chunkX, int chunkZ) {
+		return shopkeepersByChunk.get(ChunkKeys.of(chunkX, chunkZ));
+	}
+
+	// Lazily streams the shopkeepers inside the specified range of chunks (inclusive). Depending on
+	// the size of the range in comparison to the number of non-empty chunks, this either looks up
+	// each chunk inside the range, or filters the non-empty chunks.
+	Stream<? extends @NonNull AbstractShopkeeper> getShopkeepersInChunkRange(
+			int minChunkX,
+			int minChunkZ,
+			int maxChunkX,
+			int maxChunkZ
+	) {
+		if (minChunkX > maxChunkX || minChunkZ > maxChunkZ) return Stream.empty();
+		long rangeWidth = (long) maxChunkX - minChunkX + 1;
+		long rangeDepth = (long) maxChunkZ - minChunkZ + 1;
+		Stream<? extends @NonNull List<? extends @NonNull AbstractShopkeeper>> chunks;
+		if (rangeWidth * rangeDepth <= shopkeepersByChunk.size()) {
+			chunks = IntStream.rangeClosed(minChunkX, maxChunkX).boxed().flatMap(chunkX -> {
+				return IntStream.rangeClosed(minChunkZ, maxChunkZ)
+						.mapToObj(chunkZ -> this.getChunkShopkeepers(chunkX, chunkZ));
+			}).filter(Objects::nonNull).map(chunkShopkeepers -> {
+				return Unsafe.assertNonNull(chunkShopkeepers).getShopkeepers();
+			});
+		} else {
+			chunks = shopkeeperViewsByChunk.entrySet().stream().filter(chunkEntry -> {
+				ChunkCoords chunkCoords = chunkEntry.getKey();
+				int chunkX = chunkCoords.getChunkX();
+				int chunkZ = chunkCoords.getChunkZ();
+				return chunkX >= minChunkX && chunkX <= maxChunkX
+						&& chunkZ >= minChunkZ && chunkZ <= maxChunkZ;
+			}).map(Map.Entry::getValue);
+		}
+		return chunks.<@NonNull AbstractShopkeeper>flatMap(Collection::stream);
 	}
 
 	ChunkShopkeepers addShopkeeper(AbstractShopkeeper shopkeeper) {
@@ -68,15 +111,13 @@ final class WorldShopkeepers {
 		assert shopkeeper.getLastChunkCoords() == null;
 		ChunkCoords chunkCoords = Unsafe.assertNonNull(shopkeeper.getChunkCoords());
 		assert chunkCoords.getWorldName().equals(this.getWorldName());
-		ChunkShopkeepers chunkShopkeepers = shopkeepersByChunk.computeIfAbsent(
-				chunkCoords,
-				chkCoords -> {
-					ChunkShopkeepers newChunkShopkeepers = new ChunkShopkeepers(chkCoords);
-					shopkeeperViewsByChunk.put(chkCoords, newChunkShopkeepers.getShopkeepers());
-					return newChunkShopkeepers;
-				}
-		);
-		assert chunkShopkeepers != null;
+		long chunkKey = ChunkKeys.of(chunkCoords);
+		ChunkShopkeepers chunkShopkeepers = shopkeepersByChunk.get(chunkKey);
+		if (chunkShopkeepers == null) {
+			chunkShopkeepers = new ChunkShopkeepers(chunkCoords);
+			shopkeepersByChunk.put(chunkKey, chunkShopkeepers);
+			shopkeeperViewsByChunk.put(chunkCoords, chunkShopkeepers.getShopkeepers());
+		}
 		assert !chunkShopkeepers.getShopkeepers().contains(shopkeeper);
 		chunkShopkeepers.addShopkeeper(shopkeeper);
 		shopkeeperCount += 1;
@@ -87,12 +128,13 @@ final class WorldShopkeepers {
 		assert shopkeeper != null;
 		ChunkCoords chunkCoords = Unsafe.assertNonNull(shopkeeper.getLastChunkCoords());
 		assert chunkCoords.getWorldName().equals(this.getWorldName());
-		ChunkShopkeepers chunkShopkeepers = Unsafe.assertNonNull(shopkeepersByChunk.get(chunkCoords));
+		long chunkKey = ChunkKeys.of(chunkCoords);
+		ChunkShopkeepers chunkShopkeepers = Unsafe.assertNonNull(shopkeepersByChunk.get(chunkKey));
 		assert chunkShopkeepers.getShopkeepers().contains(shopkeeper);
 		chunkShopkeepers.removeShopkeeper(shopkeeper);
 		shopkeeperCount -= 1;
 		if (chunkShopkeepers.getShopkeepers().isEmpty()) {
-			shopkeepersByChunk.remove(chunkCoords);
+			shopkeepersByChunk.remove(chunkKey);
 			shopkeeperViewsByChunk.remove(chunkCoords);
 		}
 		return chunkShopkeepers;
@@ -5,6 +5,8 @@ import java.util.function.Consumer;
 import org.bukkit.plugin.Plugin;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
+import com.nisovin.shopkeepers.debug.jfr.JfrEvents;
+import com.nisovin.shopkeepers.debug.jfr.SpawnQueueBatchEvent;
 import com.nisovin.shopkeepers.shopkeeper.AbstractShopkeeper;
 import com.nisovin.shopkeepers.shopkeeper.spawning.ShopkeeperSpawnState.State;
 import com.nisovin.shopkeepers.shopobjects.AbstractShopObject;
@@ -32,6 +34,8 @@ public class ShopkeeperSpawnQueue extends TaskQueue<@NonNull AbstractShopkeeper>
 	private static final int SPAWNS_PER_EXECUTION = 6;
 
 	private final Consumer<? super @NonNull AbstractShopkeeper> spawner;
+	// The number of shopkeepers processed during the current execution of the spawner task:
+	private int processedCount = 0;
 
 	ShopkeeperSpawnQueue(Plugin plugin, Consumer<? super @NonNull AbstractShopkeeper> spawner) {
 		super(plugin, SPAWN_TASK_PERIOD_TICKS, SPAWNS_PER_EXECUTION);
@@ -39,7 +43,7 @@ public class ShopkeeperSpawnQueue extends TaskQueue<@NonNull AbstractShopkeeper>
 		this.spawner = spawner;
 	}
 
-	private static class SpawnerTask implements Runnable {
+	private class SpawnerTask implements Runnable {
 
 		private final Runnable parentTask;
 
@@ -50,7 +54,20 @@ public class ShopkeeperSpawnQueue extends TaskQueue<@NonNull AbstractShopkeeper>
 
 		@Override
 		public void run() {
-			parentTask.run();
+			if (!JfrEvents.isEnabled()) {
+				parentTask.run();
+				return;
+			}
+
+			SpawnQueueBatchEvent jfrEvent = new SpawnQueueBatchEvent();
+			jfrEvent.begin();
+			processedCount = 0;
+			try {
+				parentTask.run();
+			} finally {
+				jfrEvent.setCounts(processedCount, getPendingCount());
+				jfrEvent.commit();
+			}
 		}
 	}
 
@@ -93,6 +110,7 @@ public class ShopkeeperSpawnQueue extends TaskQueue<@NonNull AbstractShopkeeper>
 		this.resetQueued(shopkeeper);
 
 		// Spawn the shopkeeper:
+		processedCount++;
 		spawner.accept(shopkeeper);
 	}
 }
@@ -5,6 +5,7 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.BooleanSupplier;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 
@@ -18,6 +19,8 @@ import com.nisovin.shopkeepers.SKShopkeepersPlugin;
 import com.nisovin.shopkeepers.api.internal.util.Unsafe;
 import com.nisovin.shopkeepers.api.util.ChunkCoords;
 import com.nisovin.shopkeepers.debug.DebugOptions;
+import com.nisovin.shopkeepers.debug.jfr.JfrEvents;
+import com.nisovin.shopkeepers.debug.jfr.ShopkeeperSpawnEvent;
 import com.nisovin.shopkeepers.shopkeeper.AbstractShopkeeper;
 import com.nisovin.shopkeepers.shopkeeper.activation.ShopkeeperChunkActivator;
 import com.nisovin.shopkeepers.shopkeeper.registry.SKShopkeeperRegistry;
@@ -28,6 +31,8 @@ import com.nisovin.shopkeepers.util.bukkit.TextUtils;
 import com.nisovin.shopkeepers.util.java.Validate;
 import com.nisovin.shopkeepers.util.logging.Log;
 import com.nisovin.shopkeepers.util.taskqueue.TaskQueueStatistics;
+import com.nisovin.shopkeepers.util.timer.Timer;
+import com.nisovin.shopkeepers.util.timer.Timings;
 
 /**
  * Responsible for the spawning of shopkeepers.
@@ -59,6 +64,9 @@ public class ShopkeeperSpawner {
 	// However, since these situations are associated with a certain performance impact anyways, we
 	// prefer to spawn all affected shopkeepers immediately, instead of causing confusion due to
 	// players having to wait for shopkeepers to respawn.
+	// World saves are an exception: Since they repeat periodically, the respawning after world
+	// saves only spawns shopkeepers immediately within a limited time budget, and adds any
+	// remaining shopkeepers to the queue.
 	private final ShopkeeperSpawnQueue spawnQueue;
 
 	// World entries are lazily added: They might not be added immediately when a shopkeeper is
@@ -69,6 +77,9 @@ public class ShopkeeperSpawner {
 	// been removed.
 	private final Map<@NonNull String, @NonNull WorldData> worlds = new HashMap<>();
 
+	// Measures the spawning of individual shop objects, both via the queue and immediately:
+	private final Timer spawnTimings = new Timer();
+
 	public ShopkeeperSpawner(SKShopkeepersPlugin plugin, SKShopkeeperRegistry shopkeeperRegistry) {
 		Validate.notNull(plugin, "plugin is null");
 		Validate.notNull(shopkeeperRegistry, "shopkeeperRegistry is null");
@@ -166,6 +177,9 @@ public class ShopkeeperSpawner {
 
 	// SHOPKEEPER SPAWN STATE
 
+	private static final BooleanSupplier ALWAYS = () -> true;
+	private static final BooleanSupplier NEVER = () -> false;
+
 	private static final Predicate<@NonNull AbstractShopkeeper> IS_SPAWNING = ShopkeeperSpawner::isSpawning;
 	private static final Predicate<@NonNull AbstractShopkeeper> IS_DESPAWNING = ShopkeeperSpawner::isDespawning;
 
@@ -394,12 +408,24 @@ public class ShopkeeperSpawner {
 		spawnState.setState(State.SPAWNED);
 
 		boolean spawned = false;
+		ShopkeeperSpawnEvent jfrEvent = null;
+		if (JfrEvents.isEnabled()) {
+			jfrEvent = new ShopkeeperSpawnEvent(shopkeeper.getId(), shopObjectType.getIdentifier());
+			jfrEvent.begin();
+		}
+		spawnTimings.start();
 		try {
 			// This is expected to also register the spawned shop object:
 			// This has no effect if the shopkeeper is already spawned.
 			spawned = shopObject.spawn();
 		} catch (Throwable e) {
 			Log.severe(shopkeeper.getLogPrefix() + "Error during spawning!", e);
+		} finally {
+			spawnTimings.stop();
+			if (jfrEvent != null) {
+				jfrEvent.setSpawned(spawned);
+				jfrEvent.commit();
+			}
 		}
 		if (spawned) {
 			// Validation:
@@ -451,6 +477,10 @@ public class ShopkeeperSpawner {
 		return spawnQueue;
 	}
 
+	public Timings getSpawnTimings() {
+		return spawnTimings;
+	}
+
 	public void spawnChunkShopkeepers(
 			ChunkCoords chunkCoords,
 			String spawnReason,
@@ -468,8 +498,27 @@ public class ShopkeeperSpawner {
 			Collection<? extends @NonNull AbstractShopkeeper> shopkeepers,
 			Predicate<? super @NonNull AbstractShopkeeper> filter,
 			boolean spawnImmediately
+	) {
+		this.spawnChunkShopkeepers(
+				chunkCoords,
+				spawnReason,
+				shopkeepers,
+				filter,
+				spawnImmediately ? ALWAYS : NEVER
+		);
+	}
+
+	// spawnImmediately: Queried for each shopkeeper that is about to be spawned. Returns true to
+	// spawn the shopkeeper immediately, or false to add it to the spawn queue.
+	private void spawnChunkShopkeepers(
+			ChunkCoords chunkCoords,
+			String spawnReason,
+			Collection<? extends @NonNull AbstractShopkeeper> shopkeepers,
+			Predicate<? super @NonNull AbstractShopkeeper> filter,
+			BooleanSupplier spawnImmediately
 	) {
 		assert chunkCoords != null && spawnReason != null && shopkeepers != null && filter != null;
+		assert spawnImmediately != null;
 		if (shopkeepers.isEmpty()) return;
 		if (!shopkeeperRegistry.isChunkActive(chunkCoords)) return;
 
@@ -497,6 +546,7 @@ public class ShopkeeperSpawner {
 		});
 
 		int spawned = 0;
+		int queued = 0;
 		int awaitingWorldSaveRespawn = 0;
 		boolean dirty = false;
 		for (AbstractShopkeeper shopkeeper : shopkeepers) {
@@ -530,12 +580,17 @@ public class ShopkeeperSpawner {
 
 			// Spawn the shopkeeper:
 			// This also updates the shopkeeper's spawn state.
-			SpawnResult result = this.spawnShopkeeper(shopkeeper, spawnImmediately);
+			SpawnResult result = this.spawnShopkeeper(
+					shopkeeper,
+					spawnImmediately.getAsBoolean()
+			);
 			switch (result) {
 			case SPAWNED:
-			case QUEUED:
 				spawned++;
 				break;
+			case QUEUED:
+				queued++;
+				break;
 			case AWAITING_WORLD_SAVE_RESPAWN:
 			case DESPAWNED_AND_AWAITING_WORLD_SAVE_RESPAWN:
 				awaitingWorldSaveRespawn++;
@@ -551,8 +606,10 @@ public class ShopkeeperSpawner {
 		}
 
 		int spawnedFinal = spawned;
+		int queuedFinal = queued;
 		Log.debug(DebugOptions.shopkeeperActivation,
-				() -> "  Actually spawned: " + spawnedFinal + (spawnImmediately ? "" : " (queued)"));
+				() -> "  Actually spawned: " + spawnedFinal
+						+ (queuedFinal > 0 ? ", queued: " + queuedFinal : ""));
 
 		if (awaitingWorldSaveRespawn > 0) {
 			int awaitingWorldSaveRespawnFinal = awaitingWorldSaveRespawn;
@@ -674,13 +731,16 @@ public class ShopkeeperSpawner {
 
 	// WORLD SHOPKEEPERS
 
+	// spawnImmediately: Queried for each shopkeeper that is about to be spawned. Returns true to
+	// spawn the shopkeeper immediately, or false to add it to the spawn queue.
 	void spawnShopkeepersInWorld(
 			String worldName,
 			String spawnReason,
 			Predicate<? super @NonNull AbstractShopkeeper> shopkeeperFilter,
-			boolean spawnImmediately
+			BooleanSupplier spawnImmediately
 	) {
 		assert worldName != null && spawnReason != null && shopkeeperFilter != null;
+		assert spawnImmediately != null;
 
 		Log.debug(DebugOptions.shopkeeperActivation,
 				() -> "Spawning " + shopkeeperRegistry.getShopkeepersInWorld(worldName).size()
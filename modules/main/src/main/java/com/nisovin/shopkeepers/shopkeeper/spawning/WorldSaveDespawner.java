@@ -1,5 +1,7 @@
 package com.nisovin.shopkeepers.shopkeeper.spawning;
 
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
 import java.util.function.Predicate;
 
 import org.bukkit.Bukkit;
@@ -28,6 +30,14 @@ class WorldSaveDespawner {
 		return objectType.mustDespawnDuringWorldSave();
 	};
 
+	// World saves repeat periodically. In order to avoid a lag spike after every world save when
+	// there are many affected shopkeepers, we only respawn shopkeepers immediately within this time
+	// budget, and add any remaining shopkeepers to the spawn queue.
+	// Note: Living shop objects are not affected by this, because their entities are marked as
+	// non-persistent and are therefore not saved with the world. They remain spawned during world
+	// saves.
+	private static final long RESPAWN_TIME_BUDGET_NANOS = TimeUnit.MILLISECONDS.toNanos(5L);
+
 	private final ShopkeeperSpawner spawner;
 	private final SKShopkeepersPlugin plugin;
 	private final SKShopkeeperRegistry shopkeeperRegistry;
@@ -125,12 +135,15 @@ class WorldSaveDespawner {
 			worldData.setWorldSaveRespawnTask(null);
 
 			// In order to not have players wait for shopkeepers to respawn after world saves, we
-			// respawn the shopkeepers immediately in this case:
+			// respawn the shopkeepers immediately in this case, as long as we stay within our time
+			// budget. Any remaining shopkeepers are added to the spawn queue.
+			long deadline = System.nanoTime() + RESPAWN_TIME_BUDGET_NANOS;
+			BooleanSupplier withinTimeBudget = () -> (System.nanoTime() - deadline < 0L);
 			spawner.spawnShopkeepersInWorld(
 					worldData.getWorldName(),
 					"world saving finished",
 					IS_DESPAWNED_DURING_WORLD_SAVE,
-					true
+					withinTimeBudget
 			);
 		}
 
@@ -13,10 +13,15 @@ import org.checkerframework.checker.nullness.qual.NonNull;
 
 import com.nisovin.shopkeepers.SKShopkeepersPlugin;
 import com.nisovin.shopkeepers.debug.DebugOptions;
+import com.nisovin.shopkeepers.debug.jfr.JfrEvents;
+import com.nisovin.shopkeepers.debug.jfr.ShopkeeperTickEvent;
+import com.nisovin.shopkeepers.debug.jfr.TickingGroupEvent;
 import com.nisovin.shopkeepers.shopkeeper.AbstractShopkeeper;
 import com.nisovin.shopkeepers.util.java.CyclicCounter;
 import com.nisovin.shopkeepers.util.java.Validate;
 import com.nisovin.shopkeepers.util.logging.Log;
+import com.nisovin.shopkeepers.util.timer.Timer;
+import com.nisovin.shopkeepers.util.timer.Timings;
 
 public class ShopkeeperTicker {
 
@@ -95,6 +100,9 @@ public class ShopkeeperTicker {
 	// the intermediate ticking state changes.
 	private final Map<@NonNull AbstractShopkeeper, @NonNull Boolean> pendingTickingChanges = new LinkedHashMap<>();
 
+	// Measures the ticking of one ticking group:
+	private final Timer tickingTimings = new Timer();
+
 	public ShopkeeperTicker(SKShopkeepersPlugin plugin) {
 		Validate.notNull(plugin, "plugin is null");
 		this.plugin = plugin;
@@ -236,12 +244,49 @@ public class ShopkeeperTicker {
 		}
 	}
 
+	public Timings getTickingTimings() {
+		return tickingTimings;
+	}
+
+	/**
+	 * Gets the number of shopkeepers that are currently registered for ticking.
+	 * <p>
+	 * This does not account for pending ticking registration changes.
+	 * 
+	 * @return the number of ticking shopkeepers
+	 */
+	public int getTickingShopkeepersCount() {
+		int count = 0;
+		for (TickingGroup tickingGroup : tickingGroups) {
+			count += tickingGroup.getShopkeepers().size();
+		}
+		return count;
+	}
+
 	private void tickShopkeepers() {
+		tickingTimings.start();
+		try {
+			this.doTickShopkeepers();
+		} finally {
+			tickingTimings.stop();
+		}
+	}
+
+	private void doTickShopkeepers() {
 		dirty = false;
 
 		currentlyTicking = true;
-		TickingGroup tickingGroup = this.getTickingGroup(activeTickingGroup.getValue());
+		int tickingGroupIndex = activeTickingGroup.getValue();
+		TickingGroup tickingGroup = this.getTickingGroup(tickingGroupIndex);
+		TickingGroupEvent jfrEvent = null;
+		if (JfrEvents.isEnabled()) {
+			jfrEvent = new TickingGroupEvent(tickingGroupIndex, tickingGroup.getShopkeepers().size());
+			jfrEvent.begin();
+		}
 		tickingGroup.getShopkeepers().forEach(this::tickShopkeeper);
+		if (jfrEvent != null) {
+			jfrEvent.commit();
+		}
 		currentlyTicking = false;
 
 		// Process pending shopkeeper ticking registration changes:
@@ -269,6 +314,12 @@ public class ShopkeeperTicker {
 		// it was pending to be ticked):
 		if (!shopkeeper.isTicking()) return;
 
+		ShopkeeperTickEvent jfrEvent = null;
+		if (JfrEvents.isEnabled()) {
+			jfrEvent = new ShopkeeperTickEvent(shopkeeper.getId());
+			jfrEvent.begin();
+		}
+
 		// Tick the shopkeeper:
 		try {
 			shopkeeper.tick();
@@ -276,6 +327,10 @@ public class ShopkeeperTicker {
 			Log.severe(shopkeeper.getLogPrefix() + "Error during ticking!", e);
 		}
 
+		if (jfrEvent != null) {
+			jfrEvent.commit();
+		}
+
 		if (shopkeeper.isDirty()) {
 			dirty = true;
 		}
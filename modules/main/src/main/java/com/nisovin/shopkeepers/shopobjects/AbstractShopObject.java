@@ -21,6 +21,7 @@ import com.nisovin.shopkeepers.api.shopobjects.ShopObjectType;
 import com.nisovin.shopkeepers.api.storage.ShopkeeperStorage;
 import com.nisovin.shopkeepers.shopkeeper.AbstractShopkeeper;
 import com.nisovin.shopkeepers.shopkeeper.ShopkeeperData;
+import com.nisovin.shopkeepers.shopkeeper.ShopkeeperDataSection;
 import com.nisovin.shopkeepers.shopkeeper.ShopkeeperPropertyValuesHolder;
 import com.nisovin.shopkeepers.shopkeeper.registry.ShopObjectRegistry;
 import com.nisovin.shopkeepers.shopkeeper.spawning.ShopkeeperSpawnState;
@@ -114,7 +115,10 @@ public abstract class AbstractShopObject implements ShopObject {
 	) {
 		assert shopkeeper != null;
 		this.shopkeeper = shopkeeper;
-		this.properties = new ShopkeeperPropertyValuesHolder(shopkeeper);
+		this.properties = new ShopkeeperPropertyValuesHolder(
+				shopkeeper,
+				ShopkeeperDataSection.SHOP_OBJECT
+		);
 	}
 
 	@Override
@@ -3,7 +3,6 @@ package com.nisovin.shopkeepers.shopobjects.living;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -19,6 +18,16 @@ import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.HandlerList;
 import org.bukkit.event.Listener;
+import org.bukkit.event.block.BlockBreakEvent;
+import org.bukkit.event.block.BlockBurnEvent;
+import org.bukkit.event.block.BlockExplodeEvent;
+import org.bukkit.event.block.BlockFadeEvent;
+import org.bukkit.event.block.BlockFromToEvent;
+import org.bukkit.event.block.BlockPistonExtendEvent;
+import org.bukkit.event.block.BlockPistonRetractEvent;
+import org.bukkit.event.block.LeavesDecayEvent;
+import org.bukkit.event.entity.EntityChangeBlockEvent;
+import org.bukkit.event.entity.EntityExplodeEvent;
 import org.bukkit.event.player.PlayerJoinEvent;
 import org.bukkit.event.player.PlayerTeleportEvent;
 import org.bukkit.scheduler.BukkitTask;
@@ -30,10 +39,12 @@ import com.nisovin.shopkeepers.api.internal.util.Unsafe;
 import com.nisovin.shopkeepers.api.util.ChunkCoords;
 import com.nisovin.shopkeepers.compat.NMSManager;
 import com.nisovin.shopkeepers.config.Settings;
+import com.nisovin.shopkeepers.util.bukkit.ChunkKeys;
 import com.nisovin.shopkeepers.util.bukkit.EntityUtils;
-import com.nisovin.shopkeepers.util.bukkit.MutableChunkCoords;
+import com.nisovin.shopkeepers.util.bukkit.WorldChunkMap;
 import com.nisovin.shopkeepers.util.bukkit.WorldUtils;
 import com.nisovin.shopkeepers.util.java.CyclicCounter;
+import com.nisovin.shopkeepers.util.java.LongObjectHashMap;
 import com.nisovin.shopkeepers.util.java.RateLimiter;
 import com.nisovin.shopkeepers.util.java.Validate;
 import com.nisovin.shopkeepers.util.timer.Timer;
@@ -103,14 +114,43 @@ public class LivingEntityAI implements Listener {
 	 * The period in ticks in which we check if an entity is supposed to fall.
 	 */
 	private static final int FALLING_CHECK_PERIOD_TICKS = 10;
+	/**
+	 * The period in ticks in which we check if a grounded entity is supposed to fall, when the
+	 * event-driven gravity is enabled.
+	 * <p>
+	 * This is a fallback for changes to the ground below entities that we don't detect via events,
+	 * e.g. when blocks are modified by other plugins without calling any events.
+	 */
+	private static final int GROUNDED_FALLING_CHECK_PERIOD_TICKS = 20 * 60;
+	/**
+	 * The range in blocks, in addition to the block column of the entity, in which block changes
+	 * below the entity trigger a new falling check when the event-driven gravity is enabled.
+	 * <p>
+	 * Entities that are not positioned at the center of their block can stand on the blocks of
+	 * adjacent block columns.
+	 */
+	private static final int GROUND_CHANGE_HORIZONTAL_RANGE = 1;
+	/**
+	 * The range in blocks below the entity's block in which block changes trigger a new falling
+	 * check when the event-driven gravity is enabled.
+	 * <p>
+	 * Block changes further below the entity cannot affect the result of our collision check
+	 * without there also being changes to the blocks above.
+	 */
+	private static final int GROUND_CHANGE_VERTICAL_RANGE = 2;
 	private static final CyclicCounter nextFallingCheckOffset = new CyclicCounter(
 			1,
 			FALLING_CHECK_PERIOD_TICKS + 1
 	);
+	// Distributes the fallback falling checks of grounded entities across the check period, even if
+	// many entities become grounded during the same behavior update:
+	private static final CyclicCounter nextGroundedFallingCheckOffset = new CyclicCounter(
+			1,
+			GROUNDED_FALLING_CHECK_PERIOD_TICKS + 1
+	);
 
 	// Temporarily re-used objects:
 	private static final Location sharedLocation = new Location(null, 0, 0, 0);
-	private static final MutableChunkCoords sharedChunkCoords = new MutableChunkCoords();
 
 	private final SKShopkeepersPlugin plugin;
 	/**
@@ -134,11 +174,20 @@ public class LivingEntityAI implements Listener {
 	 * the gravity of mobs).
 	 */
 	private boolean customGravityEnabled;
+	/**
+	 * Whether grounded entities are only checked for falling in reaction to block changes below
+	 * them, and otherwise only at a much slower rate.
+	 */
+	private boolean eventDrivenGravityEnabled;
+	private final GroundChangeListener groundChangeListener = new GroundChangeListener();
 
 	private static class EntityData {
 
 		private final SKLivingShopObject<?> shopObject;
 		private final ChunkData chunkData;
+		// The cached handle for the batched AI ticking, or null if the AI of the entity cannot be
+		// ticked:
+		private final @Nullable Object aiHandle;
 		// Initial threshold between [1, FALLING_CHECK_PERIOD_TICKS] for load balancing:
 		public final RateLimiter fallingCheckLimiter = new RateLimiter(
 				FALLING_CHECK_PERIOD_TICKS,
@@ -146,10 +195,21 @@ public class LivingEntityAI implements Listener {
 		);
 		public boolean falling = false;
 		public double distanceToGround = 0.0D;
-
-		public EntityData(SKLivingShopObject<?> shopObject, ChunkData chunkData) {
+		// Only used by the event-driven gravity: Whether the entity was found to stand on the
+		// ground, and the block coordinates at which it stands.
+		public boolean grounded = false;
+		public int groundedBlockX;
+		public int groundedBlockY;
+		public int groundedBlockZ;
+
+		public EntityData(
+				SKLivingShopObject<?> shopObject,
+				ChunkData chunkData,
+				@Nullable Object aiHandle
+		) {
 			this.shopObject = shopObject;
 			this.chunkData = chunkData;
+			this.aiHandle = aiHandle;
 		}
 
 		public boolean isAffectedByGravity() {
@@ -164,22 +224,27 @@ public class LivingEntityAI implements Listener {
 
 	private static class ChunkData {
 
-		private final ChunkCoords chunkCoords;
+		private final String worldName;
+		private final long chunkKey;
 		// We don't expect there to be many entities within a single chunk, so using a list is okay:
 		private final List<@NonNull EntityData> entities = new ArrayList<>();
 		// Active by default for fast initial reactions in case players are nearby:
 		public boolean activeGravity;
 		public boolean activeAI = true;
 
-		public ChunkData(ChunkCoords chunkCoords, boolean activeGravity) {
-			this.chunkCoords = chunkCoords;
+		public ChunkData(String worldName, long chunkKey, boolean activeGravity) {
+			this.worldName = worldName;
+			this.chunkKey = chunkKey;
 			this.activeGravity = activeGravity;
 		}
 	}
 
-	private final Map<@NonNull ChunkCoords, @NonNull ChunkData> chunks = new LinkedHashMap<>();
+	private final WorldChunkMap<@NonNull ChunkData> chunks = new WorldChunkMap<>();
 	// Index for fast removal: Shop object -> EntityData
 	private final Map<@NonNull SKLivingShopObject<?>, @NonNull EntityData> shopObjects = new HashMap<>();
+	// The AI handles of the entities whose AI is ticked in the current behavior update. Re-used
+	// across behavior updates.
+	private final List<@NonNull Object> aiBatch = new ArrayList<>();
 
 	private @Nullable BukkitTask aiTask = null;
 	private boolean currentlyRunning = false;
@@ -209,9 +274,13 @@ public class LivingEntityAI implements Listener {
 		maxFallingDistancePerUpdate = Settings.mobBehaviorTickPeriod * MAX_FALLING_DISTANCE_PER_TICK;
 		gravityCollisionCheckRange = maxFallingDistancePerUpdate + 0.1D;
 		customGravityEnabled = _isCustomGravityEnabled();
+		eventDrivenGravityEnabled = customGravityEnabled && Settings.eventDrivenGravity;
 
-		// Register listener:
+		// Register listeners:
 		Bukkit.getPluginManager().registerEvents(this, plugin);
+		if (eventDrivenGravityEnabled) {
+			Bukkit.getPluginManager().registerEvents(groundChangeListener, plugin);
+		}
 
 		// Start task:
 		this.startTask();
@@ -219,10 +288,13 @@ public class LivingEntityAI implements Listener {
 
 	public void onDisable() {
 		assert !currentlyRunning;
-		HandlerList.unregisterAll(this); // Unregister listener
+		// Unregister listeners:
+		HandlerList.unregisterAll(this);
+		HandlerList.unregisterAll(groundChangeListener);
 		this.stopTask();
 		chunks.clear();
 		shopObjects.clear();
+		aiBatch.clear();
 		this.resetStatistics();
 	}
 
@@ -243,15 +315,15 @@ public class LivingEntityAI implements Listener {
 		// Determine entity chunk (asserts that the entity won't move!):
 		// We assert that the chunk is loaded (checked above by isValid call).
 		Location entityLocation = Unsafe.assertNonNull(entity.getLocation(sharedLocation));
-		sharedChunkCoords.set(entityLocation);
+		String worldName = entity.getWorld().getName();
+		long chunkKey = ChunkKeys.fromBlock(entityLocation.getBlockX(), entityLocation.getBlockZ());
 		sharedLocation.setWorld(null); // Reset
 
 		// Add chunk entry:
-		ChunkData chunkData = chunks.get(sharedChunkCoords);
+		ChunkData chunkData = chunks.get(worldName, chunkKey);
 		if (chunkData == null) {
-			ChunkCoords chunkCoords = new ChunkCoords(sharedChunkCoords); // Copy
-			chunkData = new ChunkData(chunkCoords, customGravityEnabled);
-			chunks.put(chunkCoords, chunkData);
+			chunkData = new ChunkData(worldName, chunkKey, customGravityEnabled);
+			chunks.put(worldName, chunkKey, chunkData);
 
 			// Update chunk statistics:
 			if (chunkData.activeAI) {
@@ -263,7 +335,8 @@ public class LivingEntityAI implements Listener {
 		}
 
 		// Add entity entry:
-		EntityData entityData = new EntityData(shopObject, chunkData);
+		Object aiHandle = NMSManager.getProvider().getAIHandle(entity);
+		EntityData entityData = new EntityData(shopObject, chunkData, aiHandle);
 		shopObjects.put(shopObject, entityData);
 		chunkData.entities.add(entityData);
 
@@ -289,7 +362,7 @@ public class LivingEntityAI implements Listener {
 		ChunkData chunkData = entityData.chunkData;
 		chunkData.entities.remove(entityData);
 		if (chunkData.entities.isEmpty()) {
-			chunks.remove(chunkData.chunkCoords);
+			chunks.remove(chunkData.worldName, chunkData.chunkKey);
 
 			// Update chunk statistics:
 			if (chunkData.activeAI) {
@@ -314,6 +387,24 @@ public class LivingEntityAI implements Listener {
 		this.addShopObject(shopObject);
 	}
 
+	/**
+	 * Informs the AI system that the entity of the given shop object has been teleported within its
+	 * current chunk.
+	 * <p>
+	 * If the entity has been moved into a different chunk, use
+	 * {@link #updateLocation(SKLivingShopObject)} instead.
+	 * 
+	 * @param shopObject
+	 *            the shop object
+	 */
+	public void onTeleport(SKLivingShopObject<?> shopObject) {
+		EntityData entityData = shopObjects.get(shopObject);
+		if (entityData == null) return; // Shop object was not added
+
+		// Check again if the entity is supposed to fall at its new location:
+		this.resetGrounded(entityData);
+	}
+
 	// STATISTICS
 
 	private void resetStatistics() {
@@ -434,7 +525,7 @@ public class LivingEntityAI implements Listener {
 		activationTimings.start();
 
 		// Deactivate all chunks:
-		chunks.values().forEach(chunkData -> {
+		chunks.forEachValue(chunkData -> {
 			chunkData.activeAI = false;
 			chunkData.activeGravity = false;
 		});
@@ -517,15 +608,16 @@ public class LivingEntityAI implements Listener {
 			ActivationType activationType
 	) {
 		assert world != null && chunkRadius >= 0 && activationType != null;
-		String worldName = world.getName();
+		LongObjectHashMap<@NonNull ChunkData> worldChunks = chunks.getWorldChunks(world.getName());
+		if (worldChunks == null) return; // There are no shop entities in this world
+
 		int minChunkX = centerChunkX - chunkRadius;
 		int maxChunkX = centerChunkX + chunkRadius;
 		int minChunkZ = centerChunkZ - chunkRadius;
 		int maxChunkZ = centerChunkZ + chunkRadius;
 		for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
 			for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; chunkZ++) {
-				sharedChunkCoords.set(worldName, chunkX, chunkZ);
-				ChunkData chunkData = chunks.get(sharedChunkCoords);
+				ChunkData chunkData = worldChunks.get(ChunkKeys.of(chunkX, chunkZ));
 				if (chunkData == null) continue;
 
 				switch (activationType) {
@@ -561,7 +653,10 @@ public class LivingEntityAI implements Listener {
 			return;
 		}
 
-		chunks.values().forEach(this::processEntities);
+		chunks.forEachValue(this::processEntities);
+
+		// Tick the AI of all entities that have been collected for AI ticking:
+		this.tickAIBatch();
 	}
 
 	private void processEntities(ChunkData chunkData) {
@@ -680,10 +775,151 @@ public class LivingEntityAI implements Listener {
 			if (!entityData.falling) {
 				// Prevents SPIGOT-3948 / MC-130725
 				NMSManager.getProvider().setOnGround(entity, true);
+
+				if (eventDrivenGravityEnabled) {
+					this.setGrounded(entityData, entity);
+				}
 			}
 		}
 	}
 
+	// EVENT-DRIVEN GRAVITY
+
+	// Assumes that the entity is currently not falling.
+	private void setGrounded(EntityData entityData, LivingEntity entity) {
+		assert eventDrivenGravityEnabled && !entityData.falling;
+		Location entityLocation = Unsafe.assertNonNull(entity.getLocation(sharedLocation));
+		entityData.groundedBlockX = entityLocation.getBlockX();
+		entityData.groundedBlockY = entityLocation.getBlockY();
+		entityData.groundedBlockZ = entityLocation.getBlockZ();
+		sharedLocation.setWorld(null); // Reset
+		if (entityData.grounded) return; // Already grounded
+
+		entityData.grounded = true;
+		// Only check periodically at a much slower rate from now on:
+		// Remaining threshold between [1, GROUNDED_FALLING_CHECK_PERIOD_TICKS] for load balancing:
+		RateLimiter fallingCheckLimiter = entityData.fallingCheckLimiter;
+		fallingCheckLimiter.setThreshold(GROUNDED_FALLING_CHECK_PERIOD_TICKS);
+		fallingCheckLimiter.setRemainingThreshold(
+				nextGroundedFallingCheckOffset.getAndIncrement()
+		);
+	}
+
+	private void resetGrounded(EntityData entityData) {
+		if (!entityData.grounded) return;
+
+		entityData.grounded = false;
+		// Check again during the next behavior update:
+		RateLimiter fallingCheckLimiter = entityData.fallingCheckLimiter;
+		fallingCheckLimiter.setThreshold(FALLING_CHECK_PERIOD_TICKS);
+		fallingCheckLimiter.setRemainingThreshold(1);
+	}
+
+	// Checks if the given changed block might affect the ground of any nearby grounded entities,
+	// and if so, schedules a new falling check for them.
+	private void onGroundChange(Block block) {
+		if (shopObjects.isEmpty()) return;
+
+		String worldName = block.getWorld().getName();
+		LongObjectHashMap<@NonNull ChunkData> worldChunks = chunks.getWorldChunks(worldName);
+		if (worldChunks == null) return; // There are no shop entities in this world
+
+		int blockX = block.getX();
+		int blockY = block.getY();
+		int blockZ = block.getZ();
+		int minChunkX = ChunkCoords.fromBlock(blockX - GROUND_CHANGE_HORIZONTAL_RANGE);
+		int maxChunkX = ChunkCoords.fromBlock(blockX + GROUND_CHANGE_HORIZONTAL_RANGE);
+		int minChunkZ = ChunkCoords.fromBlock(blockZ - GROUND_CHANGE_HORIZONTAL_RANGE);
+		int maxChunkZ = ChunkCoords.fromBlock(blockZ + GROUND_CHANGE_HORIZONTAL_RANGE);
+		for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
+			for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; chunkZ++) {
+				ChunkData chunkData = worldChunks.get(ChunkKeys.of(chunkX, chunkZ));
+				if (chunkData == null) continue;
+
+				for (EntityData entityData : chunkData.entities) {
+					if (!entityData.grounded) continue;
+
+					int dx = Math.abs(entityData.groundedBlockX - blockX);
+					int dz = Math.abs(entityData.groundedBlockZ - blockZ);
+					if (dx > GROUND_CHANGE_HORIZONTAL_RANGE || dz > GROUND_CHANGE_HORIZONTAL_RANGE) {
+						continue;
+					}
+					// The block has to be below (or at) the entity's block:
+					int dy = entityData.groundedBlockY - blockY;
+					if (dy < 0 || dy > GROUND_CHANGE_VERTICAL_RANGE) continue;
+
+					this.resetGrounded(entityData);
+				}
+			}
+		}
+	}
+
+	private void onGroundChange(List<? extends @NonNull Block> blocks) {
+		if (shopObjects.isEmpty()) return;
+
+		blocks.forEach(this::onGroundChange);
+	}
+
+	// Only registered if the event-driven gravity is enabled.
+	// Block changes are handled at the next behavior update, i.e. after the block has actually been
+	// changed.
+	private class GroundChangeListener implements Listener {
+
+		GroundChangeListener() {
+		}
+
+		@EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+		void onBlockBreak(BlockBreakEvent event) {
+			onGroundChange(event.getBlock());
+		}
+
+		@EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+		void onBlockBurn(BlockBurnEvent event) {
+			onGroundChange(event.getBlock());
+		}
+
+		@EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+		void onBlockFade(BlockFadeEvent event) {
+			onGroundChange(event.getBlock());
+		}
+
+		@EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+		void onLeavesDecay(LeavesDecayEvent event) {
+			onGroundChange(event.getBlock());
+		}
+
+		@EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+		void onBlockFromTo(BlockFromToEvent event) {
+			// E.g. fluids flowing into and destroying non-solid blocks:
+			onGroundChange(event.getToBlock());
+		}
+
+		@EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+		void onEntityChangeBlock(EntityChangeBlockEvent event) {
+			onGroundChange(event.getBlock());
+		}
+
+		@EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+		void onBlockExplode(BlockExplodeEvent event) {
+			onGroundChange(event.blockList());
+		}
+
+		@EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+		void onEntityExplode(EntityExplodeEvent event) {
+			onGroundChange(event.blockList());
+		}
+
+		@EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+		void onBlockPistonExtend(BlockPistonExtendEvent event) {
+			onGroundChange(event.getBlocks());
+		}
+
+		@EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+		void onBlockPistonRetract(BlockPistonRetractEvent event) {
+			onGroundChange(event.getBlocks());
+		}
+	}
+
 	// Gets run every behavior update while falling:
 	private void tickFalling(EntityData entityData) {
 		assert entityData.falling && entityData.distanceToGround >= DISTANCE_TO_GROUND_THRESHOLD;
@@ -719,9 +955,30 @@ public class LivingEntityAI implements Listener {
 		// Only tick AI if not currently falling:
 		if (entityData.falling) return;
 
+		// The vanilla AI of the entity is ticked afterwards, in a batch together with the AI of all
+		// other entities:
+		Object aiHandle = entityData.aiHandle;
+		if (aiHandle != null) {
+			aiBatch.add(aiHandle);
+		}
+
+		// Additional shop object specific AI behavior:
 		entityData.shopObject.tickAI();
 	}
 
+	private void tickAIBatch() {
+		if (aiBatch.isEmpty()) return;
+
+		aiTimings.resume();
+		// Look at nearby players: Implemented by manually running the vanilla AI goals.
+		// In order to compensate for a reduced tick rate, we invoke the AI multiple times.
+		// Otherwise, the entities would turn their heads more slowly and track the player for an
+		// increased duration.
+		NMSManager.getProvider().tickAI(aiBatch, Settings.mobBehaviorTickPeriod);
+		aiBatch.clear();
+		aiTimings.pause();
+	}
+
 	// EVENT HANDLERS
 
 	// By reacting to player joins and teleports we can very quickly activate chunks around players
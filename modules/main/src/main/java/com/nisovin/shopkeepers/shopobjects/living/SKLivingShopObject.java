@@ -671,6 +671,7 @@ public class SKLivingShopObject<E extends @NonNull LivingEntity>
 
 			SKShopkeepersPlugin.getInstance().getForcingEntityTeleporter().forceEntityTeleport(entity, spawnLocation);
 			entity.teleport(spawnLocation);
+			livingShops.getLivingEntityAI().onTeleport(this);
 
 			this.overwriteAI();
 		}
@@ -695,6 +696,7 @@ public class SKLivingShopObject<E extends @NonNull LivingEntity>
 
 		SKShopkeepersPlugin.getInstance().getForcingEntityTeleporter().forceEntityTeleport(entity, lastSpawnLocation);
 		entity.teleport(lastSpawnLocation);
+		livingShops.getLivingEntityAI().onTeleport(this);
 	}
 
 	// AI
@@ -703,16 +705,12 @@ public class SKLivingShopObject<E extends @NonNull LivingEntity>
 	 * This is called whenever the AI of the entity is ticked, while it is in range of players. The
 	 * tick rate is defined by {@link Settings#mobBehaviorTickPeriod}. The AI might not be ticked
 	 * while the entity is currently falling.
+	 * <p>
+	 * The vanilla AI goals of the entity (e.g. looking at nearby players) are not ticked by this
+	 * method, but by the {@link LivingEntityAI} in a single batch for all shop objects. This method
+	 * can be overridden to implement additional AI behaviors.
 	 */
 	public void tickAI() {
-		LivingEntity entity = this.getEntity();
-		if (entity == null) return; // Unexpected
-
-		// Look at nearby players: Implemented by manually running the vanilla AI goal.
-		// In order to compensate for a reduced tick rate, we invoke the AI multiple times.
-		// Otherwise, the entity would turn its head more slowly and track the player for an
-		// increased duration.
-		NMSManager.getProvider().tickAI(entity, Settings.mobBehaviorTickPeriod);
 	}
 
 	// NAMING
@@ -5,8 +5,10 @@ import java.io.Reader;
 import java.io.Writer;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.Callable;
@@ -28,6 +30,8 @@ import com.nisovin.shopkeepers.api.shopkeeper.ShopkeeperRegistry;
 import com.nisovin.shopkeepers.api.storage.ShopkeeperStorage;
 import com.nisovin.shopkeepers.config.Settings;
 import com.nisovin.shopkeepers.config.Settings.DerivedSettings;
+import com.nisovin.shopkeepers.debug.jfr.JfrEvents;
+import com.nisovin.shopkeepers.debug.jfr.StorageSaveEvent;
 import com.nisovin.shopkeepers.shopkeeper.AbstractShopkeeper;
 import com.nisovin.shopkeepers.shopkeeper.ShopkeeperData;
 import com.nisovin.shopkeepers.shopkeeper.registry.SKShopkeeperRegistry;
@@ -39,6 +43,7 @@ import com.nisovin.shopkeepers.util.data.persistence.DataStore;
 import com.nisovin.shopkeepers.util.data.persistence.InvalidDataFormatException;
 import com.nisovin.shopkeepers.util.data.persistence.bukkit.BukkitConfigDataStore;
 import com.nisovin.shopkeepers.util.data.serialization.InvalidDataException;
+import com.nisovin.shopkeepers.util.inventory.ItemMigration;
 import com.nisovin.shopkeepers.util.java.ConversionUtils;
 import com.nisovin.shopkeepers.util.java.FileUtils;
 import com.nisovin.shopkeepers.util.java.Retry;
@@ -47,6 +52,8 @@ import com.nisovin.shopkeepers.util.java.ThrowableUtils;
 import com.nisovin.shopkeepers.util.java.Validate;
 import com.nisovin.shopkeepers.util.java.VoidCallable;
 import com.nisovin.shopkeepers.util.logging.Log;
+import com.nisovin.shopkeepers.util.timer.Timer;
+import com.nisovin.shopkeepers.util.timer.Timings;
 
 /**
  * Storage responsible for persisting and loading the data of shopkeepers.
@@ -56,6 +63,9 @@ import com.nisovin.shopkeepers.util.logging.Log;
  * <li>There can at most be one thread doing file IO at the same time.
  * <li>Saving preparation always happens on the server's main thread. At most one save can be
  * prepared and processed at the same time.
+ * <li>Before an <b>async</b> save, the data of the dirty shopkeepers is transferred to the storage
+ * in batches that are limited by a time budget per tick, so that large numbers of dirty shopkeepers
+ * do not stall the main thread.
  * <li>If there is a request for another <b>async</b> save while an async save is already in
  * progress, a flag is set to indicate that another save needs to take place once the current async
  * save completes.
@@ -79,6 +89,12 @@ public class SKShopkeeperStorage implements ShopkeeperStorage {
 			+ " currently and that you have prepared a backup of this file.";
 
 	private static final int DELAYED_SAVE_TICKS = 600; // 30 seconds
+	// The time budget per tick for transferring the data of dirty shopkeepers to the save data
+	// prior to an async save:
+	private static final long SAVE_PREPARATION_TIME_BUDGET_NANOS = TimeUnit.MILLISECONDS.toNanos(5);
+
+	// The interval at which the progress of the shopkeeper loading is logged:
+	private static final long LOAD_PROGRESS_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(5);
 
 	// Max total delay: 500ms
 	private static final int SAVING_MAX_ATTEMPTS = 20;
@@ -126,11 +142,15 @@ public class SKShopkeeperStorage implements ShopkeeperStorage {
 
 	/* Saving */
 	private final SaveTask saveTask;
+	private final SavePreparationTask savePreparationTask = new SavePreparationTask();
 	// Flag to (temporarily) turn off saving. This can for example be set if there is an issue with
 	// loading the shopkeeper data, so that the save file doesn't get overwritten by any subsequent
 	// save requests.
 	private boolean savingDisabled = false;
 	private @Nullable BukkitTask delayedSaveTask = null;
+	private final Timer savePrepareTimings = new Timer();
+	private final Timer saveSerializeTimings = new Timer();
+	private final Timer saveWriteTimings = new Timer();
 
 	public SKShopkeeperStorage(SKShopkeepersPlugin plugin) {
 		DataVersion.init();
@@ -192,6 +212,7 @@ public class SKShopkeeperStorage implements ShopkeeperStorage {
 		}
 
 		// Reset a few things:
+		savePreparationTask.stop();
 		saveTask.onDisable();
 		this.clearSaveData();
 		savingDisabled = false;
@@ -548,17 +569,37 @@ public class SKShopkeeperStorage implements ShopkeeperStorage {
 			this.requestSave();
 		}
 
-		for (String key : keys) {
-			if (key.equals(DATA_VERSION_KEY)) continue; // Skip the data version entry
-
-			// If the shopkeeper cannot be loaded, it is skipped and the loading continues with the
-			// remaining shopkeepers:
-			// Note: When a player shopkeeper cannot be loaded, its associated containers might no
-			// longer be protected. So this is potentially a severe issue that admins should
-			// immediately look into. However, we do not abort the enabling of the plugin if
-			// individual shopkeepers cannot be loaded, because this would disable the protection of
-			// all player shop containers on the server (which is even worse).
-			this.loadShopkeeper(key, forceSaveAllShopkeepers);
+		// The shopkeepers frequently contain many equal items. Each distinct item only needs to be
+		// migrated once:
+		ItemMigration.enableCache();
+		try {
+			int processedCount = 0;
+			long lastProgressNanos = System.nanoTime();
+			for (String key : keys) {
+				if (key.equals(DATA_VERSION_KEY)) continue; // Skip the data version entry
+
+				// If the shopkeeper cannot be loaded, it is skipped and the loading continues with
+				// the remaining shopkeepers:
+				// Note: When a player shopkeeper cannot be loaded, its associated containers might
+				// no longer be protected. So this is potentially a severe issue that admins should
+				// immediately look into. However, we do not abort the enabling of the plugin if
+				// individual shopkeepers cannot be loaded, because this would disable the
+				// protection of all player shop containers on the server (which is even worse).
+				this.loadShopkeeper(key, forceSaveAllShopkeepers, dataVersionChanged);
+				processedCount++;
+
+				// Report the progress if the loading takes a while (e.g. due to item migrations
+				// after server upgrades):
+				long nowNanos = System.nanoTime();
+				if (nowNanos - lastProgressNanos >= LOAD_PROGRESS_INTERVAL_NANOS
+						&& processedCount < shopkeepersCount) {
+					lastProgressNanos = nowNanos;
+					Log.info("  Loaded " + processedCount + " / " + shopkeepersCount
+							+ " shopkeepers ...");
+				}
+			}
+		} finally {
+			ItemMigration.disableCache();
 		}
 		return true;
 	}
@@ -583,7 +624,7 @@ public class SKShopkeeperStorage implements ShopkeeperStorage {
 		return shopkeeperData;
 	}
 
-	private void loadShopkeeper(String key, boolean forceSave) {
+	private void loadShopkeeper(String key, boolean forceSave, boolean migrateSnapshots) {
 		Integer idInt = ConversionUtils.parseInt(key);
 		if (idInt == null || idInt <= 0) {
 			this.failedToLoadShopkeeper(key, "Invalid id: " + key);
@@ -624,6 +665,19 @@ public class SKShopkeeperStorage implements ShopkeeperStorage {
 			return;
 		}
 
+		// The data of snapshots is usually only migrated once a snapshot is applied. However, if the
+		// data version has changed, we migrate the snapshots right away so that their updated data
+		// is saved together with the other shopkeeper data:
+		if (migrateSnapshots) {
+			try {
+				migrated |= shopkeeper.migrateSnapshots();
+			} catch (InvalidDataException e) {
+				// The shopkeeper has already been loaded. The migration of the affected snapshot is
+				// attempted again when it is applied.
+				Log.warning(shopkeeper.getLogPrefix() + "Snapshot data migration failed!", e);
+			}
+		}
+
 		// If the shopkeeper was migrated or a forced save is requested, mark the shopkeeper as
 		// dirty:
 		// During plugin enable, after the shopkeepers have been loaded, a save is triggered if the
@@ -753,6 +807,20 @@ public class SKShopkeeperStorage implements ShopkeeperStorage {
 		// necessary).
 	}
 
+	// TIMINGS
+
+	public Timings getSavePrepareTimings() {
+		return savePrepareTimings;
+	}
+
+	public Timings getSaveSerializeTimings() {
+		return saveSerializeTimings;
+	}
+
+	public Timings getSaveWriteTimings() {
+		return saveWriteTimings;
+	}
+
 	/**
 	 * Gets the number of shopkeepers that had changes to their data, but whose changes have not yet
 	 * been persisted.
@@ -859,10 +927,145 @@ public class SKShopkeeperStorage implements ShopkeeperStorage {
 			return;
 		}
 
-		if (async) {
-			saveTask.run();
+		if (async && plugin.isEnabled()) {
+			savePreparationTask.start();
 		} else {
-			saveTask.runImmediately();
+			// The remaining dirty shopkeepers are saved during the preparation of the save task:
+			savePreparationTask.stop();
+			if (async) {
+				saveTask.run();
+			} else {
+				saveTask.runImmediately();
+			}
+		}
+	}
+
+	/**
+	 * Transfers the current data of the given dirty shopkeeper to the {@link #saveData}.
+	 * <p>
+	 * This resets the shopkeeper's dirty flag on success. On failure, the shopkeeper's previous data
+	 * is restored.
+	 * 
+	 * @param shopkeeper
+	 *            the shopkeeper, not necessarily still valid
+	 * @return <code>true</code> if the shopkeeper's data was transferred
+	 */
+	private boolean transferShopkeeperData(AbstractShopkeeper shopkeeper) {
+		assert shopkeeper.isDirty();
+		String key = String.valueOf(shopkeeper.getId());
+		Object previousData = saveData.get(key);
+		// This replaces the previous shopkeeper data:
+		ShopkeeperData newData = ShopkeeperData.ofNonNull(saveData.createContainer(key));
+		try {
+			shopkeeper.save(newData, false); // May reference externally stored data
+		} catch (Exception e) {
+			// Error while saving shopkeeper data:
+			// Restore previous shopkeeper data.
+			saveData.set(key, previousData);
+			Log.warning(shopkeeper.getLogPrefix() + "Saving failed!", e);
+			return false;
+		}
+
+		// Remove the separately stored shopkeeper id from the shopkeeper data:
+		newData.set(AbstractShopkeeper.ID.getUnvalidatedSaver(), null);
+
+		// We transferred the shopkeeper's data into the storage. Reset the shopkeeper's dirty flag:
+		shopkeeper.onSave();
+		return true;
+	}
+
+	/**
+	 * Transfers the data of the dirty shopkeepers to the {@link #saveData} in batches that are
+	 * limited by a time budget per tick, and then starts an async save.
+	 * <p>
+	 * This avoids long stalls of the main thread when a large number of shopkeepers have been marked
+	 * dirty, for example after mass edits. The data of each shopkeeper is still transferred within a
+	 * single tick. The transferred shopkeepers are tracked as {@link #unsavedShopkeepers} until the
+	 * save completes. Since the save data cannot be modified during a save, the transfer waits for
+	 * any save in progress to complete. Shopkeepers that are marked dirty during the transfer are
+	 * saved by the preparation of the save task.
+	 */
+	private class SavePreparationTask implements Runnable {
+
+		private @Nullable BukkitTask task = null;
+		// The number of dirty shopkeepers that remain to be transferred, or -1 if the transfer has
+		// not yet started:
+		private int remaining = -1;
+
+		void start() {
+			if (task != null) return; // Already running: The save starts once the transfer completes
+			remaining = -1;
+			if (this.transferBatch()) {
+				// Completed without delay:
+				saveTask.run();
+				return;
+			}
+			task = Bukkit.getScheduler().runTaskTimer(plugin, this, 1L, 1L);
+		}
+
+		void stop() {
+			if (task != null) {
+				task.cancel();
+				task = null;
+			}
+			remaining = -1;
+		}
+
+		@Override
+		public void run() {
+			if (savingDisabled) {
+				this.stop();
+				return;
+			}
+			if (this.transferBatch()) {
+				this.stop();
+				saveTask.run();
+			}
+		}
+
+		// Returns true once all shopkeepers that were dirty at the start of the transfer have been
+		// processed.
+		private boolean transferBatch() {
+			// The save data cannot be modified while a save is in progress:
+			if (saveTask.isRunning()) return false;
+
+			if (remaining < 0) {
+				remaining = dirtyShopkeepers.size();
+			}
+			if (remaining == 0 || dirtyShopkeepers.isEmpty()) return true;
+
+			List<@NonNull AbstractShopkeeper> failedToSave = new ArrayList<>();
+			savePrepareTimings.start();
+			long deadlineNanos = System.nanoTime() + SAVE_PREPARATION_TIME_BUDGET_NANOS;
+			try {
+				while (remaining > 0 && !dirtyShopkeepers.isEmpty()) {
+					// Note: We do not keep an iterator across shopkeeper saves, in case they mark
+					// other shopkeepers as dirty.
+					AbstractShopkeeper shopkeeper = dirtyShopkeepers.iterator().next();
+					dirtyShopkeepers.remove(shopkeeper);
+					remaining--;
+					if (transferShopkeeperData(shopkeeper)) {
+						unsavedShopkeepers.add(shopkeeper.getId());
+					} else {
+						// The shopkeeper remains dirty. The save task's preparation attempts to
+						// save it again.
+						failedToSave.add(shopkeeper);
+					}
+
+					if (System.nanoTime() - deadlineNanos >= 0) {
+						// Continue during the next tick:
+						break;
+					}
+				}
+			} finally {
+				dirtyShopkeepers.addAll(failedToSave);
+				savePrepareTimings.stop();
+			}
+			if (dirtyShopkeepers.size() == failedToSave.size()) {
+				// Any other remaining dirty shopkeepers have been deleted in the meantime:
+				remaining = 0;
+			}
+			return (remaining == 0);
 		}
 	}
 
@@ -882,6 +1085,9 @@ public class SKShopkeeperStorage implements ShopkeeperStorage {
 		// synchronization with the save task's lock.
 		private boolean savingSucceeded = false;
 		private long lastSaveErrorMsgMillis = 0L;
+		// Measured during (possibly async) executions, and then recorded during the sync callback:
+		private long serializeTimeNanos = 0L;
+		private long writeTimeNanos = 0L;
 
 		SaveTask(Plugin plugin) {
 			super(plugin);
@@ -909,6 +1115,17 @@ public class SKShopkeeperStorage implements ShopkeeperStorage {
 
 		@Override
 		protected void prepare() {
+			StorageSaveEvent jfrEvent = this.beginJfrEvent(StorageSaveEvent.PHASE_PREPARE);
+			savePrepareTimings.start();
+			try {
+				this.doPrepare();
+			} finally {
+				savePrepareTimings.stop();
+				this.commitJfrEvent(jfrEvent, failedToSave.isEmpty());
+			}
+		}
+
+		private void doPrepare() {
 			// Stop any active delayed save task:
 			if (delayedSaveTask != null) {
 				delayedSaveTask.cancel();
@@ -939,32 +1156,13 @@ public class SKShopkeeperStorage implements ShopkeeperStorage {
 
 		private void saveShopkeeper(AbstractShopkeeper shopkeeper) {
 			// Note: The shopkeeper might no longer be valid (loaded).
-			assert shopkeeper.isDirty();
-			String key = String.valueOf(shopkeeper.getId());
-			Object previousData = saveData.get(key);
-			// This replaces the previous shopkeeper data:
-			ShopkeeperData newData = ShopkeeperData.ofNonNull(saveData.createContainer(key));
-			try {
-				shopkeeper.save(newData, false); // May reference externally stored data
-			} catch (Exception e) {
-				// Error while saving shopkeeper data:
-				// Restore previous shopkeeper data and then skip this shopkeeper.
-				saveData.set(key, previousData);
-				Log.warning(shopkeeper.getLogPrefix() + "Saving failed!", e);
+			if (!transferShopkeeperData(shopkeeper)) {
 				// We remember the shopkeeper and keep it marked as dirty, so that the next save of
 				// all shopkeepers attempts to save it again.
 				// However, we won't automatically initiate a new save for this shopkeeper as the
 				// risk is high that saving will fail again anyways.
 				failedToSave.add(shopkeeper);
-				return;
 			}
-
-			// Remove the separately stored shopkeeper id from the shopkeeper data:
-			newData.set(AbstractShopkeeper.ID.getUnvalidatedSaver(), null);
-
-			// We transferred the shopkeeper's data into the storage. Reset the shopkeeper's dirty
-			// flag:
-			shopkeeper.onSave();
 		}
 
 		// Can be run async or sync.
@@ -975,6 +1173,7 @@ public class SKShopkeeperStorage implements ShopkeeperStorage {
 
 		// Returns true if the saving was successful.
 		private boolean saveToFile(DataStore saveData) {
+			StorageSaveEvent writeEvent = null;
 			try {
 				// Serialize data to String:
 				// TODO Do this on the main thread? Bukkit's serialization API is not strictly
@@ -983,14 +1182,25 @@ public class SKShopkeeperStorage implements ShopkeeperStorage {
 				// save data are not accessed externally, and do not rely on external state during
 				// serialization.
 				String data;
+				StorageSaveEvent serializeEvent = this.beginJfrEvent(
+						StorageSaveEvent.PHASE_SERIALIZE
+				);
+				long serializeStartNanos = System.nanoTime();
+				boolean serialized = false;
 				try {
 					data = saveData.saveToString();
+					serialized = true;
 				} catch (Exception e) {
 					throw new ShopkeeperStorageSaveException(
 							"Could not serialize shopkeeper data!", e
 					);
+				} finally {
+					serializeTimeNanos = System.nanoTime() - serializeStartNanos;
+					this.commitJfrEvent(serializeEvent, serialized);
 				}
 
+				writeEvent = this.beginJfrEvent(StorageSaveEvent.PHASE_WRITE);
+				long writeStartNanos = System.nanoTime();
 				Retry.retry((VoidCallable) () -> {
 					this.doSaveToFile(data);
 				}, SAVING_MAX_ATTEMPTS, (attemptNumber, exception, retry) -> {
@@ -1019,15 +1229,33 @@ public class SKShopkeeperStorage implements ShopkeeperStorage {
 						}
 					}
 				});
+				writeTimeNanos = System.nanoTime() - writeStartNanos;
+				this.commitJfrEvent(writeEvent, true);
 
 				return true; // Success
 			} catch (Exception e) {
 				// Saving failed even after several attempts:
 				Log.severe("Saving of shopkeepers failed! Data might have been lost! :(", e);
+				this.commitJfrEvent(writeEvent, false);
 				return false;
 			}
 		}
 
+		// Returns null if JFR events are disabled.
+		private @Nullable StorageSaveEvent beginJfrEvent(String phase) {
+			if (!JfrEvents.isEnabled()) return null;
+			StorageSaveEvent jfrEvent = new StorageSaveEvent(phase);
+			jfrEvent.begin();
+			return jfrEvent;
+		}
+
+		private void commitJfrEvent(@Nullable StorageSaveEvent jfrEvent, boolean success) {
+			if (jfrEvent == null) return;
+			int failedCount = failedToSave.size();
+			jfrEvent.setResult(savingDirtyShopkeepers.size() - failedCount, failedCount, success);
+			jfrEvent.commit();
+		}
+
 		/**
 		 * Writes the given properly formatted shopkeeper data to disk.
 		 * <p>
@@ -1162,6 +1390,14 @@ public class SKShopkeeperStorage implements ShopkeeperStorage {
 
 		@Override
 		protected void syncCallback() {
+			// Record the timings:
+			saveSerializeTimings.record(serializeTimeNanos);
+			if (savingSucceeded) {
+				saveWriteTimings.record(writeTimeNanos);
+			}
+			serializeTimeNanos = 0L;
+			writeTimeNanos = 0L;
+
 			// Print debug info:
 			printDebugInfo();
 
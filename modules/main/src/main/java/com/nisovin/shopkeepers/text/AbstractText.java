@@ -1,6 +1,5 @@
 package com.nisovin.shopkeepers.text;
 
-import java.util.HashMap;
 import java.util.Map;
 
 import org.bukkit.ChatColor;
@@ -8,7 +7,6 @@ import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 import com.nisovin.shopkeepers.api.internal.util.Unsafe;
-import com.nisovin.shopkeepers.util.java.StringUtils;
 import com.nisovin.shopkeepers.util.java.Validate;
 import com.nisovin.shopkeepers.util.text.MessageArguments;
 
@@ -17,10 +15,6 @@ import com.nisovin.shopkeepers.util.text.MessageArguments;
  */
 public abstract class AbstractText implements Text {
 
-	// Reused among all Text instances:
-	private static final Map<@NonNull String, @NonNull Object> TEMP_ARGUMENTS_MAP = new HashMap<>();
-	private static final MessageArguments TEMP_ARGUMENTS = MessageArguments.ofMap(TEMP_ARGUMENTS_MAP);
-
 	// TODO Remove parent reference?
 	// Would allow less mutable state, which simplifies reuse of Text instances.
 	private @Nullable Text parent = null;
@@ -151,13 +145,7 @@ public abstract class AbstractText implements Text {
 
 	@Override
 	public final Text setPlaceholderArguments(@NonNull Object... argumentPairs) {
-		assert TEMP_ARGUMENTS_MAP.isEmpty();
-		try {
-			StringUtils.addArgumentsToMap(TEMP_ARGUMENTS_MAP, argumentPairs);
-			return this.setPlaceholderArguments(TEMP_ARGUMENTS);
-		} finally {
-			TEMP_ARGUMENTS_MAP.clear(); // Reset
-		}
+		return this.setPlaceholderArguments(MessageArguments.ofPairs(argumentPairs));
 	}
 
 	@Override
@@ -0,0 +1,424 @@
+package com.nisovin.shopkeepers.text;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import com.nisovin.shopkeepers.util.java.Validate;
+import com.nisovin.shopkeepers.util.text.MessageArguments;
+
+/**
+ * An immutable, pre-compiled representation of a message {@link Text}.
+ * <p>
+ * Assigning {@link Text#setPlaceholderArguments(MessageArguments) placeholder arguments} to a
+ * {@link Text} modifies it, and converting it to plain text walks its complete structure each time.
+ * A {@link MessageTemplate} instead analyzes the message {@link Text} once: Its placeholders are
+ * assigned indexed argument slots, and its plain text is split into literal segments and
+ * references to these slots.
+ * <p>
+ * {@link #bind(MessageArguments) Binding} arguments to the template produces a lightweight
+ * {@link Bound} message that caches its renderings. Since templates are immutable, arguments can
+ * be bound and the resulting messages can be rendered to plain text on any thread, e.g. when
+ * preparing messages asynchronously. Only the conversion to a {@link Text}, for example for sending
+ * it to a player, is meant to happen on the server's main thread.
+ * <p>
+ * Messages that are only used once, e.g. sent right away, can be used via
+ * {@link Bound#useText(Consumer)}, which avoids copying the template's {@link Text}.
+ */
+public final class MessageTemplate {
+
+	/**
+	 * Compiles the given {@link Text} into a {@link MessageTemplate}.
+	 * <p>
+	 * The template operates on a copy of the given {@link Text}. Subsequent changes to the given
+	 * {@link Text} do not affect the template. Any placeholder arguments that are currently
+	 * assigned to the given {@link Text} are ignored.
+	 * 
+	 * @param text
+	 *            the text, not <code>null</code>
+	 * @return the message template, not <code>null</code>
+	 */
+	public static MessageTemplate compile(Text text) {
+		Validate.notNull(text, "text is null");
+		return new MessageTemplate(text);
+	}
+
+	private static final Object[] NO_ARGUMENTS = new Object[0];
+
+	// Not modified after construction, and only read afterwards:
+	private final Text text;
+	private final List<? extends @NonNull String> placeholderKeys;
+	private final boolean plainText;
+	// Literal Strings, or slot indices of type Integer:
+	private final @NonNull Object[] plainTextSegments;
+	private final int literalsLength;
+	// Shared by all bindings if the template has no placeholders:
+	private final Bound unbound;
+	// Whether arguments are currently assigned to the template's Text. Only accessed on the main
+	// thread.
+	private boolean textInUse = false;
+
+	private MessageTemplate(Text sourceText) {
+		Text text = sourceText.copy();
+		text.clearPlaceholderArguments();
+		this.text = text;
+
+		Set<@NonNull String> placeholderKeys = new LinkedHashSet<>();
+		collectPlaceholderKeys(text, placeholderKeys);
+		this.placeholderKeys = Collections.unmodifiableList(new ArrayList<>(placeholderKeys));
+		this.plainText = text.isPlainText();
+
+		// Without arguments, the placeholders output their formatted placeholder keys:
+		List<@NonNull Object> segments = new ArrayList<>();
+		this.literalsLength = compilePlainText(text.toPlainText(), this.placeholderKeys, segments);
+		this.plainTextSegments = segments.toArray(new @NonNull Object[0]);
+
+		this.unbound = new Bound(this, NO_ARGUMENTS);
+	}
+
+	private static void collectPlaceholderKeys(
+			@Nullable Text text,
+			Set<@NonNull String> placeholderKeys
+	) {
+		Text current = text;
+		while (current != null) {
+			if (current instanceof PlaceholderText) {
+				placeholderKeys.add(((PlaceholderText) current).getPlaceholderKey());
+			} else if (current instanceof HoverEventText) {
+				collectPlaceholderKeys(((HoverEventText) current).getValue(), placeholderKeys);
+			}
+			collectPlaceholderKeys(current.getChild(), placeholderKeys);
+			current = current.getNext();
+		}
+	}
+
+	// Returns the total length of the literal segments.
+	private static int compilePlainText(
+			String plainText,
+			List<? extends @NonNull String> placeholderKeys,
+			List<@NonNull Object> segments
+	) {
+		int literalsLength = 0;
+		int literalStart = 0;
+		int length = plainText.length();
+		int searchPos = 0;
+		while (searchPos < length) {
+			int prefixIndex = plainText.indexOf(PlaceholderText.PLACEHOLDER_PREFIX_CHAR, searchPos);
+			if (prefixIndex == -1) break;
+			searchPos = prefixIndex + 1;
+
+			int suffixIndex = plainText.indexOf(PlaceholderText.PLACEHOLDER_SUFFIX_CHAR, searchPos);
+			if (suffixIndex == -1) break;
+			// Continue the search at any inner key prefix:
+			int innerPrefixIndex = plainText.indexOf(
+					PlaceholderText.PLACEHOLDER_PREFIX_CHAR,
+					searchPos
+			);
+			if (innerPrefixIndex != -1 && innerPrefixIndex < suffixIndex) continue;
+
+			String key = plainText.substring(prefixIndex + 1, suffixIndex);
+			int slot = placeholderKeys.indexOf(key);
+			if (slot == -1) continue; // Not a placeholder
+
+			if (prefixIndex > literalStart) {
+				segments.add(plainText.substring(literalStart, prefixIndex));
+				literalsLength += prefixIndex - literalStart;
+			}
+			segments.add(slot);
+			literalStart = suffixIndex + 1;
+			searchPos = literalStart;
+		}
+		if (literalStart < length) {
+			segments.add(plainText.substring(literalStart));
+			literalsLength += length - literalStart;
+		}
+		return literalsLength;
+	}
+
+	/**
+	 * Gets the keys of the placeholders that are used by this template.
+	 * <p>
+	 * The index of a placeholder key corresponds to the index of its argument slot.
+	 * 
+	 * @return an unmodifiable view on the placeholder keys, not <code>null</code>
+	 */
+	public List<? extends @NonNull String> getPlaceholderKeys() {
+		return placeholderKeys;
+	}
+
+	/**
+	 * Gets the index of the argument slot for the specified placeholder key.
+	 * 
+	 * @param placeholderKey
+	 *            the placeholder key
+	 * @return the slot index, or <code>-1</code> if the placeholder is not used by this template
+	 */
+	public int getSlot(String placeholderKey) {
+		return placeholderKeys.indexOf(placeholderKey);
+	}
+
+	/**
+	 * Checks whether this template only uses plain text features.
+	 * 
+	 * @return <code>true</code> if the template only uses plain text features
+	 * @see Text#isPlainText()
+	 */
+	public boolean isPlainText() {
+		return plainText;
+	}
+
+	/**
+	 * Binds the given arguments to this template.
+	 * <p>
+	 * The arguments are looked up once for each placeholder of this template. Any {@link Supplier}
+	 * arguments are invoked right away to obtain the actual arguments. Placeholders without
+	 * argument retain their {@link PlaceholderText#getFormattedPlaceholderKey() formatted
+	 * placeholder key}.
+	 * 
+	 * @param arguments
+	 *            the message arguments, not <code>null</code>
+	 * @return the bound message, not <code>null</code>
+	 */
+	public Bound bind(MessageArguments arguments) {
+		Validate.notNull(arguments, "arguments is null");
+		if (placeholderKeys.isEmpty()) return unbound;
+
+		int slotCount = placeholderKeys.size();
+		@Nullable Object[] slotArguments = new @Nullable Object[slotCount];
+		for (int slot = 0; slot < slotCount; slot++) {
+			slotArguments[slot] = resolveArgument(arguments.get(placeholderKeys.get(slot)));
+		}
+		return new Bound(this, slotArguments);
+	}
+
+	/**
+	 * Binds the given arguments to this template.
+	 * 
+	 * @param argumentPairs
+	 *            an array that pairwise contains placeholder keys (of type String) and their
+	 *            arguments in the format <code>[key1, value1, key2, value2, ...]</code>, not
+	 *            <code>null</code>
+	 * @return the bound message, not <code>null</code>
+	 * @see #bind(MessageArguments)
+	 */
+	public Bound bind(@NonNull Object... argumentPairs) {
+		return this.bind(MessageArguments.ofPairs(argumentPairs));
+	}
+
+	/**
+	 * Binds the given arguments to the argument slots of this template.
+	 * 
+	 * @param slotArguments
+	 *            the arguments, ordered by their {@link #getSlot(String) slot index}, not
+	 *            <code>null</code>, can contain <code>null</code> elements for placeholders without
+	 *            argument, and its length has to match the number of
+	 *            {@link #getPlaceholderKeys() placeholders}
+	 * @return the bound message, not <code>null</code>
+	 * @see #bind(MessageArguments)
+	 */
+	public Bound bindSlots(@Nullable Object... slotArguments) {
+		Validate.notNull(slotArguments, "slotArguments is null");
+		Validate.isTrue(slotArguments.length == placeholderKeys.size(),
+				"The number of slotArguments does not match the number of placeholders");
+		if (slotArguments.length == 0) return unbound;
+
+		@Nullable Object[] resolvedArguments = new @Nullable Object[slotArguments.length];
+		for (int slot = 0; slot < slotArguments.length; slot++) {
+			resolvedArguments[slot] = resolveArgument(slotArguments[slot]);
+		}
+		return new Bound(this, resolvedArguments);
+	}
+
+	private static @Nullable Object resolveArgument(@Nullable Object argument) {
+		if (argument instanceof Supplier) {
+			return ((Supplier<?>) argument).get();
+		}
+		return argument;
+	}
+
+	@Override
+	public String toString() {
+		return "MessageTemplate [placeholderKeys=" + placeholderKeys + ", text=" + text + "]";
+	}
+
+	/**
+	 * A {@link MessageTemplate} with bound arguments.
+	 * <p>
+	 * Bound messages are immutable if their arguments are immutable, and cache their renderings.
+	 * Two bound messages are equal if they use the same template and equal arguments. They can
+	 * therefore also be used as keys to cache renderings across multiple bindings of the same
+	 * arguments.
+	 */
+	public static final class Bound {
+
+		private final MessageTemplate template;
+		private final @Nullable Object[] arguments;
+
+		// Lazily initialized caches:
+		private volatile @Nullable String plainText = null;
+		private volatile @Nullable Text text = null;
+
+		private Bound(MessageTemplate template, @Nullable Object[] arguments) {
+			assert template != null && arguments != null;
+			this.template = template;
+			this.arguments = arguments;
+		}
+
+		/**
+		 * Gets the {@link MessageTemplate}.
+		 * 
+		 * @return the template, not <code>null</code>
+		 */
+		public MessageTemplate getTemplate() {
+			return template;
+		}
+
+		/**
+		 * Renders this message to plain text that only includes color and formatting codes.
+		 * <p>
+		 * This is equivalent to {@link Text#toPlainText()} of the template's {@link Text} with the
+		 * bound arguments assigned. The result is cached. This can be invoked from any thread, as
+		 * long as any bound {@link Text} arguments are not modified concurrently.
+		 * 
+		 * @return the plain text, not <code>null</code>
+		 */
+		public String toPlainText() {
+			String plainText = this.plainText;
+			if (plainText == null) {
+				plainText = this.renderPlainText();
+				this.plainText = plainText;
+			}
+			return plainText;
+		}
+
+		private String renderPlainText() {
+			@NonNull Object[] segments = template.plainTextSegments;
+			if (segments.length == 1 && segments[0] instanceof String) {
+				return (String) segments[0]; // No placeholders
+			}
+
+			int estimatedLength = template.literalsLength + 16 * arguments.length;
+			StringBuilder builder = new StringBuilder(estimatedLength);
+			for (Object segment : segments) {
+				if (segment instanceof String) {
+					builder.append((String) segment);
+				} else {
+					int slot = (Integer) segment;
+					Object argument = arguments[slot];
+					if (argument == null) {
+						builder.append(PlaceholderText.PLACEHOLDER_PREFIX_CHAR)
+								.append(template.placeholderKeys.get(slot))
+								.append(PlaceholderText.PLACEHOLDER_SUFFIX_CHAR);
+					} else if (argument instanceof Text) {
+						builder.append(((Text) argument).toPlainText());
+					} else {
+						builder.append(String.valueOf(argument));
+					}
+				}
+			}
+			return builder.toString();
+		}
+
+		/**
+		 * Gets a {@link Text} that represents this message, for example for sending it to a
+		 * player.
+		 * <p>
+		 * The {@link Text} is created once and then cached. It is shared with all callers and
+		 * therefore must not be modified. This is only meant to be invoked on the server's main
+		 * thread.
+		 * 
+		 * @return the text, not <code>null</code>
+		 */
+		public Text toText() {
+			Text text = this.text;
+			if (text == null) {
+				text = template.text.copy();
+				if (template.textInUse) {
+					// Do not retain the arguments that are currently assigned to the template:
+					text.clearPlaceholderArguments();
+				}
+				this.assignArguments(text);
+				this.text = text;
+			}
+			return text;
+		}
+
+		/**
+		 * Passes a {@link Text} that represents this message to the given consumer, for example
+		 * for sending it to a player right away.
+		 * <p>
+		 * Unlike {@link #toText()}, this does not copy the template's {@link Text}, but assigns the
+		 * bound arguments to the template's {@link Text} itself and clears them again once the
+		 * consumer returns. The consumer must therefore neither modify nor retain the {@link Text}
+		 * beyond its invocation. The {@link Text} can be used as argument of other messages that
+		 * are used inside the consumer. If the template's {@link Text} is already in use, this
+		 * falls back to {@link #toText()}. If the {@link Text} of this message has already been
+		 * cached, the cached {@link Text} is passed to the consumer. This is only meant to be
+		 * invoked on the server's main thread.
+		 * 
+		 * @param consumer
+		 *            the consumer, not <code>null</code>
+		 */
+		public void useText(Consumer<? super @NonNull Text> consumer) {
+			Validate.notNull(consumer, "consumer is null");
+			Text cachedText = this.text;
+			if (cachedText != null || template.textInUse) {
+				consumer.accept(cachedText != null ? cachedText : this.toText());
+				return;
+			}
+
+			Text text = template.text;
+			template.textInUse = true;
+			try {
+				this.assignArguments(text);
+				consumer.accept(text);
+			} finally {
+				text.clearPlaceholderArguments();
+				template.textInUse = false;
+			}
+		}
+
+		private void assignArguments(Text text) {
+			if (arguments.length == 0) return;
+
+			@NonNull Object[] argumentPairs = new @NonNull Object[arguments.length * 2];
+			int index = 0;
+			for (int slot = 0; slot < arguments.length; slot++) {
+				Object argument = arguments[slot];
+				if (argument == null) continue;
+				argumentPairs[index++] = template.placeholderKeys.get(slot);
+				argumentPairs[index++] = argument;
+			}
+			text.setPlaceholderArguments(MessageArguments.ofPairs(
+					Arrays.copyOf(argumentPairs, index)
+			));
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * System.identityHashCode(template) + Arrays.hashCode(arguments);
+		}
+
+		@Override
+		public boolean equals(@Nullable Object obj) {
+			if (this == obj) return true;
+			if (!(obj instanceof Bound)) return false;
+			Bound other = (Bound) obj;
+			return template == other.template && Arrays.equals(arguments, other.arguments);
+		}
+
+		@Override
+		public String toString() {
+			return "MessageTemplate.Bound [arguments=" + Arrays.toString(arguments)
+					+ ", template=" + template + "]";
+		}
+	}
+}
@@ -15,6 +15,16 @@ public interface TradeLogger {
 	 */
 	public void logTrade(TradeRecord trade);
 
+	/**
+	 * Gets the number of logged {@link TradeRecord trade records} that have not yet been written
+	 * to storage.
+	 * <p>
+	 * This includes the trade records that are currently being written.
+	 * 
+	 * @return the number of pending trade records
+	 */
+	public int getPendingTradesCount();
+
 	/**
 	 * Writes any buffered {@link TradeRecord trade records} to storage and waits (blocking!) for
 	 * any pending writes to complete.
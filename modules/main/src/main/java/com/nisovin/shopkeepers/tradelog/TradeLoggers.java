@@ -20,6 +20,8 @@ import com.nisovin.shopkeepers.tradelog.data.TradeRecord;
 import com.nisovin.shopkeepers.util.java.Validate;
 import com.nisovin.shopkeepers.util.trading.MergedTrades;
 import com.nisovin.shopkeepers.util.trading.TradeMerger;
+import com.nisovin.shopkeepers.util.timer.Timer;
+import com.nisovin.shopkeepers.util.timer.Timings;
 import com.nisovin.shopkeepers.util.trading.TradeMerger.MergeMode;
 
 public class TradeLoggers implements Listener {
@@ -37,6 +39,9 @@ public class TradeLoggers implements Listener {
 	private @Nullable TradeMerger tradeMerger;
 	private boolean enabled = false;
 
+	private final Timer processingTimings = new Timer();
+	private final Timer csvWriteTimings = new Timer();
+
 	public TradeLoggers(Plugin plugin) {
 		Validate.notNull(plugin, "plugin is null");
 		this.plugin = plugin;
@@ -57,7 +62,7 @@ public class TradeLoggers implements Listener {
 		tradeMerger.onEnable();
 
 		if (Settings.logTradesToCsv) {
-			loggers.add(new CsvTradeLogger(plugin));
+			loggers.add(new CsvTradeLogger(plugin, csvWriteTimings));
 		}
 
 		Bukkit.getPluginManager().registerEvents(this, plugin);
@@ -86,7 +91,48 @@ public class TradeLoggers implements Listener {
 	}
 
 	private void processTrades(MergedTrades trades) {
-		TradeRecord trade = TradeRecord.create(trades);
-		loggers.forEach(logger -> logger.logTrade(trade));
+		processingTimings.start();
+		try {
+			TradeRecord trade = TradeRecord.create(trades);
+			loggers.forEach(logger -> logger.logTrade(trade));
+		} finally {
+			processingTimings.stop();
+		}
+	}
+
+	/**
+	 * Gets the number of logged trade records that have not yet been written to storage by the
+	 * trade loggers.
+	 * <p>
+	 * This does not include trades that are still pending to be merged.
+	 * 
+	 * @return the number of pending trade records
+	 */
+	public int getPendingTradesCount() {
+		int count = 0;
+		for (TradeLogger logger : loggers) {
+			count += logger.getPendingTradesCount();
+		}
+		return count;
+	}
+
+	// TIMINGS
+
+	/**
+	 * Gets the timings of the processing of merged trades by the trade loggers on the main thread.
+	 * 
+	 * @return the timings
+	 */
+	public Timings getProcessingTimings() {
+		return processingTimings;
+	}
+
+	/**
+	 * Gets the timings of the writes of the CSV trade logger.
+	 * 
+	 * @return the timings
+	 */
+	public Timings getCsvWriteTimings() {
+		return csvWriteTimings;
 	}
 }
@@ -29,6 +29,8 @@ import com.nisovin.shopkeepers.api.ShopkeepersPlugin;
 import com.nisovin.shopkeepers.api.internal.util.Unsafe;
 import com.nisovin.shopkeepers.api.util.UnmodifiableItemStack;
 import com.nisovin.shopkeepers.config.Settings;
+import com.nisovin.shopkeepers.debug.jfr.JfrEvents;
+import com.nisovin.shopkeepers.debug.jfr.TradeLogWriteEvent;
 import com.nisovin.shopkeepers.tradelog.TradeLogger;
 import com.nisovin.shopkeepers.tradelog.data.PlayerRecord;
 import com.nisovin.shopkeepers.tradelog.data.ShopRecord;
@@ -45,6 +47,7 @@ import com.nisovin.shopkeepers.util.java.ThrowableUtils;
 import com.nisovin.shopkeepers.util.java.Validate;
 import com.nisovin.shopkeepers.util.java.VoidCallable;
 import com.nisovin.shopkeepers.util.logging.Log;
+import com.nisovin.shopkeepers.util.timer.Timer;
 import com.nisovin.shopkeepers.util.yaml.YamlUtils;
 
 /**
@@ -89,8 +92,11 @@ public class CsvTradeLogger implements TradeLogger {
 	private static final int SAVE_MAX_ATTEMPTS = 20;
 	private static final long SAVE_RETRY_DELAY_MILLIS = 25L;
 	private static final long SAVE_ERROR_MSG_THROTTLE_MILLIS = TimeUnit.MINUTES.toMillis(5);
+	// The logger name that is reported in JFR events:
+	private static final String JFR_LOGGER_NAME = "csv";
 
 	private final Plugin plugin;
+	private final Timer writeTimings;
 	private final Path tradeLogsFolder;
 	// Note: Even though the CSV format allows quoted fields to span across multiple lines, we want
 	// each CSV record to only span a single line. However, even though we do not want fields to
@@ -109,9 +115,20 @@ public class CsvTradeLogger implements TradeLogger {
 	// the trades that are being saved as part of the same batch.
 	private boolean logItemMetadata;
 
-	public CsvTradeLogger(Plugin plugin) {
+	/**
+	 * Creates a new {@link CsvTradeLogger}.
+	 * 
+	 * @param plugin
+	 *            the plugin
+	 * @param writeTimings
+	 *            the timer that records the durations of the (usually asynchronous) writes of the
+	 *            logged trades to disk
+	 */
+	public CsvTradeLogger(Plugin plugin, Timer writeTimings) {
 		Validate.notNull(plugin, "plugin is null");
+		Validate.notNull(writeTimings, "writeTimings is null");
 		this.plugin = plugin;
+		this.writeTimings = writeTimings;
 		this.tradeLogsFolder = plugin.getDataFolder().toPath().resolve(TRADE_LOGS_FOLDER);
 		this.saveTask = new SaveTask(plugin);
 	}
@@ -125,6 +142,11 @@ public class CsvTradeLogger implements TradeLogger {
 		this.savePendingDelayed();
 	}
 
+	@Override
+	public int getPendingTradesCount() {
+		return pending.size() + saveTask.getSavingCount();
+	}
+
 	@Override
 	public void flush() {
 		this.savePending();
@@ -178,8 +200,12 @@ public class CsvTradeLogger implements TradeLogger {
 	private class SaveTask extends SingletonTask {
 
 		private List<@NonNull TradeRecord> saving = new ArrayList<>();
+		// Only accessed on the main thread:
+		private int savingCount = 0;
 		private @Nullable SaveContext saveContext = null;
 		private boolean saveSucceeded = false;
+		// Measured during the execution, but recorded during the sync callback:
+		private long writeTimeNanos = 0L;
 		private long lastSaveErrorMsgMillis = 0L;
 
 		SaveTask(Plugin plugin) {
@@ -216,15 +242,32 @@ public class CsvTradeLogger implements TradeLogger {
 			saving = pending;
 			pending = temp;
 
+			savingCount = saving.size();
+
 			// Setup new SaveContext:
 			assert saveContext == null;
 			this.saveContext = new SaveContext(saving);
 		}
 
+		int getSavingCount() {
+			return savingCount;
+		}
+
 		@Override
 		protected void execute() {
 			SaveContext saveContext = Unsafe.assertNonNull(this.saveContext);
+			TradeLogWriteEvent jfrEvent = null;
+			if (JfrEvents.isEnabled()) {
+				jfrEvent = new TradeLogWriteEvent(JFR_LOGGER_NAME, saveContext.getTradesCount());
+				jfrEvent.begin();
+			}
+			long startTimeNanos = System.nanoTime();
 			saveSucceeded = writeTradesToDisk(saveContext);
+			writeTimeNanos = System.nanoTime() - startTimeNanos;
+			if (jfrEvent != null) {
+				jfrEvent.setResult(saveContext.getUnsavedTrades().size(), saveSucceeded);
+				jfrEvent.commit();
+			}
 			assert saveSucceeded ? !saveContext.hasUnsavedTrades() : saveContext.hasUnsavedTrades();
 		}
 
@@ -233,6 +276,7 @@ public class CsvTradeLogger implements TradeLogger {
 			SaveContext saveContext = Unsafe.assertNonNull(this.saveContext);
 
 			this.printDebugInfo();
+			writeTimings.record(writeTimeNanos);
 
 			if (!saveSucceeded) {
 				// Save failed:
@@ -264,6 +308,8 @@ public class CsvTradeLogger implements TradeLogger {
 			// Reset:
 			this.saveContext = null;
 			saving.clear();
+			savingCount = 0;
+			writeTimeNanos = 0L;
 		}
 
 		private void printDebugInfo() {
@@ -310,6 +356,10 @@ public class CsvTradeLogger implements TradeLogger {
 			this.trades = trades;
 		}
 
+		public int getTradesCount() {
+			return trades.size();
+		}
+
 		public boolean hasUnsavedTrades() {
 			return (nextUnsaved < trades.size());
 		}
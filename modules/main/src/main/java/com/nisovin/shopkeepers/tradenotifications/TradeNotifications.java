@@ -1,7 +1,10 @@
 package com.nisovin.shopkeepers.tradenotifications;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 import java.util.function.Supplier;
 
 import org.bukkit.Bukkit;
@@ -240,9 +243,7 @@ public class TradeNotifications implements Listener {
 			shopOwner = ((PlayerShopkeeper) tradeContext.getShopkeeper()).getOwner();
 		}
 
-		Lazy<@NonNull Text> tradeNotification = new Lazy<>(
-				() -> this.getTradeNotificationMessage(tradeContext)
-		);
+		List<@NonNull Player> recipients = new ArrayList<>();
 		for (Player player : Bukkit.getOnlinePlayers()) {
 			assert player != null;
 			// Avoid notifying the shop owner twice.
@@ -255,13 +256,23 @@ public class TradeNotifications implements Listener {
 
 			// Note: We also send trade notifications for own trades (i.e. when the trading player
 			// matches the recipient of the notification).
-			TextUtils.sendMessage(player, tradeNotification.get());
-			Settings.tradeNotificationSound.play(player);
-			this.sendDisableTradeNotificationsHint(player);
+			recipients.add(player);
 		}
+		if (recipients.isEmpty()) return;
+
+		this.useTradeNotificationText(tradeContext, message -> {
+			for (Player player : recipients) {
+				TextUtils.sendMessage(player, message);
+				Settings.tradeNotificationSound.play(player);
+				this.sendDisableTradeNotificationsHint(player);
+			}
+		});
 	}
 
-	private Text getTradeNotificationMessage(TradeContext tradeContext) {
+	private void useTradeNotificationText(
+			TradeContext tradeContext,
+			Consumer<? super @NonNull Text> consumer
+	) {
 		assert tradeContext != null;
 		Shopkeeper shopkeeper = tradeContext.getShopkeeper();
 
@@ -297,35 +308,64 @@ public class TradeNotifications implements Listener {
 			}
 		}
 
-		Text tradeCountText = Text.EMPTY;
+		Text tradeCountText = null;
 		if (tradeContext.getTradeCount() > 1) {
 			tradeCountText = Messages.tradeNotificationTradeCount;
 		}
 
-		return this.getTradeNotificationMessage(tradeContext, message, shopText, tradeCountText);
+		this.useTradeNotificationText(
+				tradeContext,
+				message,
+				shopText,
+				tradeCountText,
+				consumer
+		);
 	}
 
-	private Text getTradeNotificationMessage(
+	// The arguments are bound to the compiled templates of the messages instead of being assigned
+	// to the shared message Texts. Since the messages are sent right away, the templates' Texts are
+	// used directly instead of being copied for every trade.
+	private void useTradeNotificationText(
 			TradeContext tradeContext,
 			Text message,
 			Text shopText,
-			Text tradeCountText
+			@Nullable Text tradeCountText,
+			Consumer<? super @NonNull Text> consumer
 	) {
 		MessageArguments shopMsgArgs = tradeContext.getShopMessageArguments();
 		Map<@NonNull String, @NonNull Object> tradeMsgArgs = tradeContext.getTradeMessageArguments();
 
-		shopText.setPlaceholderArguments(shopMsgArgs);
 		// TODO Display more shop information as hover text? Add a click event or insertion text to
 		// automatically copy the shop coordinates or id, or insert a teleport command to teleport
 		// to the shop?
-		tradeMsgArgs.put("shop", shopText);
+		Messages.getTemplate(shopText).bind(shopMsgArgs).useText(shop -> {
+			tradeMsgArgs.put("shop", shop);
 
-		tradeCountText.setPlaceholderArguments("count", tradeContext.getTradeCount());
-		tradeMsgArgs.put("trade_count", tradeCountText);
+			if (tradeCountText == null) {
+				tradeMsgArgs.put("trade_count", Text.EMPTY);
+				useMessageText(message, shopMsgArgs, tradeMsgArgs, consumer);
+				return;
+			}
 
-		message.setPlaceholderArguments(tradeMsgArgs);
-		message.setPlaceholderArguments(shopMsgArgs);
-		return message;
+			Messages.getTemplate(tradeCountText).bind(
+					"count", tradeContext.getTradeCount()
+			).useText(tradeCount -> {
+				tradeMsgArgs.put("trade_count", tradeCount);
+				useMessageText(message, shopMsgArgs, tradeMsgArgs, consumer);
+			});
+		});
+	}
+
+	private static void useMessageText(
+			Text message,
+			MessageArguments shopMsgArgs,
+			Map<@NonNull String, @NonNull Object> tradeMsgArgs,
+			Consumer<? super @NonNull Text> consumer
+	) {
+		// The shop arguments take precedence over the trade arguments:
+		Messages.getTemplate(message).bind(
+				shopMsgArgs.combinedWith(MessageArguments.ofMap(tradeMsgArgs))
+		).useText(consumer);
 	}
 
 	private void sendOwnerTradeNotifications(TradeContext tradeContext) {
@@ -341,13 +381,17 @@ public class TradeNotifications implements Listener {
 
 		// Note: We also send trade notifications for own trades (i.e. when the trading player
 		// matches the recipient of the notification).
-		Text message = this.getOwnerTradeNotificationMessage(tradeContext);
-		TextUtils.sendMessage(owner, message);
+		this.useOwnerTradeNotificationText(tradeContext, message -> {
+			TextUtils.sendMessage(owner, message);
+		});
 		Settings.shopOwnerTradeNotificationSound.play(owner);
 		this.sendDisableTradeNotificationsHint(owner);
 	}
 
-	private Text getOwnerTradeNotificationMessage(TradeContext tradeContext) {
+	private void useOwnerTradeNotificationText(
+			TradeContext tradeContext,
+			Consumer<? super @NonNull Text> consumer
+	) {
 		assert tradeContext != null;
 		Shopkeeper shopkeeper = tradeContext.getShopkeeper();
 
@@ -384,12 +428,18 @@ public class TradeNotifications implements Listener {
 			}
 		}
 
-		Text tradeCountText = Text.EMPTY;
+		Text tradeCountText = null;
 		if (tradeContext.getTradeCount() > 1) {
 			tradeCountText = Messages.ownerTradeNotificationTradeCount;
 		}
 
-		return this.getTradeNotificationMessage(tradeContext, message, shopText, tradeCountText);
+		this.useTradeNotificationText(
+				tradeContext,
+				message,
+				shopText,
+				tradeCountText,
+				consumer
+		);
 	}
 
 	private void sendDisableTradeNotificationsHint(Player player) {
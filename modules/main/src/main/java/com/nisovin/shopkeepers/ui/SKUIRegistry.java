@@ -4,7 +4,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.List;
+import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
@@ -42,6 +42,84 @@ public class SKUIRegistry extends AbstractTypeRegistry<@NonNull AbstractUIType>
 	private final Collection<? extends @NonNull SKUISession> uiSessionsView = Collections.unmodifiableCollection(
 			uiSessions.values()
 	);
+	// Indexes of the UI sessions. Empty entries are removed.
+	private final Map<@NonNull UIType, @NonNull IndexedSessions> uiSessionsByType = new HashMap<>();
+	private final Map<@NonNull Shopkeeper, @NonNull ShopkeeperSessions> uiSessionsByShopkeeper = new HashMap<>();
+
+	private static class IndexedSessions {
+
+		// Sessions in the order in which they were started:
+		private final Set<@NonNull SKUISession> sessions = new LinkedHashSet<>();
+
+		boolean isEmpty() {
+			return sessions.isEmpty();
+		}
+
+		void add(SKUISession session) {
+			sessions.add(session);
+		}
+
+		void remove(SKUISession session) {
+			sessions.remove(session);
+		}
+
+		// Returns a copy, since the entry is removed from the index once it is empty, and since
+		// callers might end the sessions while iterating them.
+		Collection<? extends @NonNull SKUISession> getSessions() {
+			return Collections.unmodifiableList(new ArrayList<>(sessions));
+		}
+	}
+
+	private static final class ShopkeeperSessions extends IndexedSessions {
+
+		private final Map<@NonNull UIType, @NonNull IndexedSessions> sessionsByType = new HashMap<>();
+
+		@Override
+		void add(SKUISession session) {
+			super.add(session);
+			addIndexedSession(sessionsByType, session.getUIType(), session);
+		}
+
+		@Override
+		void remove(SKUISession session) {
+			super.remove(session);
+			removeIndexedSession(sessionsByType, session.getUIType(), session);
+		}
+
+		Collection<? extends @NonNull SKUISession> getSessions(UIType uiType) {
+			return getIndexedSessions(sessionsByType, uiType);
+		}
+	}
+
+	private static <K> void addIndexedSession(
+			Map<@NonNull K, @NonNull IndexedSessions> index,
+			K key,
+			SKUISession session
+	) {
+		index.computeIfAbsent(key, k -> new IndexedSessions()).add(session);
+	}
+
+	private static <K> void removeIndexedSession(
+			Map<@NonNull K, @NonNull IndexedSessions> index,
+			K key,
+			SKUISession session
+	) {
+		IndexedSessions indexedSessions = index.get(key);
+		if (indexedSessions == null) return;
+		indexedSessions.remove(session);
+		if (indexedSessions.isEmpty()) {
+			index.remove(key);
+		}
+	}
+
+	private static <K> Collection<? extends @NonNull SKUISession> getIndexedSessions(
+			Map<@NonNull K, @NonNull IndexedSessions> index,
+			K key
+	) {
+		IndexedSessions indexedSessions = index.get(key);
+		if (indexedSessions == null) return Collections.emptyList();
+		return indexedSessions.getSessions();
+	}
 
 	public SKUIRegistry(ShopkeepersPlugin plugin) {
 		Validate.notNull(plugin, "plugin is null");
@@ -194,13 +272,9 @@ public class SKUIRegistry extends AbstractTypeRegistry<@NonNull AbstractUIType>
 	@Override
 	public Collection<? extends @NonNull SKUISession> getUISessions(Shopkeeper shopkeeper) {
 		Validate.notNull(shopkeeper, "shopkeeper is null");
-		List<@NonNull SKUISession> sessions = new ArrayList<>();
-		uiSessionsView.forEach(uiSession -> {
-			if (uiSession.getShopkeeper() == shopkeeper) {
-				sessions.add(uiSession);
-			}
-		});
-		return sessions;
+		ShopkeeperSessions shopkeeperSessions = uiSessionsByShopkeeper.get(shopkeeper);
+		if (shopkeeperSessions == null) return Collections.emptyList();
+		return shopkeeperSessions.getSessions();
 	}
 
 	@Override
@@ -210,25 +284,15 @@ public class SKUIRegistry extends AbstractTypeRegistry<@NonNull AbstractUIType>
 	) {
 		Validate.notNull(shopkeeper, "shopkeeper is null");
 		Validate.notNull(uiType, "uiType is null");
-		List<@NonNull SKUISession> sessions = new ArrayList<>();
-		uiSessionsView.forEach(uiSession -> {
-			if (uiSession.getShopkeeper() == shopkeeper && uiSession.getUIType() == uiType) {
-				sessions.add(uiSession);
-			}
-		});
-		return sessions;
+		ShopkeeperSessions shopkeeperSessions = uiSessionsByShopkeeper.get(shopkeeper);
+		if (shopkeeperSessions == null) return Collections.emptyList();
+		return shopkeeperSessions.getSessions(uiType);
 	}
 
 	@Override
 	public Collection<? extends @NonNull UISession> getUISessions(UIType uiType) {
 		Validate.notNull(uiType, "uiType is null");
-		List<@NonNull SKUISession> sessions = new ArrayList<>();
-		uiSessionsView.forEach(uiSession -> {
-			if (uiSession.getUIType() == uiType) {
-				sessions.add(uiSession);
-			}
-		});
-		return sessions;
+		return getIndexedSessions(uiSessionsByType, uiType);
 	}
 
 	@Override
@@ -268,12 +332,33 @@ public class SKUIRegistry extends AbstractTypeRegistry<@NonNull AbstractUIType>
 	}
 
 	private void onSessionStarted(SKUISession session) {
+		// Update the indexes:
+		addIndexedSession(uiSessionsByType, session.getUIType(), session);
+		AbstractShopkeeper shopkeeper = session.getShopkeeper();
+		if (shopkeeper != null) {
+			uiSessionsByShopkeeper.computeIfAbsent(shopkeeper, k -> new ShopkeeperSessions())
+					.add(session);
+		}
+
 		Log.debug(() -> "UI session '" + session.getUIType().getIdentifier()
 				+ "' started for player " + session.getPlayer().getName() + ".");
 	}
 
 	// closeEvent can be null.
 	private void onSessionEnded(SKUISession session, @Nullable InventoryCloseEvent closeEvent) {
+		// Update the indexes:
+		removeIndexedSession(uiSessionsByType, session.getUIType(), session);
+		AbstractShopkeeper shopkeeper = session.getShopkeeper();
+		if (shopkeeper != null) {
+			ShopkeeperSessions shopkeeperSessions = uiSessionsByShopkeeper.get(shopkeeper);
+			if (shopkeeperSessions != null) {
+				shopkeeperSessions.remove(session);
+				if (shopkeeperSessions.isEmpty()) {
+					uiSessionsByShopkeeper.remove(shopkeeper);
+				}
+			}
+		}
+
 		Log.debug(() -> "UI session '" + session.getUIType().getIdentifier()
 				+ "' ended for player " + session.getPlayer().getName() + ".");
 		session.onSessionEnd(); // Inform session
@@ -299,10 +384,8 @@ public class SKUIRegistry extends AbstractTypeRegistry<@NonNull AbstractUIType>
 
 	@Override
 	public void abortUISessions(Shopkeeper shopkeeper) {
-		// Note: The returned collection is already a copy.
-		this.getUISessions(shopkeeper).forEach(uiSession -> {
-			uiSession.abort();
-		});
+		// Returns a copy, so we can abort the sessions while iterating them:
+		this.getUISessions(shopkeeper).forEach(SKUISession::abort);
 	}
 
 	@Override
@@ -319,10 +402,6 @@ public class SKUIRegistry extends AbstractTypeRegistry<@NonNull AbstractUIType>
 
 	private void deactivateUIs(Shopkeeper shopkeeper) {
 		assert shopkeeper != null;
-		uiSessionsView.forEach(uiSession -> {
-			if (uiSession.getShopkeeper() == shopkeeper) {
-				uiSession.deactivateUI();
-			}
-		});
+		this.getUISessions(shopkeeper).forEach(SKUISession::deactivateUI);
 	}
 }
@@ -2,6 +2,7 @@ package com.nisovin.shopkeepers.ui.trading;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Set;
@@ -21,9 +22,11 @@ import org.bukkit.inventory.Merchant;
 import org.bukkit.inventory.MerchantInventory;
 import org.bukkit.inventory.MerchantRecipe;
 import org.bukkit.inventory.PlayerInventory;
+import org.bukkit.plugin.Plugin;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
+import com.nisovin.shopkeepers.SKShopkeepersPlugin;
 import com.nisovin.shopkeepers.api.ShopkeepersPlugin;
 import com.nisovin.shopkeepers.api.events.ShopkeeperTradeCompletedEvent;
 import com.nisovin.shopkeepers.api.events.ShopkeeperTradeEvent;
@@ -39,11 +42,14 @@ import com.nisovin.shopkeepers.currency.Currencies;
 import com.nisovin.shopkeepers.currency.Currency;
 import com.nisovin.shopkeepers.debug.Debug;
 import com.nisovin.shopkeepers.debug.DebugOptions;
+import com.nisovin.shopkeepers.debug.jfr.JfrEvents;
+import com.nisovin.shopkeepers.debug.jfr.TradeHandlingEvent;
 import com.nisovin.shopkeepers.lang.Messages;
 import com.nisovin.shopkeepers.shopkeeper.AbstractShopkeeper;
 import com.nisovin.shopkeepers.ui.AbstractShopkeeperUIHandler;
 import com.nisovin.shopkeepers.ui.AbstractUIType;
 import com.nisovin.shopkeepers.ui.SKDefaultUITypes;
+import com.nisovin.shopkeepers.ui.SKUISession;
 import com.nisovin.shopkeepers.ui.UIHandler;
 import com.nisovin.shopkeepers.ui.state.UIState;
 import com.nisovin.shopkeepers.util.annotations.ReadOnly;
@@ -51,12 +57,15 @@ import com.nisovin.shopkeepers.util.annotations.ReadWrite;
 import com.nisovin.shopkeepers.util.bukkit.ConfigUtils;
 import com.nisovin.shopkeepers.util.bukkit.MerchantUtils;
 import com.nisovin.shopkeepers.util.bukkit.PermissionUtils;
+import com.nisovin.shopkeepers.util.bukkit.SchedulerUtils;
 import com.nisovin.shopkeepers.util.bukkit.TextUtils;
 import com.nisovin.shopkeepers.util.inventory.InventoryUtils;
 import com.nisovin.shopkeepers.util.inventory.ItemUtils;
 import com.nisovin.shopkeepers.util.java.Lazy;
 import com.nisovin.shopkeepers.util.java.Validate;
 import com.nisovin.shopkeepers.util.logging.Log;
+import com.nisovin.shopkeepers.util.timer.Timer;
+import com.nisovin.shopkeepers.util.timer.Timings;
 
 public class TradingHandler extends AbstractShopkeeperUIHandler {
 
@@ -70,7 +79,18 @@ public class TradingHandler extends AbstractShopkeeperUIHandler {
 	protected static final int BUY_ITEM_2_SLOT_ID = 1;
 	protected static final int RESULT_ITEM_SLOT_ID = 2;
 
+	// Measures the handling of trading UI clicks across all trading handlers:
+	private static final Timer tradeHandlingTimings = new Timer();
+
+	public static Timings getTradeHandlingTimings() {
+		return tradeHandlingTimings;
+	}
+
 	private final List<@NonNull TradingListener> tradingListeners = new ArrayList<>();
+	// The number of trades that were applied during the handling of the current inventory click:
+	private int appliedTradesCount = 0;
+	// Whether an update of the trades of all trading players is pending:
+	private boolean tradesUpdatePending = false;
 
 	public TradingHandler(AbstractUIType uiType, AbstractShopkeeper shopkeeper) {
 		super(uiType, shopkeeper);
@@ -193,10 +213,76 @@ public class TradingHandler extends AbstractShopkeeperUIHandler {
 		return Messages.tradingTitlePrefix + title;
 	}
 
+	/**
+	 * Requests an update of the trades of all players that are currently trading via this handler,
+	 * for example because the stock of the shopkeeper might have changed.
+	 * <p>
+	 * All requests within the same tick are coalesced into a single update during the next tick.
+	 * If the {@link #hasPlayerSpecificTradingRecipes() trading recipes are not player-specific},
+	 * they are only determined once for all trading players. The trades are only sent again to the
+	 * players whose trades actually changed.
+	 */
+	public final void requestTradesUpdate() {
+		if (tradesUpdatePending) return;
+
+		tradesUpdatePending = true;
+		Plugin plugin = ShopkeepersPlugin.getInstance();
+		if (SchedulerUtils.runTaskOrOmit(plugin, this::updateAllTrades) == null) {
+			tradesUpdatePending = false; // The plugin is disabled
+		}
+	}
+
+	/**
+	 * Checks whether the {@link Shopkeeper#getTradingRecipes(Player) trading recipes} of the
+	 * shopkeeper can differ between players.
+	 * <p>
+	 * If this returns <code>false</code>, a {@link #requestTradesUpdate() trades update} only
+	 * determines the trading recipes once and then shares them across all trading players.
+	 * 
+	 * @return <code>true</code> if the trading recipes can be player-specific
+	 */
+	protected boolean hasPlayerSpecificTradingRecipes() {
+		return true;
+	}
+
+	private void updateAllTrades() {
+		tradesUpdatePending = false;
+
+		Shopkeeper shopkeeper = this.getShopkeeper();
+		Collection<? extends @NonNull SKUISession> uiSessions = SKShopkeepersPlugin.getInstance()
+				.getUIRegistry()
+				.getUISessions(shopkeeper, this.getUIType());
+		if (uiSessions.isEmpty()) return;
+
+		boolean playerSpecificRecipes = this.hasPlayerSpecificTradingRecipes();
+		@Nullable List<? extends @NonNull TradingRecipe> sharedRecipes = null; // Lazily determined
+		for (SKUISession uiSession : uiSessions) {
+			Player player = uiSession.getPlayer();
+			// Also checks that the session is handled by this handler:
+			if (!this.isOpen(player)) continue;
+
+			List<? extends @NonNull TradingRecipe> recipes = sharedRecipes;
+			if (recipes == null) {
+				recipes = shopkeeper.getTradingRecipes(player);
+				if (!playerSpecificRecipes) {
+					sharedRecipes = recipes;
+				}
+			}
+			this.updateTrades(player, recipes);
+		}
+	}
+
 	protected void updateTrades(Player player) {
 		// Check if the currently open inventory still corresponds to this UI:
 		if (!this.isOpen(player)) return;
 
+		Shopkeeper shopkeeper = this.getShopkeeper();
+		List<? extends @NonNull TradingRecipe> recipes = shopkeeper.getTradingRecipes(player);
+		this.updateTrades(player, recipes);
+	}
+
+	private void updateTrades(Player player, List<? extends @NonNull TradingRecipe> recipes) {
+		assert this.isOpen(player);
 		InventoryView openInventory = player.getOpenInventory();
 		assert openInventory.getType() == InventoryType.MERCHANT;
 		MerchantInventory merchantInventory = (MerchantInventory) openInventory.getTopInventory();
@@ -204,7 +290,6 @@ public class TradingHandler extends AbstractShopkeeperUIHandler {
 		@NonNull List<@NonNull MerchantRecipe> oldMerchantRecipes = Unsafe.cast(merchant.getRecipes());
 
 		Shopkeeper shopkeeper = this.getShopkeeper();
-		List<? extends @NonNull TradingRecipe> recipes = shopkeeper.getTradingRecipes(player);
 		List<@NonNull MerchantRecipe> newMerchantRecipes = this.createMerchantRecipes(recipes);
 		if (MerchantUtils.MERCHANT_RECIPES_IGNORE_USES_EXCEPT_BLOCKED.equals(
 				oldMerchantRecipes,
@@ -337,6 +422,31 @@ public class TradingHandler extends AbstractShopkeeperUIHandler {
 	@Override
 	protected void onInventoryClickLate(UISession uiSession, InventoryClickEvent clickEvent) {
 		assert uiSession != null && clickEvent != null;
+		TradeHandlingEvent jfrEvent = null;
+		if (JfrEvents.isEnabled()) {
+			Shopkeeper shopkeeper = this.getShopkeeper();
+			jfrEvent = new TradeHandlingEvent(
+					shopkeeper.getId(),
+					shopkeeper.getUniqueId().toString(),
+					uiSession.getPlayer().getName()
+			);
+			jfrEvent.begin();
+		}
+		appliedTradesCount = 0;
+		tradeHandlingTimings.start();
+		try {
+			this.handleInventoryClick(uiSession, clickEvent);
+		} finally {
+			tradeHandlingTimings.stop();
+			if (jfrEvent != null) {
+				jfrEvent.setTradeCount(appliedTradesCount);
+				jfrEvent.commit();
+			}
+		}
+	}
+
+	private void handleInventoryClick(UISession uiSession, InventoryClickEvent clickEvent) {
+		assert uiSession != null && clickEvent != null;
 
 		// Inform listeners:
 		tradingListeners.forEach(listener -> listener.onInventoryClick(uiSession, clickEvent));
@@ -886,6 +996,8 @@ public class TradingHandler extends AbstractShopkeeperUIHandler {
 	}
 
 	private void commonApplyTrade(Trade trade) {
+		appliedTradesCount++;
+
 		// Update merchant inventory contents:
 		MerchantInventory merchantInventory = trade.getMerchantInventory();
 		merchantInventory.setItem(RESULT_ITEM_SLOT_ID, null); // Clear result slot, just in case
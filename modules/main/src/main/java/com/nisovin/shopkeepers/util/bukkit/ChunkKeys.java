@@ -0,0 +1,41 @@
+package com.nisovin.shopkeepers.util.bukkit;
+
+import org.bukkit.Chunk;
+
+import com.nisovin.shopkeepers.api.util.ChunkCoords;
+
+/**
+ * Helpers to pack chunk coordinates into a single primitive {@code long} key.
+ * <p>
+ * The chunk x coordinate is stored in the upper, and the chunk z coordinate in the lower 32 bits of
+ * the key. The key does not include the chunk's world.
+ */
+public final class ChunkKeys {
+
+	public static long of(int chunkX, int chunkZ) {
+		return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+	}
+
+	public static long of(ChunkCoords chunkCoords) {
+		return of(chunkCoords.getChunkX(), chunkCoords.getChunkZ());
+	}
+
+	public static long of(Chunk chunk) {
+		return of(chunk.getX(), chunk.getZ());
+	}
+
+	public static long fromBlock(int blockX, int blockZ) {
+		return of(ChunkCoords.fromBlock(blockX), ChunkCoords.fromBlock(blockZ));
+	}
+
+	public static int getChunkX(long chunkKey) {
+		return (int) (chunkKey >> 32);
+	}
+
+	public static int getChunkZ(long chunkKey) {
+		return (int) chunkKey;
+	}
+
+	private ChunkKeys() {
+	}
+}
@@ -27,6 +27,7 @@ import com.nisovin.shopkeepers.api.util.UnmodifiableItemStack;
 import com.nisovin.shopkeepers.compat.NMSManager;
 import com.nisovin.shopkeepers.spigot.text.SpigotText;
 import com.nisovin.shopkeepers.text.HoverEventText;
+import com.nisovin.shopkeepers.text.MessageTemplate;
 import com.nisovin.shopkeepers.text.Text;
 import com.nisovin.shopkeepers.text.TextBuilder;
 import com.nisovin.shopkeepers.util.annotations.ReadOnly;
@@ -517,6 +518,12 @@ public final class TextUtils {
 		SpigotText.sendMessage(recipient, message);
 	}
 
+	// Reuses the cached Text of the bound message.
+	public static void sendMessage(CommandSender recipient, MessageTemplate.Bound message) {
+		Validate.notNull(message, "message is null");
+		sendMessage(recipient, message.toText());
+	}
+
 	public static void sendMessage(
 			CommandSender recipient,
 			Text message,
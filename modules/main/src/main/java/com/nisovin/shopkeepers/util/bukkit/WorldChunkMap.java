@@ -0,0 +1,153 @@
+package com.nisovin.shopkeepers.util.bukkit;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import org.bukkit.Chunk;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import com.nisovin.shopkeepers.api.util.ChunkCoords;
+import com.nisovin.shopkeepers.util.java.LongObjectHashMap;
+import com.nisovin.shopkeepers.util.java.Validate;
+
+/**
+ * Maps chunks to values.
+ * <p>
+ * The chunks are grouped by world, and the chunks of each world are stored in a
+ * {@link LongObjectHashMap} with {@link ChunkKeys packed chunk coordinates} as keys. In contrast to
+ * a map with {@link ChunkCoords} keys, lookups do not require the construction or mutation of
+ * {@link ChunkCoords} objects, and only require to resolve the world once, instead of hashing and
+ * comparing the world name for every chunk lookup.
+ * <p>
+ * Since chunk events and the processing of chunks are usually clustered by world, the chunk map of
+ * the most recently accessed world is cached.
+ *
+ * @param <V>
+ *            the value type
+ */
+public final class WorldChunkMap<V> {
+
+	private final Map<@NonNull String, @NonNull LongObjectHashMap<@NonNull V>> worlds = new HashMap<>();
+	private int size = 0;
+
+	// Cache of the most recently accessed world:
+	private @Nullable String lastWorldName = null;
+	private @Nullable LongObjectHashMap<@NonNull V> lastWorldChunks = null;
+
+	public WorldChunkMap() {
+	}
+
+	/**
+	 * Gets the chunk map of the specified world.
+	 * <p>
+	 * The returned map is not supposed to be modified.
+	 *
+	 * @param worldName
+	 *            the world name
+	 * @return the chunk map, or <code>null</code> if there are no chunk entries for the world
+	 */
+	public @Nullable LongObjectHashMap<@NonNull V> getWorldChunks(String worldName) {
+		// The world name strings are usually the same instances:
+		String lastWorldName = this.lastWorldName;
+		if (worldName == lastWorldName) {
+			return lastWorldChunks;
+		}
+
+		LongObjectHashMap<@NonNull V> worldChunks = worlds.get(worldName);
+		if (worldChunks != null) {
+			this.lastWorldName = worldName;
+			this.lastWorldChunks = worldChunks;
+		}
+		return worldChunks;
+	}
+
+	private void invalidateWorldCache() {
+		lastWorldName = null;
+		lastWorldChunks = null;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public boolean isEmpty() {
+		return (size == 0);
+	}
+
+	public @Nullable V get(String worldName, long chunkKey) {
+		LongObjectHashMap<@NonNull V> worldChunks = this.getWorldChunks(worldName);
+		if (worldChunks == null) return null;
+		return worldChunks.get(chunkKey);
+	}
+
+	public @Nullable V get(String worldName, int chunkX, int chunkZ) {
+		return this.get(worldName, ChunkKeys.of(chunkX, chunkZ));
+	}
+
+	public @Nullable V get(ChunkCoords chunkCoords) {
+		return this.get(chunkCoords.getWorldName(), ChunkKeys.of(chunkCoords));
+	}
+
+	public @Nullable V get(Chunk chunk) {
+		return this.get(chunk.getWorld().getName(), ChunkKeys.of(chunk));
+	}
+
+	public @Nullable V put(String worldName, long chunkKey, @NonNull V value) {
+		Validate.notNull(worldName, "worldName is null");
+		LongObjectHashMap<@NonNull V> worldChunks = this.getWorldChunks(worldName);
+		if (worldChunks == null) {
+			worldChunks = new LongObjectHashMap<>();
+			worlds.put(worldName, worldChunks);
+			this.invalidateWorldCache();
+		}
+		V oldValue = worldChunks.put(chunkKey, value);
+		if (oldValue == null) {
+			size++;
+		}
+		return oldValue;
+	}
+
+	public @Nullable V put(ChunkCoords chunkCoords, @NonNull V value) {
+		return this.put(chunkCoords.getWorldName(), ChunkKeys.of(chunkCoords), value);
+	}
+
+	public @Nullable V remove(String worldName, long chunkKey) {
+		LongObjectHashMap<@NonNull V> worldChunks = this.getWorldChunks(worldName);
+		if (worldChunks == null) return null;
+
+		V oldValue = worldChunks.remove(chunkKey);
+		if (oldValue != null) {
+			size--;
+			if (worldChunks.isEmpty()) {
+				worlds.remove(worldName);
+				this.invalidateWorldCache();
+			}
+		}
+		return oldValue;
+	}
+
+	public @Nullable V remove(ChunkCoords chunkCoords) {
+		return this.remove(chunkCoords.getWorldName(), ChunkKeys.of(chunkCoords));
+	}
+
+	public void clear() {
+		worlds.clear();
+		size = 0;
+		this.invalidateWorldCache();
+	}
+
+	/**
+	 * Invokes the given action for each value of this map.
+	 * <p>
+	 * The map is not allowed to be modified by the action.
+	 *
+	 * @param action
+	 *            the action
+	 */
+	public void forEachValue(Consumer<? super @NonNull V> action) {
+		Validate.notNull(action, "action is null");
+		worlds.values().forEach(worldChunks -> worldChunks.forEachValue(action));
+	}
+}
@@ -0,0 +1,142 @@
+package com.nisovin.shopkeepers.util.inventory;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.checkerframework.checker.nullness.qual.PolyNull;
+
+import com.nisovin.shopkeepers.api.util.UnmodifiableItemStack;
+import com.nisovin.shopkeepers.util.java.LongObjectHashMap;
+
+/**
+ * A pool of shared {@link UnmodifiableItemStack} instances.
+ * <p>
+ * Offers and trading recipes frequently reference equal items, such as the currency items or the
+ * same enchanted books. By {@link #intern(UnmodifiableItemStack) interning} these items, all equal
+ * items share the same item stack instance. This reduces the memory usage of large numbers of
+ * offers, and comparisons of an interned item with itself can return early.
+ * <p>
+ * The pool only weakly references its items: Once an interned item is no longer used anywhere, it
+ * is removed from the pool again after it has been garbage collected.
+ * <p>
+ * This class is thread-safe.
+ */
+public final class ItemInterner {
+
+	private static final class InternedItem extends WeakReference<@NonNull SKUnmodifiableItemStack> {
+
+		private final int hash;
+		// The next entry with the same hash, or null:
+		private @Nullable InternedItem next;
+
+		InternedItem(
+				SKUnmodifiableItemStack item,
+				int hash,
+				ReferenceQueue<? super @NonNull SKUnmodifiableItemStack> queue
+		) {
+			super(item, queue);
+			this.hash = hash;
+		}
+	}
+
+	private static final Object lock = new Object();
+	// Interned items by hash code. Entries with the same hash code are chained.
+	private static final LongObjectHashMap<@NonNull InternedItem> items = new LongObjectHashMap<>();
+	private static final ReferenceQueue<@NonNull SKUnmodifiableItemStack> collectedItems = new ReferenceQueue<>();
+	private static int size = 0;
+
+	/**
+	 * Gets the shared instance of the given item.
+	 * <p>
+	 * If the pool does not yet contain an item that is {@link UnmodifiableItemStack#equals(Object)
+	 * equal} to the given item, this adds a copy of the given item to the pool. The pool stores a
+	 * copy so that the shared instance is not affected if the item stack that underlies the given
+	 * unmodifiable item stack is modified later.
+	 * <p>
+	 * Item stacks that are not provided by this plugin are returned unchanged.
+	 * 
+	 * @param item
+	 *            the item, can be <code>null</code>
+	 * @return the shared instance of the item, or <code>null</code> if the given item is
+	 *         <code>null</code>
+	 */
+	public static @PolyNull UnmodifiableItemStack intern(@PolyNull UnmodifiableItemStack item) {
+		if (!(item instanceof SKUnmodifiableItemStack)) return item;
+		SKUnmodifiableItemStack skItem = (SKUnmodifiableItemStack) item;
+		if (skItem.isInterned()) return skItem;
+
+		// Note: This is relatively costly for items with item meta. We therefore determine the
+		// hash code outside the lock.
+		int hash = skItem.hashCode();
+		synchronized (lock) {
+			expungeCollectedItems();
+
+			InternedItem head = items.get(hash);
+			for (InternedItem entry = head; entry != null; entry = entry.next) {
+				SKUnmodifiableItemStack internedItem = entry.get();
+				if (internedItem != null && internedItem.equals(skItem)) {
+					return internedItem;
+				}
+			}
+
+			// Not found: Add a copy of the item to the pool.
+			UnmodifiableItemStack copy = UnmodifiableItemStack.ofNonNull(skItem.copy());
+			SKUnmodifiableItemStack internedItem = (SKUnmodifiableItemStack) copy;
+			internedItem.setInterned();
+			InternedItem entry = new InternedItem(internedItem, hash, collectedItems);
+			entry.next = head;
+			items.put(hash, entry);
+			size++;
+			return internedItem;
+		}
+	}
+
+	/**
+	 * Gets the number of items that are currently interned.
+	 * <p>
+	 * This may include items that have already been garbage collected, but have not yet been
+	 * removed from the pool.
+	 * 
+	 * @return the number of interned items
+	 */
+	public static int getSize() {
+		synchronized (lock) {
+			expungeCollectedItems();
+			return size;
+		}
+	}
+
+	// Removes the entries of garbage collected items.
+	private static void expungeCollectedItems() {
+		assert Thread.holdsLock(lock);
+		Reference<? extends @NonNull SKUnmodifiableItemStack> reference;
+		while ((reference = collectedItems.poll()) != null) {
+			InternedItem collectedEntry = (InternedItem) reference;
+			int hash = collectedEntry.hash;
+			InternedItem head = items.get(hash);
+			InternedItem previous = null;
+			for (InternedItem entry = head; entry != null; entry = entry.next) {
+				if (entry != collectedEntry) {
+					previous = entry;
+					continue;
+				}
+
+				if (previous != null) {
+					previous.next = entry.next;
+				} else if (entry.next != null) {
+					items.put(hash, entry.next);
+				} else {
+					items.remove(hash);
+				}
+				size--;
+				break;
+			}
+		}
+	}
+
+	private ItemInterner() {
+	}
+}
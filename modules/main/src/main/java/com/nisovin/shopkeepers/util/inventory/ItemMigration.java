@@ -1,18 +1,59 @@
 package com.nisovin.shopkeepers.util.inventory;
 
+import java.util.HashMap;
+import java.util.Map;
+
 import org.bukkit.Bukkit;
 import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.ItemStack;
+import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 import com.nisovin.shopkeepers.api.util.UnmodifiableItemStack;
+import com.nisovin.shopkeepers.debug.DebugOptions;
 import com.nisovin.shopkeepers.util.annotations.ReadOnly;
 import com.nisovin.shopkeepers.util.java.Validate;
+import com.nisovin.shopkeepers.util.logging.Log;
 
 public final class ItemMigration {
 
 	private static @Nullable Inventory DUMMY_INVENTORY = null;
 
+	// The results of the item migrations while the cache is enabled, or null if the cache is
+	// disabled: The migration of an item only depends on the item's data. Equal items therefore
+	// only need to be migrated once.
+	private static @Nullable Map<@NonNull UnmodifiableItemStack, @NonNull UnmodifiableItemStack> migrationCache = null;
+	private static int migrationCacheHits = 0;
+
+	/**
+	 * Enables the caching of the results of {@link #migrateItemStack(UnmodifiableItemStack) item
+	 * migrations}.
+	 * <p>
+	 * This is meant to be used when lots of items are migrated at once, e.g. when loading the
+	 * shopkeepers, which frequently involves many equal items. The cache has to be
+	 * {@link #disableCache() disabled} again afterwards in order to free the cached items.
+	 */
+	public static void enableCache() {
+		Validate.State.isTrue(migrationCache == null, "The cache is already enabled!");
+		migrationCache = new HashMap<>();
+		migrationCacheHits = 0;
+	}
+
+	/**
+	 * Disables the cache that was enabled by {@link #enableCache()} and clears the cached items.
+	 */
+	public static void disableCache() {
+		Map<@NonNull UnmodifiableItemStack, @NonNull UnmodifiableItemStack> cache = migrationCache;
+		if (cache == null) return;
+
+		int migratedItems = cache.size();
+		int cacheHits = migrationCacheHits;
+		Log.debug(DebugOptions.itemMigrations, () -> "Item migrations: " + migratedItems
+				+ " distinct items migrated, " + cacheHits + " migrations reused.");
+		migrationCache = null;
+		migrationCacheHits = 0;
+	}
+
 	// Use oldItemStack.isSimilar(migratedItemStack) to test if the item was migrated.
 	public static @Nullable ItemStack migrateItemStack(@ReadOnly @Nullable ItemStack itemStack) {
 		if (itemStack == null) return null;
@@ -31,10 +72,28 @@ public final class ItemMigration {
 		return convertedItemStack;
 	}
 
+	// If the cache is enabled, equal items are only migrated once.
 	public static @Nullable UnmodifiableItemStack migrateItemStack(
 			@Nullable UnmodifiableItemStack itemStack
 	) {
-		return UnmodifiableItemStack.of(migrateItemStack(ItemUtils.asItemStackOrNull(itemStack)));
+		if (itemStack == null) return null;
+		Map<@NonNull UnmodifiableItemStack, @NonNull UnmodifiableItemStack> cache = migrationCache;
+		if (cache != null) {
+			UnmodifiableItemStack migratedItemStack = cache.get(itemStack);
+			if (migratedItemStack != null) {
+				migrationCacheHits++;
+				return migratedItemStack;
+			}
+		}
+
+		UnmodifiableItemStack migratedItemStack = UnmodifiableItemStack.of(
+				migrateItemStack(itemStack.asItemStack())
+		);
+		// Failed migrations are not cached:
+		if (cache != null && migratedItemStack != null) {
+			cache.put(itemStack, migratedItemStack);
+		}
+		return migratedItemStack;
 	}
 
 	public static ItemStack migrateNonNullItemStack(@ReadOnly ItemStack itemStack) {
@@ -49,6 +49,8 @@ public class SKUnmodifiableItemStack extends ItemStack implements UnmodifiableIt
 	// ----
 
 	private final ItemStack delegate;
+	// Whether this is the shared instance of an item that has been interned by the ItemInterner:
+	private boolean interned = false;
 
 	private SKUnmodifiableItemStack(@ReadOnly ItemStack itemStack) {
 		assert itemStack != null;
@@ -56,6 +58,14 @@ public class SKUnmodifiableItemStack extends ItemStack implements UnmodifiableIt
 		this.delegate = itemStack;
 	}
 
+	boolean isInterned() {
+		return interned;
+	}
+
+	void setInterned() {
+		this.interned = true;
+	}
+
 	/**
 	 * Gets the underlying {@link ItemStack}.
 	 * <p>
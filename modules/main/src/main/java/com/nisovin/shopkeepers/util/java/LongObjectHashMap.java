@@ -0,0 +1,271 @@
+package com.nisovin.shopkeepers.util.java;
+
+import java.util.ConcurrentModificationException;
+import java.util.function.Consumer;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import com.nisovin.shopkeepers.api.internal.util.Unsafe;
+
+/**
+ * A hash map with primitive {@code long} keys and non-null values.
+ * <p>
+ * This map uses open addressing with linear probing and stores its keys in a primitive array. In
+ * contrast to a {@link java.util.HashMap} with boxed or composite keys, lookups, insertions, and
+ * removals do not allocate any objects (apart from the occasional resizing of the internal
+ * arrays).
+ * <p>
+ * The iteration order is unspecified. This map is not thread-safe.
+ *
+ * @param <V>
+ *            the value type
+ */
+public final class LongObjectHashMap<V> {
+
+	private static final int DEFAULT_CAPACITY = 16;
+	// A low load factor keeps the probe sequences short:
+	private static final float LOAD_FACTOR = 0.5F;
+
+	private long[] keys;
+	// Null values mark unused slots:
+	private @Nullable Object[] values;
+	private int mask;
+	private int size = 0;
+	private int resizeThreshold;
+	// Used to detect concurrent modifications during iterations:
+	private int modCount = 0;
+
+	/**
+	 * Creates a new and empty {@link LongObjectHashMap}.
+	 */
+	public LongObjectHashMap() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Creates a new and empty {@link LongObjectHashMap} with the given expected number of entries.
+	 *
+	 * @param expectedSize
+	 *            the expected number of entries
+	 */
+	public LongObjectHashMap(int expectedSize) {
+		Validate.isTrue(expectedSize >= 0, "expectedSize cannot be negative");
+		int capacity = getCapacity(expectedSize);
+		this.keys = new long[capacity];
+		this.values = new @Nullable Object[capacity];
+		this.mask = capacity - 1;
+		this.resizeThreshold = (int) (capacity * LOAD_FACTOR);
+	}
+
+	// Returns a power of two that can hold the given number of entries without exceeding the load
+	// factor.
+	private static int getCapacity(int expectedSize) {
+		int minCapacity = (int) Math.ceil(expectedSize / LOAD_FACTOR) + 1;
+		int capacity = Math.max(DEFAULT_CAPACITY, Integer.highestOneBit(minCapacity - 1) << 1);
+		Validate.State.isTrue(capacity > 0, "expectedSize is too large");
+		return capacity;
+	}
+
+	private static int hash(long key) {
+		// Spreads the bits of the key (Fibonacci hashing):
+		long hash = key * 0x9E3779B97F4A7C15L;
+		return (int) (hash ^ (hash >>> 32));
+	}
+
+	private int indexOf(long key) {
+		int index = hash(key) & mask;
+		@Nullable Object value;
+		while ((value = values[index]) != null) {
+			if (keys[index] == key) return index;
+			index = (index + 1) & mask;
+		}
+		return -1;
+	}
+
+	/**
+	 * Gets the number of entries in this map.
+	 *
+	 * @return the number of entries
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Checks if this map is empty.
+	 *
+	 * @return <code>true</code> if empty
+	 */
+	public boolean isEmpty() {
+		return (size == 0);
+	}
+
+	/**
+	 * Checks if this map contains an entry for the given key.
+	 *
+	 * @param key
+	 *            the key
+	 * @return <code>true</code> if there is an entry for the key
+	 */
+	public boolean containsKey(long key) {
+		return (this.indexOf(key) != -1);
+	}
+
+	/**
+	 * Gets the value that is mapped to the given key.
+	 *
+	 * @param key
+	 *            the key
+	 * @return the value, or <code>null</code> if there is no value for the key
+	 */
+	public @Nullable V get(long key) {
+		int index = hash(key) & mask;
+		@Nullable Object value;
+		while ((value = values[index]) != null) {
+			if (keys[index] == key) return Unsafe.cast(value);
+			index = (index + 1) & mask;
+		}
+		return null;
+	}
+
+	/**
+	 * Maps the given value to the given key.
+	 *
+	 * @param key
+	 *            the key
+	 * @param value
+	 *            the value, not <code>null</code>
+	 * @return the previous value, or <code>null</code> if there was no value for the key
+	 */
+	public @Nullable V put(long key, @NonNull V value) {
+		Validate.notNull(value, "value is null");
+		int index = hash(key) & mask;
+		@Nullable Object oldValue;
+		while ((oldValue = values[index]) != null) {
+			if (keys[index] == key) {
+				values[index] = value;
+				return Unsafe.cast(oldValue);
+			}
+			index = (index + 1) & mask;
+		}
+
+		keys[index] = key;
+		values[index] = value;
+		size++;
+		modCount++;
+		if (size > resizeThreshold) {
+			this.resize(keys.length << 1);
+		}
+		return null;
+	}
+
+	/**
+	 * Removes the entry for the given key.
+	 *
+	 * @param key
+	 *            the key
+	 * @return the removed value, or <code>null</code> if there was no value for the key
+	 */
+	public @Nullable V remove(long key) {
+		int index = this.indexOf(key);
+		if (index == -1) return null;
+
+		Object oldValue = Unsafe.assertNonNull(values[index]);
+		this.removeAt(index);
+		size--;
+		modCount++;
+		return Unsafe.cast(oldValue);
+	}
+
+	// Removes the entry at the given index and shifts subsequent entries of the same probe
+	// sequence backwards, so that lookups do not require any tombstones.
+	private void removeAt(int index) {
+		int freeIndex = index;
+		int currentIndex = (index + 1) & mask;
+		while (values[currentIndex] != null) {
+			int idealIndex = hash(keys[currentIndex]) & mask;
+			// Move the entry into the free slot if the free slot is located (cyclically) between
+			// the entry's ideal slot and its current slot:
+			if (((currentIndex - idealIndex) & mask) >= ((currentIndex - freeIndex) & mask)) {
+				keys[freeIndex] = keys[currentIndex];
+				values[freeIndex] = values[currentIndex];
+				freeIndex = currentIndex;
+			}
+			currentIndex = (currentIndex + 1) & mask;
+		}
+		values[freeIndex] = null;
+	}
+
+	private void resize(int newCapacity) {
+		long[] oldKeys = keys;
+		@Nullable Object[] oldValues = values;
+		keys = new long[newCapacity];
+		values = new @Nullable Object[newCapacity];
+		mask = newCapacity - 1;
+		resizeThreshold = (int) (newCapacity * LOAD_FACTOR);
+
+		for (int i = 0; i < oldValues.length; i++) {
+			Object value = oldValues[i];
+			if (value == null) continue;
+
+			long key = oldKeys[i];
+			int index = hash(key) & mask;
+			while (values[index] != null) {
+				index = (index + 1) & mask;
+			}
+			keys[index] = key;
+			values[index] = value;
+		}
+	}
+
+	/**
+	 * Removes all entries from this map.
+	 */
+	public void clear() {
+		if (size == 0) return;
+		for (int i = 0; i < values.length; i++) {
+			values[i] = null;
+		}
+		size = 0;
+		modCount++;
+	}
+
+	/**
+	 * Invokes the given action for each value of this map.
+	 * <p>
+	 * The map is not allowed to be modified by the action.
+	 *
+	 * @param action
+	 *            the action
+	 * @throws ConcurrentModificationException
+	 *             if the map is modified during the iteration
+	 */
+	public void forEachValue(Consumer<? super @NonNull V> action) {
+		Validate.notNull(action, "action is null");
+		if (size == 0) return;
+
+		int expectedModCount = modCount;
+		@Nullable Object[] values = this.values;
+		for (int i = 0; i < values.length; i++) {
+			Object value = values[i];
+			if (value == null) continue;
+
+			action.accept(Unsafe.cast(value));
+			if (modCount != expectedModCount) {
+				throw new ConcurrentModificationException();
+			}
+		}
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder();
+		builder.append("LongObjectHashMap [size=");
+		builder.append(size);
+		builder.append(", capacity=");
+		builder.append(keys.length);
+		builder.append("]");
+		return builder.toString();
+	}
+}
@@ -2,7 +2,6 @@ package com.nisovin.shopkeepers.util.java;
 
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -319,10 +318,11 @@ public final class StringUtils {
 		return result.toString();
 	}
 
-	// Singleton for reuse:
-	private static final ArgumentsReplacer ARGUMENTS_REPLACER = new ArgumentsReplacer();
-	private static final Map<@NonNull String, @NonNull Object> TEMP_ARGUMENTS_MAP = new HashMap<>();
-	private static final MessageArguments TEMP_ARGUMENTS = MessageArguments.ofMap(TEMP_ARGUMENTS_MAP);
+	// Reused per thread, so that arguments can also be replaced off the main thread:
+	@SuppressWarnings("nullness:type.argument")
+	private static final ThreadLocal<@NonNull ArgumentsReplacer> REPLACER = ThreadLocal.withInitial(
+			ArgumentsReplacer::new
+	);
 
 	// Arguments format: [key1, value1, key2, value2, ...]
 	// The keys are expected to be of type String.
@@ -344,13 +344,7 @@ public final class StringUtils {
 	}
 
 	public static String replaceArguments(String source, @NonNull Object... argumentPairs) {
-		assert TEMP_ARGUMENTS_MAP.isEmpty();
-		try {
-			addArgumentsToMap(TEMP_ARGUMENTS_MAP, argumentPairs);
-			return replaceArguments(source, TEMP_ARGUMENTS);
-		} finally {
-			TEMP_ARGUMENTS_MAP.clear(); // Reset
-		}
+		return replaceArguments(source, MessageArguments.ofPairs(argumentPairs));
 	}
 
 	// The replaced keys use the format {key} (braces are not specified in the argument keys).
@@ -364,7 +358,8 @@ public final class StringUtils {
 	}
 
 	public static String replaceArguments(String source, MessageArguments arguments) {
-		return ARGUMENTS_REPLACER.replaceArguments(source, arguments); // Checks arguments
+		// Checks arguments:
+		return REPLACER.get().replaceArguments(source, arguments);
 	}
 
 	// Creates and returns a new List:
@@ -372,13 +367,7 @@ public final class StringUtils {
 			Collection<? extends @NonNull String> messages,
 			@NonNull Object... argumentPairs
 	) {
-		assert TEMP_ARGUMENTS_MAP.isEmpty();
-		try {
-			addArgumentsToMap(TEMP_ARGUMENTS_MAP, argumentPairs);
-			return replaceArguments(messages, TEMP_ARGUMENTS_MAP);
-		} finally {
-			TEMP_ARGUMENTS_MAP.clear(); // Reset
-		}
+		return replaceArguments(messages, MessageArguments.ofPairs(argumentPairs));
 	}
 
 	// Creates and returns a new List:
@@ -24,6 +24,33 @@ final class CommonMessageArguments {
 		}
 	}
 
+	static class PairsMessageArguments implements MessageArguments {
+
+		private final @NonNull Object[] argumentPairs;
+
+		public PairsMessageArguments(@NonNull Object[] argumentPairs) {
+			Validate.notNull(argumentPairs, "argumentPairs is null");
+			Validate.isTrue(argumentPairs.length % 2 == 0,
+					"Length of argumentPairs is not a multiple of 2");
+			for (int i = 0; i < argumentPairs.length; i += 2) {
+				Validate.isTrue(argumentPairs[i] instanceof String,
+						"argumentPairs contains a key that is not a String");
+			}
+			this.argumentPairs = argumentPairs;
+		}
+
+		@Override
+		public @Nullable Object get(String key) {
+			// Later arguments replace earlier arguments with the same key:
+			for (int i = argumentPairs.length - 2; i >= 0; i -= 2) {
+				if (key.equals(argumentPairs[i])) {
+					return argumentPairs[i + 1];
+				}
+			}
+			return null;
+		}
+	}
+
 	static class CombinedMessageArguments implements MessageArguments {
 
 		private final MessageArguments first;
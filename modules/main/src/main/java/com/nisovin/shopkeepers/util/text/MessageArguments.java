@@ -9,6 +9,7 @@ import org.checkerframework.checker.nullness.qual.Nullable;
 import com.nisovin.shopkeepers.util.java.Validate;
 import com.nisovin.shopkeepers.util.text.CommonMessageArguments.CombinedMessageArguments;
 import com.nisovin.shopkeepers.util.text.CommonMessageArguments.MapMessageArguments;
+import com.nisovin.shopkeepers.util.text.CommonMessageArguments.PairsMessageArguments;
 import com.nisovin.shopkeepers.util.text.CommonMessageArguments.PrefixedMessageArguments;
 
 /**
@@ -30,6 +31,27 @@ public interface MessageArguments {
 		return new MapMessageArguments(arguments);
 	}
 
+	/**
+	 * Creates a {@link MessageArguments} that is backed by the given array of key-value pairs.
+	 * <p>
+	 * Unlike a {@link #ofMap(Map) Map-based} {@link MessageArguments}, this does not require any
+	 * intermediate Map and can therefore safely be used by multiple threads at the same time. The
+	 * lookup of arguments is linear in the number of arguments, which is fast for the small number
+	 * of arguments that messages usually use. If the same key is specified more than once, the last
+	 * argument for that key is used.
+	 * <p>
+	 * The returned {@link MessageArguments} is a view on the given array: It dynamically reflects
+	 * changes to the array.
+	 * 
+	 * @param argumentPairs
+	 *            an array that pairwise contains keys (of type String) and their arguments in the
+	 *            format <code>[key1, value1, key2, value2, ...]</code>, not <code>null</code>
+	 * @return the {@link MessageArguments}
+	 */
+	public static MessageArguments ofPairs(@NonNull Object... argumentPairs) {
+		return new PairsMessageArguments(argumentPairs);
+	}
+
 	// ----
 
 	/**
@@ -0,0 +1,236 @@
+package com.nisovin.shopkeepers.util.timer;
+
+import java.util.concurrent.TimeUnit;
+
+import com.nisovin.shopkeepers.util.java.Validate;
+
+/**
+ * A fixed-memory histogram of durations over a sliding time window.
+ * <p>
+ * The recorded durations (in nanoseconds) are counted in logarithmic buckets: Each power of two is
+ * divided into eight linear sub-buckets, which limits the relative error of the reported
+ * percentiles to 12.5%. Durations that exceed the range of the histogram (about 18 minutes) are
+ * counted in the last bucket.
+ * <p>
+ * The sliding window is split into several slots of equal duration. Each slot counts the durations
+ * that are recorded during its time span, and is reset once it is reused for a later time span.
+ * Percentiles are calculated by merging the slots that are still inside the window.
+ * <p>
+ * This class is not thread-safe.
+ */
+public final class LatencyHistogram {
+
+	private static final int SUB_BUCKET_BITS = 3;
+	private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+	// 2^40 nanoseconds are about 18 minutes:
+	private static final int MAX_EXPONENT = 40;
+	static final int BUCKET_COUNT = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKET_COUNT;
+
+	public static final int DEFAULT_WINDOW_SLOTS = 6;
+	public static final long DEFAULT_SLOT_DURATION_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+	// Gets the index of the bucket that counts the given duration.
+	static int getBucketIndex(long durationNanos) {
+		if (durationNanos < SUB_BUCKET_COUNT) {
+			return (int) Math.max(durationNanos, 0L);
+		}
+
+		int exponent = 63 - Long.numberOfLeadingZeros(durationNanos);
+		if (exponent > MAX_EXPONENT) {
+			return BUCKET_COUNT - 1;
+		}
+		int shift = exponent - SUB_BUCKET_BITS;
+		int subBucket = (int) (durationNanos >>> shift) & (SUB_BUCKET_COUNT - 1);
+		return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT + subBucket;
+	}
+
+	// Gets the smallest duration that is counted by the specified bucket.
+	static long getBucketLowerBound(int bucketIndex) {
+		if (bucketIndex < SUB_BUCKET_COUNT) {
+			return bucketIndex;
+		}
+
+		int exponent = bucketIndex / SUB_BUCKET_COUNT + SUB_BUCKET_BITS - 1;
+		int subBucket = bucketIndex % SUB_BUCKET_COUNT;
+		return (long) (SUB_BUCKET_COUNT + subBucket) << (exponent - SUB_BUCKET_BITS);
+	}
+
+	// Gets the largest duration that is counted by the specified bucket.
+	static long getBucketUpperBound(int bucketIndex) {
+		if (bucketIndex >= BUCKET_COUNT - 1) {
+			return Long.MAX_VALUE;
+		}
+		return getBucketLowerBound(bucketIndex + 1) - 1;
+	}
+
+	private final int windowSlots;
+	private final long slotDurationNanos;
+
+	private final int[][] slotCounts;
+	// The time span (measured in slot durations) that each slot currently counts durations for:
+	private final long[] slotEpochs;
+	private final long[] slotMaxNanos;
+
+	/**
+	 * Creates a new {@link LatencyHistogram} with a default window of one minute, which is split
+	 * into six slots of 10 seconds each.
+	 */
+	public LatencyHistogram() {
+		this(DEFAULT_WINDOW_SLOTS, DEFAULT_SLOT_DURATION_NANOS);
+	}
+
+	/**
+	 * Creates a new {@link LatencyHistogram}.
+	 * 
+	 * @param windowSlots
+	 *            the number of slots of the sliding window, positive
+	 * @param slotDurationNanos
+	 *            the duration of each slot in nanoseconds, positive
+	 */
+	public LatencyHistogram(int windowSlots, long slotDurationNanos) {
+		Validate.isTrue(windowSlots > 0, "windowSlots has to be positive");
+		Validate.isTrue(slotDurationNanos > 0, "slotDurationNanos has to be positive");
+		this.windowSlots = windowSlots;
+		this.slotDurationNanos = slotDurationNanos;
+		this.slotCounts = new int[windowSlots][BUCKET_COUNT];
+		this.slotEpochs = new long[windowSlots];
+		this.slotMaxNanos = new long[windowSlots];
+		this.reset();
+	}
+
+	/**
+	 * Gets the duration of the sliding window in nanoseconds.
+	 * 
+	 * @return the window duration in nanoseconds
+	 */
+	public long getWindowDurationNanos() {
+		return windowSlots * slotDurationNanos;
+	}
+
+	/**
+	 * Removes all recorded durations.
+	 */
+	public void reset() {
+		for (int slot = 0; slot < windowSlots; slot++) {
+			this.resetSlot(slot, Long.MIN_VALUE);
+		}
+	}
+
+	private void resetSlot(int slot, long epoch) {
+		int[] counts = slotCounts[slot];
+		for (int i = 0; i < counts.length; i++) {
+			counts[i] = 0;
+		}
+		slotEpochs[slot] = epoch;
+		slotMaxNanos[slot] = 0L;
+	}
+
+	private long getEpoch(long nowNanos) {
+		return Math.floorDiv(nowNanos, slotDurationNanos);
+	}
+
+	private int getSlot(long epoch) {
+		return (int) Math.floorMod(epoch, (long) windowSlots);
+	}
+
+	/**
+	 * Records the given duration.
+	 * 
+	 * @param durationNanos
+	 *            the duration in nanoseconds
+	 */
+	public void record(long durationNanos) {
+		this.record(durationNanos, System.nanoTime());
+	}
+
+	// Package-private for testing purposes.
+	void record(long durationNanos, long nowNanos) {
+		long epoch = this.getEpoch(nowNanos);
+		int slot = this.getSlot(epoch);
+		if (slotEpochs[slot] != epoch) {
+			// The slot contains outdated counts:
+			this.resetSlot(slot, epoch);
+		}
+
+		slotCounts[slot][getBucketIndex(durationNanos)]++;
+		if (durationNanos > slotMaxNanos[slot]) {
+			slotMaxNanos[slot] = durationNanos;
+		}
+	}
+
+	private boolean isSlotInWindow(int slot, long currentEpoch) {
+		long slotEpoch = slotEpochs[slot];
+		return slotEpoch <= currentEpoch && slotEpoch > currentEpoch - windowSlots;
+	}
+
+	/**
+	 * Gets the number of durations that have been recorded during the current window.
+	 * 
+	 * @return the number of recorded durations
+	 */
+	public long getCount() {
+		return this.getCount(System.nanoTime());
+	}
+
+	// Package-private for testing purposes.
+	long getCount(long nowNanos) {
+		long currentEpoch = this.getEpoch(nowNanos);
+		long count = 0L;
+		for (int slot = 0; slot < windowSlots; slot++) {
+			if (!this.isSlotInWindow(slot, currentEpoch)) continue;
+			int[] counts = slotCounts[slot];
+			for (int i = 0; i < counts.length; i++) {
+				count += counts[i];
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Gets the specified percentile of the durations that have been recorded during the current
+	 * window.
+	 * <p>
+	 * The returned value is the upper bound of the bucket that contains the percentile, but no
+	 * larger than the maximum recorded duration.
+	 * 
+	 * @param percentile
+	 *            the percentile, between {@code 0} and {@code 100}
+	 * @return the percentile in nanoseconds, or <code>0</code> if no durations have been recorded
+	 *         during the current window
+	 */
+	public long getPercentileNanos(double percentile) {
+		return this.getPercentileNanos(percentile, System.nanoTime());
+	}
+
+	// Package-private for testing purposes.
+	long getPercentileNanos(double percentile, long nowNanos) {
+		Validate.isTrue(percentile >= 0.0D && percentile <= 100.0D,
+				"percentile has to be between 0 and 100");
+		long currentEpoch = this.getEpoch(nowNanos);
+
+		// Merge the counts of all slots inside the window:
+		long[] mergedCounts = new long[BUCKET_COUNT];
+		long totalCount = 0L;
+		long maxNanos = 0L;
+		for (int slot = 0; slot < windowSlots; slot++) {
+			if (!this.isSlotInWindow(slot, currentEpoch)) continue;
+			int[] counts = slotCounts[slot];
+			for (int i = 0; i < counts.length; i++) {
+				mergedCounts[i] += counts[i];
+				totalCount += counts[i];
+			}
+			maxNanos = Math.max(maxNanos, slotMaxNanos[slot]);
+		}
+		if (totalCount == 0L) return 0L;
+
+		long rank = Math.max(1L, (long) Math.ceil(percentile / 100.0D * totalCount));
+		long cumulativeCount = 0L;
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			cumulativeCount += mergedCounts[i];
+			if (cumulativeCount >= rank) {
+				return Math.min(getBucketUpperBound(i), maxNanos);
+			}
+		}
+		return maxNanos;
+	}
+}
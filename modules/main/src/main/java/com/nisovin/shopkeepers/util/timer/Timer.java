@@ -17,6 +17,8 @@ public class Timer implements Timings {
 	private long counter = 0L;
 	private long totalTimeNanos = 0L;
 	private long maxTimeNanos = 0L;
+	// Recent timings:
+	private final LatencyHistogram histogram = new LatencyHistogram();
 
 	// Current timing:
 	private boolean started = false;
@@ -80,13 +82,28 @@ public class Timer implements Timings {
 		paused = false;
 
 		// Update the timings:
+		this.record(elapsedTimeNanos);
+	}
+
+	/**
+	 * Records a timing that has been measured externally.
+	 * <p>
+	 * This can for example be used to record the timings of asynchronously executed tasks on the
+	 * main thread.
+	 * 
+	 * @param timeNanos
+	 *            the measured time in nanoseconds
+	 */
+	public void record(long timeNanos) {
 		counter++;
-		totalTimeNanos += elapsedTimeNanos;
+		totalTimeNanos += timeNanos;
 
 		// Update the max timing:
-		if (elapsedTimeNanos > maxTimeNanos) {
-			maxTimeNanos = elapsedTimeNanos;
+		if (timeNanos > maxTimeNanos) {
+			maxTimeNanos = timeNanos;
 		}
+
+		histogram.record(timeNanos);
 	}
 
 	// TIMINGS
@@ -96,6 +113,7 @@ public class Timer implements Timings {
 		counter = 0L;
 		totalTimeNanos = 0L;
 		maxTimeNanos = 0L;
+		histogram.reset();
 	}
 
 	@Override
@@ -113,4 +131,15 @@ public class Timer implements Timings {
 	public double getMaxTimeMillis() {
 		return TimeUtils.convert(maxTimeNanos, TimeUnit.NANOSECONDS, TimeUnit.MILLISECONDS);
 	}
+
+	@Override
+	public long getRecentCounter() {
+		return histogram.getCount();
+	}
+
+	@Override
+	public double getPercentileTimeMillis(double percentile) {
+		long percentileNanos = histogram.getPercentileNanos(percentile);
+		return TimeUtils.convert(percentileNanos, TimeUnit.NANOSECONDS, TimeUnit.MILLISECONDS);
+	}
 }
@@ -31,4 +31,28 @@ public interface Timings {
 	 * @return the maximum processing time in milliseconds
 	 */
 	public double getMaxTimeMillis();
+
+	/**
+	 * Gets the number of times the task was executed recently.
+	 * <p>
+	 * Recent executions are the executions during the last minute.
+	 * 
+	 * @return the number of recent executions
+	 */
+	public long getRecentCounter();
+
+	/**
+	 * Gets the specified percentile of the task's processing times during its recent executions,
+	 * in milliseconds.
+	 * <p>
+	 * Recent executions are the executions during the last minute. The returned percentile is an
+	 * approximation, with a relative error of at most 12.5%.
+	 * 
+	 * @param percentile
+	 *            the percentile, between {@code 0} and {@code 100}, e.g. {@code 99} for the 99th
+	 *            percentile
+	 * @return the percentile processing time in milliseconds, or <code>0</code> if there have been
+	 *         no recent executions
+	 */
+	public double getPercentileTimeMillis(double percentile);
 }
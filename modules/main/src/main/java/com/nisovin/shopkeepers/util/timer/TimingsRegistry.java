@@ -0,0 +1,80 @@
+package com.nisovin.shopkeepers.util.timer;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import com.nisovin.shopkeepers.util.java.Validate;
+
+/**
+ * Keeps track of {@link Timings} by name.
+ * <p>
+ * This provides a single place to look up the timings of the various monitored tasks, for example
+ * in order to display or export them.
+ * <p>
+ * The timings are iterated in the order in which they have been registered.
+ */
+public final class TimingsRegistry {
+
+	private final Map<@NonNull String, @NonNull Timings> timings = new LinkedHashMap<>();
+	private final Map<@NonNull String, @NonNull Timings> timingsView = Collections.unmodifiableMap(timings);
+
+	public TimingsRegistry() {
+	}
+
+	/**
+	 * Registers the given {@link Timings} under the specified name.
+	 * 
+	 * @param name
+	 *            the name, not empty, and not yet used by any other registered timings
+	 * @param timings
+	 *            the timings, not <code>null</code>
+	 */
+	public void register(String name, Timings timings) {
+		Validate.notEmpty(name, "name is null or empty");
+		Validate.notNull(timings, "timings is null");
+		Validate.isTrue(!this.timings.containsKey(name),
+				() -> "There are already timings registered with the name: " + name);
+		this.timings.put(name, timings);
+	}
+
+	/**
+	 * Unregisters the timings with the specified name.
+	 * 
+	 * @param name
+	 *            the name
+	 */
+	public void unregister(String name) {
+		timings.remove(name);
+	}
+
+	/**
+	 * Unregisters all timings.
+	 */
+	public void clear() {
+		timings.clear();
+	}
+
+	/**
+	 * Gets the timings with the specified name.
+	 * 
+	 * @param name
+	 *            the name
+	 * @return the timings, or <code>null</code> if there are no timings registered with the name
+	 */
+	public @Nullable Timings get(String name) {
+		return timings.get(name);
+	}
+
+	/**
+	 * Gets all registered timings by their names.
+	 * 
+	 * @return an unmodifiable view on all registered timings
+	 */
+	public Map<? extends @NonNull String, ? extends @NonNull Timings> getAll() {
+		return timingsView;
+	}
+}
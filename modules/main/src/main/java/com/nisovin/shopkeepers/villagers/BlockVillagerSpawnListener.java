@@ -1,16 +1,32 @@
 package com.nisovin.shopkeepers.villagers;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
 import org.bukkit.entity.Entity;
 import org.bukkit.entity.EntityType;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
+import org.bukkit.event.HandlerList;
 import org.bukkit.event.Listener;
 import org.bukkit.event.entity.CreatureSpawnEvent;
 import org.bukkit.event.entity.CreatureSpawnEvent.SpawnReason;
+import org.bukkit.event.world.ChunkEvent;
 import org.bukkit.event.world.ChunkLoadEvent;
+import org.bukkit.event.world.ChunkUnloadEvent;
+import org.checkerframework.checker.nullness.qual.NonNull;
 
+import com.nisovin.shopkeepers.SKShopkeepersPlugin;
+import com.nisovin.shopkeepers.api.util.ChunkCoords;
+import com.nisovin.shopkeepers.compat.MC_1_17;
 import com.nisovin.shopkeepers.config.Settings;
+import com.nisovin.shopkeepers.util.bukkit.EventUtils;
 import com.nisovin.shopkeepers.util.bukkit.TextUtils;
+import com.nisovin.shopkeepers.util.java.Validate;
 import com.nisovin.shopkeepers.util.logging.Log;
 
 /**
@@ -18,7 +34,63 @@ import com.nisovin.shopkeepers.util.logging.Log;
  */
 public class BlockVillagerSpawnListener implements Listener {
 
-	public BlockVillagerSpawnListener() {
+	private final SKShopkeepersPlugin plugin;
+	// Indexed by the ordinal of the entity type. Updated when this listener is enabled.
+	private final boolean[] blockedEntityTypes = new boolean[EntityType.values().length];
+
+	// MC 1.17+: The entities of chunks are loaded separately from the chunks themselves. We
+	// remember the newly generated chunks until their entities have been loaded.
+	private final boolean deferredEntityLoading = MC_1_17.ENTITIES_LOAD_EVENT.isPresent();
+	private final Set<@NonNull ChunkCoords> newChunks = new HashSet<>();
+
+	// Reused for the batched removal of the entities of a chunk:
+	private final List<@NonNull Entity> entitiesToRemove = new ArrayList<>();
+	// The number of entities that were removed after chunk generation:
+	private long removedEntitiesCount = 0L;
+
+	public BlockVillagerSpawnListener(SKShopkeepersPlugin plugin) {
+		Validate.notNull(plugin, "plugin is null");
+		this.plugin = plugin;
+	}
+
+	public void onEnable() {
+		this.updateBlockedEntityTypes();
+		Bukkit.getPluginManager().registerEvents(this, plugin);
+
+		MC_1_17.ENTITIES_LOAD_EVENT.ifPresent(entitiesLoadEventClass -> {
+			// LOW priority so that other plugins don't have to process those meant-to-be-removed
+			// entities.
+			Bukkit.getPluginManager().registerEvent(
+					entitiesLoadEventClass,
+					this,
+					EventPriority.LOW,
+					EventUtils.eventExecutor(ChunkEvent.class, this::onEntitiesLoad),
+					plugin,
+					false
+			);
+		});
+	}
+
+	public void onDisable() {
+		HandlerList.unregisterAll(this);
+		newChunks.clear();
+		entitiesToRemove.clear();
+	}
+
+	private void updateBlockedEntityTypes() {
+		for (EntityType entityType : EntityType.values()) {
+			blockedEntityTypes[entityType.ordinal()] = this.isSpawningBlockedBySettings(entityType);
+		}
+	}
+
+	/**
+	 * Gets the number of entities that were removed after they were spawned as part of chunk
+	 * generation.
+	 * 
+	 * @return the number of removed entities
+	 */
+	public long getRemovedEntitiesCount() {
+		return removedEntitiesCount;
 	}
 
 	private boolean isSpawnBlockingBypassed(SpawnReason spawnReason) {
@@ -35,7 +107,7 @@ public class BlockVillagerSpawnListener implements Listener {
 		}
 	}
 
-	private boolean isSpawningBlocked(EntityType entityType) {
+	private boolean isSpawningBlockedBySettings(EntityType entityType) {
 		if (entityType == EntityType.VILLAGER) {
 			return Settings.blockVillagerSpawns;
 		} else if (entityType == EntityType.WANDERING_TRADER || entityType == EntityType.TRADER_LLAMA) {
@@ -45,6 +117,10 @@ public class BlockVillagerSpawnListener implements Listener {
 		}
 	}
 
+	private boolean isSpawningBlocked(EntityType entityType) {
+		return blockedEntityTypes[entityType.ordinal()];
+	}
+
 	@EventHandler(priority = EventPriority.LOW, ignoreCancelled = true)
 	void onSpawn(CreatureSpawnEvent event) {
 		SpawnReason spawnReason = event.getSpawnReason();
@@ -60,19 +136,58 @@ public class BlockVillagerSpawnListener implements Listener {
 	}
 
 	// LOW priority so that other plugins don't have to process those meant-to-be-removed entities.
-	// TODO Entity loading is deferred from chunk loading in MC 1.17
-	// (https://hub.spigotmc.org/jira/browse/SPIGOT-6547).
 	@EventHandler(priority = EventPriority.LOW, ignoreCancelled = true)
 	void onChunkLoad(ChunkLoadEvent event) {
 		// Remove villagers that got spawned as part of chunk generation:
 		if (!event.isNewChunk()) return;
-		for (Entity entity : event.getChunk().getEntities()) {
-			EntityType entityType = entity.getType();
-			if (this.isSpawningBlocked(entityType)) {
-				Log.debug(() -> "Preventing mob spawn (chunk-gen) of " + entityType + " at "
-						+ TextUtils.getLocationString(entity.getLocation()));
-				entity.remove();
+		Chunk chunk = event.getChunk();
+		if (deferredEntityLoading) {
+			// Accessing the entities of the chunk at this point would wait for its entities to be
+			// loaded. We remove the entities once they have been loaded instead.
+			newChunks.add(new ChunkCoords(chunk));
+		} else {
+			this.removeBlockedEntities(chunk);
+		}
+	}
+
+	@EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+	void onChunkUnload(ChunkUnloadEvent event) {
+		if (newChunks.isEmpty()) return;
+		// In case the chunk was unloaded before its entities were loaded:
+		newChunks.remove(new ChunkCoords(event.getChunk()));
+	}
+
+	// MC 1.17+: Called for EntitiesLoadEvent.
+	private void onEntitiesLoad(ChunkEvent event) {
+		if (newChunks.isEmpty()) return;
+		Chunk chunk = event.getChunk();
+		if (!newChunks.remove(new ChunkCoords(chunk))) return;
+
+		// The entities of the chunk are loaded now, so accessing them is cheap. Unlike the entities
+		// provided by the event, this also includes the entities that were spawned during chunk
+		// generation.
+		this.removeBlockedEntities(chunk);
+	}
+
+	private void removeBlockedEntities(Chunk chunk) {
+		assert entitiesToRemove.isEmpty();
+		for (Entity entity : chunk.getEntities()) {
+			if (this.isSpawningBlocked(entity.getType())) {
+				entitiesToRemove.add(entity);
 			}
 		}
+		if (entitiesToRemove.isEmpty()) return;
+
+		entitiesToRemove.forEach(entity -> {
+			EntityType entityType = entity.getType();
+			Log.debug(() -> "Preventing mob spawn (chunk-gen) of " + entityType + " at "
+					+ TextUtils.getLocationString(entity.getLocation()));
+			entity.remove();
+		});
+		int removedCount = entitiesToRemove.size();
+		entitiesToRemove.clear();
+		removedEntitiesCount += removedCount;
+		Log.debug(() -> "Removed " + removedCount + " entities after the generation of chunk "
+				+ TextUtils.getChunkString(chunk) + " (total: " + removedEntitiesCount + ")");
 	}
 }
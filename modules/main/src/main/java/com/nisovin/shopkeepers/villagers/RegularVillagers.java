@@ -21,23 +21,32 @@ public class RegularVillagers {
 		Validate.notNull(plugin, "plugin is null");
 		this.plugin = plugin;
 		this.villagerInteractionListener = new VillagerInteractionListener(plugin);
-		this.blockVillagerSpawnListener = new BlockVillagerSpawnListener();
+		this.blockVillagerSpawnListener = new BlockVillagerSpawnListener(plugin);
 		this.blockZombieVillagerCuringListener = new BlockZombieVillagerCuringListener();
 	}
 
 	public void onEnable() {
 		Bukkit.getPluginManager().registerEvents(villagerInteractionListener, plugin);
 		if (Settings.blockVillagerSpawns || Settings.blockWanderingTraderSpawns) {
-			Bukkit.getPluginManager().registerEvents(blockVillagerSpawnListener, plugin);
+			blockVillagerSpawnListener.onEnable();
 		}
 		if (Settings.disableZombieVillagerCuring) {
 			Bukkit.getPluginManager().registerEvents(blockZombieVillagerCuringListener, plugin);
 		}
 	}
 
+	/**
+	 * Gets the {@link BlockVillagerSpawnListener}.
+	 * 
+	 * @return the block villager spawn listener
+	 */
+	public BlockVillagerSpawnListener getBlockVillagerSpawnListener() {
+		return blockVillagerSpawnListener;
+	}
+
 	public void onDisable() {
 		HandlerList.unregisterAll(villagerInteractionListener);
-		HandlerList.unregisterAll(blockVillagerSpawnListener);
+		blockVillagerSpawnListener.onDisable();
 		HandlerList.unregisterAll(blockZombieVillagerCuringListener);
 	}
 }
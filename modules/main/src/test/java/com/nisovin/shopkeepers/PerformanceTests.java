@@ -3,7 +3,9 @@ package com.nisovin.shopkeepers;
 import java.lang.management.ManagementFactory;
 import java.lang.management.ThreadMXBean;
 import java.lang.reflect.Field;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 import java.util.logging.Logger;
 
@@ -15,8 +17,12 @@ import org.checkerframework.checker.nullness.qual.NonNull;
 import org.junit.Test;
 
 import com.nisovin.shopkeepers.api.internal.util.Unsafe;
+import com.nisovin.shopkeepers.api.util.ChunkCoords;
 import com.nisovin.shopkeepers.testutil.AbstractBukkitTest;
 import com.nisovin.shopkeepers.util.TestItemStacks;
+import com.nisovin.shopkeepers.util.bukkit.ChunkKeys;
+import com.nisovin.shopkeepers.util.bukkit.MutableChunkCoords;
+import com.nisovin.shopkeepers.util.bukkit.WorldChunkMap;
 import com.nisovin.shopkeepers.util.inventory.ItemData;
 import com.nisovin.shopkeepers.util.inventory.ItemUtils;
 import com.nisovin.shopkeepers.util.java.MutableLong;
@@ -391,4 +397,106 @@ public class PerformanceTests extends AbstractBukkitTest {
 			throw new IllegalStateException("Unexpected test outcome.");
 		}
 	}
+
+	@Test
+	public void testChunkMapPerformance() {
+		LOGGER.info("Testing chunk map lookup and churn performance:");
+		int warmupCount = 100;
+		int testCount = 1000;
+		String worldName = "world";
+		int chunkRadius = 32;
+		Object value = new Object();
+
+		Map<@NonNull ChunkCoords, @NonNull Object> chunkCoordsMap = new HashMap<>();
+		WorldChunkMap<@NonNull Object> worldChunkMap = new WorldChunkMap<>();
+		for (int chunkX = -chunkRadius; chunkX <= chunkRadius; chunkX += 2) {
+			for (int chunkZ = -chunkRadius; chunkZ <= chunkRadius; chunkZ += 2) {
+				chunkCoordsMap.put(new ChunkCoords(worldName, chunkX, chunkZ), value);
+				worldChunkMap.put(worldName, ChunkKeys.of(chunkX, chunkZ), value);
+			}
+		}
+
+		// In order to avoid that the compiler optimizes these operations away, we increment this
+		// value during the tests:
+		MutableLong hits = new MutableLong();
+		MutableChunkCoords sharedChunkCoords = new MutableChunkCoords();
+
+		testPerformance(
+				"  ",
+				"ChunkCoords map lookups",
+				warmupCount,
+				testCount,
+				() -> {
+					for (int chunkX = -chunkRadius; chunkX <= chunkRadius; chunkX++) {
+						for (int chunkZ = -chunkRadius; chunkZ <= chunkRadius; chunkZ++) {
+							sharedChunkCoords.set(worldName, chunkX, chunkZ);
+							if (chunkCoordsMap.get(sharedChunkCoords) != null) {
+								hits.increment(1);
+							}
+						}
+					}
+				}
+		);
+
+		testPerformance(
+				"  ",
+				"WorldChunkMap lookups",
+				warmupCount,
+				testCount,
+				() -> {
+					for (int chunkX = -chunkRadius; chunkX <= chunkRadius; chunkX++) {
+						for (int chunkZ = -chunkRadius; chunkZ <= chunkRadius; chunkZ++) {
+							if (worldChunkMap.get(worldName, chunkX, chunkZ) != null) {
+								hits.increment(1);
+							}
+						}
+					}
+				}
+		);
+
+		// Chunk churn: Adding and removing chunk entries, similar to chunks being loaded and
+		// unloaded.
+		testPerformance(
+				"  ",
+				"ChunkCoords map churn",
+				warmupCount,
+				testCount,
+				() -> {
+					for (int chunkX = -chunkRadius; chunkX <= chunkRadius; chunkX += 2) {
+						for (int chunkZ = -chunkRadius + 1; chunkZ <= chunkRadius; chunkZ += 2) {
+							chunkCoordsMap.put(new ChunkCoords(worldName, chunkX, chunkZ), value);
+						}
+					}
+					for (int chunkX = -chunkRadius; chunkX <= chunkRadius; chunkX += 2) {
+						for (int chunkZ = -chunkRadius + 1; chunkZ <= chunkRadius; chunkZ += 2) {
+							sharedChunkCoords.set(worldName, chunkX, chunkZ);
+							chunkCoordsMap.remove(sharedChunkCoords);
+						}
+					}
+				}
+		);
+
+		testPerformance(
+				"  ",
+				"WorldChunkMap churn",
+				warmupCount,
+				testCount,
+				() -> {
+					for (int chunkX = -chunkRadius; chunkX <= chunkRadius; chunkX += 2) {
+						for (int chunkZ = -chunkRadius + 1; chunkZ <= chunkRadius; chunkZ += 2) {
+							worldChunkMap.put(worldName, ChunkKeys.of(chunkX, chunkZ), value);
+						}
+					}
+					for (int chunkX = -chunkRadius; chunkX <= chunkRadius; chunkX += 2) {
+						for (int chunkZ = -chunkRadius + 1; chunkZ <= chunkRadius; chunkZ += 2) {
+							worldChunkMap.remove(worldName, ChunkKeys.of(chunkX, chunkZ));
+						}
+					}
+				}
+		);
+
+		if (hits.getValue() == 0) {
+			throw new IllegalStateException("Unexpected test outcome.");
+		}
+	}
 }
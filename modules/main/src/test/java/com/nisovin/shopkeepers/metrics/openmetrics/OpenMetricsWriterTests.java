@@ -0,0 +1,51 @@
+package com.nisovin.shopkeepers.metrics.openmetrics;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class OpenMetricsWriterTests {
+
+	@Test
+	public void testFormat() {
+		String text = new OpenMetricsWriter()
+				.gauge("test_count", "A test \"gauge\".\nSecond line.", 5)
+				.metadata("test_seconds", OpenMetricsWriter.TYPE_SUMMARY, "A test summary.")
+				.sample("test_seconds", 0.25D, "timing", "a", "quantile", "0.5")
+				.sample("test_seconds_sum", 1.5D, "timing", "a")
+				.sample("test_seconds_count", 6, "timing", "a")
+				.finish();
+		Assert.assertEquals(""
+				+ "# TYPE test_count gauge\n"
+				+ "# HELP test_count A test \\\"gauge\\\".\\nSecond line.\n"
+				+ "test_count 5\n"
+				+ "# TYPE test_seconds summary\n"
+				+ "# HELP test_seconds A test summary.\n"
+				+ "test_seconds{timing=\"a\",quantile=\"0.5\"} 0.25\n"
+				+ "test_seconds_sum{timing=\"a\"} 1.5\n"
+				+ "test_seconds_count{timing=\"a\"} 6\n"
+				+ "# EOF\n", text);
+	}
+
+	@Test
+	public void testLabelValueEscaping() {
+		String text = new OpenMetricsWriter()
+				.sample("test", 1, "world", "a\"b\\c\nd")
+				.finish();
+		Assert.assertEquals("test{world=\"a\\\"b\\\\c\\nd\"} 1\n# EOF\n", text);
+	}
+
+	@Test
+	public void testSpecialValues() {
+		String text = new OpenMetricsWriter()
+				.sample("a", Double.NaN)
+				.sample("b", Double.POSITIVE_INFINITY)
+				.sample("c", -3.0D)
+				.finish();
+		Assert.assertEquals("a NaN\nb +Inf\nc -3\n# EOF\n", text);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testIncompleteLabels() {
+		new OpenMetricsWriter().sample("test", 1, "world");
+	}
+}
@@ -0,0 +1,90 @@
+package com.nisovin.shopkeepers.playershops.inactivity;
+
+import java.io.File;
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.bukkit.plugin.Plugin;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.nisovin.shopkeepers.api.internal.util.Unsafe;
+import com.nisovin.shopkeepers.playershops.inactivity.ShopOwnerLastSeenIndex.LastSeen;
+
+public class DeleteShopsOfInactivePlayersProcedureTests {
+
+	private static final long NOW_MILLIS = TimeUnit.DAYS.toMillis(1000L);
+	private static final long INACTIVE_SINCE_MILLIS = NOW_MILLIS - TimeUnit.DAYS.toMillis(30L);
+
+	private static Plugin createPluginMock(File dataFolder) {
+		return Unsafe.cast(Proxy.newProxyInstance(
+				Plugin.class.getClassLoader(),
+				new Class<?>[] { Plugin.class },
+				(proxy, method, args) -> {
+					if (method.getName().equals("getDataFolder")) {
+						return dataFolder;
+					}
+					throw new UnsupportedOperationException(String.valueOf(method));
+				}
+		));
+	}
+
+	private ShopOwnerLastSeenIndex lastSeenIndex = Unsafe.uncheckedNull();
+
+	@Before
+	public void setup() throws Exception {
+		File dataFolder = Files.createTempDirectory("shopkeepers-tests").toFile();
+		dataFolder.deleteOnExit();
+		lastSeenIndex = new ShopOwnerLastSeenIndex(createPluginMock(dataFolder));
+	}
+
+	private boolean isInactiveCandidate(UUID playerId) {
+		List<? extends @NonNull LastSeen> candidates = lastSeenIndex.getLastSeenBefore(
+				INACTIVE_SINCE_MILLIS + 1
+		);
+		return candidates.stream().anyMatch(lastSeen -> lastSeen.getPlayerId().equals(playerId));
+	}
+
+	@Test
+	public void testStaleIndexEntryIsUpdated() {
+		// The player was last seen by the index a long time ago, but has played recently while the
+		// index was not updated:
+		UUID playerId = UUID.randomUUID();
+		long staleLastSeenMillis = NOW_MILLIS - TimeUnit.DAYS.toMillis(100L);
+		long lastPlayedMillis = NOW_MILLIS - TimeUnit.DAYS.toMillis(1L);
+		lastSeenIndex.setLastSeen(playerId, staleLastSeenMillis);
+		Assert.assertTrue(this.isInactiveCandidate(playerId));
+
+		long lastSeenMillis = DeleteShopsOfInactivePlayersProcedure.updateLastSeen(
+				lastSeenIndex,
+				playerId,
+				lastPlayedMillis
+		);
+		Assert.assertEquals(lastPlayedMillis, lastSeenMillis);
+		Assert.assertTrue("Player with stale index entry is considered inactive",
+				lastSeenMillis > INACTIVE_SINCE_MILLIS);
+		Assert.assertEquals(lastPlayedMillis, lastSeenIndex.getLastSeenMillis(playerId));
+		Assert.assertFalse(this.isInactiveCandidate(playerId));
+	}
+
+	@Test
+	public void testOlderLastPlayedKeepsIndexEntry() {
+		UUID playerId = UUID.randomUUID();
+		long indexedLastSeenMillis = NOW_MILLIS - TimeUnit.DAYS.toMillis(40L);
+		lastSeenIndex.setLastSeen(playerId, indexedLastSeenMillis);
+
+		// Older or unknown last played times do not affect the indexed last seen time:
+		long olderLastPlayedMillis = NOW_MILLIS - TimeUnit.DAYS.toMillis(50L);
+		Assert.assertEquals(indexedLastSeenMillis, DeleteShopsOfInactivePlayersProcedure
+				.updateLastSeen(lastSeenIndex, playerId, olderLastPlayedMillis));
+		Assert.assertEquals(indexedLastSeenMillis, DeleteShopsOfInactivePlayersProcedure
+				.updateLastSeen(lastSeenIndex, playerId, 0L));
+		Assert.assertEquals(indexedLastSeenMillis, lastSeenIndex.getLastSeenMillis(playerId));
+		Assert.assertTrue(this.isInactiveCandidate(playerId));
+	}
+}
@@ -0,0 +1,88 @@
+package com.nisovin.shopkeepers.shopkeeper.player.sell;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.nisovin.shopkeepers.api.shopkeeper.offers.PriceOffer;
+import com.nisovin.shopkeepers.api.shopkeeper.player.sell.SellingShopOffer;
+import com.nisovin.shopkeepers.shopkeeper.offers.SKPriceOffer;
+import com.nisovin.shopkeepers.testutil.AbstractBukkitTest;
+
+public class SellingOfferIndexTests extends AbstractBukkitTest {
+
+	// Shopkeeper whose offers can be replaced without affecting the offer index, similar to
+	// loading the offers of a snapshot.
+	private static class TestShopkeeper extends SKSellingPlayerShopkeeper {
+
+		private List<? extends @NonNull PriceOffer> testOffers = Collections.emptyList();
+
+		@Override
+		public List<? extends @NonNull PriceOffer> getOffers() {
+			return testOffers;
+		}
+	}
+
+	private static PriceOffer offer(Material itemType, int amount, int price) {
+		return new SKPriceOffer(new ItemStack(itemType, amount), price);
+	}
+
+	private static List<@NonNull Integer> prices(List<? extends @NonNull SellingShopOffer> offers) {
+		List<@NonNull Integer> prices = new ArrayList<>(offers.size());
+		offers.forEach(offer -> prices.add(offer.getOffer().getPrice()));
+		return prices;
+	}
+
+	@Test
+	public void testOffersSortedByUnitPrice() {
+		SellingOfferIndex index = new SellingOfferIndex();
+		TestShopkeeper shopkeeper = new TestShopkeeper();
+		shopkeeper.testOffers = Arrays.asList(
+				offer(Material.DIAMOND, 1, 10),
+				offer(Material.DIAMOND, 4, 8),
+				offer(Material.STONE, 1, 1)
+		);
+		index.updateShopkeeper(shopkeeper);
+
+		Assert.assertEquals(Arrays.asList(8, 10), prices(index.getOffers(Material.DIAMOND)));
+		Assert.assertEquals(Arrays.asList(1), prices(index.getOffers(Material.STONE)));
+		Assert.assertTrue(index.getOffers(Material.DIRT).isEmpty());
+	}
+
+	@Test
+	public void testUpdateReplacesPreviousOffers() {
+		SellingOfferIndex index = new SellingOfferIndex();
+		TestShopkeeper shopkeeper = new TestShopkeeper();
+		shopkeeper.testOffers = Arrays.asList(
+				offer(Material.DIAMOND, 1, 10),
+				offer(Material.STONE, 1, 1)
+		);
+		index.updateShopkeeper(shopkeeper);
+
+		// The shopkeeper's offers are replaced, e.g. by applying a snapshot:
+		shopkeeper.testOffers = Arrays.asList(offer(Material.DIAMOND, 1, 5));
+		index.updateShopkeeper(shopkeeper);
+
+		Assert.assertEquals(Arrays.asList(5), prices(index.getOffers(Material.DIAMOND)));
+		Assert.assertTrue("Stale offer is still indexed",
+				index.getOffers(Material.STONE).isEmpty());
+	}
+
+	@Test
+	public void testRemoveShopkeeper() {
+		SellingOfferIndex index = new SellingOfferIndex();
+		TestShopkeeper shopkeeper = new TestShopkeeper();
+		shopkeeper.testOffers = Arrays.asList(offer(Material.DIAMOND, 1, 10));
+		index.updateShopkeeper(shopkeeper);
+
+		index.removeShopkeeper(shopkeeper);
+		Assert.assertTrue(index.getOffers(Material.DIAMOND).isEmpty());
+	}
+}
@@ -0,0 +1,178 @@
+package com.nisovin.shopkeepers.shopkeeper.registry;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SKShopkeeperSummariesTests {
+
+	private static UUID uniqueId(int shopkeeperId) {
+		return new UUID(0L, shopkeeperId);
+	}
+
+	private static SKShopkeeperSummary summary(int shopkeeperId, String name) {
+		return new SKShopkeeperSummary(
+				shopkeeperId,
+				uniqueId(shopkeeperId),
+				"admin",
+				name,
+				null,
+				null,
+				"world",
+				shopkeeperId,
+				64,
+				-shopkeeperId,
+				0,
+				0
+		);
+	}
+
+	private static List<@NonNull SKShopkeeperSummary> summaries(int fromId, int toId) {
+		List<@NonNull SKShopkeeperSummary> summaries = new ArrayList<>();
+		for (int id = fromId; id <= toId; id++) {
+			summaries.add(summary(id, "Shop " + id));
+		}
+		return summaries;
+	}
+
+	private static Set<@NonNull Integer> ids(SKShopkeeperSummaries summaries) {
+		Set<@NonNull Integer> ids = new HashSet<>();
+		summaries.getAll().forEach(summary -> ids.add(summary.getId()));
+		return ids;
+	}
+
+	@Test
+	public void testEmpty() {
+		SKShopkeeperSummaries summaries = SKShopkeeperSummaries.EMPTY;
+		Assert.assertEquals(0L, summaries.getVersion());
+		Assert.assertTrue(summaries.getAll().isEmpty());
+		Assert.assertFalse(summaries.getAll().iterator().hasNext());
+		Assert.assertNull(summaries.getById(1));
+		Assert.assertNull(summaries.getByUniqueId(uniqueId(1)));
+	}
+
+	@Test
+	public void testAdd() {
+		// More summaries than buckets:
+		int count = 3000;
+		SKShopkeeperSummaries summaries = SKShopkeeperSummaries.EMPTY.withChanges(
+				1L,
+				Collections.emptyList(),
+				summaries(1, count)
+		);
+		Assert.assertEquals(1L, summaries.getVersion());
+		Assert.assertEquals(count, summaries.getAll().size());
+		Assert.assertEquals(count, ids(summaries).size());
+		for (int id = 1; id <= count; id++) {
+			SKShopkeeperSummary summary = summaries.getById(id);
+			Assert.assertNotNull(summary);
+			Assert.assertSame(summary, summaries.getByUniqueId(uniqueId(id)));
+		}
+		Assert.assertNull(summaries.getById(count + 1));
+
+		// The previous version is not affected:
+		Assert.assertTrue(SKShopkeeperSummaries.EMPTY.getAll().isEmpty());
+	}
+
+	@Test
+	public void testChange() {
+		SKShopkeeperSummaries version1 = SKShopkeeperSummaries.EMPTY.withChanges(
+				1L,
+				Collections.emptyList(),
+				summaries(1, 10)
+		);
+		SKShopkeeperSummary changed = summary(5, "Changed");
+		SKShopkeeperSummaries version2 = version1.withChanges(
+				2L,
+				Collections.emptyList(),
+				Arrays.asList(changed)
+		);
+		Assert.assertEquals(2L, version2.getVersion());
+		Assert.assertEquals(10, version2.getAll().size());
+		Assert.assertSame(changed, version2.getById(5));
+		Assert.assertSame(changed, version2.getByUniqueId(uniqueId(5)));
+		// Unchanged summaries are reused:
+		Assert.assertSame(version1.getById(4), version2.getById(4));
+
+		// The previous version is not affected:
+		SKShopkeeperSummary previous = version1.getById(5);
+		Assert.assertNotNull(previous);
+		Assert.assertEquals("Shop 5", previous.getName());
+		Assert.assertSame(previous, version1.getByUniqueId(uniqueId(5)));
+	}
+
+	@Test
+	public void testRemove() {
+		SKShopkeeperSummaries version1 = SKShopkeeperSummaries.EMPTY.withChanges(
+				1L,
+				Collections.emptyList(),
+				summaries(1, 10)
+		);
+		// Also ignores the removal of shopkeepers that were never published:
+		SKShopkeeperSummaries version2 = version1.withChanges(
+				2L,
+				Arrays.asList(3, 7, 42),
+				Collections.emptyList()
+		);
+		Assert.assertEquals(8, version2.getAll().size());
+		Assert.assertFalse(ids(version2).contains(3));
+		Assert.assertNull(version2.getById(3));
+		Assert.assertNull(version2.getByUniqueId(uniqueId(7)));
+		Assert.assertNotNull(version2.getById(4));
+
+		// The previous version is not affected:
+		Assert.assertEquals(10, version1.getAll().size());
+		Assert.assertNotNull(version1.getById(3));
+		Assert.assertNotNull(version1.getByUniqueId(uniqueId(7)));
+	}
+
+	@Test
+	public void testRemoveAndAddSameId() {
+		SKShopkeeperSummaries version1 = SKShopkeeperSummaries.EMPTY.withChanges(
+				1L,
+				Collections.emptyList(),
+				summaries(1, 3)
+		);
+		SKShopkeeperSummary readded = summary(2, "Readded");
+		SKShopkeeperSummaries version2 = version1.withChanges(
+				2L,
+				Arrays.asList(2),
+				Arrays.asList(readded)
+		);
+		Assert.assertEquals(3, version2.getAll().size());
+		Assert.assertSame(readded, version2.getById(2));
+	}
+
+	@Test
+	public void testVersions() {
+		SKShopkeeperSummaries summaries = SKShopkeeperSummaries.EMPTY;
+		for (long version = 1L; version <= 5L; version++) {
+			summaries = summaries.withChanges(
+					version,
+					Collections.emptyList(),
+					summaries((int) version, (int) version)
+			);
+			Assert.assertEquals(version, summaries.getVersion());
+			Assert.assertEquals(version, summaries.getAll().size());
+		}
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void testUnmodifiable() {
+		SKShopkeeperSummaries summaries = SKShopkeeperSummaries.EMPTY.withChanges(
+				1L,
+				Collections.emptyList(),
+				summaries(1, 3)
+		);
+		summaries.getAll().iterator().next();
+		summaries.getAll().clear();
+	}
+}
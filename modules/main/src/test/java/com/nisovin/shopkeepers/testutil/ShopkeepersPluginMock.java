@@ -14,7 +14,7 @@ import com.nisovin.shopkeepers.util.logging.Log;
 /**
  * Mocks the Shopkeepers plugin functionality that is required during tests.
  */
-class ShopkeepersPluginMock extends ProxyHandler<@NonNull InternalShopkeepersPlugin> {
+public class ShopkeepersPluginMock extends ProxyHandler<@NonNull InternalShopkeepersPlugin> {
 
 	// Static initializer: Ensures that this is only setup once across all tests.
 	static {
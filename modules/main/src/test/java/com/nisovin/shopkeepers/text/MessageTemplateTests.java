@@ -0,0 +1,150 @@
+package com.nisovin.shopkeepers.text;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.nisovin.shopkeepers.testutil.AbstractBukkitTest;
+
+public class MessageTemplateTests extends AbstractBukkitTest {
+
+	private static String toPlainText(Text message, Object... argumentPairs) {
+		return message.copy().setPlaceholderArguments(argumentPairs).toPlainText();
+	}
+
+	@Test
+	public void testPlainText() {
+		Text message = Text.parse("&aSold &6{amount}x {item} &ato {player} ({amount}).");
+		MessageTemplate template = MessageTemplate.compile(message);
+		Assert.assertEquals(Arrays.asList("amount", "item", "player"),
+				template.getPlaceholderKeys());
+
+		Object[] arguments = new Object[] {
+				"amount", 5,
+				"item", Text.parse("&bDiamond"),
+				"player", "Notch"
+		};
+		Assert.assertEquals(toPlainText(message, arguments),
+				template.bind(arguments).toPlainText());
+	}
+
+	@Test
+	public void testMissingArguments() {
+		Text message = Text.parse("&7{a} {unknown} {b}{b} {c");
+		MessageTemplate template = MessageTemplate.compile(message);
+		Assert.assertEquals(toPlainText(message, "b", "x"),
+				template.bind("b", "x").toPlainText());
+		Assert.assertEquals(message.toPlainText(), template.bind().toPlainText());
+	}
+
+	@Test
+	public void testNoPlaceholders() {
+		MessageTemplate template = MessageTemplate.compile(Text.parse("&cNo placeholders."));
+		Assert.assertSame(template.bind(), template.bind("a", 1));
+		Assert.assertEquals("§cNo placeholders.", template.bind().toPlainText());
+	}
+
+	@Test
+	public void testTemplateIsUnaffectedBySource() {
+		Text message = Text.parse("Hello {name}!");
+		MessageTemplate template = MessageTemplate.compile(message);
+		message.setPlaceholderArguments("name", "source");
+		Assert.assertEquals("Hello {name}!", template.bind().toPlainText());
+		Assert.assertEquals("Hello {name}!", template.bind().toText().toPlainText());
+	}
+
+	@Test
+	public void testToText() {
+		TextBuilder hoverEvent = Text.hoverEvent(Text.parse("&7Hover {name}"));
+		hoverEvent.child(Text.parse("Hello {name}!"));
+		Text message = hoverEvent.build();
+		MessageTemplate template = MessageTemplate.compile(message);
+		Assert.assertFalse(template.isPlainText());
+
+		MessageTemplate.Bound bound = template.bind("name", "Alice");
+		Text text = bound.toText();
+		Assert.assertSame(text, bound.toText());
+		Assert.assertEquals(toPlainText(message, "name", "Alice"), text.toPlainText());
+		Assert.assertEquals(text.toPlainText(), bound.toPlainText());
+	}
+
+	@Test
+	public void testSlots() {
+		MessageTemplate template = MessageTemplate.compile(Text.parse("{b} and {a}"));
+		Assert.assertEquals(0, template.getSlot("b"));
+		Assert.assertEquals(1, template.getSlot("a"));
+		Assert.assertEquals(-1, template.getSlot("c"));
+
+		MessageTemplate.Bound bound = template.bindSlots("x", null);
+		Assert.assertEquals("x and {a}", bound.toPlainText());
+		Assert.assertEquals(bound, template.bind("b", "x"));
+		Assert.assertEquals(bound.hashCode(), template.bind("b", "x").hashCode());
+		Assert.assertNotEquals(bound, template.bind("b", "y"));
+	}
+
+	@Test
+	public void testSupplierArguments() {
+		MessageTemplate template = MessageTemplate.compile(Text.parse("Value: {value}"));
+		int[] invocations = new int[1];
+		Supplier<@NonNull Object> value = () -> {
+			invocations[0]++;
+			return 42;
+		};
+		MessageTemplate.Bound bound = template.bind("value", value);
+		Assert.assertEquals("Value: 42", bound.toPlainText());
+		Assert.assertEquals("Value: 42", bound.toPlainText());
+		Assert.assertEquals(1, invocations[0]);
+	}
+
+	@Test
+	public void testUseTextDoesNotCopy() {
+		Text message = Text.parse("&aSold {item} to {player}.");
+		MessageTemplate template = MessageTemplate.compile(message);
+		List<@NonNull Text> texts = new ArrayList<>();
+		List<@NonNull String> players = Arrays.asList("Alice", "Bob", "Alice");
+		for (String player : players) {
+			template.bind("item", Text.parse("&bDiamond"), "player", player).useText(text -> {
+				texts.add(text);
+				Assert.assertEquals(
+						toPlainText(message, "item", Text.parse("&bDiamond"), "player", player),
+						text.toPlainText()
+				);
+			});
+		}
+
+		// All sends use the same Text instance:
+		Assert.assertEquals(players.size(), texts.size());
+		Assert.assertSame(texts.get(0), texts.get(1));
+		Assert.assertSame(texts.get(0), texts.get(2));
+		// The arguments are cleared again afterwards:
+		Assert.assertEquals(message.toPlainText(), texts.get(0).toPlainText());
+		Assert.assertEquals(message.toPlainText(), template.bind().toText().toPlainText());
+	}
+
+	@Test
+	public void testUseTextNested() {
+		MessageTemplate shopTemplate = MessageTemplate.compile(Text.parse("shop {name}"));
+		MessageTemplate template = MessageTemplate.compile(Text.parse("Sold at {shop}."));
+		String[] plainText = new String[2];
+		shopTemplate.bind("name", "A").useText(shop -> {
+			template.bind("shop", shop).useText(text -> {
+				plainText[0] = text.toPlainText();
+			});
+
+			// The shop template is in use: Falls back to a copy without the assigned arguments.
+			MessageTemplate.Bound bound = shopTemplate.bind();
+			bound.useText(text -> {
+				Assert.assertNotSame(shop, text);
+				plainText[1] = text.toPlainText();
+			});
+			Assert.assertEquals("shop A", shop.toPlainText());
+		});
+		Assert.assertEquals("Sold at shop A.", plainText[0]);
+		Assert.assertEquals("shop {name}", plainText[1]);
+	}
+}
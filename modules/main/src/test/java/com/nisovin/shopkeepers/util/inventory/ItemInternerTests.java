@@ -0,0 +1,55 @@
+package com.nisovin.shopkeepers.util.inventory;
+
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.nisovin.shopkeepers.api.util.UnmodifiableItemStack;
+import com.nisovin.shopkeepers.shopkeeper.offers.SKPriceOffer;
+import com.nisovin.shopkeepers.testutil.AbstractBukkitTest;
+import com.nisovin.shopkeepers.util.TestItemStacks;
+
+public class ItemInternerTests extends AbstractBukkitTest {
+
+	@Test
+	public void testEqualItemsShareInstance() {
+		UnmodifiableItemStack item1 = UnmodifiableItemStack.ofNonNull(
+				TestItemStacks.createItemStackComplete()
+		);
+		UnmodifiableItemStack item2 = UnmodifiableItemStack.ofNonNull(
+				TestItemStacks.createItemStackComplete()
+		);
+		UnmodifiableItemStack interned1 = ItemInterner.intern(item1);
+		UnmodifiableItemStack interned2 = ItemInterner.intern(item2);
+		Assert.assertSame(interned1, interned2);
+		Assert.assertEquals(item1, interned1);
+		Assert.assertSame(interned1, ItemInterner.intern(interned1));
+	}
+
+	@Test
+	public void testDifferentItemsAreNotShared() {
+		UnmodifiableItemStack item1 = UnmodifiableItemStack.ofNonNull(
+				new ItemStack(Material.DIAMOND, 1)
+		);
+		UnmodifiableItemStack item2 = UnmodifiableItemStack.ofNonNull(
+				new ItemStack(Material.DIAMOND, 2)
+		);
+		Assert.assertNotSame(ItemInterner.intern(item1), ItemInterner.intern(item2));
+	}
+
+	@Test
+	public void testInternedItemIsUnaffectedBySource() {
+		ItemStack itemStack = new ItemStack(Material.EMERALD, 3);
+		UnmodifiableItemStack interned = ItemInterner.intern(UnmodifiableItemStack.of(itemStack));
+		itemStack.setAmount(5);
+		Assert.assertEquals(3, interned.getAmount());
+	}
+
+	@Test
+	public void testOffersShareItems() {
+		SKPriceOffer offer1 = new SKPriceOffer(new ItemStack(Material.GOLD_INGOT, 4), 1);
+		SKPriceOffer offer2 = new SKPriceOffer(new ItemStack(Material.GOLD_INGOT, 4), 2);
+		Assert.assertSame(offer1.getItem(), offer2.getItem());
+	}
+}
@@ -0,0 +1,94 @@
+package com.nisovin.shopkeepers.util.java;
+
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.nisovin.shopkeepers.util.bukkit.ChunkKeys;
+
+public class LongObjectHashMapTests {
+
+	@Test
+	public void testBasicOperations() {
+		LongObjectHashMap<@NonNull String> map = new LongObjectHashMap<>();
+		Assert.assertTrue(map.isEmpty());
+		Assert.assertNull(map.get(0L));
+
+		Assert.assertNull(map.put(0L, "zero"));
+		Assert.assertNull(map.put(-1L, "minus one"));
+		Assert.assertNull(map.put(Long.MAX_VALUE, "max"));
+		Assert.assertEquals(3, map.size());
+		Assert.assertEquals("zero", map.get(0L));
+		Assert.assertEquals("minus one", map.get(-1L));
+		Assert.assertEquals("max", map.get(Long.MAX_VALUE));
+		Assert.assertTrue(map.containsKey(0L));
+		Assert.assertFalse(map.containsKey(1L));
+
+		Assert.assertEquals("zero", map.put(0L, "null"));
+		Assert.assertEquals(3, map.size());
+		Assert.assertEquals("null", map.get(0L));
+
+		Assert.assertEquals("minus one", map.remove(-1L));
+		Assert.assertNull(map.remove(-1L));
+		Assert.assertEquals(2, map.size());
+		Assert.assertNull(map.get(-1L));
+
+		map.clear();
+		Assert.assertTrue(map.isEmpty());
+		Assert.assertNull(map.get(0L));
+	}
+
+	@Test
+	public void testRandomOperationsMatchHashMap() {
+		Random random = new Random(42L);
+		LongObjectHashMap<@NonNull Long> map = new LongObjectHashMap<>();
+		Map<@NonNull Long, @NonNull Long> expected = new HashMap<>();
+		for (int i = 0; i < 100000; i++) {
+			// Small key range to provoke collisions and removals within probe sequences:
+			long key = ChunkKeys.of(random.nextInt(64) - 32, random.nextInt(64) - 32);
+			if (random.nextInt(3) == 0) {
+				Assert.assertEquals(expected.remove(key), map.remove(key));
+			} else {
+				Long value = random.nextLong();
+				Assert.assertEquals(expected.put(key, value), map.put(key, value));
+			}
+			Assert.assertEquals(expected.size(), map.size());
+		}
+
+		for (Map.Entry<@NonNull Long, @NonNull Long> entry : expected.entrySet()) {
+			Assert.assertEquals(entry.getValue(), map.get(entry.getKey()));
+		}
+
+		List<@NonNull Long> values = new ArrayList<>();
+		map.forEachValue(values::add);
+		Assert.assertEquals(expected.size(), values.size());
+		Assert.assertTrue(values.containsAll(expected.values()));
+	}
+
+	@Test(expected = ConcurrentModificationException.class)
+	public void testConcurrentModification() {
+		LongObjectHashMap<@NonNull String> map = new LongObjectHashMap<>();
+		map.put(1L, "one");
+		map.put(2L, "two");
+		map.forEachValue(value -> map.put(3L, "three"));
+	}
+
+	@Test
+	public void testChunkKeys() {
+		int[] coords = { 0, 1, -1, 12345, -12345, Integer.MAX_VALUE, Integer.MIN_VALUE };
+		for (int chunkX : coords) {
+			for (int chunkZ : coords) {
+				long chunkKey = ChunkKeys.of(chunkX, chunkZ);
+				Assert.assertEquals(chunkX, ChunkKeys.getChunkX(chunkKey));
+				Assert.assertEquals(chunkZ, ChunkKeys.getChunkZ(chunkKey));
+			}
+		}
+	}
+}
@@ -0,0 +1,83 @@
+package com.nisovin.shopkeepers.util.timer;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class LatencyHistogramTests {
+
+	private static final long SLOT_NANOS = 1000L;
+
+	@Test
+	public void testBucketBounds() {
+		for (int bucket = 0; bucket < LatencyHistogram.BUCKET_COUNT - 1; bucket++) {
+			long lowerBound = LatencyHistogram.getBucketLowerBound(bucket);
+			long upperBound = LatencyHistogram.getBucketUpperBound(bucket);
+			Assert.assertTrue("Empty bucket " + bucket, lowerBound <= upperBound);
+			Assert.assertEquals(bucket, LatencyHistogram.getBucketIndex(lowerBound));
+			Assert.assertEquals(bucket, LatencyHistogram.getBucketIndex(upperBound));
+			Assert.assertEquals(upperBound + 1, LatencyHistogram.getBucketLowerBound(bucket + 1));
+		}
+		Assert.assertEquals(0, LatencyHistogram.getBucketIndex(-5L));
+		Assert.assertEquals(
+				LatencyHistogram.BUCKET_COUNT - 1,
+				LatencyHistogram.getBucketIndex(Long.MAX_VALUE)
+		);
+	}
+
+	@Test
+	public void testRelativeError() {
+		for (long duration = 8L; duration < (1L << 40); duration = duration * 3 + 1) {
+			int bucket = LatencyHistogram.getBucketIndex(duration);
+			long upperBound = LatencyHistogram.getBucketUpperBound(bucket);
+			Assert.assertTrue(upperBound >= duration);
+			Assert.assertTrue("Error too large for " + duration,
+					(upperBound - duration) <= duration / 8);
+		}
+	}
+
+	@Test
+	public void testPercentiles() {
+		LatencyHistogram histogram = new LatencyHistogram(6, SLOT_NANOS);
+		Assert.assertEquals(0L, histogram.getPercentileNanos(99.0D, 0L));
+
+		for (long duration = 1L; duration <= 1000L; duration++) {
+			histogram.record(duration * 1000L, 0L);
+		}
+		Assert.assertEquals(1000L, histogram.getCount(0L));
+		assertApproximately(500_000L, histogram.getPercentileNanos(50.0D, 0L));
+		assertApproximately(990_000L, histogram.getPercentileNanos(99.0D, 0L));
+		// The maximum is exact:
+		Assert.assertEquals(1_000_000L, histogram.getPercentileNanos(100.0D, 0L));
+		assertApproximately(1000L, histogram.getPercentileNanos(0.0D, 0L));
+	}
+
+	private static void assertApproximately(long expected, long actual) {
+		Assert.assertTrue("Expected about " + expected + ", but got " + actual,
+				actual >= expected && actual <= expected + expected / 8);
+	}
+
+	@Test
+	public void testSlidingWindow() {
+		LatencyHistogram histogram = new LatencyHistogram(6, SLOT_NANOS);
+		histogram.record(5000L, 0L);
+		histogram.record(100L, 3 * SLOT_NANOS);
+		Assert.assertEquals(2L, histogram.getCount(3 * SLOT_NANOS));
+		Assert.assertEquals(5000L, histogram.getPercentileNanos(100.0D, 5 * SLOT_NANOS));
+
+		// The first slot drops out of the window:
+		Assert.assertEquals(1L, histogram.getCount(6 * SLOT_NANOS));
+		Assert.assertEquals(100L, histogram.getPercentileNanos(100.0D, 6 * SLOT_NANOS));
+
+		// Reusing the first slot discards its old counts:
+		histogram.record(200L, 6 * SLOT_NANOS);
+		Assert.assertEquals(2L, histogram.getCount(6 * SLOT_NANOS));
+		Assert.assertEquals(200L, histogram.getPercentileNanos(100.0D, 6 * SLOT_NANOS));
+
+		// All slots are outdated:
+		Assert.assertEquals(0L, histogram.getCount(20 * SLOT_NANOS));
+
+		histogram.record(300L, 20 * SLOT_NANOS);
+		histogram.reset();
+		Assert.assertEquals(0L, histogram.getCount(20 * SLOT_NANOS));
+	}
+}
@@ -1,6 +1,7 @@
 package com.nisovin.shopkeepers.compat.v1_16_R3;
 
 import java.lang.reflect.Field;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -21,6 +22,7 @@ import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.Merchant;
 import org.bukkit.inventory.MerchantInventory;
+import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 import com.nisovin.shopkeepers.api.internal.util.Unsafe;
@@ -109,11 +111,28 @@ public final class NMSHandler implements NMSCallProvider {
 
 	@Override
 	public void tickAI(LivingEntity entity, int ticks) {
+		EntityInsentient mcMob = (EntityInsentient) this.getAIHandle(entity);
+		if (mcMob == null) return;
+		this.tickAI(mcMob, ticks);
+	}
+
+	@Override
+	public @Nullable Object getAIHandle(LivingEntity entity) {
 		EntityLiving mcLivingEntity = ((CraftLivingEntity) entity).getHandle();
 		// Example: Armor stands are living, but not insentient.
-		if (!(mcLivingEntity instanceof EntityInsentient)) return;
-		EntityInsentient mcMob = (EntityInsentient) mcLivingEntity;
+		if (!(mcLivingEntity instanceof EntityInsentient)) return null;
+		return mcLivingEntity;
+	}
+
+	@Override
+	public void tickAI(List<? extends @NonNull Object> aiHandles, int ticks) {
+		for (int i = 0, size = aiHandles.size(); i < size; ++i) {
+			EntityInsentient mcMob = (EntityInsentient) aiHandles.get(i);
+			this.tickAI(mcMob, ticks);
+		}
+	}
 
+	private void tickAI(EntityInsentient mcMob, int ticks) {
 		// Clear the sensing cache. This sensing cache is reused for the individual ticks.
 		mcMob.getEntitySenses().a();
 		for (int i = 0; i < ticks; ++i) {
@@ -1,6 +1,7 @@
 package com.nisovin.shopkeepers.compat.v1_17_R2;
 
 import java.lang.reflect.Field;
+import java.util.List;
 import java.util.Map;
 
 import org.bukkit.Material;
@@ -27,6 +28,7 @@ import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.Merchant;
 import org.bukkit.inventory.MerchantInventory;
+import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 import com.nisovin.shopkeepers.api.internal.util.Unsafe;
@@ -107,11 +109,28 @@ public final class NMSHandler implements NMSCallProvider {
 
 	@Override
 	public void tickAI(LivingEntity entity, int ticks) {
+		net.minecraft.world.entity.Mob mcMob = (net.minecraft.world.entity.Mob) this.getAIHandle(entity);
+		if (mcMob == null) return;
+		this.tickAI(mcMob, ticks);
+	}
+
+	@Override
+	public @Nullable Object getAIHandle(LivingEntity entity) {
 		net.minecraft.world.entity.LivingEntity mcLivingEntity = ((CraftLivingEntity) entity).getHandle();
 		// Example: Armor stands are living, but not insentient/Mob.
-		if (!(mcLivingEntity instanceof net.minecraft.world.entity.Mob)) return;
-		net.minecraft.world.entity.Mob mcMob = (net.minecraft.world.entity.Mob) mcLivingEntity;
+		if (!(mcLivingEntity instanceof net.minecraft.world.entity.Mob)) return null;
+		return mcLivingEntity;
+	}
+
+	@Override
+	public void tickAI(List<? extends @NonNull Object> aiHandles, int ticks) {
+		for (int i = 0, size = aiHandles.size(); i < size; ++i) {
+			net.minecraft.world.entity.Mob mcMob = (net.minecraft.world.entity.Mob) aiHandles.get(i);
+			this.tickAI(mcMob, ticks);
+		}
+	}
 
+	private void tickAI(net.minecraft.world.entity.Mob mcMob, int ticks) {
 		// Clear the sensing cache. This sensing cache is reused for the individual ticks.
 		mcMob.getSensing().tick();
 		for (int i = 0; i < ticks; ++i) {